@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+# 프로파일별 시작 시간 / 상주 메모리(RSS) 측정
+# 사용: ./gradlew bootJar && scripts/measure-startup.sh [프로파일 ...]   (기본: default ingest persist stream)
+#   RUNS=5            프로파일당 반복 횟수 (기본 3)
+#   SETTLE_S=10       시작 완료 후 RSS 를 읽기까지 대기 시간 (스케줄러/레인 워밍업 포함, 기본 10)
+#   JAR=build/...jar  측정할 jar (기본: build/libs 의 bootJar)
+#   JAVA_OPTS="..."   JVM 옵션 - 예: CDS/AOT 비교
+#     JAR=build/cds/kafka-demo-0.0.1-SNAPSHOT.jar \
+#     JAVA_OPTS="-XX:SharedArchiveFile=build/cds/application.jsa -Dspring.aot.enabled=true" \
+#     scripts/measure-startup.sh ingest
+# 의존 서비스(compose.yaml 의 Kafka, Redis, PostgreSQL)가 떠 있어야 함
+# 결과: 표준 출력 표 + build/startup-results/startup-{시각}.tsv
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-3}
+SETTLE_S=${SETTLE_S:-10}
+TIMEOUT_S=${TIMEOUT_S:-120}
+JAVA_OPTS=${JAVA_OPTS:-}
+JAR=${JAR:-$(ls build/libs/*.jar 2>/dev/null | grep -v -- '-plain.jar' | head -n 1 || true)}
+PROFILES=("$@")
+if [ ${#PROFILES[@]} -eq 0 ]; then
+  PROFILES=(default ingest persist stream)
+fi
+
+if [ -z "$JAR" ] || [ ! -f "$JAR" ]; then
+  echo "bootJar 없음 - ./gradlew bootJar 후 실행하거나 JAR 지정" >&2
+  exit 1
+fi
+
+OUT_DIR=build/startup-results
+mkdir -p "$OUT_DIR"
+RESULT="$OUT_DIR/startup-$(date +%Y%m%d-%H%M%S).tsv"
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+rss_kb() {
+  if [ -r "/proc/$1/status" ]; then
+    awk '/^VmRSS:/ { print $2 }' "/proc/$1/status"
+  else
+    ps -o rss= -p "$1" | tr -d ' '
+  fi
+}
+
+printf 'profile\trun\tcontext_s\tjvm_s\trss_mb\n' > "$RESULT"
+echo "jar: $JAR, java opts: ${JAVA_OPTS:-(없음)}, runs: $RUNS"
+
+for profile in "${PROFILES[@]}"; do
+  for run in $(seq 1 "$RUNS"); do
+    profile_arg=()
+    if [ "$profile" != "default" ]; then
+      profile_arg=("--spring.profiles.active=$profile")
+    fi
+    # shellcheck disable=SC2086
+    java $JAVA_OPTS -jar "$JAR" --server.port=0 ${profile_arg[@]+"${profile_arg[@]}"} > "$LOG" 2>&1 &
+    pid=$!
+
+    # "Started KafkaDemoApplication in 3.21 seconds (process running for 3.65)"
+    started=""
+    for _ in $(seq 1 $((TIMEOUT_S * 10))); do
+      started=$(grep -o 'Started KafkaDemoApplication in [0-9.]* seconds (process running for [0-9.]*)' "$LOG" || true)
+      if [ -n "$started" ] || ! kill -0 "$pid" 2>/dev/null; then
+        break
+      fi
+      sleep 0.1
+    done
+
+    if [ -z "$started" ]; then
+      echo "[$profile #$run] 시작 실패 - 로그:" >&2
+      tail -n 30 "$LOG" >&2
+      kill "$pid" 2>/dev/null || true
+      wait "$pid" 2>/dev/null || true
+      exit 1
+    fi
+
+    sleep "$SETTLE_S"
+    rss=$(rss_kb "$pid")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    context_s=$(echo "$started" | awk '{ print $4 }')
+    jvm_s=$(echo "$started" | awk '{ gsub(/\)/, "", $9); print $9 }')
+    rss_mb=$(awk -v kb="$rss" 'BEGIN { printf "%.1f", kb / 1024 }')
+    printf '%s\t%s\t%s\t%s\t%s\n' "$profile" "$run" "$context_s" "$jvm_s" "$rss_mb" >> "$RESULT"
+    echo "[$profile #$run] context ${context_s}s, process ${jvm_s}s, RSS ${rss_mb}MB"
+  done
+done
+
+# 프로파일별 평균
+awk -F'\t' 'NR > 1 { n[$1]++; s[$1] += $3; j[$1] += $4; r[$1] += $5; if (!($1 in o)) { o[$1] = ++k; p[k] = $1 } }
+  END {
+    printf "%-10s %12s %12s %10s\n", "profile", "context(s)", "process(s)", "RSS(MB)"
+    for (i = 1; i <= k; i++) {
+      x = p[i]
+      printf "%-10s %12.2f %12.2f %10.1f\n", x, s[x] / n[x], j[x] / n[x], r[x] / n[x]
+    }
+  }' "$RESULT"
+echo "결과: $RESULT"
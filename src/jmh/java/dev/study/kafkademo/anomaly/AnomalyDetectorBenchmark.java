@@ -0,0 +1,69 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 샘플 1건당 이상 탐지 비용 (측정값 4개의 EWMA / Welford / 변화율 갱신 + 판정)
+ * 엔진 수가 커질수록 엔진별 상태가 캐시를 벗어나므로 engines 파라미터로 캐시 미스 영향을 함께 확인
+ * 실행: ./gradlew jmh -PjmhIncludes=AnomalyDetectorBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnomalyDetectorBenchmark {
+
+    private static final int ROUNDS = 8;
+
+    @Param({"1000", "20000", "50000"})
+    private int engines;
+
+    private EngineSample[] samples;
+    private AnomalyDetector detector;
+    private final Consumer<EngineAnomaly> listener = anomaly -> {
+    };
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] engineIds = new String[engines];
+        for (int e = 0; e < engines; e++) {
+            engineIds[e] = "engine-" + e;
+        }
+        // 수집 순서처럼 라운드마다 모든 엔진이 한 번씩 - 연속 샘플은 서로 다른 엔진 상태를 건드림
+        samples = new EngineSample[engines * ROUNDS];
+        long timestampMicros = EngineSample.nowMicros();
+        for (int r = 0; r < ROUNDS; r++) {
+            for (int e = 0; e < engines; e++) {
+                samples[r * engines + e] = new EngineSample(engineIds[e],
+                        30_000 + random.nextInt(200), 700_000 + random.nextInt(5_000),
+                        147_000 + random.nextInt(100), 12_000 + random.nextInt(50),
+                        timestampMicros + r * 1_000_000L, EngineSample.HAS_ALL);
+            }
+        }
+
+        detector = new AnomalyDetector(0.1, 4, 4.0, 3.0, engines);
+        for (EngineSample sample : samples) {
+            detector.evaluate(sample, listener);
+        }
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        EngineSample sample = samples[next];
+        next = next + 1 == samples.length ? 0 : next + 1;
+        return detector.evaluate(sample, listener);
+    }
+}
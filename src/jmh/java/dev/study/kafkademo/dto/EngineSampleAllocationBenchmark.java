@@ -0,0 +1,104 @@
+package dev.study.kafkademo.dto;
+
+import dev.study.kafkademo.entity.Engine;
+import dev.study.kafkademo.serializer.EngineBinaryCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 수집 ~ 싱크 경로의 EngineDto(BigDecimal/LocalDateTime) vs EngineSample(primitive) 비교
+ * 할당량(gc.alloc.rate.norm)은 gc 프로파일러로 확인
+ * 실행: ./gradlew jmh -PjmhIncludes=EngineSampleAllocationBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EngineSampleAllocationBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String TOPIC = "engine";
+    private static final BigDecimal TEMPERATURE_LIMIT = new BigDecimal("350.00");
+    private static final long TEMPERATURE_LIMIT_SCALED = 35_000;
+
+    private List<EngineDto> engineDtos;
+    private List<EngineSample> samples;
+
+    private JsonSerializer<EngineDto> dtoJsonSerializer;
+
+    @Setup
+    public void setUp() {
+        engineDtos = new ArrayList<>(BATCH_SIZE);
+        samples = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            EngineDto engineDto = new EngineDto("engine-" + (i % 50),
+                    BigDecimal.valueOf(25_000 + i, 2), BigDecimal.valueOf(700_000 + i, 2),
+                    BigDecimal.valueOf(147_000 + i, 4), BigDecimal.valueOf(12_000 + i, 4),
+                    LocalDateTime.of(2025, 8, 2, 14, 0, 1).plusNanos(i * 1_000L));
+            engineDtos.add(engineDto);
+            samples.add(EngineSample.from(engineDto));
+        }
+        dtoJsonSerializer = new JsonSerializer<>();
+    }
+
+    /**
+     * 기존 경로: 수신 시각 LocalDateTime.now(), BigDecimal 비교, UUID 키 생성
+     */
+    @Benchmark
+    public void dtoHotPath(Blackhole blackhole) {
+        for (EngineDto engineDto : engineDtos) {
+            blackhole.consume(LocalDateTime.now());
+            blackhole.consume(engineDto.getTemperature().compareTo(TEMPERATURE_LIMIT) > 0);
+            blackhole.consume(UUID.randomUUID().toString());
+        }
+    }
+
+    /**
+     * primitive 경로: System.nanoTime(), long 비교, 엔진 ID 키
+     */
+    @Benchmark
+    public void sampleHotPath(Blackhole blackhole) {
+        for (EngineSample sample : samples) {
+            blackhole.consume(System.nanoTime());
+            blackhole.consume(sample.getTemperatureScaled() > TEMPERATURE_LIMIT_SCALED);
+            blackhole.consume(sample.getEngineId());
+        }
+    }
+
+    @Benchmark
+    public List<Engine> dtoToEntityBatch() {
+        return EngineDto.toEntity(engineDtos);
+    }
+
+    @Benchmark
+    public List<Engine> sampleToEntityBatch() {
+        return EngineSample.toEntity(samples);
+    }
+
+    @Benchmark
+    public void dtoJsonSerializeBatch(Blackhole blackhole) {
+        for (EngineDto engineDto : engineDtos) {
+            blackhole.consume(dtoJsonSerializer.serialize(TOPIC, engineDto));
+        }
+    }
+
+    @Benchmark
+    public void sampleBinarySerializeBatch(Blackhole blackhole) {
+        for (EngineSample sample : samples) {
+            blackhole.consume(EngineBinaryCodec.encode(sample));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.study.kafkademo.pipeline;
+
+import dev.study.kafkademo.alert.AlertSink;
+import dev.study.kafkademo.anomaly.AnomalySink;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.handler.EngineDataKafkaHandler;
+import dev.study.kafkademo.overload.PriorityEngineRegistry;
+import dev.study.kafkademo.serializer.EngineBinaryKafkaSerializer;
+import dev.study.kafkademo.telemetry.EngineTelemetryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.core.KafkaTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파이프라인 싱크(handleBatch) 배치당 비용 - 레인 드레인 스레드에서 실행되는 구간만 측정
+ * kafka: MockProducer(자동 완료) 기반 KafkaTemplate, alert: 발행 없는 평가, telemetry: 링 버퍼 적재,
+ * anomaly: 발행 없는 엔진별 통계 갱신
+ * 실행: ./gradlew jmh -PjmhIncludes=EngineSinkBenchmark -PjmhProfilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EngineSinkBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int ENGINES = 50;
+
+    private List<EngineDataReceivedEvent> batch;
+
+    private MockProducer<String, EngineSample> producer;
+    private EngineDataKafkaHandler kafkaHandler;
+    private AlertSink alertSink;
+    private EngineTelemetryCache telemetryCache;
+    private AnomalySink anomalySink;
+
+    @Setup
+    public void setUp() {
+        batch = new ArrayList<>(BATCH_SIZE);
+        long timestampMicros = EngineSample.nowMicros();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            // 온도는 임계값(350) 아래에서 움직여 알림 전이 없이 평가 비용만 측정
+            batch.add(new EngineDataReceivedEvent(new EngineSample("engine-" + (i % ENGINES),
+                    25_000 + i % 5_000, 700_000 + i % 50_000, 147_000 + i % 1_000, 12_000 + i % 500,
+                    timestampMicros + i, EngineSample.HAS_ALL)));
+        }
+
+        producer = new MockProducer<>(true, new StringSerializer(), new EngineBinaryKafkaSerializer());
+        kafkaHandler = new EngineDataKafkaHandler(new KafkaTemplate<>(() -> producer), new SimpleMeterRegistry());
+        PriorityEngineRegistry priorityEngines = new PriorityEngineRegistry(new SimpleMeterRegistry(), 30_000);
+        alertSink = new AlertSink(alert -> Mono.empty(), priorityEngines, new SimpleMeterRegistry(),
+                350, 345, 8000, 7900, 1, 600_000, 60_000);
+        telemetryCache = new EngineTelemetryCache(new SimpleMeterRegistry(), 300, 10_000, 600_000);
+        anomalySink = new AnomalySink(anomaly -> Mono.empty(), priorityEngines, new SimpleMeterRegistry(),
+                0.1, 30, 4.0, 3.0, 100_000, 600_000, 60_000);
+    }
+
+    @Benchmark
+    public Integer kafkaSendBatch() {
+        // MockProducer 는 전송 이력을 보관하므로 매 호출마다 비움
+        producer.clear();
+        return kafkaHandler.sendBatch(batch).join();
+    }
+
+    @Benchmark
+    public void alertHandleBatch() {
+        alertSink.handleBatch(batch);
+    }
+
+    @Benchmark
+    public void telemetryHandleBatch() {
+        telemetryCache.handleBatch(batch);
+    }
+
+    @Benchmark
+    public void anomalyHandleBatch() {
+        anomalySink.handleBatch(batch);
+    }
+}
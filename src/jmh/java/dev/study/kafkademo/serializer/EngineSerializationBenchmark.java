@@ -0,0 +1,105 @@
+package dev.study.kafkademo.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.dto.EngineSample;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EngineSample 직렬화 포맷 비교 (JSON vs 바이너리) - ns/op, bytes/record 는 setup 시 출력
+ * 실행: ./gradlew jmh -PjmhIncludes=EngineSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EngineSerializationBenchmark {
+
+    private static final String TOPIC = "engine";
+
+    private EngineSample sample;
+
+    private JsonSerializer<EngineSample> kafkaJsonSerializer;
+    private JsonDeserializer<EngineSample> kafkaJsonDeserializer;
+    private Jackson2JsonRedisSerializer<EngineSample> redisJsonSerializer;
+    private EngineBinaryKafkaSerializer kafkaBinarySerializer;
+    private EngineBinaryKafkaDeserializer kafkaBinaryDeserializer;
+    private EngineBinaryRedisSerializer redisBinarySerializer;
+
+    private byte[] kafkaJsonBytes;
+    private byte[] redisJsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        sample = EngineSample.from(new EngineDto("engine-0042",
+                new BigDecimal("342.57"), new BigDecimal("7812.40"),
+                new BigDecimal("14.6959"), new BigDecimal("1.2875"),
+                LocalDateTime.of(2025, 8, 2, 14, 0, 1)));
+
+        kafkaJsonSerializer = new JsonSerializer<>();
+        kafkaJsonDeserializer = new JsonDeserializer<>(EngineSample.class, false);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        redisJsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, EngineSample.class);
+        kafkaBinarySerializer = new EngineBinaryKafkaSerializer();
+        kafkaBinaryDeserializer = new EngineBinaryKafkaDeserializer();
+        redisBinarySerializer = new EngineBinaryRedisSerializer();
+
+        kafkaJsonBytes = kafkaJsonSerializer.serialize(TOPIC, sample);
+        redisJsonBytes = redisJsonSerializer.serialize(sample);
+        binaryBytes = kafkaBinarySerializer.serialize(TOPIC, sample);
+
+        System.out.printf("%nbytes/record: kafka-json=%d, redis-json=%d, binary=%d%n",
+                kafkaJsonBytes.length, redisJsonBytes.length, binaryBytes.length);
+    }
+
+    @Benchmark
+    public byte[] kafkaJsonSerialize() {
+        return kafkaJsonSerializer.serialize(TOPIC, sample);
+    }
+
+    @Benchmark
+    public EngineSample kafkaJsonDeserialize() {
+        return kafkaJsonDeserializer.deserialize(TOPIC, kafkaJsonBytes);
+    }
+
+    @Benchmark
+    public byte[] redisJsonSerialize() {
+        return redisJsonSerializer.serialize(sample);
+    }
+
+    @Benchmark
+    public EngineSample redisJsonDeserialize() {
+        return redisJsonSerializer.deserialize(redisJsonBytes);
+    }
+
+    @Benchmark
+    public byte[] binarySerialize() {
+        return kafkaBinarySerializer.serialize(TOPIC, sample);
+    }
+
+    @Benchmark
+    public EngineSample binaryDeserialize() {
+        return kafkaBinaryDeserializer.deserialize(TOPIC, binaryBytes);
+    }
+
+    @Benchmark
+    public EngineSample redisBinaryRoundTrip() {
+        return redisBinarySerializer.deserialize(redisBinarySerializer.serialize(sample));
+    }
+}
@@ -0,0 +1,48 @@
+package dev.study.kafkademo.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+/**
+ * 부하 하니스 결과 (실행 간 비교용 JSON)
+ * 할당량은 JVM 전체 기준이므로 같은 프로세스에서 실행되는 임베디드 Kafka 브로커 할당도 포함
+ */
+public record LoadResult(String startedAt,
+                         String javaVersion,
+                         LoadSettings settings,
+                         double measuredSeconds,
+                         Throughput throughput,
+                         Map<String, Latency> latencyMillis,
+                         Allocation allocation,
+                         Map<String, Double> errors) {
+
+    /**
+     * 초당 샘플 수 - 수집, Kafka ack, DB 커밋 단계별
+     */
+    public record Throughput(double fetchedPerSecond, double kafkaAckedPerSecond, double persistedPerSecond) {
+    }
+
+    public record Latency(long count, double mean, double p50, double p99) {
+    }
+
+    public record Allocation(double bytesPerSecond, double bytesPerSample, long gcCount, long gcPauseMillis) {
+    }
+
+    /**
+     * 실행 시각별 파일과 latest.json 을 함께 기록
+     */
+    public Path write(Path outputDir) throws IOException {
+        Files.createDirectories(outputDir);
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path file = outputDir.resolve("pipeline-" + startedAt.replace(':', '-') + ".json");
+        objectMapper.writeValue(file.toFile(), this);
+        Files.copy(file, outputDir.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return file;
+    }
+}
@@ -0,0 +1,40 @@
+package dev.study.kafkademo.load;
+
+import java.nio.file.Path;
+
+/**
+ * 부하 하니스 실행 설정 (시스템 프로퍼티 load.*, gradle -Pload.*=... 로 전달)
+ *
+ * @param mode          수집 모드 (bulk | per-engine)
+ * @param engines       스텁 시뮬레이터 엔진 수
+ * @param intervalMs    수집 주기
+ * @param warmupSeconds 측정 전 워밍업 시간 (JIT, 연결 풀, 배치 크기 적응)
+ * @param durationSeconds 측정 시간
+ * @param serialization engine.serialization.format
+ * @param execution     engine.execution.mode
+ * @param writer        engine.persistence.writer (H2 에서는 jpa | jdbc)
+ * @param outputDir     결과 JSON 디렉터리
+ */
+public record LoadSettings(String mode,
+                           int engines,
+                           long intervalMs,
+                           int warmupSeconds,
+                           int durationSeconds,
+                           String serialization,
+                           String execution,
+                           String writer,
+                           Path outputDir) {
+
+    public static LoadSettings fromSystemProperties() {
+        return new LoadSettings(
+                System.getProperty("load.mode", "bulk"),
+                Integer.getInteger("load.engines", 500),
+                Long.getLong("load.interval-ms", 100),
+                Integer.getInteger("load.warmup-s", 15),
+                Integer.getInteger("load.duration-s", 60),
+                System.getProperty("load.serialization", "binary"),
+                System.getProperty("load.execution", "platform"),
+                System.getProperty("load.writer", "jdbc"),
+                Path.of(System.getProperty("load.output-dir", "build/load-results")));
+    }
+}
@@ -0,0 +1,156 @@
+package dev.study.kafkademo.load;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 측정 구간 시작/종료 시점의 미터 값
+ * 두 스냅샷의 차이로 워밍업 구간을 제외한 처리량, 백분위 지연, 할당량을 계산
+ * (application-load.yml 에서 engine.* 히스토그램이 측정 중 회전하지 않도록 expiry 를 늘려 둠)
+ */
+final class MeterSnapshot {
+
+    private static final Map<String, TimerKey> TIMERS = timers();
+
+    private final long nanos;
+    private final Map<String, Double> counts = new LinkedHashMap<>();
+    private final Map<String, HistogramSnapshot> histograms = new LinkedHashMap<>();
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcMillis;
+
+    private MeterSnapshot(MeterRegistry registry) {
+        this.nanos = System.nanoTime();
+        for (String name : new String[]{"engine.fetch.samples", "engine.fetch.failed", "engine.fetch.skipped.ticks",
+                "engine.kafka.send.failed", "engine.persistence.rows", "engine.pipeline.dropped",
+                "engine.pipeline.blocked", "engine.pipeline.spilled", "engine.staging.flush.failed",
+                "engine.drain.failed.batches"}) {
+            counts.put(name, count(registry, name));
+        }
+        TIMERS.forEach((label, key) -> {
+            Timer timer = key.stage() == null
+                    ? registry.find(key.name()).timer()
+                    : registry.find(key.name()).tag("stage", key.stage()).timer();
+            if (timer != null) {
+                histograms.put(label, timer.takeSnapshot());
+            }
+        });
+        this.allocatedBytes = ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getTotalThreadAllocatedBytes();
+        long collections = 0;
+        long collectionMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collections += Math.max(0, gc.getCollectionCount());
+            collectionMillis += Math.max(0, gc.getCollectionTime());
+        }
+        this.gcCount = collections;
+        this.gcMillis = collectionMillis;
+    }
+
+    static MeterSnapshot take(MeterRegistry registry) {
+        return new MeterSnapshot(registry);
+    }
+
+    double seconds(MeterSnapshot start) {
+        return (nanos - start.nanos) / 1_000_000_000.0;
+    }
+
+    double delta(MeterSnapshot start, String counter) {
+        return counts.getOrDefault(counter, 0.0) - start.counts.getOrDefault(counter, 0.0);
+    }
+
+    long allocatedBytes(MeterSnapshot start) {
+        return allocatedBytes - start.allocatedBytes;
+    }
+
+    long gcCount(MeterSnapshot start) {
+        return gcCount - start.gcCount;
+    }
+
+    long gcMillis(MeterSnapshot start) {
+        return gcMillis - start.gcMillis;
+    }
+
+    /**
+     * 구간 내 기록된 값만으로 p50/p99 계산 (누적 버킷 카운트 차이 + 버킷 내 선형 보간)
+     */
+    Map<String, LoadResult.Latency> latencies(MeterSnapshot start) {
+        Map<String, LoadResult.Latency> latencies = new LinkedHashMap<>();
+        histograms.forEach((label, end) -> {
+            HistogramSnapshot begin = start.histograms.get(label);
+            long count = end.count() - (begin == null ? 0 : begin.count());
+            if (count <= 0) {
+                return;
+            }
+            double totalMillis = end.total(TimeUnit.MILLISECONDS)
+                    - (begin == null ? 0 : begin.total(TimeUnit.MILLISECONDS));
+            CountAtBucket[] buckets = end.histogramCounts();
+            double[] cumulative = new double[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                double before = begin == null || begin.histogramCounts().length != buckets.length
+                        ? 0 : begin.histogramCounts()[i].count();
+                cumulative[i] = buckets[i].count() - before;
+            }
+            latencies.put(label, new LoadResult.Latency(count, totalMillis / count,
+                    percentile(buckets, cumulative, count, 0.50),
+                    percentile(buckets, cumulative, count, 0.99)));
+        });
+        return latencies;
+    }
+
+    private static double percentile(CountAtBucket[] buckets, double[] cumulative, long count, double quantile) {
+        double rank = quantile * count;
+        double previousBound = 0;
+        double previousCount = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            double bound = buckets[i].bucket(TimeUnit.MILLISECONDS);
+            if (cumulative[i] >= rank) {
+                double inBucket = cumulative[i] - previousCount;
+                double fraction = inBucket <= 0 ? 1 : (rank - previousCount) / inBucket;
+                return previousBound + (bound - previousBound) * fraction;
+            }
+            previousBound = bound;
+            previousCount = cumulative[i];
+        }
+        // 마지막 버킷(maximumExpectedValue)을 넘는 값
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static double count(MeterRegistry registry, String name) {
+        double total = 0;
+        for (Meter meter : registry.find(name).meters()) {
+            total += switch (meter) {
+                case Counter counter -> counter.count();
+                case FunctionCounter counter -> counter.count();
+                default -> 0;
+            };
+        }
+        return total;
+    }
+
+    private static Map<String, TimerKey> timers() {
+        Map<String, TimerKey> timers = new LinkedHashMap<>();
+        timers.put("fetch", new TimerKey("engine.fetch.latency", null));
+        timers.put("kafka-send", new TimerKey("engine.kafka.send.latency", null));
+        timers.put("e2e-kafka-ack", new TimerKey("engine.e2e.latency", "kafka-ack"));
+        timers.put("staging-flush", new TimerKey("engine.staging.flush.latency", null));
+        timers.put("persistence-flush", new TimerKey("engine.persistence.flush.latency", null));
+        timers.put("e2e-db-commit", new TimerKey("engine.e2e.latency", "db-commit"));
+        timers.put("alert", new TimerKey("engine.alert.latency", null));
+        return timers;
+    }
+
+    private record TimerKey(String name, String stage) {
+    }
+}
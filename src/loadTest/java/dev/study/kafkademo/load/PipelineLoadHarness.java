@@ -0,0 +1,123 @@
+package dev.study.kafkademo.load;
+
+import dev.study.kafkademo.KafkaDemoApplication;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import dev.study.kafkademo.support.StubSimulatorServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 헤드리스 파이프라인 부하 하니스
+ * 스텁 시뮬레이터 -> SimulatorProducerService -> 파이프라인 레인 -> 임베디드 Kafka / 임베디드 Redis 스테이징 -> H2
+ * 워밍업 이후 측정 구간의 처리량(samples/s), 단계별 p50/p99 지연, 할당률을 JSON 으로 기록
+ * 실행: ./gradlew loadTest -Pload.mode=bulk -Pload.engines=500 -Pload.duration-s=60
+ */
+public class PipelineLoadHarness {
+
+    private static final String TOPIC = "engine";
+
+    private final LoadSettings settings;
+
+    public PipelineLoadHarness(LoadSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.fromSystemProperties();
+        LoadResult result = new PipelineLoadHarness(settings).run();
+        Path file = result.write(settings.outputDir());
+
+        System.out.printf("%nthroughput: fetched %,.0f/s, kafka %,.0f/s, db %,.0f/s%n",
+                result.throughput().fetchedPerSecond(), result.throughput().kafkaAckedPerSecond(),
+                result.throughput().persistedPerSecond());
+        result.latencyMillis().forEach((stage, latency) -> System.out.printf(
+                "latency %-18s p50 %8.2f ms  p99 %8.2f ms  (n=%d)%n", stage, latency.p50(), latency.p99(),
+                latency.count()));
+        System.out.printf("allocation: %,.0f MB/s, %,.0f bytes/sample, gc %d (%d ms)%n",
+                result.allocation().bytesPerSecond() / 1_048_576, result.allocation().bytesPerSample(),
+                result.allocation().gcCount(), result.allocation().gcPauseMillis());
+        System.out.println("result: " + file.toAbsolutePath());
+        // 임베디드 브로커/Netty 비데몬 스레드가 남아도 종료
+        System.exit(0);
+    }
+
+    public LoadResult run() throws InterruptedException {
+        String startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+        broker.afterPropertiesSet();
+        try (StubSimulatorServer simulator = new StubSimulatorServer(Duration.ZERO, settings.engines());
+             EmbeddedRedis redis = new EmbeddedRedis(settings.serialization());
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(KafkaDemoApplication.class)
+                     .profiles("load")
+                     .properties(applicationProperties(broker, redis, simulator))
+                     .run()) {
+
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            System.out.printf("warmup %ds%n", settings.warmupSeconds());
+            Thread.sleep(Duration.ofSeconds(settings.warmupSeconds()));
+
+            MeterSnapshot start = MeterSnapshot.take(registry);
+            System.out.printf("measuring %ds%n", settings.durationSeconds());
+            Thread.sleep(Duration.ofSeconds(settings.durationSeconds()));
+            MeterSnapshot end = MeterSnapshot.take(registry);
+
+            return result(startedAt, start, end);
+        } finally {
+            broker.destroy();
+        }
+    }
+
+    private Map<String, Object> applicationProperties(EmbeddedKafkaKraftBroker broker, EmbeddedRedis redis,
+                                                      StubSimulatorServer simulator) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.kafka.bootstrap-servers", broker.getBrokersAsString());
+        properties.put("spring.data.redis.port", redis.port());
+        properties.put("spring.api.url", simulator.bulkUrl());
+        properties.put("spring.api.ingest.mode", settings.mode());
+        properties.put("spring.api.ingest.bulk-url", simulator.bulkUrl());
+        properties.put("spring.api.ingest.engine-url", simulator.engineUrlTemplate());
+        properties.put("spring.api.ingest.engine-ids", IntStream.range(0, settings.engines())
+                .mapToObj(i -> "engine-" + i)
+                .collect(Collectors.joining(",")));
+        properties.put("spring.api.ingest.interval-ms", settings.intervalMs());
+        properties.put("engine.serialization.format", settings.serialization());
+        properties.put("engine.execution.mode", settings.execution());
+        properties.put("engine.persistence.writer", settings.writer());
+        return properties;
+    }
+
+    private LoadResult result(String startedAt, MeterSnapshot start, MeterSnapshot end) {
+        double seconds = end.seconds(start);
+        double fetched = end.delta(start, "engine.fetch.samples");
+        Map<String, LoadResult.Latency> latencies = end.latencies(start);
+        long acked = latencies.containsKey("e2e-kafka-ack") ? latencies.get("e2e-kafka-ack").count() : 0;
+        double persisted = end.delta(start, "engine.persistence.rows");
+
+        Map<String, Double> errors = new LinkedHashMap<>();
+        for (String counter : new String[]{"engine.fetch.failed", "engine.fetch.skipped.ticks",
+                "engine.kafka.send.failed", "engine.pipeline.dropped", "engine.pipeline.blocked",
+                "engine.pipeline.spilled", "engine.staging.flush.failed", "engine.drain.failed.batches"}) {
+            errors.put(counter, end.delta(start, counter));
+        }
+
+        long allocated = end.allocatedBytes(start);
+        return new LoadResult(startedAt, Runtime.version().toString(), settings, seconds,
+                new LoadResult.Throughput(fetched / seconds, acked / seconds, persisted / seconds),
+                latencies,
+                new LoadResult.Allocation(allocated / seconds, fetched == 0 ? 0 : allocated / fetched,
+                        end.gcCount(start), end.gcMillis(start)),
+                errors);
+    }
+}
@@ -2,9 +2,11 @@ package dev.study.kafkademo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC 커넥션 풀은 engine.persistence.writer=r2dbc 일 때만 R2dbcPoolConfig 가 생성 (spring.r2dbc.url 불필요)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @EnableScheduling
 public class KafkaDemoApplication {
 
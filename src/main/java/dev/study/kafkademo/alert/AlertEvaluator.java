@@ -0,0 +1,127 @@
+package dev.study.kafkademo.alert;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 엔진별 임계치 상태 머신
+ * 엔진·측정값마다 발생 여부와 연속 샘플 수만 보관하고, 상태가 바뀔 때만 알림을 내보내 중복 알림 억제
+ * 단일 스레드(알림 레인 드레인 스레드)에서만 호출한다는 전제로 동기화하지 않음
+ * 샘플이 끊긴 엔진의 상태는 evictIdle 로 제거 (발생 중이던 알림은 activeAlerts 에서 차감)
+ */
+public class AlertEvaluator {
+
+    private final AlertRule[] rules;
+    private final long[] raiseScaled;
+    private final long[] clearScaled;
+    private final Map<String, EngineAlertState> states = new HashMap<>();
+    private volatile int activeAlerts;
+
+    public AlertEvaluator(List<AlertRule> rules) {
+        this.rules = rules.toArray(AlertRule[]::new);
+        this.raiseScaled = new long[this.rules.length];
+        this.clearScaled = new long[this.rules.length];
+        for (int i = 0; i < this.rules.length; i++) {
+            AlertRule rule = this.rules[i];
+            raiseScaled[i] = rule.metric().toScaled(rule.raiseAbove());
+            clearScaled[i] = rule.metric().toScaled(rule.clearBelow());
+        }
+    }
+
+    /**
+     * 샘플 평가 - 상태가 전이된 규칙마다 listener 호출
+     */
+    public void evaluate(EngineSample sample, long nowNanos, Consumer<EngineAlert> listener) {
+        EngineAlertState state = states.computeIfAbsent(sample.getEngineId(),
+                engineId -> new EngineAlertState(rules.length));
+        state.lastSeenNanos = nowNanos;
+
+        for (int i = 0; i < rules.length; i++) {
+            AlertMetric metric = rules[i].metric();
+            if (!metric.isPresent(sample)) {
+                continue;
+            }
+            long value = metric.scaledValue(sample);
+
+            if (!state.raised[i]) {
+                state.streak[i] = value > raiseScaled[i] ? state.streak[i] + 1 : 0;
+                if (state.streak[i] >= rules[i].debounceSamples()) {
+                    state.raised[i] = true;
+                    activeAlerts++;
+                    state.streak[i] = 0;
+                    listener.accept(alert(sample, rules[i], AlertState.RAISED, value, rules[i].raiseAbove()));
+                }
+            } else {
+                state.streak[i] = value < clearScaled[i] ? state.streak[i] + 1 : 0;
+                if (state.streak[i] >= rules[i].debounceSamples()) {
+                    state.raised[i] = false;
+                    activeAlerts--;
+                    state.streak[i] = 0;
+                    listener.accept(alert(sample, rules[i], AlertState.CLEARED, value, rules[i].clearBelow()));
+                }
+            }
+        }
+    }
+
+    /**
+     * idleBeforeNanos 이전부터 샘플이 없는 엔진의 상태 제거
+     *
+     * @return 제거된 엔진 수
+     */
+    public int evictIdle(long idleBeforeNanos) {
+        int removed = 0;
+        Iterator<EngineAlertState> iterator = states.values().iterator();
+        while (iterator.hasNext()) {
+            EngineAlertState state = iterator.next();
+            if (state.lastSeenNanos - idleBeforeNanos < 0) {
+                for (boolean raised : state.raised) {
+                    if (raised) {
+                        activeAlerts--;
+                    }
+                }
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 추적 중인 엔진 수 (드레인 스레드에서만 호출)
+     */
+    public int engines() {
+        return states.size();
+    }
+
+    /**
+     * 현재 발생 상태인 알림 수 (메트릭 스레드에서 읽을 수 있도록 volatile)
+     */
+    public int activeAlerts() {
+        return activeAlerts;
+    }
+
+    private static EngineAlert alert(EngineSample sample, AlertRule rule, AlertState alertState, long value,
+                                     double threshold) {
+        return new EngineAlert(sample.getEngineId(), rule.metric(), alertState,
+                rule.metric().fromScaled(value), threshold, sample.getTimestampMicros());
+    }
+
+    /**
+     * 엔진 하나의 규칙별 상태 - streak 은 발생 전에는 연속 초과 샘플 수, 발생 후에는 연속 해제 샘플 수
+     */
+    private static final class EngineAlertState {
+        private final boolean[] raised;
+        private final int[] streak;
+        private long lastSeenNanos;
+
+        private EngineAlertState(int ruleCount) {
+            this.raised = new boolean[ruleCount];
+            this.streak = new int[ruleCount];
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package dev.study.kafkademo.alert;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+/**
+ * 임계치 알림 대상 측정값
+ * 비교는 EngineSample 의 정수화된 값(scaled long)으로 수행
+ */
+public enum AlertMetric {
+    TEMPERATURE(EngineSample.HAS_TEMPERATURE, EngineSample.TEMPERATURE_SCALE),
+    RPM(EngineSample.HAS_RPM, EngineSample.RPM_SCALE);
+
+    private final int presenceBit;
+    private final long unit;
+
+    AlertMetric(int presenceBit, int scale) {
+        this.presenceBit = presenceBit;
+        this.unit = (long) Math.pow(10, scale);
+    }
+
+    public boolean isPresent(EngineSample sample) {
+        return (sample.getPresence() & presenceBit) != 0;
+    }
+
+    public long scaledValue(EngineSample sample) {
+        return switch (this) {
+            case TEMPERATURE -> sample.getTemperatureScaled();
+            case RPM -> sample.getRpmScaled();
+        };
+    }
+
+    public long toScaled(double value) {
+        return Math.round(value * unit);
+    }
+
+    public double fromScaled(long scaled) {
+        return (double) scaled / unit;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.study.kafkademo.alert;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 알림 발행 채널
+ */
+public interface AlertPublisher {
+
+    /**
+     * 알림 발행 - 호출 스레드를 막지 않고 완료 시그널만 반환
+     */
+    Mono<Void> publish(EngineAlert alert);
+}
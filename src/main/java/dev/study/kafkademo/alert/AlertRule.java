@@ -0,0 +1,17 @@
+package dev.study.kafkademo.alert;
+
+/**
+ * 측정값별 임계치 규칙
+ * raise 초과가 debounce 샘플 연속되면 발생, clear 미만이 debounce 샘플 연속되면 해제 (raise ~ clear 사이는 히스테리시스 구간)
+ */
+public record AlertRule(AlertMetric metric, double raiseAbove, double clearBelow, int debounceSamples) {
+
+    public AlertRule {
+        if (clearBelow > raiseAbove) {
+            throw new IllegalArgumentException("해제 임계치는 발생 임계치보다 클 수 없음: " + metric);
+        }
+        if (debounceSamples < 1) {
+            throw new IllegalArgumentException("debounce 샘플 수는 1 이상이어야 함: " + metric);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package dev.study.kafkademo.alert;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.overload.PriorityEngineRegistry;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임계치 알림 싱크
+ * 파이프라인의 alert 레인 드레인 스레드에서 평가하므로 수집 스레드를 막지 않고, 발행은 비동기로 구독만 함
+ * engine.alert.latency: 수신(EngineDataReceivedEvent.receivedNanos) ~ 알림 발행 완료 지연
+ * 알림 전이가 있은 엔진은 PriorityEngineRegistry 에 기록해 과부하 중에도 모든 레인에 샘플을 적재
+ * 유휴 엔진 상태 제거도 같은 드레인 스레드에서 eviction-interval 마다 수행 (AlertEvaluator 는 단일 스레드 전제)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.alert.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class AlertSink implements EngineDataSink {
+
+    private final AlertEvaluator evaluator;
+    private final AlertPublisher publisher;
+    private final PriorityEngineRegistry priorityEngines;
+    private final Timer latency;
+    private final Counter raised;
+    private final Counter cleared;
+    private final Counter failed;
+    private final Counter evicted;
+    private final long idleTtlNanos;
+    private final long evictionIntervalNanos;
+    private long lastEvictionNanos = System.nanoTime();
+
+    public AlertSink(AlertPublisher publisher,
+                     PriorityEngineRegistry priorityEngines,
+                     MeterRegistry meterRegistry,
+                     @Value("${engine.alert.temperature.raise-above:350}") double temperatureRaise,
+                     @Value("${engine.alert.temperature.clear-below:345}") double temperatureClear,
+                     @Value("${engine.alert.rpm.raise-above:8000}") double rpmRaise,
+                     @Value("${engine.alert.rpm.clear-below:7900}") double rpmClear,
+                     @Value("${engine.alert.debounce-samples:1}") int debounceSamples,
+                     @Value("${engine.alert.idle-ttl-ms:600000}") long idleTtlMillis,
+                     @Value("${engine.alert.eviction-interval-ms:60000}") long evictionIntervalMillis) {
+        this.evaluator = new AlertEvaluator(List.of(
+                new AlertRule(AlertMetric.TEMPERATURE, temperatureRaise, temperatureClear, debounceSamples),
+                new AlertRule(AlertMetric.RPM, rpmRaise, rpmClear, debounceSamples)));
+        this.publisher = publisher;
+        this.priorityEngines = priorityEngines;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMillis);
+        this.evictionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(evictionIntervalMillis);
+        this.latency = Timer.builder("engine.alert.latency")
+                .description("샘플 수신 ~ 알림 발행 완료 지연")
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.raised = Counter.builder("engine.alert.transitions").tag("state", "raised").register(meterRegistry);
+        this.cleared = Counter.builder("engine.alert.transitions").tag("state", "cleared").register(meterRegistry);
+        this.failed = Counter.builder("engine.alert.failed").register(meterRegistry);
+        this.evicted = Counter.builder("engine.alert.evicted").register(meterRegistry);
+        Gauge.builder("engine.alert.active", evaluator, AlertEvaluator::activeAlerts).register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "alert";
+    }
+
+    @Override
+    public void handleBatch(List<EngineDataReceivedEvent> batch) {
+        long now = System.nanoTime();
+        if (now - lastEvictionNanos >= evictionIntervalNanos) {
+            lastEvictionNanos = now;
+            evictIdleEngines(now);
+        }
+        for (EngineDataReceivedEvent event : batch) {
+            evaluator.evaluate(event.getSample(), now, alert -> publish(alert, event.getReceivedNanos()));
+        }
+    }
+
+    /**
+     * idle-ttl 동안 샘플이 없는 엔진의 알림 상태 제거 - 발생 중이던 알림은 해제 알림 없이 engine.alert.active 에서 차감
+     */
+    private void evictIdleEngines(long now) {
+        int removed = evaluator.evictIdle(now - idleTtlNanos);
+        if (removed > 0) {
+            evicted.increment(removed);
+            log.info("유휴 엔진 알림 상태 제거: {}건, 남은 엔진 = {}", removed, evaluator.engines());
+        }
+    }
+
+    private void publish(EngineAlert alert, long receivedNanos) {
+        (alert.state() == AlertState.RAISED ? raised : cleared).increment();
+        priorityEngines.mark(alert.engineId());
+        publisher.publish(alert)
+                .subscribe(
+                        null,
+                        error -> {
+                            failed.increment();
+                            log.error("알림 발행 실패: 알림 = {}, 에러 = {}", alert, error.getMessage());
+                        },
+                        () -> latency.record(System.nanoTime() - receivedNanos, TimeUnit.NANOSECONDS)
+                );
+    }
+
+    public Timer latency() {
+        return latency;
+    }
+}
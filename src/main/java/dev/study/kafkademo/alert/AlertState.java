@@ -0,0 +1,8 @@
+package dev.study.kafkademo.alert;
+
+/**
+ * 알림 상태 전이
+ */
+public enum AlertState {
+    RAISED, CLEARED
+}
@@ -0,0 +1,16 @@
+package dev.study.kafkademo.alert;
+
+/**
+ * 엔진 임계치 알림
+ *
+ * @param value                 상태 전이를 일으킨 샘플의 측정값
+ * @param threshold             적용된 임계치 (RAISED: 발생 임계치, CLEARED: 해제 임계치)
+ * @param sampleTimestampMicros 샘플 시각 (UTC epoch micros)
+ */
+public record EngineAlert(String engineId,
+                          AlertMetric metric,
+                          AlertState state,
+                          double value,
+                          double threshold,
+                          long sampleTimestampMicros) {
+}
@@ -0,0 +1,44 @@
+package dev.study.kafkademo.alert;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Redis pub/sub 알림 발행 - 채널(engine.alert.channel)에 알림 JSON PUBLISH
+ */
+@Component
+@Slf4j
+@ConditionalOnIngestModule
+public class RedisAlertPublisher implements AlertPublisher {
+
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+
+    public RedisAlertPublisher(ReactiveStringRedisTemplate stringRedisTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${engine.alert.channel:engine:alerts}") String channel) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @Override
+    public Mono<Void> publish(EngineAlert alert) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(alert);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        return stringRedisTemplate.convertAndSend(channel, payload)
+                .doOnNext(receivers -> log.debug("알림 발행: 채널 = {}, 수신자 = {}, 알림 = {}", channel, receivers, alert))
+                .then();
+    }
+}
@@ -0,0 +1,27 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * 이상 탐지 설정 (engine.anomaly.enabled)
+ */
+@Configuration
+@ConditionalOnProperty(name = "engine.anomaly.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class AnomalyConfig {
+
+    /**
+     * 이상 점수 토픽 - 엔진 ID 키로 파티셔닝되어 엔진별 순서 유지
+     */
+    @Bean
+    public NewTopic engineAnomalyTopic(@Value("${engine.anomaly.topic:engine-anomalies}") String topic,
+                                       @Value("${engine.anomaly.partitions:3}") int partitions) {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+}
@@ -0,0 +1,202 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 엔진별 스트리밍 이상 탐지 (EWMA / Welford 분산 z-score / 변화율)
+ * 엔진마다 슬롯 번호만 맵에 두고, 측정값별 상태는 [슬롯 x 측정값] 인덱스의 primitive 배열에 보관 (엔진당 O(1) 메모리)
+ * 판정은 갱신 전 통계로 수행 - warmup 샘플 이후 |z| 또는 |EWMA 편차| 가 levelThreshold 이상이면 LEVEL,
+ * 초당 변화량이 표준편차의 rateThreshold 배 이상이면 RATE
+ * 유휴 엔진의 슬롯은 evictIdle 로 해제해 새 엔진이 재사용 (배열은 최대 동시 추적 엔진 수만큼만 증가)
+ * 단일 스레드(anomaly 레인 드레인 스레드)에서만 호출한다는 전제로 동기화하지 않음
+ */
+public class AnomalyDetector {
+
+    private static final int METRICS = AnomalyMetric.VALUES.length;
+    private static final double MICROS_PER_SECOND = 1_000_000.0;
+
+    private final double alpha;
+    private final int warmupSamples;
+    private final double levelThreshold;
+    private final double rateThreshold;
+    private final int maxEngines;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private int[] freeSlots;
+    private int freeCount;
+    private int nextSlot;
+    private long[] lastSeenNanos;
+    private long[] count;
+    private double[] mean;
+    private double[] m2;
+    private double[] ewma;
+    private double[] last;
+    private long[] lastMicros;
+    private volatile int engines;
+
+    public AnomalyDetector(double alpha, int warmupSamples, double levelThreshold, double rateThreshold,
+                           int maxEngines) {
+        if (alpha <= 0 || alpha > 1) {
+            throw new IllegalArgumentException("EWMA alpha 는 (0, 1] 범위여야 함: " + alpha);
+        }
+        this.alpha = alpha;
+        this.warmupSamples = Math.max(2, warmupSamples);
+        this.levelThreshold = levelThreshold;
+        this.rateThreshold = rateThreshold;
+        this.maxEngines = maxEngines;
+        allocate(Math.min(maxEngines, 1024));
+    }
+
+    /**
+     * 샘플 평가 - 이상으로 판정된 측정값마다 listener 호출
+     *
+     * @return 처리 여부 (엔진 ID 가 없거나, 엔진 수 상한에 도달해 새 엔진을 추적하지 못하면 false)
+     */
+    public boolean evaluate(EngineSample sample, Consumer<EngineAnomaly> listener) {
+        return evaluate(sample, System.nanoTime(), listener);
+    }
+
+    /**
+     * @param nowNanos 유휴 판정 기준 시각 (System.nanoTime, 배치 단위로 한 번 읽어 전달)
+     */
+    public boolean evaluate(EngineSample sample, long nowNanos, Consumer<EngineAnomaly> listener) {
+        int slot = slot(sample.getEngineId());
+        if (slot < 0) {
+            return false;
+        }
+        lastSeenNanos[slot] = nowNanos;
+        boolean timed = sample.has(EngineSample.HAS_TIMESTAMP);
+        long micros = sample.getTimestampMicros();
+
+        for (int m = 0; m < METRICS; m++) {
+            AnomalyMetric metric = AnomalyMetric.VALUES[m];
+            if (!metric.isPresent(sample)) {
+                continue;
+            }
+            int i = slot * METRICS + m;
+            double x = metric.value(sample);
+            long n = count[i];
+
+            if (n >= warmupSamples) {
+                double std = Math.sqrt(m2[i] / (n - 1));
+                if (std > 0) {
+                    score(sample, metric, i, x, std, timed ? micros : Long.MIN_VALUE, listener);
+                }
+            }
+
+            // Welford 누적 평균·분산, EWMA 갱신
+            n++;
+            double delta = x - mean[i];
+            mean[i] += delta / n;
+            m2[i] += delta * (x - mean[i]);
+            ewma[i] = n == 1 ? x : ewma[i] + alpha * (x - ewma[i]);
+            count[i] = n;
+            last[i] = x;
+            lastMicros[i] = timed ? micros : Long.MIN_VALUE;
+        }
+        return true;
+    }
+
+    /**
+     * idleBeforeNanos 이전부터 샘플이 없는 엔진의 통계를 지우고 슬롯을 재사용 대상으로 반환
+     *
+     * @return 제거된 엔진 수
+     */
+    public int evictIdle(long idleBeforeNanos) {
+        int removed = 0;
+        Iterator<Integer> iterator = slots.values().iterator();
+        while (iterator.hasNext()) {
+            int slot = iterator.next();
+            if (lastSeenNanos[slot] - idleBeforeNanos < 0) {
+                iterator.remove();
+                release(slot);
+                removed++;
+            }
+        }
+        engines = slots.size();
+        return removed;
+    }
+
+    /**
+     * 추적 중인 엔진 수 (메트릭 스레드에서 읽을 수 있도록 volatile)
+     */
+    public int engines() {
+        return engines;
+    }
+
+    private void score(EngineSample sample, AnomalyMetric metric, int i, double x, double std, long micros,
+                       Consumer<EngineAnomaly> listener) {
+        double zScore = (x - mean[i]) / std;
+        double ewmaScore = (x - ewma[i]) / std;
+        double rate = 0;
+        if (micros != Long.MIN_VALUE && lastMicros[i] != Long.MIN_VALUE && micros > lastMicros[i]) {
+            rate = (x - last[i]) * MICROS_PER_SECOND / (micros - lastMicros[i]);
+        }
+
+        EngineAnomaly.Kind kind;
+        if (Math.abs(zScore) >= levelThreshold || Math.abs(ewmaScore) >= levelThreshold) {
+            kind = EngineAnomaly.Kind.LEVEL;
+        } else if (Math.abs(rate) >= rateThreshold * std) {
+            kind = EngineAnomaly.Kind.RATE;
+        } else {
+            return;
+        }
+        listener.accept(new EngineAnomaly(sample.getEngineId(), metric, kind, x, ewma[i], zScore, ewmaScore, rate,
+                sample.getTimestampMicros()));
+    }
+
+    private int slot(String engineId) {
+        if (engineId == null) {
+            return -1;
+        }
+        Integer slot = slots.get(engineId);
+        if (slot != null) {
+            return slot;
+        }
+        int next;
+        if (freeCount > 0) {
+            next = freeSlots[--freeCount];
+        } else {
+            if (nextSlot >= maxEngines) {
+                return -1;
+            }
+            next = nextSlot++;
+            if (next * METRICS >= count.length) {
+                allocate(Math.min(maxEngines, next * 2));
+            }
+        }
+        slots.put(engineId, next);
+        engines = slots.size();
+        return next;
+    }
+
+    private void release(int slot) {
+        int from = slot * METRICS;
+        int to = from + METRICS;
+        Arrays.fill(count, from, to, 0);
+        Arrays.fill(mean, from, to, 0);
+        Arrays.fill(m2, from, to, 0);
+        Arrays.fill(ewma, from, to, 0);
+        Arrays.fill(last, from, to, 0);
+        Arrays.fill(lastMicros, from, to, 0);
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void allocate(int capacity) {
+        int length = capacity * METRICS;
+        count = count == null ? new long[length] : Arrays.copyOf(count, length);
+        mean = mean == null ? new double[length] : Arrays.copyOf(mean, length);
+        m2 = m2 == null ? new double[length] : Arrays.copyOf(m2, length);
+        ewma = ewma == null ? new double[length] : Arrays.copyOf(ewma, length);
+        last = last == null ? new double[length] : Arrays.copyOf(last, length);
+        lastMicros = lastMicros == null ? new long[length] : Arrays.copyOf(lastMicros, length);
+        lastSeenNanos = lastSeenNanos == null ? new long[capacity] : Arrays.copyOf(lastSeenNanos, capacity);
+        freeSlots = freeSlots == null ? new int[capacity] : Arrays.copyOf(freeSlots, capacity);
+    }
+}
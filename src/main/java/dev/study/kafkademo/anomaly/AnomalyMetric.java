@@ -0,0 +1,37 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+/**
+ * 이상 탐지 대상 측정값 - ordinal 이 엔진별 상태 배열의 측정값 오프셋
+ */
+public enum AnomalyMetric {
+    TEMPERATURE(EngineSample.HAS_TEMPERATURE, EngineSample.TEMPERATURE_SCALE),
+    RPM(EngineSample.HAS_RPM, EngineSample.RPM_SCALE),
+    PRESSURE(EngineSample.HAS_PRESSURE, EngineSample.PRESSURE_SCALE),
+    FUEL_FLOW(EngineSample.HAS_FUEL_FLOW, EngineSample.FUEL_FLOW_SCALE);
+
+    static final AnomalyMetric[] VALUES = values();
+
+    private final int presenceBit;
+    private final double unit;
+
+    AnomalyMetric(int presenceBit, int scale) {
+        this.presenceBit = presenceBit;
+        this.unit = Math.pow(10, scale);
+    }
+
+    public boolean isPresent(EngineSample sample) {
+        return (sample.getPresence() & presenceBit) != 0;
+    }
+
+    public double value(EngineSample sample) {
+        long scaled = switch (this) {
+            case TEMPERATURE -> sample.getTemperatureScaled();
+            case RPM -> sample.getRpmScaled();
+            case PRESSURE -> sample.getPressureScaled();
+            case FUEL_FLOW -> sample.getFuelFlowScaled();
+        };
+        return scaled / unit;
+    }
+}
@@ -0,0 +1,14 @@
+package dev.study.kafkademo.anomaly;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 이상 점수 발행 채널
+ */
+public interface AnomalyPublisher {
+
+    /**
+     * 이상 점수 발행 - 호출 스레드를 막지 않고 완료 시그널만 반환
+     */
+    Mono<Void> publish(EngineAnomaly anomaly);
+}
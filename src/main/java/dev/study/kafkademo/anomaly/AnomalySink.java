@@ -0,0 +1,116 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.overload.PriorityEngineRegistry;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 스트리밍 이상 탐지 싱크
+ * 파이프라인의 anomaly 레인 드레인 스레드에서 엔진별 통계를 갱신하고, 이상 점수만 비동기로 발행
+ * (별도 분석 서비스 없이 JVM 안에서 EWMA / z-score / 변화율 판정)
+ * 이상이 탐지된 엔진은 PriorityEngineRegistry 에 기록해 과부하 중에도 모든 레인에 샘플을 적재
+ * 유휴 엔진 제거도 같은 드레인 스레드에서 eviction-interval 마다 수행 (AnomalyDetector 는 단일 스레드 전제)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.anomaly.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class AnomalySink implements EngineDataSink {
+
+    private final AnomalyDetector detector;
+    private final AnomalyPublisher publisher;
+    private final PriorityEngineRegistry priorityEngines;
+    private final Consumer<EngineAnomaly> listener = this::publish;
+    private final Map<AnomalyMetric, Counter> detected = new EnumMap<>(AnomalyMetric.class);
+    private final Counter untracked;
+    private final Counter failed;
+    private final Counter evicted;
+    private final long idleTtlNanos;
+    private final long evictionIntervalNanos;
+    private long lastEvictionNanos = System.nanoTime();
+
+    public AnomalySink(AnomalyPublisher publisher,
+                       PriorityEngineRegistry priorityEngines,
+                       MeterRegistry meterRegistry,
+                       @Value("${engine.anomaly.ewma-alpha:0.1}") double alpha,
+                       @Value("${engine.anomaly.warmup-samples:30}") int warmupSamples,
+                       @Value("${engine.anomaly.level-threshold:4.0}") double levelThreshold,
+                       @Value("${engine.anomaly.rate-threshold:3.0}") double rateThreshold,
+                       @Value("${engine.anomaly.max-engines:100000}") int maxEngines,
+                       @Value("${engine.anomaly.idle-ttl-ms:600000}") long idleTtlMillis,
+                       @Value("${engine.anomaly.eviction-interval-ms:60000}") long evictionIntervalMillis) {
+        this.detector = new AnomalyDetector(alpha, warmupSamples, levelThreshold, rateThreshold, maxEngines);
+        this.publisher = publisher;
+        this.priorityEngines = priorityEngines;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMillis);
+        this.evictionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(evictionIntervalMillis);
+        for (AnomalyMetric metric : AnomalyMetric.values()) {
+            detected.put(metric, Counter.builder("engine.anomaly.detected")
+                    .tag("metric", metric.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.untracked = Counter.builder("engine.anomaly.untracked")
+                .description("엔진 ID 가 없거나 max-engines 초과로 평가하지 못한 샘플 수")
+                .register(meterRegistry);
+        this.failed = Counter.builder("engine.anomaly.publish.failed").register(meterRegistry);
+        this.evicted = Counter.builder("engine.anomaly.evicted").register(meterRegistry);
+        Gauge.builder("engine.anomaly.engines", detector, AnomalyDetector::engines).register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "anomaly";
+    }
+
+    @Override
+    public void handleBatch(List<EngineDataReceivedEvent> batch) {
+        long now = System.nanoTime();
+        if (now - lastEvictionNanos >= evictionIntervalNanos) {
+            lastEvictionNanos = now;
+            evictIdleEngines(now);
+        }
+        for (EngineDataReceivedEvent event : batch) {
+            if (!detector.evaluate(event.getSample(), now, listener)) {
+                untracked.increment();
+            }
+        }
+    }
+
+    /**
+     * idle-ttl 동안 샘플이 없는 엔진의 통계 제거 (슬롯은 새 엔진이 재사용)
+     */
+    private void evictIdleEngines(long now) {
+        int removed = detector.evictIdle(now - idleTtlNanos);
+        if (removed > 0) {
+            evicted.increment(removed);
+            log.info("유휴 엔진 이상 탐지 상태 제거: {}건, 남은 엔진 = {}", removed, detector.engines());
+        }
+    }
+
+    private void publish(EngineAnomaly anomaly) {
+        detected.get(anomaly.metric()).increment();
+        priorityEngines.mark(anomaly.engineId());
+        publisher.publish(anomaly)
+                .subscribe(
+                        null,
+                        error -> {
+                            failed.increment();
+                            log.error("이상 점수 발행 실패: 이상 = {}, 에러 = {}", anomaly, error.getMessage());
+                        }
+                );
+    }
+}
@@ -0,0 +1,27 @@
+package dev.study.kafkademo.anomaly;
+
+/**
+ * 엔진 측정값 이상 점수 (engine-anomalies 토픽 JSON 값, 키는 엔진 ID)
+ *
+ * @param kind                  LEVEL: 값이 평균/EWMA 에서 벗어남, RATE: 변화율이 큼
+ * @param value                 이상으로 판정된 샘플의 측정값
+ * @param ewma                  판정 직전 EWMA
+ * @param zScore                판정 직전 누적 평균·표준편차(Welford) 기준 z-score
+ * @param ewmaScore             (value - ewma) / 표준편차
+ * @param ratePerSecond         직전 샘플 대비 초당 변화량 (직전 샘플이 없으면 0)
+ * @param sampleTimestampMicros 샘플 시각 (UTC epoch micros)
+ */
+public record EngineAnomaly(String engineId,
+                            AnomalyMetric metric,
+                            Kind kind,
+                            double value,
+                            double ewma,
+                            double zScore,
+                            double ewmaScore,
+                            double ratePerSecond,
+                            long sampleTimestampMicros) {
+
+    public enum Kind {
+        LEVEL, RATE
+    }
+}
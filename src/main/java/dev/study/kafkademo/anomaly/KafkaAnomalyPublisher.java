@@ -0,0 +1,53 @@
+package dev.study.kafkademo.anomaly;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Kafka 이상 점수 발행 - engine.anomaly.topic 에 엔진 ID 키 + EngineAnomaly JSON 값으로 전송
+ * spring.kafka.producer.* 설정(브로커, acks, 압축 등)은 공유하고 값 직렬화만 다른 전용 KafkaTemplate 사용
+ * (기본 KafkaTemplate<String, EngineSample> 빈은 그대로 두기 위해 빈으로 등록하지 않음)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.anomaly.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class KafkaAnomalyPublisher implements AnomalyPublisher {
+
+    private final DefaultKafkaProducerFactory<String, EngineAnomaly> producerFactory;
+    private final KafkaTemplate<String, EngineAnomaly> kafkaTemplate;
+    private final String topic;
+
+    public KafkaAnomalyPublisher(ProducerFactory<?, ?> engineProducerFactory,
+                                 ObjectMapper objectMapper,
+                                 @Value("${engine.anomaly.topic:engine-anomalies}") String topic) {
+        this.producerFactory = new DefaultKafkaProducerFactory<>(engineProducerFactory.getConfigurationProperties(),
+                new StringSerializer(), new JsonSerializer<EngineAnomaly>(objectMapper).noTypeInfo());
+        this.kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        this.topic = topic;
+    }
+
+    @Override
+    public Mono<Void> publish(EngineAnomaly anomaly) {
+        return Mono.fromFuture(() -> kafkaTemplate.send(topic, anomaly.engineId(), anomaly))
+                .doOnNext(result -> log.debug("이상 점수 발행: 파티션 = {}, 이상 = {}",
+                        result.getRecordMetadata().partition(), anomaly))
+                .then();
+    }
+
+    @PreDestroy
+    public void close() {
+        producerFactory.destroy();
+    }
+}
@@ -0,0 +1,262 @@
+package dev.study.kafkademo.archive;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * 엔진 샘플 아카이브 파일 포맷
+ * <pre>
+ * 파일   = FILE_MAGIC(4) + 블록...
+ * 블록   = BLOCK_MAGIC(4) + 최소 시각(8) + 최대 시각(8) + 행 수(4) + 원본 길이(4) + 압축 길이(4) + Deflate(원본)
+ * 원본   = varint 엔진 그룹 수 + 그룹...
+ * 그룹   = varint (engineId 길이 + 1, 0 이면 null) + engineId UTF-8 + varint 본문 길이 + 본문
+ * 본문   = varint 행 수 + presence 열(행당 1 byte) + 시각 열(delta-of-delta) + 측정값 열 4개(delta), 모두 zigzag varint
+ * </pre>
+ * 그룹 안의 행은 시각 순 정렬 - 수집 주기가 일정하면 시각 열은 거의 0, 측정값 열은 작은 변화량만 남아 압축률이 높음
+ * 블록 헤더의 시각 범위로 범위 밖 블록은 압축 해제 없이 건너뛰고, 그룹 본문 길이로 다른 엔진 그룹은 해석 없이 건너뜀
+ * 파티션 디렉터리는 샘플 시각의 UTC 시간 단위 (yyyy-MM-dd/HH)
+ */
+final class ArchiveFormat {
+
+    static final int FILE_MAGIC = 0x45415231;  // "EAR1"
+    static final int BLOCK_MAGIC = 0x45424C4B; // "EBLK"
+    static final int BLOCK_HEADER_BYTES = 4 + 8 + 8 + 4 + 4 + 4;
+    static final String SEALED_SUFFIX = ".eba";
+    static final String IN_PROGRESS_SUFFIX = ".eba.inprogress";
+    static final long MICROS_PER_HOUR = 3_600_000_000L;
+
+    private ArchiveFormat() {
+    }
+
+    static long hourOf(long micros) {
+        return Math.floorDiv(micros, MICROS_PER_HOUR);
+    }
+
+    static Path partitionDir(Path root, long hour) {
+        ZonedDateTime start = Instant.ofEpochSecond(hour * 3_600).atZone(ZoneOffset.UTC);
+        return root.resolve(start.toLocalDate().toString()).resolve(String.format("%02d", start.getHour()));
+    }
+
+    /**
+     * 샘플 목록을 엔진별 열 단위 원본 블록으로 인코딩 (시각이 있는 샘플만 전달)
+     */
+    static Encoded encode(List<EngineSample> samples) {
+        Map<String, List<EngineSample>> groups = new LinkedHashMap<>();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (EngineSample sample : samples) {
+            groups.computeIfAbsent(sample.getEngineId(), id -> new ArrayList<>()).add(sample);
+            min = Math.min(min, sample.getTimestampMicros());
+            max = Math.max(max, sample.getTimestampMicros());
+        }
+
+        ByteSink out = new ByteSink(samples.size() * 8 + 64);
+        ByteSink body = new ByteSink(1024);
+        out.writeVarLong(groups.size());
+        for (Map.Entry<String, List<EngineSample>> group : groups.entrySet()) {
+            List<EngineSample> rows = group.getValue();
+            rows.sort(Comparator.comparingLong(EngineSample::getTimestampMicros));
+
+            body.reset();
+            body.writeVarLong(rows.size());
+            for (EngineSample row : rows) {
+                body.writeByte(row.getPresence());
+            }
+            long previous = 0;
+            long previousDelta = 0;
+            for (EngineSample row : rows) {
+                long delta = row.getTimestampMicros() - previous;
+                body.writeZigZag(delta - previousDelta);
+                previousDelta = delta;
+                previous = row.getTimestampMicros();
+            }
+            writeDeltas(body, rows, EngineSample::getTemperatureScaled);
+            writeDeltas(body, rows, EngineSample::getRpmScaled);
+            writeDeltas(body, rows, EngineSample::getPressureScaled);
+            writeDeltas(body, rows, EngineSample::getFuelFlowScaled);
+
+            String engineId = group.getKey();
+            if (engineId == null) {
+                out.writeVarLong(0);
+            } else {
+                byte[] id = engineId.getBytes(StandardCharsets.UTF_8);
+                out.writeVarLong(id.length + 1L);
+                out.writeBytes(id, id.length);
+            }
+            out.writeVarLong(body.size);
+            out.writeBytes(body.bytes, body.size);
+        }
+        return new Encoded(out.bytes, out.size, samples.size(), min, max);
+    }
+
+    /**
+     * 원본 블록 디코딩 - engineId 가 null 이 아니면 해당 엔진 그룹만, [fromMicros, toMicros) 범위의 행만 out 에 추가
+     */
+    static void decode(byte[] raw, int length, String engineId, long fromMicros, long toMicros,
+                       List<EngineSample> out) {
+        ByteSource in = new ByteSource(raw, length);
+        long groups = in.readVarLong();
+        for (long g = 0; g < groups; g++) {
+            int idLength = (int) in.readVarLong();
+            String id = idLength == 0 ? null : in.readString(idLength - 1);
+            int bodyLength = (int) in.readVarLong();
+            if (engineId != null && !engineId.equals(id)) {
+                in.skip(bodyLength);
+                continue;
+            }
+
+            int rows = (int) in.readVarLong();
+            int[] presence = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                presence[i] = in.readByte();
+            }
+            long[] timestamps = new long[rows];
+            long previous = 0;
+            long previousDelta = 0;
+            for (int i = 0; i < rows; i++) {
+                previousDelta += in.readZigZag();
+                previous += previousDelta;
+                timestamps[i] = previous;
+            }
+            long[] temperature = readDeltas(in, rows);
+            long[] rpm = readDeltas(in, rows);
+            long[] pressure = readDeltas(in, rows);
+            long[] fuelFlow = readDeltas(in, rows);
+
+            for (int i = 0; i < rows; i++) {
+                if (timestamps[i] >= fromMicros && timestamps[i] < toMicros) {
+                    out.add(new EngineSample(id, temperature[i], rpm[i], pressure[i], fuelFlow[i], timestamps[i],
+                            presence[i]));
+                }
+            }
+        }
+    }
+
+    private static void writeDeltas(ByteSink body, List<EngineSample> rows, ToLongFunction<EngineSample> column) {
+        long previous = 0;
+        for (EngineSample row : rows) {
+            long value = column.applyAsLong(row);
+            body.writeZigZag(value - previous);
+            previous = value;
+        }
+    }
+
+    private static long[] readDeltas(ByteSource in, int rows) {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += in.readZigZag();
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    /**
+     * 인코딩된 원본 블록 (bytes 의 앞 length 바이트가 유효)
+     */
+    record Encoded(byte[] bytes, int length, int rows, long minMicros, long maxMicros) {
+    }
+
+    private static final class ByteSink {
+
+        private byte[] bytes;
+        private int size;
+
+        ByteSink(int capacity) {
+            this.bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] source, int length) {
+            ensure(length);
+            System.arraycopy(source, 0, bytes, size, length);
+            size += length;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static final class ByteSource {
+
+        private final byte[] bytes;
+        private final int limit;
+        private int position;
+
+        ByteSource(byte[] bytes, int limit) {
+            this.bytes = bytes;
+            this.limit = limit;
+        }
+
+        int readByte() {
+            Objects.checkIndex(position, limit);
+            return bytes[position++] & 0xFF;
+        }
+
+        String readString(int length) {
+            Objects.checkFromIndexSize(position, length, limit);
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skip(int length) {
+            Objects.checkFromIndexSize(position, length, limit);
+            position += length;
+        }
+
+        long readZigZag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("잘못된 varint");
+        }
+    }
+}
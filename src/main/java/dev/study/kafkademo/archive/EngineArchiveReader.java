@@ -0,0 +1,162 @@
+package dev.study.kafkademo.archive;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 아카이브 시간 범위 스트리밍 조회
+ * 범위에 걸친 시간 파티션의 봉인된 파일을 순서대로 열어 블록 단위로 읽으므로 메모리에는 블록 하나만 올라감
+ * 결과 순서는 파티션 -> 파일 -> 블록 순이며, 블록 안에서는 엔진별로 시각 순 (전체 시각 순 정렬은 아님)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.archive.enabled", havingValue = "true")
+@ConditionalOnPersistModule
+public class EngineArchiveReader {
+
+    private final Path root;
+
+    public EngineArchiveReader(@Value("${engine.archive.dir:${java.io.tmpdir}/engine-archive}") Path root) {
+        this.root = root;
+    }
+
+    /**
+     * [fromMicros, toMicros) 범위의 샘플 - engineId 가 null 이면 모든 엔진
+     */
+    public Flux<EngineSample> scan(@Nullable String engineId, long fromMicros, long toMicros) {
+        if (fromMicros >= toMicros) {
+            return Flux.empty();
+        }
+        return Flux.defer(() -> Flux.fromIterable(files(fromMicros, toMicros)))
+                .concatMap(file -> Flux.using(
+                        () -> new BlockReader(file),
+                        reader -> Flux.<List<EngineSample>>generate(sink -> {
+                            List<EngineSample> block = reader.next(engineId, fromMicros, toMicros);
+                            if (block == null) {
+                                sink.complete();
+                            } else {
+                                sink.next(block);
+                            }
+                        }),
+                        BlockReader::close))
+                .concatMapIterable(block -> block)
+                // 파일 I/O 와 압축 해제는 블로킹이므로 boundedElastic 에서 실행
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 범위에 걸친 시간 파티션의 봉인된 파일 (파티션, 파일 이름 순)
+     */
+    List<Path> files(long fromMicros, long toMicros) {
+        List<Path> files = new ArrayList<>();
+        for (long hour = ArchiveFormat.hourOf(fromMicros); hour <= ArchiveFormat.hourOf(toMicros - 1); hour++) {
+            Path dir = ArchiveFormat.partitionDir(root, hour);
+            if (!Files.isDirectory(dir)) {
+                continue;
+            }
+            try (Stream<Path> list = Files.list(dir)) {
+                list.filter(file -> file.getFileName().toString().endsWith(ArchiveFormat.SEALED_SUFFIX))
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("아카이브 파티션 조회 실패: " + dir, e);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 파일 하나의 블록 순차 읽기 - 범위 밖 블록은 압축 해제 없이 건너뜀
+     */
+    private static final class BlockReader implements Closeable {
+
+        private final Path file;
+        private final DataInputStream in;
+        private final Inflater inflater = new Inflater();
+        private byte[] compressed = new byte[0];
+        private byte[] raw = new byte[0];
+
+        private BlockReader(Path file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+            if (in.readInt() != ArchiveFormat.FILE_MAGIC) {
+                in.close();
+                throw new IOException("아카이브 파일이 아님: " + file);
+            }
+        }
+
+        /**
+         * 다음 블록의 범위 내 샘플 (범위 밖이거나 다른 엔진뿐이면 빈 목록), 파일 끝이면 null
+         */
+        List<EngineSample> next(String engineId, long fromMicros, long toMicros) {
+            try {
+                if (in.readInt() != ArchiveFormat.BLOCK_MAGIC) {
+                    log.warn("아카이브 블록 손상 - 이후 블록 건너뜀: {}", file);
+                    return null;
+                }
+                long minMicros = in.readLong();
+                long maxMicros = in.readLong();
+                int rows = in.readInt();
+                int rawLength = in.readInt();
+                int compressedLength = in.readInt();
+                if (maxMicros < fromMicros || minMicros >= toMicros) {
+                    in.skipNBytes(compressedLength);
+                    return List.of();
+                }
+
+                if (compressed.length < compressedLength) {
+                    compressed = new byte[compressedLength];
+                }
+                if (raw.length < rawLength) {
+                    raw = new byte[rawLength];
+                }
+                in.readFully(compressed, 0, compressedLength);
+                inflater.reset();
+                inflater.setInput(compressed, 0, compressedLength);
+                if (inflater.inflate(raw, 0, rawLength) != rawLength) {
+                    throw new IOException("블록 압축 해제 길이 불일치: " + file);
+                }
+
+                List<EngineSample> samples = new ArrayList<>(engineId == null ? rows : 16);
+                ArchiveFormat.decode(raw, rawLength, engineId, fromMicros, toMicros, samples);
+                return samples;
+            } catch (EOFException e) {
+                // 파일 끝 또는 프로세스 중단으로 잘린 마지막 블록
+                return null;
+            } catch (IOException | DataFormatException e) {
+                throw new IllegalStateException("아카이브 블록 읽기 실패: " + file, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            inflater.end();
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.warn("아카이브 파일 닫기 실패: {}", file);
+            }
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package dev.study.kafkademo.archive;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+/**
+ * 적재된 배치의 열 단위 압축 아카이브 (로컬 디스크, 장기 보관/오프라인 분석용)
+ * 배치를 샘플 시각의 UTC 시간 파티션별로 나눠 파티션마다 열린 파일에 블록 하나씩 추가 (포맷은 ArchiveFormat)
+ * 파일은 max-file-bytes 를 넘거나 roll-interval-ms 가 지나면 봉인(.inprogress -> .eba)되며, 리더는 봉인된 파일만 읽음
+ * 시작 시 이전 실행에서 남은 .inprogress 파일은 봉인 처리 (마지막 블록이 잘렸으면 리더가 그 앞까지만 읽음)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.archive.enabled", havingValue = "true")
+@ConditionalOnPersistModule
+public class EngineArchiveWriter {
+
+    private final Path root;
+    private final long maxFileBytes;
+    private final long rollNanos;
+    private final Deflater deflater;
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final Map<Long, ActiveFile> activeFiles = new HashMap<>();
+
+    private final Counter archivedRows;
+    private final Counter archivedBytes;
+    private final Counter sealedFiles;
+    private final Counter failedRows;
+
+    private byte[] compressed = new byte[64 * 1024];
+
+    public EngineArchiveWriter(MeterRegistry meterRegistry,
+                               @Value("${engine.archive.dir:${java.io.tmpdir}/engine-archive}") Path root,
+                               @Value("${engine.archive.max-file-bytes:67108864}") long maxFileBytes,
+                               @Value("${engine.archive.roll-interval-ms:600000}") long rollIntervalMillis,
+                               @Value("${engine.archive.compression-level:6}") int compressionLevel) {
+        this.root = root;
+        this.maxFileBytes = maxFileBytes;
+        this.rollNanos = TimeUnit.MILLISECONDS.toNanos(rollIntervalMillis);
+        this.deflater = new Deflater(compressionLevel);
+        this.archivedRows = Counter.builder("engine.archive.rows").register(meterRegistry);
+        this.archivedBytes = Counter.builder("engine.archive.bytes")
+                .description("압축 후 기록한 블록 바이트")
+                .register(meterRegistry);
+        this.sealedFiles = Counter.builder("engine.archive.files.sealed").register(meterRegistry);
+        this.failedRows = Counter.builder("engine.archive.failed").register(meterRegistry);
+        try {
+            Files.createDirectories(root);
+            sealLeftovers();
+        } catch (IOException e) {
+            throw new UncheckedIOException("아카이브 디렉터리 초기화 실패: " + root, e);
+        }
+    }
+
+    /**
+     * 적재된 배치 기록 - 실패해도 DB 적재 결과에는 영향을 주지 않도록 예외 대신 실패 수만 기록
+     * 시각이 없는 샘플은 파티션을 정할 수 없으므로 제외
+     */
+    public synchronized void append(List<EngineSample> samples) {
+        Map<Long, List<EngineSample>> byHour = new HashMap<>();
+        for (EngineSample sample : samples) {
+            if (sample.has(EngineSample.HAS_TIMESTAMP)) {
+                byHour.computeIfAbsent(ArchiveFormat.hourOf(sample.getTimestampMicros()), h -> new ArrayList<>())
+                        .add(sample);
+            }
+        }
+        for (Map.Entry<Long, List<EngineSample>> partition : byHour.entrySet()) {
+            long hour = partition.getKey();
+            List<EngineSample> rows = partition.getValue();
+            try {
+                ActiveFile file = activeFiles.get(hour);
+                if (file == null) {
+                    file = open(hour);
+                    activeFiles.put(hour, file);
+                }
+                file.bytes += writeBlock(file.out, ArchiveFormat.encode(rows));
+                archivedRows.increment(rows.size());
+                if (file.bytes >= maxFileBytes) {
+                    seal(activeFiles.remove(hour));
+                }
+            } catch (IOException | RuntimeException e) {
+                failedRows.increment(rows.size());
+                log.error("아카이브 기록 실패: 파티션 = {}, 행 = {}, 에러 = {}",
+                        ArchiveFormat.partitionDir(root, hour), rows.size(), e.getMessage());
+                ActiveFile broken = activeFiles.remove(hour);
+                if (broken != null) {
+                    seal(broken);
+                }
+            }
+        }
+    }
+
+    /**
+     * roll-interval-ms 가 지난 파일 봉인 - 더 이상 샘플이 들어오지 않는 지난 시간 파티션도 여기서 닫힘
+     */
+    @Scheduled(fixedDelayString = "${engine.archive.roll-check-ms:10000}")
+    public synchronized void rollExpired() {
+        long now = System.nanoTime();
+        Iterator<ActiveFile> iterator = activeFiles.values().iterator();
+        while (iterator.hasNext()) {
+            ActiveFile file = iterator.next();
+            if (now - file.openedNanos >= rollNanos) {
+                iterator.remove();
+                seal(file);
+            }
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        activeFiles.values().forEach(this::seal);
+        activeFiles.clear();
+        deflater.end();
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    private int writeBlock(DataOutputStream out, ArchiveFormat.Encoded block) throws IOException {
+        deflater.reset();
+        deflater.setInput(block.bytes(), 0, block.length());
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+
+        out.writeInt(ArchiveFormat.BLOCK_MAGIC);
+        out.writeLong(block.minMicros());
+        out.writeLong(block.maxMicros());
+        out.writeInt(block.rows());
+        out.writeInt(block.length());
+        out.writeInt(length);
+        out.write(compressed, 0, length);
+        // 블록 단위로 OS 에 넘겨 프로세스가 죽어도 완성된 블록은 남김
+        out.flush();
+        archivedBytes.increment(length);
+        return ArchiveFormat.BLOCK_HEADER_BYTES + length;
+    }
+
+    private ActiveFile open(long hour) throws IOException {
+        Path dir = ArchiveFormat.partitionDir(root, hour);
+        Files.createDirectories(dir);
+        String name = String.format("part-%013d-%04d", System.currentTimeMillis(), sequence.incrementAndGet() % 10_000);
+        Path inProgress = dir.resolve(name + ArchiveFormat.IN_PROGRESS_SUFFIX);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(inProgress, StandardOpenOption.CREATE_NEW), 64 * 1024));
+        out.writeInt(ArchiveFormat.FILE_MAGIC);
+        return new ActiveFile(inProgress, dir.resolve(name + ArchiveFormat.SEALED_SUFFIX), out, System.nanoTime());
+    }
+
+    private void seal(ActiveFile file) {
+        try {
+            file.out.close();
+            Files.move(file.inProgress, file.sealed, StandardCopyOption.ATOMIC_MOVE);
+            sealedFiles.increment();
+            log.debug("아카이브 파일 봉인: {} ({} bytes)", file.sealed, file.bytes);
+        } catch (IOException e) {
+            log.error("아카이브 파일 봉인 실패: {}, 에러 = {}", file.inProgress, e.getMessage());
+        }
+    }
+
+    private void sealLeftovers() throws IOException {
+        List<Path> leftovers;
+        try (Stream<Path> files = Files.walk(root)) {
+            leftovers = files.filter(file -> file.toString().endsWith(ArchiveFormat.IN_PROGRESS_SUFFIX)).toList();
+        }
+        for (Path file : leftovers) {
+            String name = file.getFileName().toString();
+            String sealed = name.substring(0, name.length() - ArchiveFormat.IN_PROGRESS_SUFFIX.length())
+                    + ArchiveFormat.SEALED_SUFFIX;
+            Files.move(file, file.resolveSibling(sealed), StandardCopyOption.ATOMIC_MOVE);
+        }
+        if (!leftovers.isEmpty()) {
+            log.warn("이전 실행의 아카이브 파일 봉인: {}개", leftovers.size());
+        }
+    }
+
+    private static final class ActiveFile {
+
+        private final Path inProgress;
+        private final Path sealed;
+        private final DataOutputStream out;
+        private final long openedNanos;
+        private long bytes = Integer.BYTES;
+
+        private ActiveFile(Path inProgress, Path sealed, DataOutputStream out, long openedNanos) {
+            this.inProgress = inProgress;
+            this.sealed = sealed;
+            this.out = out;
+            this.openedNanos = openedNanos;
+        }
+    }
+}
@@ -1,41 +1,51 @@
 package dev.study.kafkademo.config;
 
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.AsyncConfigurer;
-import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
-
-import java.util.concurrent.Executor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
- * 비동기 처리 설정
- * Event-Driven Architecture의 비동기 이벤트 처리를 위한 설정
+ * 블로킹 DB 적재 실행자 설정 (engine.execution.mode)
+ * VIRTUAL 모드는 작업마다 가상 스레드를 만들되 동시 실행 수를 제한해 HikariCP 연결 고갈을 막음
+ * (상한 초과 시 제출 스레드가 대기)
+ * 이벤트 핸들러(싱크)는 파이프라인 레인 드레인 스레드에서 실행되며 같은 모드로 스레드 종류를 선택 (PipelineLane)
  */
 @Configuration
-@EnableAsync
-@Slf4j
-public class AsyncConfig implements AsyncConfigurer {
+public class AsyncConfig {
+
+    @Value("${engine.execution.mode:platform}")
+    private ExecutionMode mode = ExecutionMode.PLATFORM;
+
+    // 블로킹 DB 적재 동시 실행 상한 (VIRTUAL) - spring.datasource.hikari.maximum-pool-size 이하로 유지
+    @Value("${engine.execution.virtual.persistence-concurrency-limit:8}")
+    private int persistenceConcurrencyLimit = 8;
+
+    /**
+     * 블로킹 DB 적재용 Reactor 스케줄러 (saveBatchToDataBase 의 subscribeOn 대상)
+     * PLATFORM 은 공유 boundedElastic 을 그대로 사용하므로 컨텍스트 종료 시 dispose 하지 않음
+     */
+    @Bean(destroyMethod = "")
+    public Scheduler persistenceScheduler() {
+        return persistenceScheduler(mode, persistenceConcurrencyLimit);
+    }
+
+    static Scheduler persistenceScheduler(ExecutionMode mode, int concurrencyLimit) {
+        if (mode == ExecutionMode.VIRTUAL) {
+            return Schedulers.fromExecutor(virtualExecutor("persist-vt-", concurrencyLimit));
+        }
+        return Schedulers.boundedElastic();
+    }
 
     /**
-     * 이벤트 처리용 비동기 실행자 설정
+     * 작업당 가상 스레드 실행자 - concurrencyLimit 개를 넘으면 제출 스레드가 대기 (throttle)
      */
-    @Override
-    @Bean(name = "taskExecutor")
-    public Executor getAsyncExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);              // 최소 스레드 수
-        executor.setMaxPoolSize(10);              // 최대 스레드 수
-        executor.setQueueCapacity(50);            // 큐 용량
-        executor.setThreadNamePrefix("async-event-");
-        executor.setKeepAliveSeconds(60);         // 유휴 스레드 유지 시간
-        executor.setRejectedExecutionHandler((runnable, threadPoolExecutor) -> {
-            log.warn("비동기 작업 거부됨: 큐가 가득참. 현재 활성 스레드: {}, 큐 크기: {}", 
-                    threadPoolExecutor.getActiveCount(), 
-                    threadPoolExecutor.getQueue().size());
-        });
-        executor.initialize();
+    static SimpleAsyncTaskExecutor virtualExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
         return executor;
     }
-}
\ No newline at end of file
+}
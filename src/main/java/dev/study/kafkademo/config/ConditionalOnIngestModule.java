@@ -0,0 +1,20 @@
+package dev.study.kafkademo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 수집 모듈 (engine.modules.ingest) - 시뮬레이터 수집, 파이프라인 레인(Kafka 발행, Redis 스테이징, 알림, 이상 탐지, 텔레메트리), 과부하 제어
+ * 기본값 true - 프로파일(ingest | persist | stream)로 파드 역할을 나누면 다른 모듈 빈은 생성하지 않음
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(name = "engine.modules.ingest", havingValue = "true", matchIfMissing = true)
+public @interface ConditionalOnIngestModule {
+}
@@ -0,0 +1,20 @@
+package dev.study.kafkademo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 적재 모듈 (engine.modules.persist) - 스테이징 드레인/Kafka 배치 소비자, 벌크 writer, 롤업/이력 조회, 아카이브, 파티션 관리
+ * 기본값 true - 프로파일(ingest | persist | stream)로 파드 역할을 나누면 다른 모듈 빈은 생성하지 않음
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(name = "engine.modules.persist", havingValue = "true", matchIfMissing = true)
+public @interface ConditionalOnPersistModule {
+}
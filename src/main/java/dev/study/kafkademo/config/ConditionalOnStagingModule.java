@@ -0,0 +1,19 @@
+package dev.study.kafkademo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Redis 스테이징 (연결, 템플릿, 스테이징 큐) - 수집 모듈(enqueue)과 적재 모듈(claim/ack) 중 하나라도 켜져 있으면 활성화
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnExpression("${engine.modules.ingest:true} or ${engine.modules.persist:true}")
+public @interface ConditionalOnStagingModule {
+}
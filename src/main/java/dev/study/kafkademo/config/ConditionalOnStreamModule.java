@@ -0,0 +1,20 @@
+package dev.study.kafkademo.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 스트림 모듈 (engine.modules.stream) - Kafka Streams 윈도우 집계 (engine.streams.enabled 와 함께 켜져야 활성화)
+ * 기본값 true - 프로파일(ingest | persist | stream)로 파드 역할을 나누면 다른 모듈 빈은 생성하지 않음
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(name = "engine.modules.stream", havingValue = "true", matchIfMissing = true)
+public @interface ConditionalOnStreamModule {
+}
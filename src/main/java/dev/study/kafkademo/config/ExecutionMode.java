@@ -0,0 +1,9 @@
+package dev.study.kafkademo.config;
+
+/**
+ * 블로킹 작업 실행 모드 (engine.execution.mode)
+ * PLATFORM: 고정 크기 플랫폼 스레드 풀 / boundedElastic, VIRTUAL: 작업당 가상 스레드 + 동시 실행 상한
+ */
+public enum ExecutionMode {
+    PLATFORM, VIRTUAL
+}
@@ -0,0 +1,46 @@
+package dev.study.kafkademo.consumer;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Kafka 소비자 적재 설정 (engine.persistence.source=kafka)
+ * 소비자/리스너 공통 설정은 spring.kafka.consumer.*, spring.kafka.listener.* (배치 리스너, 수동 ack)
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "engine.persistence.source", havingValue = "kafka")
+@ConditionalOnPersistModule
+public class EngineConsumerConfig {
+
+    /**
+     * engine 토픽 파티션 수 - 소비자 적재는 파티션 수만큼 병렬화되므로 리스너 동시성과 맞춤
+     * (이미 있는 토픽은 파티션 수가 적을 때만 늘림)
+     */
+    @Bean
+    public NewTopic engineTopic(@Value("${engine.persistence.kafka.topic:engine}") String topic,
+                                @Value("${engine.persistence.kafka.partitions:6}") int partitions) {
+        return TopicBuilder.name(topic).partitions(partitions).build();
+    }
+
+    /**
+     * 배치 적재 실패 시 오프셋을 커밋하지 않고 같은 배치를 지수 백오프로 계속 재시도 (DB 복구 전까지 건너뛰지 않음)
+     * Spring Boot 가 기본 리스너 컨테이너 팩토리에 적용
+     */
+    @Bean
+    public DefaultErrorHandler engineBatchErrorHandler() {
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxInterval(30_000);
+        return new DefaultErrorHandler(
+                (record, exception) -> log.error("소비 배치 재시도 중단: 오프셋 = {}, 에러 = {}",
+                        record.offset(), exception.getMessage()), backOff);
+    }
+}
@@ -0,0 +1,132 @@
+package dev.study.kafkademo.consumer;
+
+import dev.study.kafkademo.archive.EngineArchiveWriter;
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.metrics.PipelineMeters;
+import dev.study.kafkademo.repository.bulk.IdempotentEngineWriter;
+import dev.study.kafkademo.repository.rollup.EngineRollupWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * engine 토픽 배치 소비자 - poll 배치를 engines 에 바로 적재 (Redis 스테이징 경유 없음)
+ * DB 커밋 후에만 오프셋을 커밋하고, 재전달된 샘플은 (engine_id, timestamp) 유니크 인덱스로 건너뜀
+ * 적재 실패 시 예외를 던져 오프셋 커밋 없이 같은 배치를 재시도 (EngineConsumerConfig 의 에러 핸들러)
+ * 롤업/아카이브가 켜져 있으면 실제로 삽입된 샘플만 반영해 재전달로 이중 집계·이중 보관되지 않도록 함
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.persistence.source", havingValue = "kafka")
+@ConditionalOnPersistModule
+public class EngineDataBatchListener {
+
+    private final IdempotentEngineWriter writer;
+    private final ObjectProvider<EngineRollupWriter> rollupWriter;
+    private final ObjectProvider<EngineArchiveWriter> archiveWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer batchLatency;
+    private final DistributionSummary batchSize;
+    private final Counter persistedRows;
+    private final Counter duplicates;
+    private final Counter undecodable;
+    private final Timer endToEndLatency;
+
+    public EngineDataBatchListener(IdempotentEngineWriter writer,
+                                   ObjectProvider<EngineRollupWriter> rollupWriter,
+                                   ObjectProvider<EngineArchiveWriter> archiveWriter,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry) {
+        this.writer = writer;
+        this.rollupWriter = rollupWriter;
+        this.archiveWriter = archiveWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.batchLatency = Timer.builder("engine.consumer.batch.latency")
+                .description("poll 배치 DB 적재 트랜잭션 지연 (원본 + 롤업)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("engine.consumer.batch.size")
+                .description("poll 배치 당 레코드 수")
+                .register(meterRegistry);
+        this.persistedRows = PipelineMeters.persistedRows(meterRegistry);
+        this.duplicates = Counter.builder("engine.consumer.duplicates")
+                .description("이미 적재되어 건너뛴 재전달 샘플 수")
+                .register(meterRegistry);
+        this.undecodable = Counter.builder("engine.consumer.undecodable")
+                .description("역직렬화 실패로 건너뛴 레코드 수")
+                .register(meterRegistry);
+        this.endToEndLatency = PipelineMeters.endToEndLatency(meterRegistry, PipelineMeters.STAGE_DB_COMMIT);
+    }
+
+    @KafkaListener(
+            id = "engine-persistence",
+            topics = "${engine.persistence.kafka.topic:engine}",
+            concurrency = "${engine.persistence.kafka.concurrency:6}",
+            batch = "true")
+    public void onBatch(List<ConsumerRecord<String, EngineSample>> records, Acknowledgment acknowledgment) {
+        List<EngineSample> samples = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, EngineSample> record : records) {
+            if (record.value() == null) {
+                // ErrorHandlingDeserializer 가 역직렬화 실패 레코드를 null 로 전달
+                undecodable.increment();
+                log.warn("역직렬화 실패 레코드 건너뜀: 파티션 = {}, 오프셋 = {}", record.partition(), record.offset());
+                continue;
+            }
+            samples.add(record.value());
+        }
+        batchSize.record(records.size());
+
+        if (!samples.isEmpty()) {
+            EngineArchiveWriter archive = archiveWriter.getIfAvailable();
+            List<EngineSample> inserted = null;
+            long start = System.nanoTime();
+            int rows;
+            if (archive == null && rollupWriter.getIfAvailable() == null) {
+                Integer count = transactionTemplate.execute(status -> writer.insert(samples));
+                rows = count == null ? 0 : count;
+            } else {
+                inserted = transactionTemplate.execute(status -> insertTracked(samples));
+                rows = inserted == null ? 0 : inserted.size();
+            }
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (archive != null && inserted != null && !inserted.isEmpty()) {
+                archive.append(inserted);
+            }
+
+            persistedRows.increment(rows);
+            duplicates.increment(samples.size() - rows);
+            PipelineMeters.recordSampleAge(endToEndLatency, samples);
+            log.debug("소비 배치 DB 저장: 레코드 = {}, 삽입 = {}, 중복 = {}", records.size(), rows, samples.size() - rows);
+        }
+
+        // DB 커밋이 끝난 뒤에만 오프셋 커밋
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * 원본 적재 + 롤업 증분 갱신 - 실제 삽입된 샘플만 반환하고 롤업에도 그 샘플만 반영
+     */
+    private List<EngineSample> insertTracked(List<EngineSample> samples) {
+        List<EngineSample> inserted = writer.insertReturningNew(samples);
+        EngineRollupWriter rollup = rollupWriter.getIfAvailable();
+        if (rollup != null && !inserted.isEmpty()) {
+            rollup.apply(inserted);
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,38 @@
+package dev.study.kafkademo.controller;
+
+import dev.study.kafkademo.archive.EngineArchiveReader;
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아카이브 구간 스트리밍 조회 API - 결과를 한 번에 모으지 않고 NDJSON 으로 흘려보냄
+ * 예: GET /api/archive/engines?from=2026-01-01T00:00&to=2026-01-02T00:00&engineId=engine-1
+ */
+@RestController
+@RequestMapping("/api/archive/engines")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.archive.enabled", havingValue = "true")
+@ConditionalOnPersistModule
+public class EngineArchiveController {
+
+    private final EngineArchiveReader archiveReader;
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<EngineSample> scan(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String engineId) {
+        return archiveReader.scan(engineId, EngineSample.toEpochMicros(from), EngineSample.toEpochMicros(to));
+    }
+}
@@ -0,0 +1,46 @@
+package dev.study.kafkademo.controller;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.history.EngineHistory;
+import dev.study.kafkademo.history.EngineHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+
+/**
+ * 엔진 장기 이력 조회 API - 구간/포인트 예산에 따라 원본 또는 롤업 테이블 조회
+ * 예: GET /api/history/engines/engine-1?from=2026-01-01T00:00&to=2026-02-01T00:00&maxPoints=500
+ */
+@RestController
+@RequestMapping("/api/history/engines")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.rollup.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnPersistModule
+public class EngineHistoryController {
+
+    private final EngineHistoryService historyService;
+
+    @GetMapping("/{engineId}")
+    public Mono<EngineHistory> history(
+            @PathVariable String engineId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "500") int maxPoints) {
+        // JDBC 조회는 블로킹이므로 boundedElastic 에서 실행
+        return Mono.fromCallable(() -> historyService.history(engineId, from, to, maxPoints))
+                .subscribeOn(Schedulers.boundedElastic())
+                .onErrorMap(IllegalArgumentException.class,
+                        e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+}
@@ -0,0 +1,57 @@
+package dev.study.kafkademo.controller;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.telemetry.EngineTelemetryCache;
+import dev.study.kafkademo.telemetry.TelemetryStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 최근 엔진 텔레메트리 조회 API - EngineTelemetryCache 만 조회하며 DB 는 사용하지 않음
+ * 샘플은 EngineDto 와 같은 JSON 으로 응답
+ */
+@RestController
+@RequestMapping("/api/telemetry/engines")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class EngineTelemetryController {
+
+    private static final int MAX_LIMIT = 1_000;
+
+    private final EngineTelemetryCache telemetryCache;
+
+    @GetMapping
+    public Mono<Set<String>> engineIds() {
+        return Mono.fromSupplier(telemetryCache::engineIds);
+    }
+
+    @GetMapping("/{engineId}/latest")
+    public Mono<ResponseEntity<EngineSample>> latest(@PathVariable String engineId) {
+        return Mono.fromSupplier(() -> ResponseEntity.of(telemetryCache.latest(engineId)));
+    }
+
+    @GetMapping("/{engineId}/samples")
+    public Mono<ResponseEntity<List<EngineSample>>> samples(@PathVariable String engineId,
+                                                            @RequestParam(defaultValue = "60") int limit) {
+        return Mono.fromSupplier(() ->
+                ResponseEntity.of(telemetryCache.last(engineId, Math.min(limit, MAX_LIMIT))));
+    }
+
+    @GetMapping("/{engineId}/stats")
+    public Mono<ResponseEntity<TelemetryStats>> stats(@PathVariable String engineId,
+                                                      @RequestParam(defaultValue = "60") long seconds) {
+        return Mono.fromSupplier(() -> ResponseEntity.of(telemetryCache.stats(engineId, seconds)));
+    }
+}
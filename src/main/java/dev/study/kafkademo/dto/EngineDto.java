@@ -15,6 +15,7 @@ import java.util.List;
 @AllArgsConstructor
 public class EngineDto {
 
+    private String engineId; // 엔진 식별자 (엔진별 엔드포인트 수집 시 경로의 engineId)
     private BigDecimal temperature; // °C
     private BigDecimal rpm; // Revolutions per minute
     private BigDecimal pressure; // psia
@@ -24,15 +25,17 @@ public class EngineDto {
     private LocalDateTime timestamp; // ISO 8601 format (e.g., "2023-10-01T12:00:00Z")
 
     public static List<Engine> toEntity(List<EngineDto> engineDtoList) {
+        LocalDateTime now = LocalDateTime.now();
         return engineDtoList.stream()
                 .map(dto -> Engine.builder()
+                        .engineId(dto.getEngineId())
                         .temperature(dto.getTemperature())
                         .rpm(dto.getRpm())
                         .pressure(dto.getPressure())
                         .fuelFlow(dto.getFuelFlow())
                         .timestamp(dto.getTimestamp())
-                        .createdAt(LocalDateTime.now())
-                        .updatedAt(LocalDateTime.now())
+                        .createdAt(now)
+                        .updatedAt(now)
                         .build())
                 .toList();
     }
@@ -41,4 +44,13 @@ public class EngineDto {
         this.timestamp = LocalDateTime.now();
     }
 
+    /**
+     * 응답 본문에 엔진 식별자가 없는 경우 요청 경로의 식별자로 보정
+     */
+    public void assignEngineIdIfAbsent(String engineId) {
+        if (this.engineId == null) {
+            this.engineId = engineId;
+        }
+    }
+
 }
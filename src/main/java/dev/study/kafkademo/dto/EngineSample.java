@@ -0,0 +1,184 @@
+package dev.study.kafkademo.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import dev.study.kafkademo.entity.Engine;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수집 ~ 싱크 구간에서 사용하는 primitive 기반 엔진 샘플
+ * 측정값은 Engine 컬럼 스케일로 정수화한 long, 시각은 UTC epoch micros 로 보관하고
+ * BigDecimal/LocalDateTime 변환은 영속성 경계(toEntity)와 JSON 경계(toDto)에서만 수행
+ */
+@Getter
+public final class EngineSample {
+
+    public static final int TEMPERATURE_SCALE = 2;
+    public static final int RPM_SCALE = 2;
+    public static final int PRESSURE_SCALE = 4;
+    public static final int FUEL_FLOW_SCALE = 4;
+
+    public static final int HAS_TEMPERATURE = 1;
+    public static final int HAS_RPM = 1 << 1;
+    public static final int HAS_PRESSURE = 1 << 2;
+    public static final int HAS_FUEL_FLOW = 1 << 3;
+    public static final int HAS_TIMESTAMP = 1 << 4;
+    public static final int HAS_ALL = HAS_TEMPERATURE | HAS_RPM | HAS_PRESSURE | HAS_FUEL_FLOW | HAS_TIMESTAMP;
+
+    private final String engineId;
+    private final long temperatureScaled; // °C x 10^2
+    private final long rpmScaled;         // rpm x 10^2
+    private final long pressureScaled;    // psia x 10^4
+    private final long fuelFlowScaled;    // kg/s x 10^4
+    private final long timestampMicros;   // UTC epoch micros
+    private final int presence;           // HAS_* 비트
+
+    public EngineSample(String engineId, long temperatureScaled, long rpmScaled, long pressureScaled,
+                        long fuelFlowScaled, long timestampMicros, int presence) {
+        this.engineId = engineId;
+        this.temperatureScaled = temperatureScaled;
+        this.rpmScaled = rpmScaled;
+        this.pressureScaled = pressureScaled;
+        this.fuelFlowScaled = fuelFlowScaled;
+        this.timestampMicros = timestampMicros;
+        this.presence = presence;
+    }
+
+    /**
+     * 모든 측정값이 존재하는 샘플 생성
+     */
+    public static EngineSample of(String engineId, double temperature, double rpm, double pressure,
+                                  double fuelFlow, long timestampMicros) {
+        return new EngineSample(engineId,
+                Math.round(temperature * 100), Math.round(rpm * 100),
+                Math.round(pressure * 10_000), Math.round(fuelFlow * 10_000),
+                timestampMicros, HAS_ALL);
+    }
+
+    /**
+     * API/JSON 경계의 EngineDto 로부터 변환
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static EngineSample from(EngineDto engineDto) {
+        return from(engineDto, engineDto.getTimestamp() == null ? 0 : toEpochMicros(engineDto.getTimestamp()));
+    }
+
+    /**
+     * 수신 시각을 지정해 EngineDto 로부터 변환 (수집 시점 타임스탬프 부여)
+     */
+    public static EngineSample from(EngineDto engineDto, long timestampMicros) {
+        int presence = (engineDto.getTemperature() != null ? HAS_TEMPERATURE : 0)
+                | (engineDto.getRpm() != null ? HAS_RPM : 0)
+                | (engineDto.getPressure() != null ? HAS_PRESSURE : 0)
+                | (engineDto.getFuelFlow() != null ? HAS_FUEL_FLOW : 0)
+                | (timestampMicros != 0 ? HAS_TIMESTAMP : 0);
+
+        return new EngineSample(engineDto.getEngineId(),
+                toScaledLong(engineDto.getTemperature(), TEMPERATURE_SCALE),
+                toScaledLong(engineDto.getRpm(), RPM_SCALE),
+                toScaledLong(engineDto.getPressure(), PRESSURE_SCALE),
+                toScaledLong(engineDto.getFuelFlow(), FUEL_FLOW_SCALE),
+                timestampMicros, presence);
+    }
+
+    /**
+     * JSON 경계용 변환 - Kafka/Redis JSON 포맷은 기존 EngineDto 와 동일하게 유지
+     */
+    @JsonValue
+    public EngineDto toDto() {
+        return new EngineDto(engineId,
+                decimal(HAS_TEMPERATURE, temperatureScaled, TEMPERATURE_SCALE),
+                decimal(HAS_RPM, rpmScaled, RPM_SCALE),
+                decimal(HAS_PRESSURE, pressureScaled, PRESSURE_SCALE),
+                decimal(HAS_FUEL_FLOW, fuelFlowScaled, FUEL_FLOW_SCALE),
+                has(HAS_TIMESTAMP) ? toLocalDateTime(timestampMicros) : null);
+    }
+
+    /**
+     * 영속성 경계 변환 - 배치 단위로 생성/수정 시각을 한 번만 계산
+     */
+    public static List<Engine> toEntity(List<EngineSample> samples) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Engine> engines = new ArrayList<>(samples.size());
+        for (EngineSample sample : samples) {
+            engines.add(sample.toEntity(now));
+        }
+        return engines;
+    }
+
+    public Engine toEntity(LocalDateTime now) {
+        return Engine.builder()
+                .engineId(engineId)
+                .temperature(decimal(HAS_TEMPERATURE, temperatureScaled, TEMPERATURE_SCALE))
+                .rpm(decimal(HAS_RPM, rpmScaled, RPM_SCALE))
+                .pressure(decimal(HAS_PRESSURE, pressureScaled, PRESSURE_SCALE))
+                .fuelFlow(decimal(HAS_FUEL_FLOW, fuelFlowScaled, FUEL_FLOW_SCALE))
+                .timestamp(has(HAS_TIMESTAMP) ? toLocalDateTime(timestampMicros) : now)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    public boolean has(int flag) {
+        return (presence & flag) == flag;
+    }
+
+    public double temperature() {
+        return temperatureScaled / 100.0;
+    }
+
+    public double rpm() {
+        return rpmScaled / 100.0;
+    }
+
+    public double pressure() {
+        return pressureScaled / 10_000.0;
+    }
+
+    public double fuelFlow() {
+        return fuelFlowScaled / 10_000.0;
+    }
+
+    public static long nowMicros() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000L + now.getNano() / 1_000;
+    }
+
+    public static long toEpochMicros(LocalDateTime timestamp) {
+        Instant instant = timestamp.atZone(ZoneId.systemDefault()).toInstant();
+        return instant.getEpochSecond() * 1_000_000L + instant.getNano() / 1_000;
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMicros) {
+        Instant instant = Instant.ofEpochSecond(
+                Math.floorDiv(epochMicros, 1_000_000L),
+                Math.floorMod(epochMicros, 1_000_000L) * 1_000L);
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private BigDecimal decimal(int flag, long scaled, int scale) {
+        return has(flag) ? BigDecimal.valueOf(scaled, scale) : null;
+    }
+
+    private static long toScaledLong(BigDecimal value, int scale) {
+        return value == null ? 0 : value.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @Override
+    public String toString() {
+        return "EngineSample{engineId=" + engineId
+                + ", temperature=" + temperature()
+                + ", rpm=" + rpm()
+                + ", pressure=" + pressure()
+                + ", fuelFlow=" + fuelFlow()
+                + ", timestampMicros=" + timestampMicros + "}";
+    }
+}
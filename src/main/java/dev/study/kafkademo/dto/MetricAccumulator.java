@@ -0,0 +1,91 @@
+package dev.study.kafkademo.dto;
+
+import java.nio.ByteBuffer;
+
+/**
+ * EngineSample 측정값별 개수/최소/최대/평균/M2 Welford 누적기 (한 번의 패스로 평균과 표준편차 계산)
+ * 측정값 인덱스: 0 temperature, 1 rpm, 2 pressure, 3 fuelFlow
+ * 스레드 안전하지 않음 - 호출 측에서 동기화
+ */
+public final class MetricAccumulator {
+
+    public static final int METRICS = 4;
+    public static final int SERIALIZED_SIZE = METRICS * (Long.BYTES + 4 * Double.BYTES);
+
+    private final long[] count = new long[METRICS];
+    private final double[] min = new double[METRICS];
+    private final double[] max = new double[METRICS];
+    private final double[] mean = new double[METRICS];
+    private final double[] m2 = new double[METRICS];
+
+    /**
+     * 존재하는 측정값마다 (인덱스, 값) 전달
+     */
+    public static void forEachMetric(EngineSample sample, MetricConsumer consumer) {
+        if (sample.has(EngineSample.HAS_TEMPERATURE)) {
+            consumer.accept(0, sample.temperature());
+        }
+        if (sample.has(EngineSample.HAS_RPM)) {
+            consumer.accept(1, sample.rpm());
+        }
+        if (sample.has(EngineSample.HAS_PRESSURE)) {
+            consumer.accept(2, sample.pressure());
+        }
+        if (sample.has(EngineSample.HAS_FUEL_FLOW)) {
+            consumer.accept(3, sample.fuelFlow());
+        }
+    }
+
+    public MetricAccumulator add(EngineSample sample) {
+        forEachMetric(sample, this::accumulate);
+        return this;
+    }
+
+    private void accumulate(int metric, double value) {
+        long n = ++count[metric];
+        min[metric] = n == 1 ? value : Math.min(min[metric], value);
+        max[metric] = n == 1 ? value : Math.max(max[metric], value);
+        double delta = value - mean[metric];
+        mean[metric] += delta / n;
+        m2[metric] += delta * (value - mean[metric]);
+    }
+
+    public long count(int metric) {
+        return count[metric];
+    }
+
+    /**
+     * 측정값 요약 - 한 번도 누적되지 않았으면 null
+     */
+    public MetricSummary summary(int metric) {
+        long n = count[metric];
+        return n == 0 ? null : new MetricSummary(n, min[metric], max[metric], mean[metric], Math.sqrt(m2[metric] / n));
+    }
+
+    public void writeTo(ByteBuffer buffer) {
+        for (int i = 0; i < METRICS; i++) {
+            buffer.putLong(count[i])
+                    .putDouble(min[i])
+                    .putDouble(max[i])
+                    .putDouble(mean[i])
+                    .putDouble(m2[i]);
+        }
+    }
+
+    public static MetricAccumulator readFrom(ByteBuffer buffer) {
+        MetricAccumulator accumulator = new MetricAccumulator();
+        for (int i = 0; i < METRICS; i++) {
+            accumulator.count[i] = buffer.getLong();
+            accumulator.min[i] = buffer.getDouble();
+            accumulator.max[i] = buffer.getDouble();
+            accumulator.mean[i] = buffer.getDouble();
+            accumulator.m2[i] = buffer.getDouble();
+        }
+        return accumulator;
+    }
+
+    @FunctionalInterface
+    public interface MetricConsumer {
+        void accept(int metric, double value);
+    }
+}
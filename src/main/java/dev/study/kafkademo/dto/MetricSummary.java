@@ -0,0 +1,7 @@
+package dev.study.kafkademo.dto;
+
+/**
+ * 측정값 하나의 구간 요약 - 표준편차는 모표준편차(M2 / n)
+ */
+public record MetricSummary(long count, double min, double max, double mean, double stddev) {
+}
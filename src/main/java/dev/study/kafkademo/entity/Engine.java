@@ -37,6 +37,10 @@ public class Engine {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Column(name = "engine_id", length = 64)
+    private String engineId; // Engine unit identifier
+
     // Simplified/Business-Friendly Fields for Alerts
     @Column(name = "temperature", precision = 10, scale = 2)
     private BigDecimal temperature; // Derived from sensor readings (°C)
@@ -1,10 +1,14 @@
 package dev.study.kafkademo.event;
 
-import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.dto.EngineSample;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
 /**
  * 엔진 데이터 수신 이벤트
@@ -12,30 +16,41 @@ import java.time.LocalDateTime;
  */
 @Getter
 public class EngineDataReceivedEvent extends ApplicationEvent {
-    
-    private final EngineDto engineData;
-    private final LocalDateTime receivedAt;
-    
-    public EngineDataReceivedEvent(Object source, EngineDto engineData) {
+
+    private final EngineSample sample;
+    private final long receivedNanos; // 지연 측정용 System.nanoTime()
+
+    public EngineDataReceivedEvent(Object source, EngineSample sample) {
         super(source);
-        this.engineData = engineData;
-        this.receivedAt = LocalDateTime.now();
+        this.sample = sample;
+        this.receivedNanos = System.nanoTime();
+    }
+
+    /**
+     * 편의 생성자 - source를 sample로 사용
+     */
+    public EngineDataReceivedEvent(EngineSample sample) {
+        this(sample, sample);
     }
-    
+
+    /**
+     * 재생용 생성자 - spill 후 지연 전달되는 이벤트가 원래 수신 시각(epoch millis, nanoTime 기준값)을 유지
+     */
+    public EngineDataReceivedEvent(EngineSample sample, long receivedEpochMillis, long receivedNanos) {
+        super(sample, Clock.fixed(Instant.ofEpochMilli(receivedEpochMillis), ZoneOffset.UTC));
+        this.sample = sample;
+        this.receivedNanos = receivedNanos;
+    }
+
     /**
-     * 편의 생성자 - source를 engineData로 사용
+     * 수신 시각 - ApplicationEvent 의 timestamp(epoch millis)로부터 필요할 때만 변환
      */
-    public EngineDataReceivedEvent(EngineDto engineData) {
-        this(engineData, engineData);
+    public LocalDateTime getReceivedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(getTimestamp()), ZoneId.systemDefault());
     }
-    
+
     @Override
     public String toString() {
-        return String.format("EngineDataReceivedEvent{timestamp=%s, temperature=%s, rpm=%s, receivedAt=%s}",
-                engineData != null && engineData.getTimestamp() != null ? engineData.getTimestamp() : "unknown",
-                engineData != null ? engineData.getTemperature() : "0.0",
-                engineData != null ? engineData.getRpm() : "0",
-                receivedAt
-        );
+        return "EngineDataReceivedEvent{sample=" + sample + ", receivedAt=" + getTimestamp() + "}";
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,22 @@
 package dev.study.kafkademo.handler;
 
-import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
 import dev.study.kafkademo.event.EngineDataReceivedEvent;
-import lombok.RequiredArgsConstructor;
+import dev.study.kafkademo.metrics.PipelineMeters;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 엔진 데이터 Kafka 메시지 처리 핸들러
@@ -18,46 +24,128 @@ import java.util.concurrent.CompletableFuture;
  */
 @Component
 @Slf4j
-@RequiredArgsConstructor
-public class EngineDataKafkaHandler {
+@ConditionalOnIngestModule
+public class EngineDataKafkaHandler implements EngineDataSink {
+
+    /**
+     * 전송 모드
+     * BATCH: 엔진 ID 키 + 배치 단위 집계 future, PER_RECORD: 레코드별 랜덤 UUID 키 + 개별 future 체인 (기존 방식)
+     */
+    public enum SendMode {
+        BATCH, PER_RECORD
+    }
 
     private static final String TOPIC = "engine";
-    private final KafkaTemplate<String, EngineDto> kafkaTemplate;
+    private final KafkaTemplate<String, EngineSample> kafkaTemplate;
+    private final Timer sendLatency;
+    private final Timer endToEndLatency;
+    private final Counter sendFailures;
+
+    @Value("${engine.kafka.send-mode:batch}")
+    private SendMode sendMode = SendMode.BATCH;
+
+    public EngineDataKafkaHandler(KafkaTemplate<String, EngineSample> kafkaTemplate, MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.sendLatency = Timer.builder("engine.kafka.send.latency")
+                .description("Kafka send ~ ack 지연")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.endToEndLatency = PipelineMeters.endToEndLatency(meterRegistry, PipelineMeters.STAGE_KAFKA_ACK);
+        this.sendFailures = Counter.builder("engine.kafka.send.failed").register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "kafka";
+    }
+
+    /**
+     * 파이프라인 마이크로 배치 처리 - Kafka 메시지 발송
+     */
+    @Override
+    public void handleBatch(List<EngineDataReceivedEvent> batch) {
+        if (sendMode == SendMode.PER_RECORD) {
+            batch.forEach(this::handleEngineDataForKafka);
+            return;
+        }
+
+        sendBatch(batch)
+                .thenAccept(failed -> {
+                    if (failed > 0) {
+                        log.error("Kafka 배치 전송 일부 실패: 배치 크기 = {}, 실패 = {}", batch.size(), failed);
+                    } else {
+                        log.debug("Kafka 배치 전송 성공: 배치 크기 = {}", batch.size());
+                    }
+                });
+    }
+
+    /**
+     * 마이크로 배치 전송
+     * 엔진 ID를 키로 사용해 엔진별 순서와 파티션 지역성을 유지하고, 배치 전체를 하나의 집계 future 로 추적
+     *
+     * @return 전송에 실패한 레코드 수
+     */
+    public CompletableFuture<Integer> sendBatch(List<EngineDataReceivedEvent> batch) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[batch.size()];
+        for (int i = 0; i < futures.length; i++) {
+            EngineDataReceivedEvent event = batch.get(i);
+            EngineSample sample = event.getSample();
+            try {
+                futures[i] = timed(kafkaTemplate.send(TOPIC, sample.getEngineId(), sample), event);
+            } catch (Exception e) {
+                sendFailures.increment();
+                futures[i] = CompletableFuture.failedFuture(e);
+            }
+        }
+
+        return CompletableFuture.allOf(futures)
+                .handle((ignored, throwable) -> {
+                    if (throwable == null) {
+                        return 0;
+                    }
+                    log.error("Kafka 배치 전송 중 예외: {}", throwable.getMessage());
+                    int failed = 0;
+                    for (CompletableFuture<?> future : futures) {
+                        if (future.isCompletedExceptionally()) {
+                            failed++;
+                        }
+                    }
+                    return failed;
+                });
+    }
 
     /**
      * 엔진 데이터 수신 이벤트 처리 - Kafka 메시지 발송
      */
-    @EventListener
-    @Async
     public void handleEngineDataForKafka(EngineDataReceivedEvent event) {
         try {
-            log.debug("엔진 데이터 Kafka 처리 시작: {}", event.getEngineData());
+            log.debug("엔진 데이터 Kafka 처리 시작: {}", event.getSample());
             
-            sendToKafkaAsync(event.getEngineData())
+            sendToKafkaAsync(event)
                     .whenComplete((result, throwable) -> {
                         if (throwable != null) {
                             log.error("Kafka 메시지 전송 실패: 데이터 = {}, 에러 = {}", 
-                                     event.getEngineData(), throwable.getMessage());
+                                     event.getSample(), throwable.getMessage());
                         } else {
                             log.debug("Kafka 메시지 전송 성공: 데이터 = {}, 결과 = {}", 
-                                     event.getEngineData(), result);
+                                     event.getSample(), result);
                         }
                     });
                     
         } catch (Exception e) {
             log.error("엔진 데이터 Kafka 처리 중 예외 발생: 데이터 = {}, 에러 = {}", 
-                     event.getEngineData(), e.getMessage());
+                     event.getSample(), e.getMessage());
         }
     }
 
     /**
      * Kafka로 비동기 메시지 전송
      */
-    private CompletableFuture<String> sendToKafkaAsync(EngineDto engineDto) {
+    private CompletableFuture<String> sendToKafkaAsync(EngineDataReceivedEvent event) {
+        EngineSample sample = event.getSample();
         String messageKey = UUID.randomUUID().toString();
         
-        return kafkaTemplate.send(TOPIC, messageKey, engineDto)
-                .toCompletableFuture()
+        return timed(kafkaTemplate.send(TOPIC, messageKey, sample), event)
                 .thenApply(result -> {
                     String partition = String.valueOf(result.getRecordMetadata().partition());
                     String offset = String.valueOf(result.getRecordMetadata().offset());
@@ -65,8 +153,24 @@ public class EngineDataKafkaHandler {
                 })
                 .exceptionally(throwable -> {
                     log.error("Kafka 전송 중 예외: key = {}, 데이터 = {}, 에러 = {}", 
-                             messageKey, engineDto, throwable.getMessage());
+                             messageKey, sample, throwable.getMessage());
                     return "FAILURE - " + throwable.getMessage();
                 });
     }
-}
\ No newline at end of file
+
+    /**
+     * send ~ ack 지연, 수신 ~ ack 종단 지연, 실패 수 기록
+     */
+    private <T> CompletableFuture<T> timed(CompletableFuture<T> send, EngineDataReceivedEvent event) {
+        long sentNanos = System.nanoTime();
+        return send.whenComplete((result, throwable) -> {
+            long ackNanos = System.nanoTime();
+            if (throwable != null) {
+                sendFailures.increment();
+                return;
+            }
+            sendLatency.record(ackNanos - sentNanos, TimeUnit.NANOSECONDS);
+            endToEndLatency.record(ackNanos - event.getReceivedNanos(), TimeUnit.NANOSECONDS);
+        });
+    }
+}
@@ -1,48 +1,52 @@
 package dev.study.kafkademo.handler;
 
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
 import dev.study.kafkademo.event.EngineDataReceivedEvent;
-import dev.study.kafkademo.producer.service.batch.EngineDataSaveBatchService;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import dev.study.kafkademo.producer.service.batch.StagingWriteBehindBuffer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 /**
  * 엔진 데이터 영속성 처리 핸들러
- * 단일 책임: Redis 배치 저장 처리
+ * 단일 책임: Redis 스테이징 적재 (write-behind 버퍼로 묶어 전송)
+ * engine.persistence.source=kafka 이면 engine 토픽 소비자(EngineDataBatchListener)가 적재하므로 비활성화
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class EngineDataPersistenceHandler {
+@ConditionalOnProperty(name = "engine.persistence.source", havingValue = "staging", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class EngineDataPersistenceHandler implements EngineDataSink {
+
+    private final StagingWriteBehindBuffer writeBehindBuffer;
+
+    @Override
+    public String name() {
+        return "persistence";
+    }
 
-    private final EngineDataSaveBatchService engineDataSaveBatchService;
+    /**
+     * 파이프라인 마이크로 배치 처리 - write-behind 버퍼에 적재
+     */
+    @Override
+    public void handleBatch(List<EngineDataReceivedEvent> batch) {
+        batch.forEach(this::handleEngineDataForPersistence);
+    }
 
     /**
-     * 엔진 데이터 수신 이벤트 처리 - Redis 배치 저장
+     * 엔진 데이터 수신 이벤트 처리 - 버퍼가 가득 차거나 윈도우가 지나면 한 번의 Redis 쓰기로 flush
      */
-    @EventListener
-    @Async
     public void handleEngineDataForPersistence(EngineDataReceivedEvent event) {
         try {
-            log.debug("엔진 데이터 영속성 처리 시작: {}", event.getEngineData());
-            
-            engineDataSaveBatchService.saveEngineData(event.getEngineData())
-                    .subscribe(
-                            queueSize -> {
-                                log.debug("엔진 데이터 Redis 저장 성공: 큐 크기 = {}, 데이터 = {}", 
-                                         queueSize, event.getEngineData());
-                            },
-                            error -> {
-                                log.error("엔진 데이터 Redis 저장 실패: 데이터 = {}, 에러 = {}", 
-                                         event.getEngineData(), error.getMessage());
-                            }
-                    );
-                    
+            writeBehindBuffer.add(event.getSample());
         } catch (Exception e) {
-            log.error("엔진 데이터 영속성 처리 중 예외 발생: 데이터 = {}, 에러 = {}", 
-                     event.getEngineData(), e.getMessage());
+            log.error("엔진 데이터 영속성 처리 중 예외 발생: 데이터 = {}, 에러 = {}",
+                     event.getSample(), e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
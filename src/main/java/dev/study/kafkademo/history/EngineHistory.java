@@ -0,0 +1,18 @@
+package dev.study.kafkademo.history;
+
+import dev.study.kafkademo.repository.rollup.RollupPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 엔진 이력 조회 결과
+ *
+ * @param resolution RAW(원본 engines 행) 또는 RollupResolution 이름(MINUTE | HOUR | DAY)
+ */
+public record EngineHistory(String engineId,
+                            String resolution,
+                            LocalDateTime from,
+                            LocalDateTime to,
+                            List<RollupPoint> points) {
+}
@@ -0,0 +1,92 @@
+package dev.study.kafkademo.history;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.entity.Engine;
+import dev.study.kafkademo.repository.EngineRepository;
+import dev.study.kafkademo.repository.rollup.EngineRollupRepository;
+import dev.study.kafkademo.repository.rollup.RollupPoint;
+import dev.study.kafkademo.repository.rollup.RollupResolution;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 엔진 이력 조회
+ * 요청 구간과 포인트 예산(maxPoints)을 만족하는 가장 세밀한 해상도를 고름:
+ * 원본(수집 주기 기준 예상 행 수) → 1분 → 1시간 → 1일 순으로 검사하고, 1일로도 넘치면 1일 사용
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "engine.rollup.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnPersistModule
+public class EngineHistoryService {
+
+    public static final String RAW = "RAW";
+
+    private final EngineRepository engineRepository;
+    private final EngineRollupRepository rollupRepository;
+    private final Duration rawSampleInterval;
+
+    public EngineHistoryService(EngineRepository engineRepository,
+                                EngineRollupRepository rollupRepository,
+                                @Value("${engine.rollup.raw-sample-interval-ms:1000}") long rawSampleIntervalMillis) {
+        this.engineRepository = engineRepository;
+        this.rollupRepository = rollupRepository;
+        this.rawSampleInterval = Duration.ofMillis(rawSampleIntervalMillis);
+    }
+
+    public EngineHistory history(String engineId, LocalDateTime from, LocalDateTime to, int maxPoints) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from 은 to 보다 이전이어야 함: " + from + " ~ " + to);
+        }
+        if (maxPoints < 1) {
+            throw new IllegalArgumentException("maxPoints 는 1 이상이어야 함: " + maxPoints);
+        }
+
+        Duration range = Duration.between(from, to);
+        if (range.dividedBy(rawSampleInterval) <= maxPoints) {
+            return new EngineHistory(engineId, RAW, from, to, rawPoints(engineId, from, to));
+        }
+        RollupResolution resolution = chooseResolution(range, maxPoints);
+        log.debug("이력 조회 해상도: 엔진 = {}, 구간 = {}, 예산 = {}, 해상도 = {}", engineId, range, maxPoints, resolution);
+        return new EngineHistory(engineId, resolution.name(), from, to,
+                rollupRepository.findPoints(resolution, engineId, from, to));
+    }
+
+    static RollupResolution chooseResolution(Duration range, int maxPoints) {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            long bucketMillis = resolution.bucketSize().toMillis();
+            long buckets = (range.toMillis() + bucketMillis - 1) / bucketMillis;
+            if (buckets <= maxPoints) {
+                return resolution;
+            }
+        }
+        return RollupResolution.DAY;
+    }
+
+    private List<RollupPoint> rawPoints(String engineId, LocalDateTime from, LocalDateTime to) {
+        return engineRepository.findByEngineIdInRange(engineId, from, to).stream()
+                .map(EngineHistoryService::toPoint)
+                .toList();
+    }
+
+    private static RollupPoint toPoint(Engine engine) {
+        return new RollupPoint(engine.getTimestamp(), 1,
+                value(engine.getTemperature()), value(engine.getRpm()),
+                value(engine.getPressure()), value(engine.getFuelFlow()));
+    }
+
+    private static RollupPoint.MetricValue value(BigDecimal measurement) {
+        if (measurement == null) {
+            return null;
+        }
+        double value = measurement.doubleValue();
+        return new RollupPoint.MetricValue(1, value, value, value);
+    }
+}
@@ -0,0 +1,60 @@
+package dev.study.kafkademo.metrics;
+
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파이프라인 공용 미터 정의
+ * engine.e2e.latency 는 단계(stage)별로 여러 클래스에서 등록하므로 히스토그램 설정을 한 곳에서 맞춤
+ */
+public final class PipelineMeters {
+
+    public static final String E2E_LATENCY = "engine.e2e.latency";
+    public static final String STAGE_KAFKA_ACK = "kafka-ack";
+    public static final String STAGE_DB_COMMIT = "db-commit";
+    public static final String PERSISTED_ROWS = "engine.persistence.rows";
+
+    private PipelineMeters() {
+    }
+
+    /**
+     * 수신(EngineDataReceivedEvent) ~ 단계 완료 지연 히스토그램
+     * kafka-ack: receivedNanos 기준, db-commit: 샘플 타임스탬프(수신 시각, epoch micros) 기준
+     */
+    public static Timer endToEndLatency(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder(E2E_LATENCY)
+                .description("샘플 수신 ~ 단계 완료 지연")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofMinutes(5))
+                .register(meterRegistry);
+    }
+
+    /**
+     * DB 에 커밋된 engines 행 수 - 스테이징 드레인과 Kafka 소비자 적재가 같은 카운터를 사용
+     */
+    public static Counter persistedRows(MeterRegistry meterRegistry) {
+        return Counter.builder(PERSISTED_ROWS)
+                .description("DB 에 커밋된 행 수 (rate 로 초당 적재량 확인)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 샘플 타임스탬프(수신 시각) ~ 현재 지연 기록 - 타임스탬프가 없는 샘플은 제외
+     */
+    public static void recordSampleAge(Timer timer, List<EngineSample> samples) {
+        long nowMicros = EngineSample.nowMicros();
+        for (EngineSample sample : samples) {
+            if (sample.has(EngineSample.HAS_TIMESTAMP)) {
+                timer.record(Math.max(0, nowMicros - sample.getTimestampMicros()), TimeUnit.MICROSECONDS);
+            }
+        }
+    }
+}
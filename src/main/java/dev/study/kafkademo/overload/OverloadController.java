@@ -0,0 +1,319 @@
+package dev.study.kafkademo.overload;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.pipeline.PipelineLane;
+import dev.study.kafkademo.pipeline.SinkPriority;
+import dev.study.kafkademo.producer.service.batch.AdaptiveBatchDrainer;
+import dev.study.kafkademo.producer.service.batch.EngineStagingQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 우선순위 기반 과부하 제어
+ * 측정 지연 신호(레인 큐 깊이, Redis 스테이징 백로그, Kafka 프로듀서 버퍼 사용량)를 각 상한으로 나눈 최댓값을 압력으로 보고,
+ * 압력에 따라 NORMAL / LOW 레인에 적재할 일반 샘플 비율을 정함 (CRITICAL 레인과 우선 샘플은 항상 적재)
+ * 우선 샘플: 알림 해제 임계치(clear-below) 이상이거나 최근 알림/이상 탐지가 있었던 엔진(PriorityEngineRegistry)의 샘플
+ * 샘플링은 (엔진 ID, 측정 시각) 해시로 결정하므로 레인이 달라도 같은 샘플이 남고, LOW 레인에 남는 샘플은 NORMAL 의 부분집합
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.overload.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class OverloadController {
+
+    static final int HASH_BUCKETS = 1 << 16;
+    private static final Duration BACKLOG_TIMEOUT = Duration.ofMillis(200);
+
+    private final PriorityEngineRegistry priorityEngines;
+    private final LongSupplier redisBacklog;
+    private final DoubleSupplier kafkaBufferUsage;
+    private final long temperatureThreshold;
+    private final long rpmThreshold;
+    private final Limits limits;
+    private final ShedCurve normalCurve;
+    private final ShedCurve lowCurve;
+    private final MeterRegistry meterRegistry;
+    private final Counter prioritySamples;
+
+    private volatile List<PipelineLane> lanes = List.of();
+
+    private volatile double laneDepthPressure;
+    private volatile double redisBacklogPressure;
+    private volatile double kafkaBufferPressure;
+    private volatile double pressure;
+    // 해시 버킷(0 ~ HASH_BUCKETS) 중 적재할 버킷 수
+    private volatile int normalKeepBuckets = HASH_BUCKETS;
+    private volatile int lowKeepBuckets = HASH_BUCKETS;
+    private volatile boolean shedding;
+
+    /**
+     * 상한: lane-depth 는 레인 용량 대비 비율, redis-backlog 는 건수, kafka-buffer 는 buffer.memory 대비 사용 비율
+     * recovery-factor: 압력이 내려갈 때 샘플링 주기마다 반영할 비율 (상승은 즉시 반영)
+     */
+    public record Limits(double laneDepth, long redisBacklog, double kafkaBuffer, double recoveryFactor) {
+    }
+
+    /**
+     * 압력 -> 적재 비율: shed-start 이하 1.0, 압력 1.0(상한 도달)에서 min-keep-ratio 까지 선형 감소
+     */
+    public record ShedCurve(double shedStart, double minKeepRatio) {
+
+        public ShedCurve {
+            if (shedStart < 0 || shedStart >= 1) {
+                throw new IllegalArgumentException("shed-start 는 0 이상 1 미만이어야 함: " + shedStart);
+            }
+            if (minKeepRatio < 0 || minKeepRatio > 1) {
+                throw new IllegalArgumentException("min-keep-ratio 는 0 ~ 1 이어야 함: " + minKeepRatio);
+            }
+        }
+
+        int keepBuckets(double pressure) {
+            if (pressure <= shedStart) {
+                return HASH_BUCKETS;
+            }
+            double progress = Math.min(1.0, (pressure - shedStart) / (1.0 - shedStart));
+            return (int) Math.round(HASH_BUCKETS * (1.0 - (1.0 - minKeepRatio) * progress));
+        }
+    }
+
+    public OverloadController(PriorityEngineRegistry priorityEngines,
+                              MeterRegistry meterRegistry,
+                              ObjectProvider<AdaptiveBatchDrainer> drainer,
+                              ObjectProvider<EngineStagingQueue> stagingQueue,
+                              ObjectProvider<KafkaTemplate<String, EngineSample>> kafkaTemplate,
+                              @Value("${engine.alert.temperature.clear-below:345}") double temperatureThreshold,
+                              @Value("${engine.alert.rpm.clear-below:7900}") double rpmThreshold,
+                              @Value("${engine.overload.lane-depth-limit:0.8}") double laneDepthLimit,
+                              @Value("${engine.overload.redis-backlog-limit:200000}") long redisBacklogLimit,
+                              @Value("${engine.overload.kafka-buffer-limit:0.8}") double kafkaBufferLimit,
+                              @Value("${engine.overload.recovery-factor:0.2}") double recoveryFactor,
+                              @Value("${engine.overload.normal.shed-start:0.5}") double normalShedStart,
+                              @Value("${engine.overload.normal.min-keep-ratio:0.1}") double normalMinKeep,
+                              @Value("${engine.overload.low.shed-start:0.25}") double lowShedStart,
+                              @Value("${engine.overload.low.min-keep-ratio:0.02}") double lowMinKeep) {
+        this(priorityEngines, meterRegistry,
+                () -> redisBacklog(drainer.getIfAvailable(), stagingQueue.getIfAvailable()),
+                () -> kafkaBufferUsage(kafkaTemplate.getIfAvailable()),
+                temperatureThreshold, rpmThreshold,
+                new Limits(laneDepthLimit, redisBacklogLimit, kafkaBufferLimit, recoveryFactor),
+                new ShedCurve(normalShedStart, normalMinKeep),
+                new ShedCurve(lowShedStart, lowMinKeep));
+    }
+
+    OverloadController(PriorityEngineRegistry priorityEngines,
+                       MeterRegistry meterRegistry,
+                       LongSupplier redisBacklog,
+                       DoubleSupplier kafkaBufferUsage,
+                       double temperatureThreshold,
+                       double rpmThreshold,
+                       Limits limits,
+                       ShedCurve normalCurve,
+                       ShedCurve lowCurve) {
+        this.priorityEngines = priorityEngines;
+        this.redisBacklog = redisBacklog;
+        this.kafkaBufferUsage = kafkaBufferUsage;
+        this.temperatureThreshold = Math.round(temperatureThreshold * Math.pow(10, EngineSample.TEMPERATURE_SCALE));
+        this.rpmThreshold = Math.round(rpmThreshold * Math.pow(10, EngineSample.RPM_SCALE));
+        this.limits = limits;
+        this.normalCurve = normalCurve;
+        this.lowCurve = lowCurve;
+        this.meterRegistry = meterRegistry;
+
+        this.prioritySamples = Counter.builder("engine.overload.priority.samples")
+                .description("과부하 중 샘플링 없이 모든 레인에 적재한 우선 샘플 수")
+                .register(meterRegistry);
+        pressureGauge("combined", OverloadController::pressure);
+        pressureGauge("lane-depth", controller -> controller.laneDepthPressure);
+        pressureGauge("redis-backlog", controller -> controller.redisBacklogPressure);
+        pressureGauge("kafka-buffer", controller -> controller.kafkaBufferPressure);
+        for (SinkPriority priority : SinkPriority.values()) {
+            Gauge.builder("engine.overload.shed.ratio", this, controller -> controller.shedRatio(priority))
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 압력 계산 대상 레인 등록 및 레인별 목표 shed 비율 게이지 (EngineDataPipeline 생성 시 호출)
+     */
+    public void register(List<PipelineLane> pipelineLanes) {
+        this.lanes = List.copyOf(pipelineLanes);
+        for (PipelineLane lane : pipelineLanes) {
+            Gauge.builder("engine.pipeline.shed.ratio", this, controller -> controller.shedRatio(lane.priority()))
+                    .tag("sink", lane.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 신호 측정 및 우선순위별 적재 비율 갱신
+     */
+    @Scheduled(fixedDelayString = "${engine.overload.interval-ms:250}")
+    public void sample() {
+        double depth = 0;
+        for (PipelineLane lane : lanes) {
+            depth = Math.max(depth, (double) lane.depth() / lane.capacity());
+        }
+        laneDepthPressure = depth / limits.laneDepth();
+        redisBacklogPressure = (double) redisBacklog.getAsLong() / limits.redisBacklog();
+        kafkaBufferPressure = kafkaBufferUsage.getAsDouble() / limits.kafkaBuffer();
+
+        double measured = Math.max(laneDepthPressure, Math.max(redisBacklogPressure, kafkaBufferPressure));
+        double current = pressure;
+        // 상승은 즉시, 하강은 recovery-factor 만큼씩 반영해 샘플링 비율이 주기마다 흔들리지 않게 함
+        double next = measured >= current ? measured : current + (measured - current) * limits.recoveryFactor();
+        pressure = next;
+        normalKeepBuckets = normalCurve.keepBuckets(next);
+        lowKeepBuckets = lowCurve.keepBuckets(next);
+
+        boolean wasShedding = shedding;
+        shedding = normalKeepBuckets < HASH_BUCKETS || lowKeepBuckets < HASH_BUCKETS;
+        if (shedding != wasShedding) {
+            if (shedding) {
+                log.warn("과부하 샘플링 시작: 압력 = {} (레인 {}, Redis {}, Kafka {}), NORMAL 적재 비율 = {}, LOW = {}",
+                        format(next), format(laneDepthPressure), format(redisBacklogPressure),
+                        format(kafkaBufferPressure), format(1 - shedRatio(SinkPriority.NORMAL)),
+                        format(1 - shedRatio(SinkPriority.LOW)));
+            } else {
+                log.info("과부하 샘플링 종료: 압력 = {}", format(next));
+            }
+        }
+    }
+
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    /**
+     * 모든 레인에 적재해야 하는 샘플 여부 (임계치 초과 또는 최근 알림/이상 엔진)
+     */
+    public boolean retainAll(EngineSample sample) {
+        boolean priority = breachesThreshold(sample) || priorityEngines.isPriority(sample.getEngineId());
+        if (priority) {
+            prioritySamples.increment();
+        }
+        return priority;
+    }
+
+    /**
+     * 일반 샘플을 해당 우선순위 레인에 적재할지 여부
+     */
+    public boolean admit(SinkPriority priority, EngineDataReceivedEvent event) {
+        int keep = keepBuckets(priority);
+        return keep >= HASH_BUCKETS || bucket(event) < keep;
+    }
+
+    public double pressure() {
+        return pressure;
+    }
+
+    public double shedRatio(SinkPriority priority) {
+        return 1.0 - (double) keepBuckets(priority) / HASH_BUCKETS;
+    }
+
+    private int keepBuckets(SinkPriority priority) {
+        return switch (priority) {
+            case CRITICAL -> HASH_BUCKETS;
+            case NORMAL -> normalKeepBuckets;
+            case LOW -> lowKeepBuckets;
+        };
+    }
+
+    private boolean breachesThreshold(EngineSample sample) {
+        return (sample.has(EngineSample.HAS_TEMPERATURE) && sample.getTemperatureScaled() >= temperatureThreshold)
+                || (sample.has(EngineSample.HAS_RPM) && sample.getRpmScaled() >= rpmThreshold);
+    }
+
+    /**
+     * (엔진 ID, 측정 시각) 해시 버킷 - 측정 시각이 없으면 수신 시각 사용
+     */
+    static int bucket(EngineDataReceivedEvent event) {
+        EngineSample sample = event.getSample();
+        long key = sample.has(EngineSample.HAS_TIMESTAMP) ? sample.getTimestampMicros() : event.getReceivedNanos();
+        long hash = key * 0x9E3779B97F4A7C15L
+                ^ (sample.getEngineId() == null ? 0 : sample.getEngineId().hashCode());
+        hash ^= hash >>> 31;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 29;
+        return (int) (hash & (HASH_BUCKETS - 1));
+    }
+
+    /**
+     * 드레인이 측정한 스테이징 백로그 - 드레인이 없는 수집 전용 파드(engine.modules.persist=false)는 큐를 직접 조회
+     * 조회 실패(Redis 장애) 시 0 - 장애 중 flush 는 StagingSpillover 가 우회
+     */
+    static long redisBacklog(AdaptiveBatchDrainer drainer, EngineStagingQueue stagingQueue) {
+        if (drainer != null) {
+            return drainer.getBacklog();
+        }
+        return stagingQueue == null ? 0 : queueBacklog(stagingQueue.backlog());
+    }
+
+    static long queueBacklog(Mono<Long> backlog) {
+        try {
+            Long size = backlog.block(BACKLOG_TIMEOUT);
+            return size == null ? 0 : size;
+        } catch (Exception e) {
+            log.debug("스테이징 백로그 조회 실패: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 프로듀서 버퍼 사용 비율 (buffer-total-bytes 대비 사용 중인 바이트) - 측정 실패 시 0
+     */
+    static double kafkaBufferUsage(KafkaTemplate<?, ?> kafkaTemplate) {
+        if (kafkaTemplate == null) {
+            return 0;
+        }
+        try {
+            double total = 0;
+            double available = 0;
+            for (Map.Entry<MetricName, ? extends Metric> entry : kafkaTemplate.metrics().entrySet()) {
+                MetricName name = entry.getKey();
+                if (!"producer-metrics".equals(name.group())) {
+                    continue;
+                }
+                if ("buffer-total-bytes".equals(name.name())) {
+                    total += ((Number) entry.getValue().metricValue()).doubleValue();
+                } else if ("buffer-available-bytes".equals(name.name())) {
+                    available += ((Number) entry.getValue().metricValue()).doubleValue();
+                }
+            }
+            return total <= 0 ? 0 : (total - available) / total;
+        } catch (Exception e) {
+            log.debug("Kafka 프로듀서 버퍼 측정 실패: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private void pressureGauge(String signal, ToDoubleFunction<OverloadController> value) {
+        Gauge.builder("engine.overload.pressure", this, value)
+                .tag("signal", signal)
+                .register(meterRegistry);
+    }
+
+    private static String format(double value) {
+        return String.format("%.2f", value);
+    }
+}
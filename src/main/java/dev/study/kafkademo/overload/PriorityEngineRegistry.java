@@ -0,0 +1,54 @@
+package dev.study.kafkademo.overload;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 알림 전이/이상 탐지가 있었던 엔진 목록
+ * 알림·이상 탐지 레인 드레인 스레드가 기록하고, 과부하 중 수집 스레드가 조회해 해당 엔진 샘플은 hold-ms 동안 샘플링하지 않음
+ * (탐지는 레인 처리 후이므로 이상을 일으킨 샘플 자체는 임계치 초과일 때만 보존되고, 이후 샘플부터 보존)
+ */
+@Component
+@ConditionalOnIngestModule
+public class PriorityEngineRegistry {
+
+    private final Map<String, Long> holdUntilNanos = new ConcurrentHashMap<>();
+    private final long holdNanos;
+
+    public PriorityEngineRegistry(MeterRegistry meterRegistry,
+                                  @Value("${engine.overload.priority-hold-ms:30000}") long holdMillis) {
+        this.holdNanos = TimeUnit.MILLISECONDS.toNanos(holdMillis);
+        Gauge.builder("engine.overload.priority.engines", holdUntilNanos, Map::size).register(meterRegistry);
+    }
+
+    public void mark(String engineId) {
+        if (engineId != null) {
+            holdUntilNanos.put(engineId, System.nanoTime() + holdNanos);
+        }
+    }
+
+    public boolean isPriority(String engineId) {
+        if (engineId == null) {
+            return false;
+        }
+        Long until = holdUntilNanos.get(engineId);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    /**
+     * 보존 기간이 지난 엔진 제거 - 샘플이 끊긴 엔진이 남지 않도록 주기적으로 정리
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.nanoTime();
+        holdUntilNanos.entrySet().removeIf(entry -> entry.getValue() - now <= 0);
+    }
+}
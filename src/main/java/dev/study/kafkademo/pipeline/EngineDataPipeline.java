@@ -0,0 +1,87 @@
+package dev.study.kafkademo.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.config.ExecutionMode;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.overload.OverloadController;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 엔진 데이터 인프로세스 파이프라인
+ * 수신 이벤트를 싱크별 bounded 레인으로 분배 (ApplicationEvent + @Async 팬아웃 대체)
+ * 레인 드레인 스레드는 engine.execution.mode 에 따라 플랫폼/가상 스레드
+ * 과부하 중(OverloadController)에는 우선 샘플만 모든 레인에 적재하고, 일반 샘플은 레인 우선순위별 비율로 샘플링
+ */
+@Component
+@Slf4j
+@ConditionalOnIngestModule
+public class EngineDataPipeline {
+
+    private final List<PipelineLane> lanes;
+    // engine.overload.enabled=false 이면 null
+    private final OverloadController overloadController;
+
+    public EngineDataPipeline(List<EngineDataSink> sinks,
+                              Environment environment,
+                              MeterRegistry meterRegistry,
+                              ObjectMapper objectMapper,
+                              @Nullable OverloadController overloadController) {
+        ExecutionMode executionMode = environment.getProperty("engine.execution.mode", ExecutionMode.class,
+                ExecutionMode.PLATFORM);
+        this.lanes = sinks.stream()
+                .map(sink -> new PipelineLane(sink, LaneSettings.resolve(environment, sink.name()),
+                        meterRegistry, objectMapper, executionMode))
+                .toList();
+        this.overloadController = overloadController;
+        if (overloadController != null) {
+            overloadController.register(lanes);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        lanes.forEach(PipelineLane::start);
+        log.info("엔진 데이터 파이프라인 시작: 레인 = {}", lanes.stream().map(PipelineLane::name).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        lanes.forEach(lane -> lane.stop(5_000));
+    }
+
+    /**
+     * 엔진 데이터 수신 이벤트를 모든 레인에 적재 (발행 스레드에서 동기 호출)
+     */
+    @EventListener
+    public void onEngineDataReceived(EngineDataReceivedEvent event) {
+        if (overloadController == null || !overloadController.isShedding()) {
+            for (PipelineLane lane : lanes) {
+                lane.offer(event);
+            }
+            return;
+        }
+
+        boolean retainAll = overloadController.retainAll(event.getSample());
+        for (PipelineLane lane : lanes) {
+            if (retainAll || overloadController.admit(lane.priority(), event)) {
+                lane.offer(event);
+            } else {
+                lane.shed();
+            }
+        }
+    }
+
+    public List<PipelineLane> getLanes() {
+        return lanes;
+    }
+}
@@ -0,0 +1,22 @@
+package dev.study.kafkademo.pipeline;
+
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+
+import java.util.List;
+
+/**
+ * 파이프라인 싱크
+ * 각 싱크는 전용 레인(bounded 큐 + 드레인 스레드)에서 마이크로 배치 단위로 이벤트를 전달받음
+ */
+public interface EngineDataSink {
+
+    /**
+     * 레인 이름 - 설정 키(engine.pipeline.lanes.{name}.*)와 메트릭 태그로 사용
+     */
+    String name();
+
+    /**
+     * 마이크로 배치 처리 - 레인의 드레인 스레드에서 호출됨
+     */
+    void handleBatch(List<EngineDataReceivedEvent> batch);
+}
@@ -0,0 +1,50 @@
+package dev.study.kafkademo.pipeline;
+
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Path;
+
+/**
+ * 레인 설정
+ * engine.pipeline.lanes.{sink}.{key} 값을 우선 사용하고 없으면 engine.pipeline.{key} 공통값 사용
+ */
+public record LaneSettings(int capacity,
+                           int batchSize,
+                           long lingerMillis,
+                           OverflowPolicy overflowPolicy,
+                           long blockTimeoutMillis,
+                           Path spillDirectory,
+                           SinkPriority priority) {
+
+    private static final String PREFIX = "engine.pipeline.";
+
+    /**
+     * 우선순위 미지정 레인은 과부하 시에도 샘플링하지 않음
+     */
+    public LaneSettings(int capacity, int batchSize, long lingerMillis, OverflowPolicy overflowPolicy,
+                        long blockTimeoutMillis, Path spillDirectory) {
+        this(capacity, batchSize, lingerMillis, overflowPolicy, blockTimeoutMillis, spillDirectory,
+                SinkPriority.CRITICAL);
+    }
+
+    public static LaneSettings resolve(Environment environment, String sinkName) {
+        return new LaneSettings(
+                property(environment, sinkName, "capacity", Integer.class, 10_000),
+                property(environment, sinkName, "batch-size", Integer.class, 500),
+                property(environment, sinkName, "linger-ms", Long.class, 0L),
+                property(environment, sinkName, "overflow-policy", OverflowPolicy.class, OverflowPolicy.BLOCK),
+                property(environment, sinkName, "block-timeout-ms", Long.class, 100L),
+                Path.of(property(environment, sinkName, "spill-dir", String.class,
+                        System.getProperty("java.io.tmpdir") + "/engine-pipeline-spill")),
+                property(environment, sinkName, "priority", SinkPriority.class, SinkPriority.CRITICAL)
+        );
+    }
+
+    private static <T> T property(Environment environment, String sinkName, String key, Class<T> type, T defaultValue) {
+        T laneValue = environment.getProperty(PREFIX + "lanes." + sinkName + "." + key, type);
+        if (laneValue != null) {
+            return laneValue;
+        }
+        return environment.getProperty(PREFIX + key, type, defaultValue);
+    }
+}
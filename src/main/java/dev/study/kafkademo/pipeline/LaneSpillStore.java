@@ -0,0 +1,165 @@
+package dev.study.kafkademo.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 레인 오버플로우 spill 저장소
+ * 쓰기 파일(active)에 JSON 라인으로 추가하고, 읽을 때는 active 파일을 봉인(sealed)해 순서대로 재생
+ * 라인 형식: {수신 시각 epoch millis}\t{샘플 JSON} - 재생 이벤트의 지연 측정이 원래 수신 시각 기준이 되도록 보존
+ * (수신 시각이 없는 이전 형식 라인은 재생 시각을 수신 시각으로 사용)
+ * append 는 버퍼에만 쓰고 flush 는 드레인 스레드가 루프마다 호출 (이벤트당 write 시스템 콜 방지)
+ */
+@Slf4j
+class LaneSpillStore {
+
+    private final ObjectMapper objectMapper;
+    private final Path activeFile;
+    private final Path sealedFile;
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private BufferedWriter writer;
+    private BufferedReader reader;
+    private boolean dirty;
+
+    LaneSpillStore(Path directory, String laneName, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.activeFile = directory.resolve(laneName + ".active.jsonl");
+        this.sealedFile = directory.resolve(laneName + ".sealed.jsonl");
+        try {
+            Files.createDirectories(directory);
+            // 이전 실행에서 남은 spill 파일은 재생 대상으로 포함
+            pending.addAndGet(countLines(sealedFile) + countLines(activeFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("spill 디렉터리 초기화 실패: " + directory, e);
+        }
+    }
+
+    boolean hasPending() {
+        return pending.get() > 0;
+    }
+
+    long pending() {
+        return pending.get();
+    }
+
+    synchronized void append(EngineDataReceivedEvent event) throws IOException {
+        if (writer == null) {
+            writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(activeFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), StandardCharsets.UTF_8), WRITE_BUFFER_BYTES);
+        }
+        writer.write(Long.toString(event.getTimestamp()));
+        writer.write('\t');
+        writer.write(objectMapper.writeValueAsString(event.getSample()));
+        writer.newLine();
+        dirty = true;
+        pending.incrementAndGet();
+    }
+
+    /**
+     * 버퍼에 남은 spill 라인을 파일에 기록 (기록할 내용이 없으면 무시)
+     */
+    synchronized void flush() throws IOException {
+        if (dirty && writer != null) {
+            writer.flush();
+        }
+        dirty = false;
+    }
+
+    /**
+     * spill 된 이벤트를 최대 maxEvents 개까지 기록 순서대로 읽음
+     */
+    synchronized List<EngineDataReceivedEvent> readBatch(int maxEvents) throws IOException {
+        if (reader == null && !openSealedFile()) {
+            return Collections.emptyList();
+        }
+
+        List<EngineDataReceivedEvent> batch = new ArrayList<>(maxEvents);
+        String line;
+        while (batch.size() < maxEvents && (line = reader.readLine()) != null) {
+            batch.add(parse(line));
+        }
+
+        if (batch.size() < maxEvents) {
+            // 봉인 파일을 모두 읽었으므로 삭제
+            reader.close();
+            reader = null;
+            Files.deleteIfExists(sealedFile);
+            if (batch.isEmpty()) {
+                // 봉인 파일이 배치 경계에서 끝난 경우 - 대기 없이 다음 active 파일로 이어서 읽음
+                return readBatch(maxEvents);
+            }
+        }
+        pending.addAndGet(-batch.size());
+        return batch;
+    }
+
+    synchronized void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        dirty = false;
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    private boolean openSealedFile() throws IOException {
+        if (!Files.exists(sealedFile)) {
+            if (!Files.exists(activeFile)) {
+                return false;
+            }
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            dirty = false;
+            Files.move(activeFile, sealedFile, StandardCopyOption.ATOMIC_MOVE);
+        }
+        reader = Files.newBufferedReader(sealedFile, StandardCharsets.UTF_8);
+        return true;
+    }
+
+    private EngineDataReceivedEvent parse(String line) throws IOException {
+        int separator = line.indexOf('\t');
+        if (separator < 0) {
+            return new EngineDataReceivedEvent(objectMapper.readValue(line, EngineSample.class));
+        }
+        long receivedMillis = Long.parseLong(line, 0, separator, 10);
+        EngineSample sample = objectMapper.readValue(line.substring(separator + 1), EngineSample.class);
+        // nanoTime 은 프로세스마다 기준이 다르므로 경과 시간(wall clock)으로 현재 nanoTime 기준값을 역산
+        long elapsedNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - receivedMillis));
+        return new EngineDataReceivedEvent(sample, receivedMillis, System.nanoTime() - elapsedNanos);
+    }
+
+    private static long countLines(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            return lines.count();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package dev.study.kafkademo.pipeline;
+
+/**
+ * 레인 큐가 가득 찼을 때의 처리 정책
+ */
+public enum OverflowPolicy {
+
+    /** 지정된 시간까지 발행 스레드를 대기시키고, 그래도 공간이 없으면 드롭으로 집계 */
+    BLOCK,
+
+    /** 가장 오래된 이벤트를 버리고 새 이벤트를 적재 */
+    DROP_OLDEST,
+
+    /** 로컬 디스크에 기록해 두었다가 큐가 비면 순서대로 재전달 */
+    SPILL
+}
@@ -0,0 +1,302 @@
+package dev.study.kafkademo.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.config.ExecutionMode;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 싱크 하나를 위한 bounded 레인
+ * 발행 스레드는 큐에 적재만 하고, 전용 드레인 스레드가 마이크로 배치로 묶어 싱크에 전달
+ * 드레인 스레드 종류는 engine.execution.mode 를 따름 (VIRTUAL: 싱크 핸들러의 블로킹 I/O 가 캐리어 스레드를 점유하지 않음)
+ */
+@Slf4j
+public class PipelineLane {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long DROP_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final EngineDataSink sink;
+    private final LaneSettings settings;
+    private final ArrayBlockingQueue<EngineDataReceivedEvent> queue;
+    private final LaneSpillStore spillStore;
+    private final Thread drainer;
+
+    private final Counter accepted;
+    private final Counter dropped;
+    private final Counter blocked;
+    private final Counter spilled;
+    private final Counter delivered;
+    private final Counter failedBatches;
+    private final Counter shed;
+
+    // 드롭 경고 로그 간격 제한 (드롭 수 자체는 engine.pipeline.dropped 로 집계)
+    private final AtomicLong lastDropLogNanos = new AtomicLong(System.nanoTime() - DROP_LOG_INTERVAL_NANOS);
+
+    private volatile boolean running;
+
+    public PipelineLane(EngineDataSink sink, LaneSettings settings, MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this(sink, settings, meterRegistry, objectMapper, ExecutionMode.PLATFORM);
+    }
+
+    public PipelineLane(EngineDataSink sink, LaneSettings settings, MeterRegistry meterRegistry,
+                        ObjectMapper objectMapper, ExecutionMode executionMode) {
+        this.sink = sink;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(settings.capacity());
+        this.spillStore = settings.overflowPolicy() == OverflowPolicy.SPILL
+                ? new LaneSpillStore(settings.spillDirectory(), sink.name(), objectMapper)
+                : null;
+        Thread.Builder threadBuilder = executionMode == ExecutionMode.VIRTUAL
+                ? Thread.ofVirtual()
+                : Thread.ofPlatform().daemon(true);
+        this.drainer = threadBuilder.name("pipeline-" + sink.name()).unstarted(this::drainLoop);
+
+        this.accepted = counter(meterRegistry, "engine.pipeline.accepted");
+        this.dropped = counter(meterRegistry, "engine.pipeline.dropped");
+        this.blocked = counter(meterRegistry, "engine.pipeline.blocked");
+        this.spilled = counter(meterRegistry, "engine.pipeline.spilled");
+        this.delivered = counter(meterRegistry, "engine.pipeline.delivered");
+        this.failedBatches = counter(meterRegistry, "engine.pipeline.failed.batches");
+        this.shed = counter(meterRegistry, "engine.pipeline.shed");
+        Gauge.builder("engine.pipeline.queue.depth", queue, Collection::size)
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+        Gauge.builder("engine.pipeline.spill.pending", this, PipelineLane::spillPending)
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        running = true;
+        drainer.start();
+    }
+
+    /**
+     * 드레인 스레드를 멈추고 큐에 남은 이벤트는 전달 후 종료
+     */
+    public void stop(long timeoutMillis) {
+        running = false;
+        try {
+            drainer.join(timeoutMillis);
+            if (spillStore != null) {
+                spillStore.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("spill 저장소 종료 실패: 레인 = {}, 에러 = {}", sink.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * 이벤트 적재 - 큐가 가득 차면 오버플로우 정책 적용
+     *
+     * @return 이벤트가 유실되지 않았으면 true
+     */
+    public boolean offer(EngineDataReceivedEvent event) {
+        // spill 된 이벤트가 남아있는 동안에는 순서 보장을 위해 계속 spill
+        if (spillStore != null && spillStore.hasPending()) {
+            return spill(event);
+        }
+        if (queue.offer(event)) {
+            accepted.increment();
+            return true;
+        }
+
+        return switch (settings.overflowPolicy()) {
+            case BLOCK -> offerBlocking(event);
+            case DROP_OLDEST -> offerDroppingOldest(event);
+            case SPILL -> spill(event);
+        };
+    }
+
+    /**
+     * 과부하 샘플링으로 적재하지 않은 이벤트 집계 (오버플로우 드롭과 구분)
+     */
+    public void shed() {
+        shed.increment();
+    }
+
+    /**
+     * 큐에 자리가 날 때까지 block-timeout 동안 대기
+     * 논블로킹 스레드(Reactor 이벤트 루프)에서는 대기하지 않고 바로 드롭 - 발행은 전용 스레드에서 해야 함
+     */
+    private boolean offerBlocking(EngineDataReceivedEvent event) {
+        blocked.increment();
+        if (Schedulers.isInNonBlockingThread()) {
+            dropped.increment();
+            logDropped("논블로킹 스레드에서 대기 불가");
+            return false;
+        }
+        try {
+            if (queue.offer(event, settings.blockTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        logDropped("큐 대기 시간 초과");
+        return false;
+    }
+
+    private void logDropped(String reason) {
+        long now = System.nanoTime();
+        long last = lastDropLogNanos.get();
+        if (now - last >= DROP_LOG_INTERVAL_NANOS && lastDropLogNanos.compareAndSet(last, now)) {
+            log.warn("레인 이벤트 드롭: 레인 = {}, 사유 = {}, 누적 드롭 = {}", sink.name(), reason, (long) dropped.count());
+        }
+    }
+
+    private boolean offerDroppingOldest(EngineDataReceivedEvent event) {
+        while (!queue.offer(event)) {
+            if (queue.poll() != null) {
+                dropped.increment();
+            }
+        }
+        accepted.increment();
+        return true;
+    }
+
+    private boolean spill(EngineDataReceivedEvent event) {
+        try {
+            spillStore.append(event);
+            spilled.increment();
+            return true;
+        } catch (IOException e) {
+            dropped.increment();
+            logDropped("spill 기록 실패 - " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                // 발행 스레드가 버퍼에 쌓은 spill 라인을 배치(또는 idle poll) 단위로 한 번에 기록
+                flushSpill();
+                // spill 이 남아 있는 동안 offer 는 모두 spill 로 가므로 큐가 비면 대기 없이 연속 재생
+                // (큐와 spill 이 모두 비었을 때만 poll 대기)
+                if (queue.isEmpty() && drainSpill()) {
+                    continue;
+                }
+                EngineDataReceivedEvent first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                if (settings.lingerMillis() > 0 && queue.size() < settings.batchSize() - 1) {
+                    Thread.sleep(settings.lingerMillis());
+                }
+
+                // 싱크가 비동기로 배치를 참조할 수 있으므로 매번 새 리스트 사용
+                List<EngineDataReceivedEvent> batch = new ArrayList<>(Math.min(settings.batchSize(), queue.size() + 1));
+                batch.add(first);
+                queue.drainTo(batch, settings.batchSize() - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void flushSpill() {
+        if (spillStore == null) {
+            return;
+        }
+        try {
+            spillStore.flush();
+        } catch (IOException e) {
+            log.error("spill flush 실패: 레인 = {}, 에러 = {}", sink.name(), e.getMessage());
+        }
+    }
+
+    /**
+     * spill 된 이벤트 한 배치 재생
+     *
+     * @return 재생한 이벤트가 있으면 true
+     */
+    private boolean drainSpill() {
+        if (spillStore == null || !spillStore.hasPending()) {
+            return false;
+        }
+        try {
+            List<EngineDataReceivedEvent> batch = spillStore.readBatch(settings.batchSize());
+            if (batch.isEmpty()) {
+                return false;
+            }
+            deliver(batch);
+            return true;
+        } catch (IOException e) {
+            log.error("spill 재생 실패: 레인 = {}, 에러 = {}", sink.name(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void deliver(List<EngineDataReceivedEvent> batch) {
+        try {
+            sink.handleBatch(batch);
+            delivered.increment(batch.size());
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.error("레인 배치 전달 실패: 레인 = {}, 크기 = {}, 에러 = {}", sink.name(), batch.size(), e.getMessage());
+        }
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String name) {
+        return Counter.builder(name)
+                .tag("sink", sink.name())
+                .register(meterRegistry);
+    }
+
+    public String name() {
+        return sink.name();
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    public int capacity() {
+        return settings.capacity();
+    }
+
+    public SinkPriority priority() {
+        return settings.priority();
+    }
+
+    public double spillPending() {
+        return spillStore == null ? 0 : spillStore.pending();
+    }
+
+    public long droppedCount() {
+        return (long) dropped.count();
+    }
+
+    public long deliveredCount() {
+        return (long) delivered.count();
+    }
+
+    public long spilledCount() {
+        return (long) spilled.count();
+    }
+
+    public long shedCount() {
+        return (long) shed.count();
+    }
+}
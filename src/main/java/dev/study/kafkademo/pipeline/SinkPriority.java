@@ -0,0 +1,17 @@
+package dev.study.kafkademo.pipeline;
+
+/**
+ * 과부하 시 싱크(레인) 우선순위 - engine.pipeline.lanes.{sink}.priority
+ * 임계치 초과/이상 엔진 샘플은 우선순위와 관계없이 모든 레인에 전달
+ */
+public enum SinkPriority {
+
+    /** 일반 샘플도 버리지 않음 (원본 기록인 DB 적재·Kafka 발행, 연속성이 필요한 알림·이상 탐지) */
+    CRITICAL,
+
+    /** 압력이 높아지면 일반 샘플을 비율만큼 샘플링 */
+    NORMAL,
+
+    /** NORMAL 보다 먼저, 더 많이 샘플링 (최신값만 의미 있는 싱크) */
+    LOW
+}
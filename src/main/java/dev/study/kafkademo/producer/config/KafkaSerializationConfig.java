@@ -0,0 +1,48 @@
+package dev.study.kafkademo.producer.config;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.serializer.EngineBinaryKafkaDeserializer;
+import dev.study.kafkademo.serializer.EngineBinaryKafkaSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+
+/**
+ * Kafka 값 직렬화 포맷 설정
+ * engine.serialization.format=binary 인 경우 spring.kafka.producer.value-serializer(JSON) 대신 바이너리 코덱 사용
+ * 소비자(engine.persistence.source=kafka)도 같은 포맷으로 역직렬화 (실패 레코드는 ErrorHandlingDeserializer 가 null 로 전달)
+ */
+@Configuration
+@Slf4j
+public class KafkaSerializationConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.serialization.format", havingValue = "binary")
+    public DefaultKafkaProducerFactoryCustomizer binaryEngineValueSerializerCustomizer() {
+        log.info("Kafka EngineSample 직렬화 포맷: binary");
+        return producerFactory -> {
+            @SuppressWarnings("unchecked")
+            DefaultKafkaProducerFactory<Object, EngineSample> engineProducerFactory =
+                    (DefaultKafkaProducerFactory<Object, EngineSample>) producerFactory;
+            engineProducerFactory.setValueSerializer(new EngineBinaryKafkaSerializer());
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "engine.serialization.format", havingValue = "binary")
+    public DefaultKafkaConsumerFactoryCustomizer binaryEngineValueDeserializerCustomizer() {
+        return consumerFactory -> {
+            @SuppressWarnings("unchecked")
+            DefaultKafkaConsumerFactory<Object, EngineSample> engineConsumerFactory =
+                    (DefaultKafkaConsumerFactory<Object, EngineSample>) consumerFactory;
+            engineConsumerFactory.setValueDeserializerSupplier(
+                    () -> new ErrorHandlingDeserializer<>(new EngineBinaryKafkaDeserializer()));
+        };
+    }
+}
@@ -3,7 +3,9 @@ package dev.study.kafkademo.producer.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.config.ConditionalOnStagingModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.serializer.EngineBinaryRedisSerializer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -16,12 +18,14 @@ import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 
 @Configuration
 @Slf4j
+@ConditionalOnStagingModule
 public class RedisConfig {
 
     @Bean
@@ -42,29 +46,37 @@ public class RedisConfig {
     }
     
     @Bean
-    public ReactiveRedisTemplate<String, EngineDto> reactiveEngineTemplate(
-            ReactiveRedisConnectionFactory connectionFactory) {
-        
-        // ObjectMapper 설정 - LocalDateTime 지원
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-        
-        // EngineDto 전용 JSON 직렬화 설정
-        Jackson2JsonRedisSerializer<EngineDto> jsonSerializer = 
-            new Jackson2JsonRedisSerializer<>(objectMapper, EngineDto.class);
-        
+    public ReactiveRedisTemplate<String, EngineSample> reactiveEngineTemplate(
+            ReactiveRedisConnectionFactory connectionFactory,
+            @Value("${engine.serialization.format:json}") String serializationFormat) {
+
+        // EngineSample 값 직렬화 - binary: 고정 레이아웃 바이너리, json: 디버깅용 JSON (EngineDto 와 동일한 형태)
+        RedisSerializer<EngineSample> valueSerializer = "binary".equalsIgnoreCase(serializationFormat)
+                ? new EngineBinaryRedisSerializer()
+                : engineJsonSerializer();
+        log.info("Redis EngineSample 직렬화 포맷: {}", serializationFormat);
+
         // 직렬화 컨텍스트 구성
-        RedisSerializationContext<String, EngineDto> serializationContext = 
-            RedisSerializationContext.<String, EngineDto>newSerializationContext()
+        RedisSerializationContext<String, EngineSample> serializationContext = 
+            RedisSerializationContext.<String, EngineSample>newSerializationContext()
                 .key(StringRedisSerializer.UTF_8)
-                .value(jsonSerializer)
+                .value(valueSerializer)
                 .hashKey(StringRedisSerializer.UTF_8)
-                .hashValue(jsonSerializer)
+                .hashValue(valueSerializer)
                 .build();
                 
         return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
     }
+
+    private static Jackson2JsonRedisSerializer<EngineSample> engineJsonSerializer() {
+        // ObjectMapper 설정 - LocalDateTime 지원
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // EngineSample 전용 JSON 직렬화 설정
+        return new Jackson2JsonRedisSerializer<>(objectMapper, EngineSample.class);
+    }
     
     @Bean
     public ReactiveStringRedisTemplate reactiveStringRedisTemplate(
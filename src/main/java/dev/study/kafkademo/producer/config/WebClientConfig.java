@@ -1,6 +1,8 @@
 package dev.study.kafkademo.producer.config;
 
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
 import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
@@ -8,19 +10,28 @@ import org.springframework.http.MediaType;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 
 @Configuration
+@ConditionalOnIngestModule
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient() {
+    public WebClient webClient(@Value("${spring.api.ingest.max-concurrency:32}") int maxConcurrency) {
+        // 동시 요청 상한과 커넥션 풀 크기를 맞춰 대기 요청이 풀에서 누적되지 않도록 함
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("simulator")
+                .maxConnections(maxConcurrency)
+                .pendingAcquireMaxCount(maxConcurrency)
+                .maxIdleTime(Duration.ofSeconds(30))
+                .build();
+
         return WebClient.builder()
                 .baseUrl("http://localhost:8080")
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .clientConnector(new ReactorClientHttpConnector(
-                        HttpClient.create()
+                        HttpClient.create(connectionProvider)
                                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
                                 .responseTimeout(Duration.ofSeconds(5))
                 )).build();
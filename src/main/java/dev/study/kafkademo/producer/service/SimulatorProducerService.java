@@ -1,60 +1,213 @@
 package dev.study.kafkademo.producer.service;
 
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
 import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.dto.EngineSample;
 import dev.study.kafkademo.event.EngineDataReceivedEvent;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @Slf4j
-@RequiredArgsConstructor
+@ConditionalOnIngestModule
 public class SimulatorProducerService {
 
+    /**
+     * 수집 모드
+     * SINGLE: 단일 엔드포인트, PER_ENGINE: 엔진별 엔드포인트, BULK: List<EngineDto> 일괄 응답
+     */
+    public enum IngestMode {
+        SINGLE, PER_ENGINE, BULK
+    }
+
     private final WebClient webClient;
     private final ApplicationEventPublisher eventPublisher;
 
     @Value("${spring.api.url}")
     private String apiUrl;
 
+    @Value("${spring.api.ingest.mode:single}")
+    private IngestMode ingestMode;
+
+    @Value("${spring.api.ingest.engine-url:}")
+    private String engineUrlTemplate;
+
+    @Value("${spring.api.ingest.bulk-url:}")
+    private String bulkUrl;
+
+    @Value("${spring.api.ingest.engine-ids:}")
+    private String[] engineIds;
+
+    @Value("${spring.api.ingest.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${spring.api.ingest.max-concurrency:32}")
+    private int maxConcurrency;
+
+    @Value("${spring.api.ingest.timeout-ms:5000}")
+    private long timeoutMs;
+
+    private final AtomicLong skippedTicks = new AtomicLong();
+    private final AtomicLong fetchedSamples = new AtomicLong();
+    private final AtomicLong failedFetches = new AtomicLong();
+    private final Timer fetchLatency;
+    // 이벤트 발행(레인 적재) 전용 스레드 - BLOCK 레인 대기/spill 기록이 WebClient 이벤트 루프를 막지 않도록 분리
+    // 발행 스레드가 막히면 publishOn 큐가 차서 응답 소비가 멈추므로 수집 요청에 배압이 전달됨
+    private final Scheduler publishScheduler = Schedulers.newSingle("engine-publish", true);
+
+    private Disposable ingestion;
+
+    public SimulatorProducerService(WebClient webClient,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.eventPublisher = eventPublisher;
+        this.fetchLatency = Timer.builder("engine.fetch.latency")
+                .description("시뮬레이터 API 호출 지연 (요청 ~ 응답 본문 수신)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("engine.fetch.samples", fetchedSamples, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("engine.fetch.failed", failedFetches, AtomicLong::get).register(meterRegistry);
+        FunctionCounter.builder("engine.fetch.skipped.ticks", skippedTicks, AtomicLong::get).register(meterRegistry);
+    }
+
     /**
-     * 시뮬레이터로부터 데이터를 수집하고 이벤트를 발행 (단일 책임: 데이터 수집)
+     * 수집 루프 시작
+     * 이전 틱의 요청이 끝나지 않았으면 다음 틱은 건너뛰어 요청이 누적되지 않도록 함
      */
-    @Scheduled(fixedRate = 1000)
-    public void fetchEngineDataAndPublishEvent() {
-        webClient.get()
-                .uri(apiUrl)
-                .retrieve()
-                .bodyToMono(EngineDto.class)
-                .timeout(Duration.ofSeconds(5))
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void startIngestion() {
+        if (ingestion != null && !ingestion.isDisposed()) {
+            return;
+        }
+
+        log.info("시뮬레이터 수집 시작: 모드 = {}, 주기 = {}ms, 엔진 수 = {}, 최대 동시 요청 = {}",
+                ingestMode, intervalMs, engineIds.length, maxConcurrency);
+
+        ingestion = Flux.interval(Duration.ofMillis(intervalMs))
+                .onBackpressureDrop(tick -> {
+                    long skipped = skippedTicks.incrementAndGet();
+                    log.debug("이전 수집이 진행 중이므로 틱 건너뜀: 누적 {}", skipped);
+                })
+                .concatMap(tick -> fetchEngineDataAndPublishEvent(), 0)
                 .subscribe(
-                        this::publishEngineDataEvent,
-                        error -> log.error("시뮬레이터 데이터 수집 실패: {}", error.getMessage())
+                        count -> log.debug("수집 틱 완료: 샘플 수 = {}", count),
+                        error -> log.error("시뮬레이터 수집 루프 종료: {}", error.getMessage())
                 );
     }
 
+    @PreDestroy
+    public synchronized void stopIngestion() {
+        if (ingestion != null) {
+            ingestion.dispose();
+        }
+        publishScheduler.dispose();
+    }
+
+    /**
+     * 시뮬레이터로부터 데이터를 수집하고 이벤트를 발행 (단일 책임: 데이터 수집)
+     * 한 틱 동안 수집된 샘플 수를 반환
+     */
+    public Mono<Long> fetchEngineDataAndPublishEvent() {
+        return fetchSamples()
+                .publishOn(publishScheduler)
+                .doOnNext(this::publishEngineDataEvent)
+                .count()
+                .doOnNext(fetchedSamples::addAndGet);
+    }
+
+    private Flux<EngineDto> fetchSamples() {
+        return switch (ingestMode) {
+            case SINGLE -> fetchOne(apiUrl, null).flux();
+            case PER_ENGINE -> Flux.fromArray(engineIds)
+                    .flatMap(engineId -> fetchOne(engineUrlTemplate, engineId), maxConcurrency);
+            case BULK -> Flux.defer(() -> {
+                        long start = System.nanoTime();
+                        return webClient.get()
+                                .uri(bulkUrl)
+                                .retrieve()
+                                .bodyToFlux(EngineDto.class)
+                                .timeout(Duration.ofMillis(timeoutMs))
+                                .doFinally(signal -> recordFetch(start));
+                    })
+                    .onErrorResume(error -> {
+                        failedFetches.incrementAndGet();
+                        log.error("시뮬레이터 일괄 데이터 수집 실패: {}", error.getMessage());
+                        return Flux.empty();
+                    });
+        };
+    }
+
+    private Mono<EngineDto> fetchOne(String uriTemplate, String engineId) {
+        WebClient.RequestHeadersSpec<?> request = engineId == null
+                ? webClient.get().uri(uriTemplate)
+                : webClient.get().uri(uriTemplate, engineId);
+
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return request
+                            .retrieve()
+                            .bodyToMono(EngineDto.class)
+                            .timeout(Duration.ofMillis(timeoutMs))
+                            .doFinally(signal -> recordFetch(start));
+                })
+                .doOnNext(engineDto -> engineDto.assignEngineIdIfAbsent(engineId))
+                .onErrorResume(error -> {
+                    failedFetches.incrementAndGet();
+                    log.error("시뮬레이터 데이터 수집 실패: 엔진 = {}, 에러 = {}", engineId, error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private void recordFetch(long startNanos) {
+        fetchLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * 엔진 데이터 수신 이벤트 발행
      */
     private void publishEngineDataEvent(EngineDto engineDto) {
         try {
-            // 타임스탬프 설정
-            engineDto.setTimestamp();
-            
+            // API 경계에서 primitive 샘플로 변환하며 수신 시각을 타임스탬프로 설정
+            EngineSample sample = EngineSample.from(engineDto, EngineSample.nowMicros());
+
             // 이벤트 발행
-            EngineDataReceivedEvent event = new EngineDataReceivedEvent(this, engineDto);
+            EngineDataReceivedEvent event = new EngineDataReceivedEvent(this, sample);
             eventPublisher.publishEvent(event);
-            
-            log.debug("엔진 데이터 이벤트 발행 성공: {}", engineDto);
+
+            log.debug("엔진 데이터 이벤트 발행 성공: {}", sample);
         } catch (Exception e) {
             log.error("엔진 데이터 이벤트 발행 실패: {}, 에러: {}", engineDto, e.getMessage());
         }
     }
+
+    public long getSkippedTicks() {
+        return skippedTicks.get();
+    }
+
+    public long getFetchedSamples() {
+        return fetchedSamples.get();
+    }
+
+    public long getFailedFetches() {
+        return failedFetches.get();
+    }
 }
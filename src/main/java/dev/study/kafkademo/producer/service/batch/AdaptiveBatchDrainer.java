@@ -0,0 +1,303 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Redis 스테이징 큐 연속 드레인
+ * 백로그가 목표치를 넘는 동안 배치를 연속으로 적재하고, 배치 크기는 DB 쓰기 지연에 맞춰 조절
+ * 워커 단위로 claim/ack 하므로 여러 워커/인스턴스가 같은 스테이징 큐를 나눠 처리 가능
+ * 일시적 실패(DB 장애 등)는 무제한 nack 재시도, 배치 내용 문제로 같은 배치가 max-attempts 회 연속 실패하면 dead-letter
+ * 전달 보장은 at-least-once: 커밋 후 ack 가 실패하면 같은 배치가 재전달되므로, 같은 워커가 바로 다시 claim 한
+ * 커밋 완료 배치는 적재 없이 ack 만 함 (engine.drain.redelivered.rows). 커밋과 ack 사이에 프로세스가 죽어
+ * 복구(recover/maintain)로 재전달되는 배치는 engine.drain.idempotent=true 일 때만 중복 적재를 막음
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.drain.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnPersistModule
+public class AdaptiveBatchDrainer {
+
+    private static final Duration REDIS_TIMEOUT = Duration.ofSeconds(5);
+
+    private final EngineDataSaveBatchService batchService;
+    private final EngineStagingQueue stagingQueue;
+    private final AdaptiveBatchSizer sizer;
+
+    @Value("${engine.drain.workers:1}")
+    private int workers = 1;
+
+    @Value("${engine.drain.target-backlog:0}")
+    private long targetBacklog;
+
+    @Value("${engine.drain.idle-ms:500}")
+    private long idleMillis = 500;
+
+    @Value("${engine.drain.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong drainedRows = new AtomicLong();
+    private final Counter drainedCounter;
+    private final Counter failedBatches;
+    private final Counter deadLetteredRows;
+    private final Counter redeliveredRows;
+    // 워커별 직전 실패 배치의 첫 샘플과 연속 실패 횟수 (nack 된 배치는 같은 샘플부터 재전달됨)
+    private final Map<Integer, FailedHead> failedHeads = new ConcurrentHashMap<>();
+    // 워커별 커밋은 됐지만 ack 에 실패한 배치 (다음 claim 에서 같은 배치가 재전달됨)
+    private final Map<Integer, CommittedBatch> unackedCommits = new ConcurrentHashMap<>();
+
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    // 드레인 속도(rows/sec) 계산용 직전 샘플
+    private long lastRateRows;
+    private long lastRateNanos = System.nanoTime();
+    private volatile double drainRate;
+
+    public AdaptiveBatchDrainer(EngineDataSaveBatchService batchService,
+                                EngineStagingQueue stagingQueue,
+                                MeterRegistry meterRegistry,
+                                @Value("${engine.drain.min-batch-size:100}") int minBatchSize,
+                                @Value("${engine.drain.max-batch-size:5000}") int maxBatchSize,
+                                @Value("${engine.drain.initial-batch-size:500}") int initialBatchSize,
+                                @Value("${engine.drain.target-latency-ms:200}") long targetLatencyMillis) {
+        this.batchService = batchService;
+        this.stagingQueue = stagingQueue;
+        this.sizer = new AdaptiveBatchSizer(minBatchSize, maxBatchSize, initialBatchSize, targetLatencyMillis);
+
+        this.drainedCounter = Counter.builder("engine.drain.rows").register(meterRegistry);
+        this.failedBatches = Counter.builder("engine.drain.failed.batches").register(meterRegistry);
+        this.deadLetteredRows = Counter.builder("engine.drain.dead.letter.rows").register(meterRegistry);
+        this.redeliveredRows = Counter.builder("engine.drain.redelivered.rows")
+                .description("커밋 후 ack 실패로 재전달되어 적재 없이 ack 한 샘플 수")
+                .register(meterRegistry);
+        Gauge.builder("engine.drain.backlog", backlog, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("engine.drain.batch.size", sizer, AdaptiveBatchSizer::currentSize).register(meterRegistry);
+        Gauge.builder("engine.drain.rate", this, AdaptiveBatchDrainer::sampleDrainRate)
+                .baseUnit("rows/s")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        try {
+            // 이전 실행에서 ack 되지 않은 배치를 먼저 복구
+            Long recovered = stagingQueue.recover().block(REDIS_TIMEOUT);
+            if (recovered != null && recovered > 0) {
+                log.warn("시작 시 처리 중이던 배치 복구: {}건", recovered);
+            }
+        } catch (Exception e) {
+            log.error("시작 시 스테이징 배치 복구 실패: {}", e.getMessage());
+        }
+        for (int i = 0; i < workers; i++) {
+            int workerIndex = i;
+            Thread worker = new Thread(() -> drainLoop(workerIndex), "engine-drain-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workerThreads.add(worker);
+        }
+        log.info("스테이징 드레인 시작: 백엔드 = {}, 워커 수 = {}, 초기 배치 크기 = {}, 목표 백로그 = {}",
+                stagingQueue.backendName(), workers, sizer.currentSize(), targetBacklog);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        for (Thread worker : workerThreads) {
+            worker.interrupt();
+            try {
+                worker.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerThreads.clear();
+    }
+
+    private void drainLoop(int worker) {
+        while (running) {
+            try {
+                int drained = drainOnce(worker);
+                long remaining = refreshBacklog();
+                // 백로그가 목표 이하로 내려가거나 꺼낼 데이터가 없으면 잠시 대기
+                if (drained == 0 || remaining <= targetBacklog) {
+                    Thread.sleep(idleMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("스테이징 드레인 루프 에러: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 현재 배치 크기만큼 claim 해 적재하고 적재된 행 수를 반환
+     * 커밋 후 ack, 실패 시 nack 으로 배치를 다시 처리 대상으로 되돌림 (poison 배치는 dead-letter)
+     */
+    int drainOnce(int worker) {
+        int batchSize = sizer.currentSize();
+        StagedBatch batch = stagingQueue.claim(worker, batchSize).block(REDIS_TIMEOUT);
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        if (ackIfAlreadyCommitted(worker, batch)) {
+            return 0;
+        }
+        List<EngineSample> samples = batch.samples();
+
+        long start = System.nanoTime();
+        int written;
+        try {
+            written = batchService.saveBatchToDataBase(samples).blockOptional().orElse(0);
+        } catch (RuntimeException e) {
+            onFailure(worker, batch, e);
+            return 0;
+        }
+        long latencyNanos = System.nanoTime() - start;
+
+        failedHeads.remove(worker);
+        sizer.onSuccess(samples.size(), latencyNanos);
+        drainedCounter.increment(written);
+        drainedRows.addAndGet(written);
+        try {
+            stagingQueue.ack(worker, batch).block(REDIS_TIMEOUT);
+        } catch (RuntimeException e) {
+            unackedCommits.put(worker, CommittedBatch.of(batch));
+            throw e;
+        }
+        log.debug("스테이징 배치 적재: 크기 = {}, 지연 = {}ms, 다음 배치 크기 = {}",
+                written, latencyNanos / 1_000_000, sizer.currentSize());
+        return written;
+    }
+
+    /**
+     * 직전에 커밋 후 ack 에 실패한 배치가 그대로 재전달되면 다시 적재하지 않고 ack 만 수행
+     * (ack 가 또 실패하면 기록을 남겨 두어 다음 claim 에서 다시 확인)
+     */
+    private boolean ackIfAlreadyCommitted(int worker, StagedBatch batch) {
+        CommittedBatch committed = unackedCommits.get(worker);
+        if (committed == null) {
+            return false;
+        }
+        if (!committed.matches(batch)) {
+            unackedCommits.remove(worker);
+            return false;
+        }
+        stagingQueue.ack(worker, batch).block(REDIS_TIMEOUT);
+        unackedCommits.remove(worker);
+        redeliveredRows.increment(batch.size());
+        log.warn("커밋된 배치 재전달 - 적재 없이 ack: 워커 = {}, 크기 = {}", worker, batch.size());
+        return true;
+    }
+
+    private void onFailure(int worker, StagedBatch batch, RuntimeException error) {
+        failedBatches.increment();
+        sizer.onFailure();
+        if (PersistenceFailures.isTransient(error)) {
+            // DB 상태 문제는 배치 내용과 무관하므로 시도 횟수에 포함하지 않음
+            failedHeads.remove(worker);
+            stagingQueue.nack(worker, batch).block(REDIS_TIMEOUT);
+            return;
+        }
+
+        EngineSample head = batch.samples().get(0);
+        FailedHead previous = failedHeads.get(worker);
+        int attempts = previous != null && previous.matches(head) ? previous.attempts() + 1 : 1;
+        if (attempts < maxAttempts) {
+            failedHeads.put(worker, new FailedHead(head.getEngineId(), head.getTimestampMicros(), attempts));
+            stagingQueue.nack(worker, batch).block(REDIS_TIMEOUT);
+            return;
+        }
+
+        failedHeads.remove(worker);
+        stagingQueue.deadLetter(worker, batch).block(REDIS_TIMEOUT);
+        deadLetteredRows.increment(batch.size());
+        log.error("배치가 {}회 연속 적재 실패해 dead-letter 로 이동: 워커 = {}, 크기 = {}, 첫 엔진 = {}, 에러 = {}",
+                attempts, worker, batch.size(), head.getEngineId(), error.getMessage());
+    }
+
+    private long refreshBacklog() {
+        Long size = stagingQueue.backlog().block(REDIS_TIMEOUT);
+        long current = size == null ? 0 : size;
+        backlog.set(current);
+        return current;
+    }
+
+    private synchronized double sampleDrainRate() {
+        long now = System.nanoTime();
+        long rows = drainedRows.get();
+        long elapsed = now - lastRateNanos;
+        if (elapsed >= 1_000_000_000L) {
+            drainRate = (rows - lastRateRows) * 1_000_000_000.0 / elapsed;
+            lastRateRows = rows;
+            lastRateNanos = now;
+        }
+        return drainRate;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(idleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getBacklog() {
+        return backlog.get();
+    }
+
+    public int getCurrentBatchSize() {
+        return sizer.currentSize();
+    }
+
+    /**
+     * 커밋된 배치 식별 - Streams 는 레코드 ID, 리스트는 처리 리스트가 그대로 재전달되므로 첫 샘플과 크기로 비교
+     */
+    private record CommittedBatch(List<String> ids, String engineId, long timestampMicros, int size) {
+
+        static CommittedBatch of(StagedBatch batch) {
+            EngineSample head = batch.samples().get(0);
+            return new CommittedBatch(batch.ids(), head.getEngineId(), head.getTimestampMicros(), batch.size());
+        }
+
+        boolean matches(StagedBatch batch) {
+            EngineSample head = batch.samples().get(0);
+            return ids.equals(batch.ids()) && size == batch.size()
+                    && Objects.equals(engineId, head.getEngineId()) && timestampMicros == head.getTimestampMicros();
+        }
+    }
+
+    private record FailedHead(String engineId, long timestampMicros, int attempts) {
+
+        boolean matches(EngineSample sample) {
+            return Objects.equals(engineId, sample.getEngineId()) && timestampMicros == sample.getTimestampMicros();
+        }
+    }
+}
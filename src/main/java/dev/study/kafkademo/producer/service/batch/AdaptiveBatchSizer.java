@@ -0,0 +1,53 @@
+package dev.study.kafkademo.producer.service.batch;
+
+/**
+ * DB 쓰기 지연 기반 배치 크기 조절 (AIMD)
+ * 목표 지연 이하이면 additiveStep 만큼 증가, 초과하거나 실패하면 절반으로 감소
+ */
+public class AdaptiveBatchSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final int additiveStep;
+    private final long targetLatencyNanos;
+
+    private int currentSize;
+
+    public AdaptiveBatchSizer(int minSize, int maxSize, int initialSize, long targetLatencyMillis) {
+        if (minSize <= 0 || maxSize < minSize) {
+            throw new IllegalArgumentException("배치 크기 범위가 올바르지 않음: min = " + minSize + ", max = " + maxSize);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.additiveStep = Math.max(1, minSize / 2);
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.currentSize = clamp(initialSize);
+    }
+
+    public synchronized int currentSize() {
+        return currentSize;
+    }
+
+    /**
+     * 배치 쓰기 결과 반영
+     *
+     * @param rows         이번 배치 행 수
+     * @param latencyNanos 이번 배치 DB 쓰기 지연
+     */
+    public synchronized void onSuccess(int rows, long latencyNanos) {
+        if (latencyNanos > targetLatencyNanos) {
+            currentSize = clamp(currentSize / 2);
+        } else if (rows >= currentSize) {
+            // 배치를 가득 채운 경우에만 증가 (백로그가 적을 때 크기가 부풀지 않도록)
+            currentSize = clamp(currentSize + additiveStep);
+        }
+    }
+
+    public synchronized void onFailure() {
+        currentSize = clamp(currentSize / 2);
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
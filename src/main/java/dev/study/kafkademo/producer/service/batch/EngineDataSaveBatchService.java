@@ -1,125 +1,232 @@
 package dev.study.kafkademo.producer.service.batch;
 
-import dev.study.kafkademo.dto.EngineDto;
-import dev.study.kafkademo.entity.Engine;
-import dev.study.kafkademo.repository.EngineRepository;
-import lombok.RequiredArgsConstructor;
+import dev.study.kafkademo.archive.EngineArchiveWriter;
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.metrics.PipelineMeters;
+import dev.study.kafkademo.repository.bulk.EngineBulkWriter;
+import dev.study.kafkademo.repository.bulk.IdempotentEngineWriter;
+import dev.study.kafkademo.repository.bulk.ReactiveEngineBulkWriter;
+import dev.study.kafkademo.repository.rollup.EngineRollupWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 스테이징 큐 적재 및 DB 일괄 저장
+ * 스테이징 백엔드는 engine.staging.backend(list | stream), DB 적재 전략은 engine.persistence.writer 로 선택
+ * 롤업(engine.rollup.enabled)은 원본 적재와 같은 트랜잭션에서 같은 배치로 갱신
+ * IdempotentEngineWriter 가 있으면(engine.drain.idempotent=true 또는 source=kafka) writer 설정 대신 ON CONFLICT DO NOTHING
+ * 으로 적재하고 실제 삽입된 샘플만 롤업에 반영 - 복구로 재전달된 커밋 완료 배치의 중복 행/이중 집계 방지
+ * writer=r2dbc 는 원본 적재를 R2DBC 로 논블로킹 실행하고, 롤업/아카이브(JDBC, 파일)만 커밋 후 boundedElastic 에서 실행
+ * 커밋 후 샘플 타임스탬프 기준 종단 지연(engine.e2e.latency, stage=db-commit)을 기록하고, 아카이브(engine.archive.enabled)에 추가
+ * 적재 실패는 에러로 전달 (드레인이 nack/dead-letter 판단) - 블로킹 적재 시간 상한은 트랜잭션 타임아웃으로 걸어
+ * 제한 시간을 넘긴 쓰기가 실제로 롤백되게 함 (Reactor timeout 은 호출만 포기하고 JDBC 쓰기는 계속되어 커밋될 수 있음)
+ */
 @Service
 @Slf4j
-@RequiredArgsConstructor
+@ConditionalOnPersistModule
 public class EngineDataSaveBatchService {
-    private static final String ENGINE_DATA_KEY = "engine:data:batch";
 
-    private final ReactiveRedisTemplate<String, EngineDto> redisTemplate;
-    private final EngineRepository engineRepository;
+    private final EngineStagingQueue stagingQueue;
+    private final EngineBulkWriter engineBulkWriter;
+    private final ObjectProvider<IdempotentEngineWriter> idempotentWriter;
+    private final ObjectProvider<EngineRollupWriter> rollupWriter;
+    private final ObjectProvider<EngineArchiveWriter> archiveWriter;
+    private final TransactionTemplate transactionTemplate;
+    // engine.execution.mode 에 따른 블로킹 적재 스케줄러 (boundedElastic 또는 동시 실행 제한 가상 스레드)
+    private final Scheduler persistenceScheduler;
+    private final Duration reactiveTimeout;
 
-    private final int BATCH_SIZE = 100;
+    private final Timer flushLatency;
+    private final Counter persistedRows;
+    private final Timer endToEndLatency;
 
     private final int maxBatchSize = 100000;
 
+    public EngineDataSaveBatchService(EngineStagingQueue stagingQueue,
+                                      EngineBulkWriter engineBulkWriter,
+                                      ObjectProvider<IdempotentEngineWriter> idempotentWriter,
+                                      ObjectProvider<EngineRollupWriter> rollupWriter,
+                                      ObjectProvider<EngineArchiveWriter> archiveWriter,
+                                      TransactionTemplate transactionTemplate,
+                                      Scheduler persistenceScheduler,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${engine.persistence.transaction-timeout-s:30}") int timeoutSeconds) {
+        this.stagingQueue = stagingQueue;
+        this.engineBulkWriter = engineBulkWriter;
+        this.idempotentWriter = idempotentWriter;
+        this.rollupWriter = rollupWriter;
+        this.archiveWriter = archiveWriter;
+        // 공유 TransactionTemplate 빈은 그대로 두고 적재 전용 타임아웃만 적용
+        this.transactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+                transactionTemplate);
+        this.transactionTemplate.setTimeout(timeoutSeconds);
+        this.reactiveTimeout = Duration.ofSeconds(timeoutSeconds);
+        this.persistenceScheduler = persistenceScheduler;
+        this.flushLatency = Timer.builder("engine.persistence.flush.latency")
+                .description("배치 DB 적재 트랜잭션 지연 (원본 + 롤업)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.persistedRows = PipelineMeters.persistedRows(meterRegistry);
+        this.endToEndLatency = PipelineMeters.endToEndLatency(meterRegistry, PipelineMeters.STAGE_DB_COMMIT);
+    }
+
     /**
-     * 엔진 데이터를 Redis에 비동기로 리스트 저장
+     * 엔진 데이터를 Redis 스테이징 큐에 비동기 저장
      */
-    public Mono<Long> saveEngineData(EngineDto engineDto) {
-        return redisTemplate.opsForList()
-                .rightPush(ENGINE_DATA_KEY, engineDto)
+    public Mono<Long> saveEngineData(EngineSample sample) {
+        return stagingQueue.enqueue(sample)
                 .doOnNext(size -> {
                     if (size > maxBatchSize) {
-                        log.warn("Redis 리스트 크기가 {}를 초과했습니다. 현재 크기: {}", maxBatchSize, size);
+                        log.warn("Redis 스테이징 크기가 {}를 초과했습니다. 현재 크기: {}", maxBatchSize, size);
                     }
-                    log.debug("엔진 데이터 큐 추가 성공: {}, 현재 크기: {}", engineDto, size);
+                    log.debug("엔진 데이터 큐 추가 성공: {}, 현재 크기: {}", sample, size);
                 })
                 .onErrorResume(error -> {
-                    log.error("엔진 데이터 큐 추가 실패: {}, 에러: {}", engineDto, error.getMessage());
+                    log.error("엔진 데이터 큐 추가 실패: {}, 에러: {}", sample, error.getMessage());
                     return Mono.just(0L);
                 });
     }
 
     /**
-     * 배치 처리 스케줄러
+     * 스테이징 백로그 크기
      */
-    @Scheduled(fixedDelay = 10000)
-    public void processBatchSchedule() {
-        processBatch()
-                .subscribe(
-                        count -> {
-                            if (count > 0) {
-                                log.info("배치 처리 완료: 저장된 엔진 데이터 수 = {}", count);
-                            } else {
-                                log.info("배치 처리 완료: 저장된 엔진 데이터 없음");
-                            }
-                        },
-                        error -> log.error("배치 처리 중 에러 발생: {}", error.getMessage()
-                        )
-                );
+    public Mono<Long> backlog() {
+        return stagingQueue.backlog();
     }
 
     /**
-     * 배치 처리 로직
+     * 레디스에서 claim 된 데이터를 DB에 저장
+     *
+     * @return 적재된 행 수 - 실패 시 에러 신호 (0 은 실패가 아님)
      */
-    public Mono<Integer> processBatch() {
-        return extractBatchData()
-                .flatMap(this::saveBatchToDataBase)
-                .onErrorResume(error -> {
-                    log.error("배치 처리 중 에러 발생: {}", error.getMessage());
-                    return Mono.just(0);
-                });
+    Mono<Integer> saveBatchToDataBase(List<EngineSample> samples) {
+        if (samples.isEmpty()) {
+            return Mono.just(0);
+        }
+        IdempotentEngineWriter idempotent = idempotentWriter.getIfAvailable();
+        if (idempotent == null && engineBulkWriter instanceof ReactiveEngineBulkWriter reactiveWriter) {
+            return saveBatchReactive(reactiveWriter, samples);
+        }
+
+        return Mono.fromCallable(() -> {
+                    // engine.persistence.writer 설정에 따른 일괄 적재 (jpa | jdbc | copy) + 롤업 증분 갱신
+                    long start = System.nanoTime();
+                    Integer written = transactionTemplate.execute(status -> idempotent != null
+                            ? writeIdempotent(idempotent, samples)
+                            : writeAndRollup(samples));
+                    flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    recordCommitted(samples, written == null ? 0 : written);
+                    // 커밋된 배치만 아카이브 (실패는 아카이브 쪽에서 기록하고 적재 결과에는 영향 없음)
+                    archiveWriter.ifAvailable(writer -> writer.append(samples));
+                    log.debug("배치 데이터 DB 저장 성공: 크기 {}", written);
+                    return written == null ? 0 : written;
+                })
+                .subscribeOn(persistenceScheduler)
+                .doOnError(error -> log.error("배치 데이터 DB 저장 실패: {}, 에러: {}",
+                        samples.size(), error.getMessage()));
     }
 
-    /**
-     * 배치 키 로부터 데이터 추출
-     */
-    private Mono<List<EngineDto>> extractBatchData() {
-        return redisTemplate.opsForList()
-                .range(ENGINE_DATA_KEY, 0, BATCH_SIZE - 1)
-                .collectList()
-                .filter(list -> !list.isEmpty())
-                .flatMap(list ->
-                        redisTemplate.opsForList()
-                                .trim(ENGINE_DATA_KEY, list.size(), -1)
-                                .thenReturn(list))
-                .switchIfEmpty(Mono.just(Collections.emptyList()))
-                .doOnNext(list -> {
-                    if (!list.isEmpty()) {
-                        log.debug("배치 데이터 추출 성공: 크기 {}", list.size());
-                    } else {
-                        log.debug("배치 데이터 추출 실패: 빈 리스트");
-                    }
-                });
+    private int writeAndRollup(List<EngineSample> samples) {
+        int rows = engineBulkWriter.write(samples);
+        rollupWriter.ifAvailable(writer -> writer.apply(samples));
+        return rows;
     }
 
     /**
-     * 레디스에서 조회 된 데이터를 DB에 저장
+     * 이미 적재된 (engine_id, timestamp) 는 건너뛰고, 롤업은 실제 삽입된 샘플로만 갱신
      */
-    private Mono<Integer> saveBatchToDataBase(List<EngineDto> engineDtoList) {
-        if (engineDtoList.isEmpty()) {
-            return Mono.just(0);
+    private int writeIdempotent(IdempotentEngineWriter writer, List<EngineSample> samples) {
+        EngineRollupWriter rollup = rollupWriter.getIfAvailable();
+        if (rollup == null) {
+            return writer.insert(samples);
         }
+        List<EngineSample> inserted = writer.insertReturningNew(samples);
+        if (!inserted.isEmpty()) {
+            rollup.apply(inserted);
+        }
+        return inserted.size();
+    }
 
-        return Mono.fromCallable(() -> {
-
-                    List<Engine> engineDataList = EngineDto.toEntity(engineDtoList);
+    /**
+     * R2DBC 적재 - 원본 INSERT 트랜잭션은 이벤트 루프에서 실행되어 적재 대기 중 스레드를 점유하지 않음
+     * 롤업은 원본과 별도 JDBC 트랜잭션이므로, 롤업 실패는 기록만 하고 원본 적재 결과(ack)는 유지
+     * 시간 초과 시 구독 취소가 R2DBC 트랜잭션 롤백으로 이어지므로(usingWhen 취소 경로) Reactor timeout 사용
+     */
+    private Mono<Integer> saveBatchReactive(ReactiveEngineBulkWriter reactiveWriter, List<EngineSample> samples) {
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return reactiveWriter.writeReactive(samples)
+                            .doOnNext(written -> {
+                                flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                                recordCommitted(samples, written);
+                            });
+                })
+                .timeout(reactiveTimeout)
+                .doOnError(error -> log.error("배치 데이터 DB 저장 실패(r2dbc): {}, 에러: {}",
+                        samples.size(), error.getMessage()))
+                .flatMap(written -> afterReactiveCommit(samples).thenReturn(written));
+    }
 
-                    engineRepository.saveAll(engineDataList);
-                    log.debug("배치 데이터 DB 저장 성공: 크기 {}", engineDataList.size());
-                    return engineDataList.size();
+    private Mono<Void> afterReactiveCommit(List<EngineSample> samples) {
+        EngineRollupWriter rollup = rollupWriter.getIfAvailable();
+        EngineArchiveWriter archive = archiveWriter.getIfAvailable();
+        if (rollup == null && archive == null) {
+            return Mono.empty();
+        }
+        return Mono.fromRunnable(() -> {
+                    if (rollup != null) {
+                        transactionTemplate.executeWithoutResult(status -> rollup.apply(samples));
+                    }
+                    if (archive != null) {
+                        archive.append(samples);
+                    }
                 })
+                // R2DBC 이벤트 루프에서 넘기므로 제출이 막히지 않는 스케줄러 사용
+                // (VIRTUAL 모드 persistenceScheduler 는 동시 실행 상한에서 제출 스레드를 대기시켜 이벤트 루프가 멈춤)
                 .subscribeOn(Schedulers.boundedElastic())
-                .timeout(Duration.ofSeconds(30))
                 .onErrorResume(error -> {
-                    log.error("배치 데이터 DB 저장 실패: {}, 에러: {}", engineDtoList.size(), error.getMessage());
-                    return Mono.just(0);
-                });
+                    log.error("커밋 후 롤업 갱신 실패(r2dbc): {}, 에러: {}", samples.size(), error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * 커밋된 샘플의 측정 시각 ~ DB 커밋 지연 기록
+     */
+    private void recordCommitted(List<EngineSample> samples, int rows) {
+        persistedRows.increment(rows);
+        PipelineMeters.recordSampleAge(endToEndLatency, samples);
+    }
+
+    /**
+     * 스테이징 큐 유지 작업 (하트비트/trim, 중단된 인스턴스의 처리 중 배치 회수)
+     */
+    @Scheduled(fixedDelay = 10000)
+    public void maintainStagingQueue() {
+        stagingQueue.maintain()
+                .subscribe(
+                        count -> {
+                            if (count > 0) {
+                                log.warn("중단된 인스턴스의 처리 중 배치 복구: {}건", count);
+                            }
+                        },
+                        error -> log.error("스테이징 큐 유지 작업 실패: {}", error.getMessage())
+                );
     }
 }
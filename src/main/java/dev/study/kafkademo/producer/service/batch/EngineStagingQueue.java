@@ -0,0 +1,60 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 영속화 전 엔진 샘플 스테이징 큐
+ * engine.staging.backend 설정(list | stream)으로 구현체 선택
+ */
+public interface EngineStagingQueue {
+
+    /** 반복 적재 실패한 배치 보관 리스트 (백엔드 공통, 자동 재처리하지 않음) */
+    String DEAD_LETTER_KEY = "engine:data:dead-letter";
+
+    String backendName();
+
+    /**
+     * 샘플 적재 후 현재 백로그(또는 길이)를 반환
+     */
+    Mono<Long> enqueue(EngineSample sample);
+
+    /**
+     * 여러 샘플을 한 번의 쓰기(또는 파이프라인)로 적재
+     */
+    Mono<Long> enqueueAll(List<EngineSample> samples);
+
+    /**
+     * 워커 단위로 최대 maxSize 개를 claim - ack 되지 않은 이전 배치가 있으면 그 배치를 재전달
+     */
+    Mono<StagedBatch> claim(int worker, int maxSize);
+
+    /**
+     * DB 커밋 후 배치 확인
+     */
+    Mono<Void> ack(int worker, StagedBatch batch);
+
+    /**
+     * 적재 실패한 배치를 다시 처리 대상으로 되돌림
+     */
+    Mono<Void> nack(int worker, StagedBatch batch);
+
+    /**
+     * poison 배치를 dead-letter 리스트로 옮기고 처리 대상에서 제거 - 원인 확인 후 수동으로 재적재
+     */
+    Mono<Void> deadLetter(int worker, StagedBatch batch);
+
+    Mono<Long> backlog();
+
+    /**
+     * 시작 시 이전 실행에서 처리 중이던 배치 복구
+     */
+    Mono<Long> recover();
+
+    /**
+     * 주기적 유지 작업 (하트비트, trim, 중단된 소비자의 배치 회수) - 회수된 항목 수 반환
+     */
+    Mono<Long> maintain();
+}
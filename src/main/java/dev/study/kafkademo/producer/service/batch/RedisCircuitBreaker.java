@@ -0,0 +1,77 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Redis 스테이징 쓰기 서킷 브레이커
+ * 연속 failureThreshold 회 실패하면 OPEN - openMillis 동안 Redis 를 호출하지 않고 spill 로그로 보냄
+ * 이후 HALF_OPEN 에서 재생 작업이 한 번 시도(probe)해 성공하면 CLOSED, 실패하면 다시 OPEN
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+
+    public RedisCircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    RedisCircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * 쓰기 경로에서 Redis 호출 가능 여부 - CLOSED 일 때만 허용 (probe 는 재생 작업이 담당)
+     */
+    public synchronized boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * 재생 작업의 probe 허용 여부 - OPEN 유지 시간이 지나면 HALF_OPEN 으로 전환
+     */
+    public synchronized boolean tryProbe() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("Redis 스테이징 서킷 CLOSED - 쓰기 재개");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            if (state == State.CLOSED) {
+                log.warn("Redis 스테이징 서킷 OPEN - 연속 실패 {}회, 쓰기를 spill 로그로 전환", consecutiveFailures);
+            }
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,214 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.config.ConditionalOnStagingModule;
+import dev.study.kafkademo.dto.EngineSample;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 리스트 스테이징 큐 (reliable queue)
+ * 배치는 Lua 스크립트로 워커별 처리 리스트에 원자적으로 옮겨 claim 하고, DB 커밋 후 ack(DEL)
+ * 적재 실패 시 처리 리스트를 스테이징 리스트 앞쪽으로 되돌리고, 하트비트가 끊긴 인스턴스의 처리 리스트는 복구
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.staging.backend", havingValue = "list", matchIfMissing = true)
+@ConditionalOnStagingModule
+public class RedisListStagingQueue implements EngineStagingQueue {
+    static final String ENGINE_DATA_KEY = "engine:data:batch";
+    static final String PROCESSING_KEY_PREFIX = "engine:data:processing:";
+    static final String HEARTBEAT_KEY_PREFIX = "engine:data:heartbeat:";
+
+    private static final Duration HEARTBEAT_TTL = Duration.ofSeconds(30);
+
+    /**
+     * KEYS[1]: 스테이징 리스트, KEYS[2]: 워커 처리 리스트, ARGV[1]: 배치 크기
+     * 처리 리스트에 ack 되지 않은 배치가 남아 있으면 그대로 재전달
+     */
+    private static final String CLAIM_SCRIPT = """
+            local pending = redis.call('LRANGE', KEYS[2], 0, -1)
+            if #pending > 0 then
+              return pending
+            end
+            local items = redis.call('LRANGE', KEYS[1], 0, tonumber(ARGV[1]) - 1)
+            if #items == 0 then
+              return items
+            end
+            redis.call('LTRIM', KEYS[1], #items, -1)
+            for i = 1, #items, 1000 do
+              redis.call('RPUSH', KEYS[2], unpack(items, i, math.min(i + 999, #items)))
+            end
+            return items
+            """;
+
+    /**
+     * KEYS[1]: 처리 리스트, KEYS[2]: 스테이징 리스트
+     * 처리 리스트를 순서를 유지한 채 스테이징 리스트 앞쪽으로 되돌림
+     */
+    private static final String REQUEUE_SCRIPT = """
+            local items = redis.call('LRANGE', KEYS[1], 0, -1)
+            for i = #items, 1, -1 do
+              redis.call('LPUSH', KEYS[2], items[i])
+            end
+            redis.call('DEL', KEYS[1])
+            return #items
+            """;
+
+    private final ReactiveRedisTemplate<String, EngineSample> redisTemplate;
+    private final ReactiveStringRedisTemplate stringRedisTemplate;
+    private final String instanceId;
+
+    public RedisListStagingQueue(ReactiveRedisTemplate<String, EngineSample> redisTemplate,
+                                 ReactiveStringRedisTemplate stringRedisTemplate,
+                                 @Value("${engine.staging.instance-id:}") String instanceId) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.instanceId = StagingInstanceId.resolve(instanceId);
+    }
+
+    @Override
+    public String backendName() {
+        return "list";
+    }
+
+    @Override
+    public Mono<Long> enqueue(EngineSample sample) {
+        return redisTemplate.opsForList().rightPush(ENGINE_DATA_KEY, sample);
+    }
+
+    /**
+     * 다중 값 RPUSH 한 번으로 적재
+     */
+    @Override
+    public Mono<Long> enqueueAll(List<EngineSample> samples) {
+        return redisTemplate.opsForList().rightPushAll(ENGINE_DATA_KEY, samples);
+    }
+
+    @Override
+    public Mono<StagedBatch> claim(int worker, int maxSize) {
+        return eval(CLAIM_SCRIPT, ReturnType.MULTI, List.of(ENGINE_DATA_KEY, processingKey(worker)),
+                String.valueOf(maxSize))
+                .map(item -> redisTemplate.getSerializationContext().getValueSerializationPair()
+                        .read((ByteBuffer) item))
+                .collectList()
+                .map(samples -> samples.isEmpty() ? StagedBatch.empty() : new StagedBatch(samples, List.of()))
+                .doOnNext(batch -> log.debug("배치 claim: 워커 = {}, 크기 = {}", worker, batch.size()));
+    }
+
+    /**
+     * DB 커밋 후 처리 리스트 삭제
+     */
+    @Override
+    public Mono<Void> ack(int worker, StagedBatch batch) {
+        return stringRedisTemplate.delete(processingKey(worker)).then();
+    }
+
+    /**
+     * 적재 실패한 배치를 스테이징 리스트 앞쪽으로 되돌림
+     */
+    @Override
+    public Mono<Void> nack(int worker, StagedBatch batch) {
+        return requeue(processingKey(worker)).then();
+    }
+
+    @Override
+    public Mono<Void> deadLetter(int worker, StagedBatch batch) {
+        return redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, batch.samples())
+                .then(ack(worker, batch));
+    }
+
+    @Override
+    public Mono<Long> backlog() {
+        return redisTemplate.opsForList().size(ENGINE_DATA_KEY);
+    }
+
+    /**
+     * 시작 시점에는 자기 인스턴스의 처리 리스트도 복구
+     */
+    @Override
+    public Mono<Long> recover() {
+        return recoverOrphanedBatches(true);
+    }
+
+    /**
+     * 인스턴스 하트비트 갱신 및 하트비트가 끊긴 인스턴스의 처리 리스트 복구
+     */
+    @Override
+    public Mono<Long> maintain() {
+        return stringRedisTemplate.opsForValue()
+                .set(HEARTBEAT_KEY_PREFIX + instanceId, String.valueOf(System.currentTimeMillis()), HEARTBEAT_TTL)
+                .then(recoverOrphanedBatches(false));
+    }
+
+    /**
+     * 처리 리스트 복구 - 하트비트가 없는 인스턴스의 처리 리스트를 스테이징 리스트로 되돌림
+     *
+     * @param includeOwn 시작 시점처럼 자기 인스턴스의 처리 리스트도 복구할지 여부
+     * @return 복구된 항목 수
+     */
+    Mono<Long> recoverOrphanedBatches(boolean includeOwn) {
+        ScanOptions options = ScanOptions.scanOptions().match(PROCESSING_KEY_PREFIX + "*").count(100).build();
+        return stringRedisTemplate.scan(options)
+                .filterWhen(key -> {
+                    String owner = ownerOf(key);
+                    if (owner.equals(instanceId)) {
+                        return Mono.just(includeOwn);
+                    }
+                    return stringRedisTemplate.hasKey(HEARTBEAT_KEY_PREFIX + owner).map(alive -> !alive);
+                })
+                .concatMap(this::requeue)
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> requeue(String processingKey) {
+        return eval(REQUEUE_SCRIPT, ReturnType.INTEGER, List.of(processingKey, ENGINE_DATA_KEY))
+                .next()
+                .map(count -> (Long) count)
+                .defaultIfEmpty(0L)
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("처리 리스트 되돌림: 키 = {}, 크기 = {}", processingKey, count);
+                    }
+                });
+    }
+
+    private Flux<Object> eval(String script, ReturnType returnType, List<String> keys, String... args) {
+        ByteBuffer[] keysAndArgs = new ByteBuffer[keys.size() + args.length];
+        int index = 0;
+        for (String key : keys) {
+            keysAndArgs[index++] = utf8(key);
+        }
+        for (String arg : args) {
+            keysAndArgs[index++] = utf8(arg);
+        }
+        return redisTemplate.execute(connection -> connection.scriptingCommands()
+                .<Object>eval(utf8(script), returnType, keys.size(), keysAndArgs));
+    }
+
+    String processingKey(int worker) {
+        return PROCESSING_KEY_PREFIX + instanceId + ":" + worker;
+    }
+
+    private static String ownerOf(String processingKey) {
+        String suffix = processingKey.substring(PROCESSING_KEY_PREFIX.length());
+        int separator = suffix.lastIndexOf(':');
+        return separator < 0 ? suffix : suffix.substring(0, separator);
+    }
+
+    private static ByteBuffer utf8(String value) {
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
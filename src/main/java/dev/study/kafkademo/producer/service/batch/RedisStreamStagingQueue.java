@@ -0,0 +1,255 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.config.ConditionalOnStagingModule;
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStreamOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Redis Streams 스테이징 큐 (소비자 그룹)
+ * XADD 로 적재하고 XREADGROUP 으로 워커(소비자)별 claim, DB 커밋 후 XACK + XDEL
+ * ack 되지 않은 항목은 소비자의 PEL 에 남아 다음 claim 에서 재전달되고,
+ * 일정 시간 이상 방치된 다른 소비자의 항목은 XPENDING + XCLAIM 으로 회수
+ * 적재 확인된 항목은 삭제하므로 스트림 길이 = 미처리 백로그, max-length 는 XADD MAXLEN ~ 상한
+ * (근사 trim 은 제거 건수를 돌려주지 않으므로 engine.staging.stream.trimmed 는 적재 후 길이 기준 추정치)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.staging.backend", havingValue = "stream")
+@ConditionalOnStagingModule
+public class RedisStreamStagingQueue implements EngineStagingQueue {
+    static final String STREAM_KEY = "engine:data:stream";
+    static final String GROUP = "engine-persistence";
+    static final String FIELD = "s";
+
+    private static final int RECLAIM_SCAN_COUNT = 1000;
+
+    private final ReactiveRedisTemplate<String, EngineSample> redisTemplate;
+    private final String instanceId;
+    private final AtomicBoolean groupReady = new AtomicBoolean();
+    private final Counter trimmed;
+
+    @Value("${engine.staging.stream.max-length:1000000}")
+    private long maxLength = 1_000_000;
+
+    @Value("${engine.staging.stream.reclaim-idle-ms:60000}")
+    private long reclaimIdleMillis = 60_000;
+
+    public RedisStreamStagingQueue(ReactiveRedisTemplate<String, EngineSample> redisTemplate,
+                                   @Value("${engine.staging.instance-id:}") String instanceId,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.instanceId = StagingInstanceId.resolve(instanceId);
+        this.trimmed = Counter.builder("engine.staging.stream.trimmed")
+                .description("MAXLEN 상한 초과로 밀려난 스트림 항목 수 (추정치)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String backendName() {
+        return "stream";
+    }
+
+    /**
+     * XADD 응답은 항목 ID 뿐이므로 XLEN 으로 현재 길이를 조회해 반환
+     */
+    @Override
+    public Mono<Long> enqueue(EngineSample sample) {
+        return add(sample).then(lengthAfterAdd(1));
+    }
+
+    /**
+     * XADD 는 단일 항목 명령이므로 공유 연결에서 응답을 기다리지 않고 연속 전송(파이프라인), 마지막에 XLEN 한 번
+     */
+    @Override
+    public Mono<Long> enqueueAll(List<EngineSample> samples) {
+        return Flux.fromIterable(samples)
+                .flatMapSequential(this::add, samples.size())
+                .then(lengthAfterAdd(samples.size()));
+    }
+
+    /**
+     * XADD MAXLEN ~ max-length - 상한은 적재 시점에 노드 단위로 근사 적용
+     */
+    private Mono<RecordId> add(EngineSample sample) {
+        return streamOps().add(StreamRecords.newRecord().in(STREAM_KEY).ofMap(Map.of(FIELD, sample)),
+                XAddOptions.maxlen(maxLength).approximateTrimming(true));
+    }
+
+    /**
+     * 적재 후 길이가 상한에 도달해 있으면 추가한 만큼 오래된 항목이 밀려난 것으로 집계
+     */
+    private Mono<Long> lengthAfterAdd(int added) {
+        return backlog().doOnNext(length -> {
+            if (length >= maxLength) {
+                trimmed.increment(added);
+                log.debug("스테이징 스트림 상한({}) 도달, 오래된 항목 trim 추정: {}건", maxLength, added);
+            }
+        });
+    }
+
+    /**
+     * 소비자 PEL 에 남은 항목(ID 0)을 먼저 재전달하고, 없으면 새 항목(>)을 읽음
+     */
+    @Override
+    public Mono<StagedBatch> claim(int worker, int maxSize) {
+        Consumer consumer = Consumer.from(GROUP, consumerName(worker));
+        StreamReadOptions options = StreamReadOptions.empty().count(maxSize);
+        StreamOffset<String> pendingOffset = StreamOffset.create(STREAM_KEY, ReadOffset.from("0"));
+        StreamOffset<String> newOffset = StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed());
+
+        return ensureGroup()
+                .thenMany(streamOps().read(consumer, options, pendingOffset))
+                .collectList()
+                .flatMap(pending -> pending.isEmpty()
+                        ? streamOps().read(consumer, options, newOffset).collectList()
+                        : Mono.just(pending))
+                .map(RedisStreamStagingQueue::toBatch)
+                .flatMap(batch -> batch.isEmpty() && !batch.ids().isEmpty()
+                        // 값이 비어 있는(삭제된) 항목만 남은 경우 확인 처리 후 빈 배치 반환
+                        ? ack(worker, batch).thenReturn(StagedBatch.empty())
+                        : Mono.just(batch))
+                .onErrorResume(RedisStreamStagingQueue::isNoGroup, error -> {
+                    // 스트림 키가 삭제되면 그룹도 사라지므로 다음 claim 에서 재생성
+                    groupReady.set(false);
+                    return Mono.just(StagedBatch.empty());
+                });
+    }
+
+    @Override
+    public Mono<Void> ack(int worker, StagedBatch batch) {
+        if (batch.ids().isEmpty()) {
+            return Mono.empty();
+        }
+        String[] ids = batch.ids().toArray(String[]::new);
+        return streamOps().acknowledge(STREAM_KEY, GROUP, ids)
+                .then(streamOps().delete(STREAM_KEY, ids))
+                .then();
+    }
+
+    /**
+     * 실패한 배치는 PEL 에 그대로 두어 다음 claim 에서 재전달
+     */
+    @Override
+    public Mono<Void> nack(int worker, StagedBatch batch) {
+        return Mono.empty();
+    }
+
+    @Override
+    public Mono<Void> deadLetter(int worker, StagedBatch batch) {
+        return redisTemplate.opsForList().rightPushAll(DEAD_LETTER_KEY, batch.samples())
+                .then(ack(worker, batch));
+    }
+
+    @Override
+    public Mono<Long> backlog() {
+        return streamOps().size(STREAM_KEY);
+    }
+
+    @Override
+    public Mono<Long> recover() {
+        return ensureGroup().then(reclaimIdle());
+    }
+
+    /**
+     * 방치된 다른 소비자 항목 회수 (상한 trim 은 XADD 에서 처리)
+     */
+    @Override
+    public Mono<Long> maintain() {
+        return reclaimIdle();
+    }
+
+    /**
+     * reclaim-idle-ms 이상 재전달되지 않은 항목을 이 인스턴스의 워커 0 으로 XCLAIM
+     * 활성 워커는 claim 마다 자신의 PEL 을 다시 읽어 유휴 시간이 초기화되므로 회수 대상이 되지 않음
+     */
+    Mono<Long> reclaimIdle() {
+        Duration minIdle = Duration.ofMillis(reclaimIdleMillis);
+        return streamOps().pending(STREAM_KEY, GROUP, Range.unbounded(), RECLAIM_SCAN_COUNT)
+                .flatMapMany(Flux::fromIterable)
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                .map(PendingMessage::getId)
+                .collectList()
+                .flatMap(ids -> ids.isEmpty()
+                        ? Mono.just(0L)
+                        : streamOps().claim(STREAM_KEY, GROUP, consumerName(0), minIdle,
+                                ids.toArray(RecordId[]::new)).count())
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.warn("방치된 스트림 항목 회수: {}건 -> {}", count, consumerName(0));
+                    }
+                })
+                .onErrorResume(RedisStreamStagingQueue::isNoGroup, error -> Mono.just(0L));
+    }
+
+    private Mono<Void> ensureGroup() {
+        if (groupReady.get()) {
+            return Mono.empty();
+        }
+        return streamOps().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP)
+                .onErrorResume(error -> hasCode(error, "BUSYGROUP"), error -> Mono.just("OK"))
+                .doOnNext(result -> groupReady.set(true))
+                .then();
+    }
+
+    private static StagedBatch toBatch(List<MapRecord<String, String, EngineSample>> records) {
+        if (records.isEmpty()) {
+            return StagedBatch.empty();
+        }
+        List<EngineSample> samples = new ArrayList<>(records.size());
+        List<String> ids = new ArrayList<>(records.size());
+        for (MapRecord<String, String, EngineSample> record : records) {
+            EngineSample sample = record.getValue().get(FIELD);
+            if (sample != null) {
+                samples.add(sample);
+            }
+            ids.add(record.getId().getValue());
+        }
+        return new StagedBatch(samples, ids);
+    }
+
+    private ReactiveStreamOperations<String, String, EngineSample> streamOps() {
+        return redisTemplate.opsForStream();
+    }
+
+    String consumerName(int worker) {
+        return instanceId + "-" + worker;
+    }
+
+    private static boolean isNoGroup(Throwable error) {
+        return hasCode(error, "NOGROUP");
+    }
+
+    private static boolean hasCode(Throwable error, String code) {
+        for (Throwable current = error; current != null; current = current.getCause()) {
+            if (current.getMessage() != null && current.getMessage().contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
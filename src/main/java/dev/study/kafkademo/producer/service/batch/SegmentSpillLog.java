@@ -0,0 +1,266 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.serializer.EngineBinaryCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Redis 장애 시 스테이징 쓰기를 받는 append-only 세그먼트 로그 (메모리 매핑 파일)
+ * 세그먼트 = [읽기 오프셋(8)] + [길이(4) + EngineBinaryCodec 레코드]... , 길이 0 은 기록 끝
+ * 레코드 본문을 먼저 쓰고 길이를 마지막에 기록하므로 프로세스가 중간에 죽어도 잘린 레코드는 보이지 않음
+ * 재생은 가장 오래된 세그먼트부터 기록 순서대로 읽고(peek) 적재 확인 후 읽기 오프셋을 커밋
+ * 디스크 사용량은 maxBytes (세그먼트 수 x segmentBytes) 로 제한하며 초과분은 거부
+ */
+@Slf4j
+public class SegmentSpillLog implements AutoCloseable {
+
+    private static final String SUFFIX = ".seg";
+    private static final int HEADER_BYTES = Long.BYTES;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private long pendingRecords;
+
+    public SegmentSpillLog(Path directory, int segmentBytes, long maxBytes) {
+        if (segmentBytes <= HEADER_BYTES + Integer.BYTES + EngineBinaryCodec.FIXED_SIZE) {
+            throw new IllegalArgumentException("segmentBytes 가 너무 작음: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(1, maxBytes / segmentBytes);
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("spill 세그먼트 디렉터리 초기화 실패: " + directory, e);
+        }
+    }
+
+    /**
+     * 기록 순서대로 추가
+     *
+     * @return 추가된 샘플 수 (디스크 상한에 도달하면 나머지는 거부)
+     */
+    public synchronized int append(List<EngineSample> samples) {
+        int appended = 0;
+        for (EngineSample sample : samples) {
+            byte[] record = EngineBinaryCodec.encode(sample);
+            if (HEADER_BYTES + Integer.BYTES + record.length > segmentBytes) {
+                throw new IllegalArgumentException("레코드가 세그먼트보다 큼: " + record.length + " bytes");
+            }
+            Segment tail = segments.peekLast();
+            if (tail == null || !tail.fits(record.length)) {
+                if (segments.size() >= maxSegments) {
+                    return appended;
+                }
+                tail = open(tail == null ? 0 : tail.sequence + 1, true);
+                segments.addLast(tail);
+            }
+            tail.write(record);
+            pendingRecords++;
+            appended++;
+        }
+        return appended;
+    }
+
+    /**
+     * 가장 오래된 세그먼트에서 커밋되지 않은 레코드를 최대 maxRecords 개 읽음 (읽기 오프셋은 그대로)
+     */
+    public synchronized SpillBatch peek(int maxRecords) {
+        Segment head = segments.peekFirst();
+        while (head != null && head.exhausted() && head != segments.peekLast()) {
+            delete(segments.pollFirst());
+            head = segments.peekFirst();
+        }
+        if (head == null || head.exhausted()) {
+            return SpillBatch.EMPTY;
+        }
+
+        List<EngineSample> samples = new ArrayList<>(Math.min(maxRecords, 1024));
+        int position = head.readOffset;
+        while (samples.size() < maxRecords && position < head.writeOffset) {
+            int length = head.buffer.getInt(position);
+            byte[] record = new byte[length];
+            head.buffer.get(position + Integer.BYTES, record);
+            samples.add(EngineBinaryCodec.decode(record));
+            position += Integer.BYTES + length;
+        }
+        return new SpillBatch(samples, head.sequence, position);
+    }
+
+    /**
+     * 적재 확인된 배치까지 읽기 오프셋 커밋 - 다 읽은 봉인 세그먼트는 삭제
+     */
+    public synchronized void commit(SpillBatch batch) {
+        Segment head = segments.peekFirst();
+        if (batch.isEmpty() || head == null || head.sequence != batch.segment()) {
+            return;
+        }
+        head.commitRead(batch.endOffset());
+        pendingRecords -= batch.size();
+        if (head.exhausted() && head != segments.peekLast()) {
+            delete(segments.pollFirst());
+        }
+    }
+
+    public synchronized long pendingRecords() {
+        return pendingRecords;
+    }
+
+    public synchronized boolean hasPending() {
+        return pendingRecords > 0;
+    }
+
+    public synchronized long diskBytes() {
+        return (long) segments.size() * segmentBytes;
+    }
+
+    /**
+     * 매핑된 페이지를 디스크에 기록
+     */
+    public synchronized void force() {
+        segments.forEach(segment -> segment.buffer.force());
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Segment segment = open(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), false);
+            segments.addLast(segment);
+            pendingRecords += segment.countUnread();
+        }
+        if (pendingRecords > 0) {
+            log.warn("이전 실행의 spill 세그먼트 복구: 세그먼트 = {}, 레코드 = {}", segments.size(), pendingRecords);
+        }
+    }
+
+    private Segment open(long sequence, boolean create) {
+        Path file = directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // 매핑은 채널을 닫아도 유지됨
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            return create ? Segment.created(sequence, file, buffer) : Segment.recovered(sequence, file, buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("spill 세그먼트 열기 실패: " + file, e);
+        }
+    }
+
+    private static void delete(Segment segment) {
+        try {
+            // 매핑 해제는 GC 시점 (Linux 에서는 매핑 중인 파일도 삭제 가능)
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("spill 세그먼트 삭제 실패: {}, 에러 = {}", segment.file, e.getMessage());
+        }
+    }
+
+    /**
+     * 재생 배치 - 적재 확인 후 commit 으로 전달
+     */
+    public record SpillBatch(List<EngineSample> samples, long segment, int endOffset) {
+
+        static final SpillBatch EMPTY = new SpillBatch(Collections.emptyList(), -1, 0);
+
+        public boolean isEmpty() {
+            return samples.isEmpty();
+        }
+
+        public int size() {
+            return samples.size();
+        }
+    }
+
+    private static final class Segment {
+
+        private final long sequence;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int readOffset;
+        private int writeOffset;
+
+        private Segment(long sequence, Path file, MappedByteBuffer buffer, int readOffset, int writeOffset) {
+            this.sequence = sequence;
+            this.file = file;
+            this.buffer = buffer;
+            this.readOffset = readOffset;
+            this.writeOffset = writeOffset;
+        }
+
+        static Segment created(long sequence, Path file, MappedByteBuffer buffer) {
+            buffer.putLong(0, HEADER_BYTES);
+            return new Segment(sequence, file, buffer, HEADER_BYTES, HEADER_BYTES);
+        }
+
+        /**
+         * 기존 세그먼트 - 헤더의 읽기 오프셋부터, 길이 0 을 만날 때까지가 기록된 영역
+         */
+        static Segment recovered(long sequence, Path file, MappedByteBuffer buffer) {
+            int readOffset = (int) Math.max(HEADER_BYTES, buffer.getLong(0));
+            int writeOffset = HEADER_BYTES;
+            while (writeOffset + Integer.BYTES <= buffer.capacity()) {
+                int length = buffer.getInt(writeOffset);
+                if (length <= 0 || writeOffset + Integer.BYTES + length > buffer.capacity()) {
+                    break;
+                }
+                writeOffset += Integer.BYTES + length;
+            }
+            return new Segment(sequence, file, buffer, Math.min(readOffset, writeOffset), writeOffset);
+        }
+
+        boolean fits(int recordLength) {
+            return writeOffset + Integer.BYTES + recordLength <= buffer.capacity();
+        }
+
+        void write(byte[] record) {
+            buffer.put(writeOffset + Integer.BYTES, record);
+            buffer.putInt(writeOffset, record.length);
+            writeOffset += Integer.BYTES + record.length;
+        }
+
+        void commitRead(int offset) {
+            readOffset = offset;
+            buffer.putLong(0, offset);
+        }
+
+        boolean exhausted() {
+            return readOffset >= writeOffset;
+        }
+
+        long countUnread() {
+            long count = 0;
+            int position = readOffset;
+            while (position < writeOffset) {
+                position += Integer.BYTES + buffer.getInt(position);
+                count++;
+            }
+            return count;
+        }
+    }
+}
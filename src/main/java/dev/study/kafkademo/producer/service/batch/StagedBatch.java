@@ -0,0 +1,28 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.util.List;
+
+/**
+ * 스테이징 큐에서 claim 된 배치
+ *
+ * @param samples 적재 대상 샘플
+ * @param ids     백엔드별 ack 식별자 (Streams: 레코드 ID, 리스트: 비어 있음 - 워커 처리 리스트 단위로 ack)
+ */
+public record StagedBatch(List<EngineSample> samples, List<String> ids) {
+
+    private static final StagedBatch EMPTY = new StagedBatch(List.of(), List.of());
+
+    public static StagedBatch empty() {
+        return EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return samples.isEmpty();
+    }
+
+    public int size() {
+        return samples.size();
+    }
+}
@@ -0,0 +1,36 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.UUID;
+
+/**
+ * 스테이징 큐 소유자(인스턴스) 식별자
+ * 재시작 후에도 같은 값이어야 이전 프로세스가 남긴 처리 리스트(engine:data:processing:{instance-id}:*)를 이어받음
+ */
+@Slf4j
+final class StagingInstanceId {
+
+    private StagingInstanceId() {
+    }
+
+    /**
+     * engine.staging.instance-id -> HOSTNAME 환경 변수(쿠버네티스 StatefulSet 파드 이름 등) -> 임의 식별자 순으로 결정
+     */
+    static String resolve(String configured) {
+        return resolve(configured, System.getenv("HOSTNAME"));
+    }
+
+    static String resolve(String configured, String hostname) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        String generated = UUID.randomUUID().toString().substring(0, 8);
+        log.warn("engine.staging.instance-id/HOSTNAME 미설정 - 임의 식별자 {} 사용 (재시작 전 처리 리스트는 하트비트 만료 후 복구)",
+                generated);
+        return generated;
+    }
+}
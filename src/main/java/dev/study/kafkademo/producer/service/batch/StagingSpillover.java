@@ -0,0 +1,148 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.producer.service.batch.SegmentSpillLog.SpillBatch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis 장애 시 스테이징 쓰기 우회 (서킷 브레이커 + 로컬 세그먼트 spill 로그)
+ * 서킷이 열려 있거나 재생할 spill 이 남아 있는 동안 write-behind flush 는 Redis 대신 디스크에 순서대로 추가하므로
+ * 장애 중에도 수집 경로는 Redis 타임아웃을 기다리지 않음
+ * 재생 작업은 Redis 가 회복되면(HALF_OPEN probe 성공) 가장 오래된 레코드부터 스테이징 큐로 옮김
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.staging.spill.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class StagingSpillover {
+
+    private static final Duration REPLAY_TIMEOUT = Duration.ofSeconds(5);
+
+    private final EngineStagingQueue stagingQueue;
+    private final SegmentSpillLog spillLog;
+    private final RedisCircuitBreaker breaker;
+    private final int replayBatchSize;
+    private final long replayBudgetNanos;
+
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+
+    public StagingSpillover(EngineStagingQueue stagingQueue,
+                            MeterRegistry meterRegistry,
+                            @Value("${engine.staging.spill.dir:${java.io.tmpdir}/engine-staging-spill}") Path directory,
+                            @Value("${engine.staging.spill.segment-bytes:16777216}") int segmentBytes,
+                            @Value("${engine.staging.spill.max-bytes:1073741824}") long maxBytes,
+                            @Value("${engine.staging.spill.failure-threshold:3}") int failureThreshold,
+                            @Value("${engine.staging.spill.open-ms:5000}") long openMillis,
+                            @Value("${engine.staging.spill.replay-batch-size:500}") int replayBatchSize,
+                            @Value("${engine.staging.spill.replay-budget-ms:500}") long replayBudgetMillis) {
+        this.stagingQueue = stagingQueue;
+        this.spillLog = new SegmentSpillLog(directory, segmentBytes, maxBytes);
+        this.breaker = new RedisCircuitBreaker(failureThreshold, openMillis);
+        this.replayBatchSize = replayBatchSize;
+        this.replayBudgetNanos = Duration.ofMillis(replayBudgetMillis).toNanos();
+
+        this.spilled = Counter.builder("engine.staging.spill.appended").register(meterRegistry);
+        this.replayed = Counter.builder("engine.staging.spill.replayed").register(meterRegistry);
+        this.dropped = Counter.builder("engine.staging.spill.dropped")
+                .description("디스크 상한 초과로 버린 샘플 수")
+                .register(meterRegistry);
+        Gauge.builder("engine.staging.spill.pending", spillLog, SegmentSpillLog::pendingRecords)
+                .register(meterRegistry);
+        Gauge.builder("engine.staging.spill.disk.bytes", spillLog, SegmentSpillLog::diskBytes)
+                .register(meterRegistry);
+        Gauge.builder("engine.staging.breaker.state", breaker, b -> b.state().ordinal())
+                .description("0: CLOSED, 1: HALF_OPEN, 2: OPEN")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서킷이 닫혀 있지 않거나, 재생 전 spill 이 남아 있으면 (순서 유지) spill 로그로 기록
+     */
+    public boolean shouldSpill() {
+        return !breaker.isClosed() || spillLog.hasPending();
+    }
+
+    public void spill(List<EngineSample> samples) {
+        int appended = spillLog.append(samples);
+        spilled.increment(appended);
+        if (appended < samples.size()) {
+            dropped.increment(samples.size() - appended);
+            log.error("spill 디스크 상한 도달로 샘플 유실: {}건", samples.size() - appended);
+        }
+    }
+
+    public void recordSuccess() {
+        breaker.recordSuccess();
+    }
+
+    public void recordFailure() {
+        breaker.recordFailure();
+    }
+
+    /**
+     * spill 재생 - 서킷이 허용하면 가장 오래된 레코드부터 스테이징 큐에 적재하고 확인된 만큼 읽기 오프셋 커밋
+     * 한 주기에 replay-budget-ms 까지만 재생하고 나머지는 다음 주기로 넘김
+     * (스케줄러 스레드를 오래 점유하면 스테이징 하트비트·과부하 샘플링 등 다른 @Scheduled 작업이 밀림)
+     */
+    @Scheduled(fixedDelayString = "${engine.staging.spill.replay-interval-ms:1000}")
+    public void replay() {
+        if (!spillLog.hasPending()) {
+            return;
+        }
+        spillLog.force();
+        if (!breaker.tryProbe()) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + replayBudgetNanos;
+        long total = 0;
+        SpillBatch batch;
+        while (System.nanoTime() - deadline < 0 && !(batch = spillLog.peek(replayBatchSize)).isEmpty()) {
+            try {
+                stagingQueue.enqueueAll(batch.samples()).block(REPLAY_TIMEOUT);
+            } catch (RuntimeException e) {
+                breaker.recordFailure();
+                log.warn("spill 재생 실패 - 서킷 OPEN 유지: 재생 = {}건, 남은 = {}건, 에러 = {}",
+                        total, spillLog.pendingRecords(), e.getMessage());
+                return;
+            }
+            spillLog.commit(batch);
+            breaker.recordSuccess();
+            replayed.increment(batch.size());
+            total += batch.size();
+        }
+        if (spillLog.hasPending()) {
+            log.info("spill 재생 진행: 이번 주기 {}건, 남은 = {}건", total, spillLog.pendingRecords());
+        } else {
+            log.info("spill 재생 완료: {}건", total);
+        }
+    }
+
+    public long pendingRecords() {
+        return spillLog.pendingRecords();
+    }
+
+    public RedisCircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    @PreDestroy
+    public void close() {
+        spillLog.close();
+    }
+}
@@ -0,0 +1,199 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스테이징 큐 write-behind 버퍼
+ * 샘플을 max-batch-size 개 또는 window-ms 동안 모아 한 번의 enqueueAll(다중 값 RPUSH / 파이프라인 XADD)로 전송
+ * 진행 중인 flush 는 max-in-flight 개로 제한하며, 한도에 도달하면 호출 스레드(파이프라인 레인)가 대기해 역압 전달
+ * Redis 장애 시(서킷 OPEN) flush 는 StagingSpillover 의 로컬 spill 로그로 우회하고, 실패한 flush 도 버리지 않고 spill
+ */
+@Component
+@Slf4j
+@ConditionalOnIngestModule
+public class StagingWriteBehindBuffer {
+
+    private static final Duration FLUSH_TIMEOUT = Duration.ofSeconds(5);
+
+    private final EngineStagingQueue stagingQueue;
+    private final StagingSpillover spillover;
+    private final int maxBatchSize;
+    private final long windowMillis;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final ScheduledExecutorService windowScheduler;
+
+    private final Timer flushLatency;
+    private final DistributionSummary flushSize;
+    private final Counter failedSamples;
+
+    private List<EngineSample> buffer;
+    private long bufferStartedNanos;
+
+    public StagingWriteBehindBuffer(EngineStagingQueue stagingQueue,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${engine.staging.write-behind.max-batch-size:500}") int maxBatchSize,
+                                    @Value("${engine.staging.write-behind.window-ms:5}") long windowMillis,
+                                    @Value("${engine.staging.write-behind.max-in-flight:4}") int maxInFlight,
+                                    @Nullable StagingSpillover spillover) {
+        this.stagingQueue = stagingQueue;
+        this.spillover = spillover;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMillis = windowMillis;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.buffer = new ArrayList<>(maxBatchSize);
+        this.windowScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "staging-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.flushLatency = Timer.builder("engine.staging.flush.latency")
+                .description("스테이징 flush 왕복 지연")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary.builder("engine.staging.flush.size")
+                .description("flush 당 샘플 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failedSamples = Counter.builder("engine.staging.flush.failed").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long period = Math.max(1, windowMillis);
+        windowScheduler.scheduleWithFixedDelay(this::flushExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        windowScheduler.shutdown();
+        flushNow();
+        try {
+            // 진행 중인 flush 가 끝날 때까지 대기
+            inFlight.tryAcquire(maxInFlight, 5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void add(EngineSample sample) {
+        List<EngineSample> ready = null;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                bufferStartedNanos = System.nanoTime();
+            }
+            buffer.add(sample);
+            if (buffer.size() >= maxBatchSize) {
+                ready = swap();
+            }
+        }
+        if (ready != null) {
+            flush(ready);
+        }
+    }
+
+    public void addAll(List<EngineSample> samples) {
+        for (EngineSample sample : samples) {
+            add(sample);
+        }
+    }
+
+    /**
+     * 윈도우가 지난 버퍼 flush (스케줄러 스레드)
+     */
+    private void flushExpired() {
+        List<EngineSample> ready = null;
+        synchronized (this) {
+            if (!buffer.isEmpty()
+                    && System.nanoTime() - bufferStartedNanos >= TimeUnit.MILLISECONDS.toNanos(windowMillis)) {
+                ready = swap();
+            }
+        }
+        if (ready != null) {
+            flush(ready);
+        }
+    }
+
+    public void flushNow() {
+        List<EngineSample> ready;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            ready = swap();
+        }
+        flush(ready);
+    }
+
+    private List<EngineSample> swap() {
+        List<EngineSample> ready = buffer;
+        buffer = new ArrayList<>(maxBatchSize);
+        return ready;
+    }
+
+    private void flush(List<EngineSample> samples) {
+        if (spillover != null && spillover.shouldSpill()) {
+            // 서킷이 열려 있거나 재생 전 spill 이 남아 있으면 Redis 를 기다리지 않고 기록 순서대로 spill
+            spillover.spill(samples);
+            return;
+        }
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedSamples.increment(samples.size());
+            log.error("스테이징 flush 대기 중 인터럽트로 샘플 유실: {}건", samples.size());
+            return;
+        }
+
+        long start = System.nanoTime();
+        flushSize.record(samples.size());
+        stagingQueue.enqueueAll(samples)
+                .timeout(FLUSH_TIMEOUT)
+                .doFinally(signal -> {
+                    flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    inFlight.release();
+                })
+                .subscribe(
+                        size -> {
+                            if (spillover != null) {
+                                spillover.recordSuccess();
+                            }
+                            log.debug("스테이징 flush 완료: 크기 = {}, 큐 크기 = {}", samples.size(), size);
+                        },
+                        error -> onFlushFailed(samples, error)
+                );
+    }
+
+    private void onFlushFailed(List<EngineSample> samples, Throwable error) {
+        if (spillover == null) {
+            failedSamples.increment(samples.size());
+            log.error("스테이징 flush 실패: 크기 = {}, 에러 = {}", samples.size(), error.getMessage());
+            return;
+        }
+        spillover.recordFailure();
+        spillover.spill(samples);
+        log.warn("스테이징 flush 실패 - spill 로그로 보관: 크기 = {}, 에러 = {}", samples.size(), error.getMessage());
+    }
+}
@@ -2,7 +2,27 @@ package dev.study.kafkademo.repository;
 
 import dev.study.kafkademo.entity.Engine;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 시간 범위 조회는 모두 [from, to) 반개구간 "timestamp" 조건을 포함해
+ * engine.schema.mode=partitioned 에서 해당 일자 파티션만 스캔(partition pruning)하도록 작성
+ */
 public interface EngineRepository extends JpaRepository<Engine, Long> {
 
+    @Query("select e from Engine e where e.engineId = :engineId"
+            + " and e.timestamp >= :from and e.timestamp < :to order by e.timestamp")
+    List<Engine> findByEngineIdInRange(@Param("engineId") String engineId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    @Query("select e from Engine e where e.timestamp >= :from and e.timestamp < :to order by e.timestamp")
+    List<Engine> findInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("select count(e) from Engine e where e.timestamp >= :from and e.timestamp < :to")
+    long countInRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,17 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.util.List;
+
+/**
+ * engines 테이블 일괄 적재 전략
+ * engine.persistence.writer 설정(jpa | jdbc | copy | r2dbc)으로 구현체 선택
+ */
+public interface EngineBulkWriter {
+
+    /**
+     * 샘플 목록을 engines 테이블에 적재하고 적재된 행 수를 반환
+     */
+    int write(List<EngineSample> samples);
+}
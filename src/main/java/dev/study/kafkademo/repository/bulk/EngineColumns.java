@@ -0,0 +1,18 @@
+package dev.study.kafkademo.repository.bulk;
+
+/**
+ * 일괄 적재 대상 engines 테이블 컬럼 (id 는 IDENTITY 로 DB 에서 생성)
+ */
+final class EngineColumns {
+
+    static final String TABLE = "engines";
+
+    // timestamp 는 H2 등에서 예약어이므로 인용
+    static final String COLUMN_LIST =
+            "engine_id, temperature, rpm, pressure, fuel_flow, \"timestamp\", created_at, updated_at";
+
+    static final int COLUMN_COUNT = 8;
+
+    private EngineColumns() {
+    }
+}
@@ -0,0 +1,111 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 재전달에 안전한 engines 다중 행 INSERT (Kafka 소비자 적재, engine.drain.idempotent=true 인 스테이징 드레인)
+ * (engine_id, timestamp) 유니크 인덱스 + ON CONFLICT DO NOTHING 으로 이미 적재된 샘플은 건너뜀
+ * 롤업 갱신이 필요한 경우 RETURNING 으로 실제 삽입된 샘플만 돌려주어 재전달 시 이중 집계를 막음
+ */
+@Component
+@DependsOn("entityManagerFactory") // engines 테이블(Hibernate DDL 또는 파티션 관리자)이 만들어진 뒤 인덱스 생성
+@ConditionalOnExpression("'${engine.persistence.source:staging}' == 'kafka' or ${engine.drain.idempotent:false}")
+@ConditionalOnPersistModule
+public class IdempotentEngineWriter {
+
+    static final String UNIQUE_INDEX = "ux_engines_engine_id_timestamp";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 한 poll 배치를 한 문장으로 적재 - PostgreSQL 바인드 파라미터 상한(65535) / 컬럼 수 이내로 유지
+    private final int rowsPerStatement;
+
+    public IdempotentEngineWriter(JdbcTemplate jdbcTemplate,
+                                  @Value("${engine.persistence.kafka.rows-per-statement:4000}") int rowsPerStatement) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    /**
+     * 중복 판정용 유니크 인덱스 생성 (파티션 테이블은 파티션 키 timestamp 를 포함하므로 부모에 생성 가능)
+     */
+    @PostConstruct
+    public void createUniqueIndex() {
+        try {
+            jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + UNIQUE_INDEX + " ON "
+                    + EngineColumns.TABLE + " (engine_id, \"timestamp\")");
+        } catch (DataAccessException e) {
+            throw new IllegalStateException("engines (engine_id, timestamp) 유니크 인덱스 생성 실패"
+                    + " - 기존 중복 행 정리 후 engine.persistence.source=kafka / engine.drain.idempotent 사용 필요", e);
+        }
+    }
+
+    /**
+     * 이미 적재된 (engine_id, timestamp) 는 건너뛰고 삽입
+     *
+     * @return 삽입된 행 수
+     */
+    public int insert(List<EngineSample> samples) {
+        LocalDateTime now = LocalDateTime.now();
+        int inserted = 0;
+        for (int from = 0; from < samples.size(); from += rowsPerStatement) {
+            List<EngineSample> chunk = samples.subList(from, Math.min(from + rowsPerStatement, samples.size()));
+            inserted += jdbcTemplate.update(insertSql(chunk.size(), false),
+                    ps -> JdbcEngineBulkWriter.bind(ps, chunk, now));
+        }
+        return inserted;
+    }
+
+    /**
+     * 이미 적재된 (engine_id, timestamp) 는 건너뛰고 삽입한 뒤 실제 삽입된 샘플 반환 (PostgreSQL RETURNING)
+     */
+    public List<EngineSample> insertReturningNew(List<EngineSample> samples) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EngineSample> inserted = new ArrayList<>(samples.size());
+        for (int from = 0; from < samples.size(); from += rowsPerStatement) {
+            List<EngineSample> chunk = samples.subList(from, Math.min(from + rowsPerStatement, samples.size()));
+            Set<String> keys = new HashSet<>(jdbcTemplate.query(insertSql(chunk.size(), true),
+                    ps -> JdbcEngineBulkWriter.bind(ps, chunk, now),
+                    (rs, rowNum) -> key(rs.getString(1), rs.getObject(2, LocalDateTime.class))));
+            for (EngineSample sample : chunk) {
+                // 같은 배치 안의 중복 키는 처음 한 건만 삽입된 것으로 처리
+                if (keys.remove(key(sample.getEngineId(), timestamp(sample, now)))) {
+                    inserted.add(sample);
+                }
+            }
+        }
+        return inserted;
+    }
+
+    static String insertSql(int rows, boolean returning) {
+        StringBuilder sql = new StringBuilder(JdbcEngineBulkWriter.buildInsertSql(rows))
+                .append(" ON CONFLICT DO NOTHING");
+        if (returning) {
+            sql.append(" RETURNING engine_id, \"timestamp\"");
+        }
+        return sql.toString();
+    }
+
+    private static LocalDateTime timestamp(EngineSample sample, LocalDateTime now) {
+        // JdbcEngineBulkWriter.bind 와 같은 규칙 (타임스탬프가 없으면 적재 시각)
+        return sample.has(EngineSample.HAS_TIMESTAMP)
+                ? EngineSample.toLocalDateTime(sample.getTimestampMicros()) : now;
+    }
+
+    private static String key(String engineId, LocalDateTime timestamp) {
+        return engineId + '|' + timestamp;
+    }
+}
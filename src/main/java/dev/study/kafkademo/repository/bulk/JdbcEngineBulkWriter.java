@@ -0,0 +1,100 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * JdbcTemplate 다중 행 INSERT 적재
+ * INSERT ... VALUES (...), (...), ... 한 문장에 rows-per-statement 행씩 묶어 왕복 수를 줄임
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.persistence.writer", havingValue = "jdbc")
+@ConditionalOnPersistModule
+public class JdbcEngineBulkWriter implements EngineBulkWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // PostgreSQL 바인드 파라미터 상한(65535) / 컬럼 수 이내로 유지
+    @Value("${engine.persistence.jdbc.rows-per-statement:500}")
+    private int rowsPerStatement = 500;
+
+    private String fullChunkSql;
+
+    @Override
+    @Transactional
+    public int write(List<EngineSample> samples) {
+        LocalDateTime now = LocalDateTime.now();
+        int written = 0;
+        for (int from = 0; from < samples.size(); from += rowsPerStatement) {
+            List<EngineSample> chunk = samples.subList(from, Math.min(from + rowsPerStatement, samples.size()));
+            written += jdbcTemplate.update(insertSql(chunk.size()), ps -> bind(ps, chunk, now));
+        }
+        return written;
+    }
+
+    private String insertSql(int rows) {
+        if (rows == rowsPerStatement) {
+            if (fullChunkSql == null) {
+                fullChunkSql = buildInsertSql(rows);
+            }
+            return fullChunkSql;
+        }
+        return buildInsertSql(rows);
+    }
+
+    static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(64 + rows * 20)
+                .append("INSERT INTO ").append(EngineColumns.TABLE)
+                .append(" (").append(EngineColumns.COLUMN_LIST).append(") VALUES ");
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ",(");
+            for (int column = 0; column < EngineColumns.COLUMN_COUNT; column++) {
+                sql.append(column == 0 ? "?" : ",?");
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    static void bind(PreparedStatement ps, List<EngineSample> chunk, LocalDateTime now) throws SQLException {
+        int index = 1;
+        for (EngineSample sample : chunk) {
+            ps.setString(index++, sample.getEngineId());
+            setDecimal(ps, index++, sample, EngineSample.HAS_TEMPERATURE,
+                    sample.getTemperatureScaled(), EngineSample.TEMPERATURE_SCALE);
+            setDecimal(ps, index++, sample, EngineSample.HAS_RPM,
+                    sample.getRpmScaled(), EngineSample.RPM_SCALE);
+            setDecimal(ps, index++, sample, EngineSample.HAS_PRESSURE,
+                    sample.getPressureScaled(), EngineSample.PRESSURE_SCALE);
+            setDecimal(ps, index++, sample, EngineSample.HAS_FUEL_FLOW,
+                    sample.getFuelFlowScaled(), EngineSample.FUEL_FLOW_SCALE);
+            ps.setObject(index++, sample.has(EngineSample.HAS_TIMESTAMP)
+                    ? EngineSample.toLocalDateTime(sample.getTimestampMicros()) : now);
+            ps.setObject(index++, now);
+            ps.setObject(index++, now);
+        }
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, EngineSample sample, int flag,
+                                   long scaled, int scale) throws SQLException {
+        if (sample.has(flag)) {
+            ps.setBigDecimal(index, BigDecimal.valueOf(scaled, scale));
+        } else {
+            ps.setNull(index, Types.NUMERIC);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.entity.Engine;
+import dev.study.kafkademo.repository.EngineRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 기존 JPA saveAll 적재
+ * GenerationType.IDENTITY 로 인해 Hibernate JDBC 배치가 비활성화되어 행마다 INSERT 왕복 발생
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.persistence.writer", havingValue = "jpa", matchIfMissing = true)
+@ConditionalOnPersistModule
+public class JpaEngineBulkWriter implements EngineBulkWriter {
+
+    private final EngineRepository engineRepository;
+
+    @Override
+    public int write(List<EngineSample> samples) {
+        List<Engine> engines = EngineSample.toEntity(samples);
+        engineRepository.saveAll(engines);
+        return engines.size();
+    }
+}
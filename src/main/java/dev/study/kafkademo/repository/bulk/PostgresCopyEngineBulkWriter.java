@@ -0,0 +1,187 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * PostgreSQL COPY ... FROM STDIN (FORMAT binary) 적재
+ * 배치 전체를 한 번의 COPY 스트림으로 전송해 문장 파싱/바인딩 비용 없이 적재
+ * CopyManager 는 JdbcTemplate/트랜잭션 타임아웃을 적용받지 않으므로 같은 트랜잭션에 SET LOCAL statement_timeout 을 걸어
+ * COPY 가 멈춰도 engine.persistence.transaction-timeout-s 뒤 서버가 취소하도록 함
+ */
+@Component
+@ConditionalOnProperty(name = "engine.persistence.writer", havingValue = "copy")
+@ConditionalOnPersistModule
+public class PostgresCopyEngineBulkWriter implements EngineBulkWriter {
+
+    static final String COPY_SQL = "COPY " + EngineColumns.TABLE
+            + " (" + EngineColumns.COLUMN_LIST + ") FROM STDIN (FORMAT binary)";
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    // PostgreSQL timestamp 기준 시각 2000-01-01 00:00:00 (epoch micros)
+    private static final long POSTGRES_EPOCH_MICROS = 946_684_800_000_000L;
+
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String statementTimeoutSql;
+
+    public PostgresCopyEngineBulkWriter(JdbcTemplate jdbcTemplate,
+                                        @Value("${engine.persistence.transaction-timeout-s:30}") int timeoutSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statementTimeoutSql = "SET LOCAL statement_timeout = " + Math.max(1, timeoutSeconds) * 1_000L;
+    }
+
+    @Override
+    @Transactional
+    public int write(List<EngineSample> samples) {
+        if (samples.isEmpty()) {
+            return 0;
+        }
+        byte[] payload = encode(samples, LocalDateTime.now());
+
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            // SET LOCAL 은 현재 트랜잭션에만 적용 (커밋/롤백 시 풀 커넥션의 기본값으로 복귀)
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(statementTimeoutSql);
+            }
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_SQL, new ByteArrayInputStream(payload));
+            } catch (IOException e) {
+                throw new SQLException("COPY 스트림 전송 실패", e);
+            }
+        });
+        return copied == null ? 0 : copied.intValue();
+    }
+
+    /**
+     * COPY binary 포맷 인코딩: 헤더 + 튜플(필드 수, 필드별 길이/값) + 트레일러(-1)
+     */
+    static byte[] encode(List<EngineSample> samples, LocalDateTime now) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(32 + samples.size() * 128);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.write(SIGNATURE);
+            out.writeInt(0); // flags
+            out.writeInt(0); // header extension length
+
+            long nowMicros = toPostgresMicros(now);
+            for (EngineSample sample : samples) {
+                out.writeShort(EngineColumns.COLUMN_COUNT);
+                writeText(out, sample.getEngineId());
+                writeNumeric(out, sample, EngineSample.HAS_TEMPERATURE,
+                        sample.getTemperatureScaled(), EngineSample.TEMPERATURE_SCALE);
+                writeNumeric(out, sample, EngineSample.HAS_RPM,
+                        sample.getRpmScaled(), EngineSample.RPM_SCALE);
+                writeNumeric(out, sample, EngineSample.HAS_PRESSURE,
+                        sample.getPressureScaled(), EngineSample.PRESSURE_SCALE);
+                writeNumeric(out, sample, EngineSample.HAS_FUEL_FLOW,
+                        sample.getFuelFlowScaled(), EngineSample.FUEL_FLOW_SCALE);
+                writeTimestamp(out, sample.has(EngineSample.HAS_TIMESTAMP)
+                        ? toPostgresMicros(EngineSample.toLocalDateTime(sample.getTimestampMicros()))
+                        : nowMicros);
+                writeTimestamp(out, nowMicros);
+                writeTimestamp(out, nowMicros);
+            }
+            out.writeShort(-1);
+        } catch (IOException e) {
+            // ByteArrayOutputStream 은 IOException 을 던지지 않음
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static void writeText(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * timestamp without time zone: 2000-01-01 기준 벽시계 micros
+     */
+    private static void writeTimestamp(DataOutputStream out, long postgresMicros) throws IOException {
+        out.writeInt(8);
+        out.writeLong(postgresMicros);
+    }
+
+    private static long toPostgresMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000
+                - POSTGRES_EPOCH_MICROS;
+    }
+
+    /**
+     * numeric 바이너리: ndigits, weight, sign, dscale + base-10000 자릿수
+     * scaled long(소수 scale 자리)을 소수점 기준 4자리 그룹으로 분해
+     */
+    static void writeNumeric(DataOutputStream out, EngineSample sample, int flag,
+                             long scaled, int scale) throws IOException {
+        if (!sample.has(flag)) {
+            out.writeInt(-1);
+            return;
+        }
+
+        // 소수부를 4자리로 맞춤 (scale 2 -> x100, scale 4 -> x1)
+        long value = Math.abs(scaled);
+        for (int i = scale; i < 4; i++) {
+            value *= 10;
+        }
+        short fraction = (short) (value % 10_000);
+        long integer = value / 10_000;
+
+        short[] integerGroups = new short[5];
+        int integerCount = 0;
+        while (integer > 0) {
+            integerGroups[integerCount++] = (short) (integer % 10_000);
+            integer /= 10_000;
+        }
+
+        int ndigits = integerCount + (fraction != 0 ? 1 : 0);
+        short weight = (short) (integerCount > 0 ? integerCount - 1 : (fraction != 0 ? -1 : 0));
+
+        // 정수부 하위 0 그룹은 fraction 이 0 일 때 생략 가능
+        int trailingZeros = 0;
+        if (fraction == 0) {
+            while (trailingZeros < integerCount && integerGroups[trailingZeros] == 0) {
+                trailingZeros++;
+            }
+            ndigits -= trailingZeros;
+        }
+
+        out.writeInt(8 + ndigits * 2);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(scaled < 0 ? NUMERIC_NEG : NUMERIC_POS);
+        out.writeShort(scale);
+        for (int i = integerCount - 1; i >= trailingZeros; i--) {
+            out.writeShort(integerGroups[i]);
+        }
+        if (fraction != 0) {
+            out.writeShort(fraction);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * R2DBC 다중 행 INSERT 적재
+ * JdbcEngineBulkWriter 와 같은 INSERT ... VALUES (...), (...) 문장을 $n 바인드로 만들어 드라이버 이벤트 루프에서 실행
+ * 배치 하나 = 풀 커넥션 하나 + 트랜잭션 하나, 청크 문장은 concatMap 으로 순서대로 실행 (커넥션당 진행 중 문장 1개)
+ */
+@Component
+@ConditionalOnProperty(name = "engine.persistence.writer", havingValue = "r2dbc")
+@ConditionalOnPersistModule
+public class R2dbcEngineBulkWriter implements ReactiveEngineBulkWriter {
+
+    private final ConnectionFactory connectionFactory;
+    // PostgreSQL 바인드 파라미터 상한(65535) / 컬럼 수 이내로 유지
+    private final int rowsPerStatement;
+    private final String fullChunkSql;
+
+    public R2dbcEngineBulkWriter(ConnectionFactory connectionFactory,
+                                 @Value("${engine.persistence.r2dbc.rows-per-statement:500}") int rowsPerStatement) {
+        this.connectionFactory = connectionFactory;
+        this.rowsPerStatement = rowsPerStatement;
+        this.fullChunkSql = buildInsertSql(rowsPerStatement);
+    }
+
+    @Override
+    public Mono<Integer> writeReactive(List<EngineSample> samples) {
+        if (samples.isEmpty()) {
+            return Mono.just(0);
+        }
+        // 커넥션은 완료/에러/취소(timeout) 모두 풀에 반환
+        return Mono.usingWhen(connectionFactory.create(),
+                connection -> writeInTransaction(connection, samples),
+                Connection::close);
+    }
+
+    private Mono<Integer> writeInTransaction(Connection connection, List<EngineSample> samples) {
+        LocalDateTime now = LocalDateTime.now();
+        int chunks = (samples.size() + rowsPerStatement - 1) / rowsPerStatement;
+        Flux<Long> rowsUpdated = Flux.range(0, chunks)
+                .concatMap(chunk -> {
+                    int from = chunk * rowsPerStatement;
+                    List<EngineSample> rows = samples.subList(from, Math.min(from + rowsPerStatement, samples.size()));
+                    Statement statement = connection.createStatement(insertSql(rows.size()));
+                    bind(statement, rows, now);
+                    return Flux.from(statement.execute()).concatMap(Result::getRowsUpdated);
+                });
+
+        return Mono.from(connection.beginTransaction())
+                .thenMany(rowsUpdated)
+                .reduce(0L, Long::sum)
+                .flatMap(written -> Mono.from(connection.commitTransaction()).thenReturn(written.intValue()))
+                .onErrorResume(error -> Mono.from(connection.rollbackTransaction())
+                        .onErrorResume(rollbackError -> Mono.empty())
+                        .then(Mono.error(error)));
+    }
+
+    private String insertSql(int rows) {
+        return rows == rowsPerStatement ? fullChunkSql : buildInsertSql(rows);
+    }
+
+    /**
+     * R2DBC 는 드라이버별 위치 바인드 표기($1, $2 ...)를 사용 - PostgreSQL, H2 공통
+     */
+    static String buildInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(64 + rows * 40)
+                .append("INSERT INTO ").append(EngineColumns.TABLE)
+                .append(" (").append(EngineColumns.COLUMN_LIST).append(") VALUES ");
+        int parameter = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row == 0 ? "(" : ",(");
+            for (int column = 0; column < EngineColumns.COLUMN_COUNT; column++) {
+                sql.append(column == 0 ? "$" : ",$").append(parameter++);
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    static void bind(Statement statement, List<EngineSample> chunk, LocalDateTime now) {
+        int index = 0;
+        for (EngineSample sample : chunk) {
+            // R2DBC 는 bind(null) 을 허용하지 않으므로 엔진 ID 가 없는 샘플은 bindNull (JDBC setString(null) 과 동일)
+            if (sample.getEngineId() == null) {
+                statement.bindNull(index++, String.class);
+            } else {
+                statement.bind(index++, sample.getEngineId());
+            }
+            bindDecimal(statement, index++, sample, EngineSample.HAS_TEMPERATURE,
+                    sample.getTemperatureScaled(), EngineSample.TEMPERATURE_SCALE);
+            bindDecimal(statement, index++, sample, EngineSample.HAS_RPM,
+                    sample.getRpmScaled(), EngineSample.RPM_SCALE);
+            bindDecimal(statement, index++, sample, EngineSample.HAS_PRESSURE,
+                    sample.getPressureScaled(), EngineSample.PRESSURE_SCALE);
+            bindDecimal(statement, index++, sample, EngineSample.HAS_FUEL_FLOW,
+                    sample.getFuelFlowScaled(), EngineSample.FUEL_FLOW_SCALE);
+            statement.bind(index++, sample.has(EngineSample.HAS_TIMESTAMP)
+                    ? EngineSample.toLocalDateTime(sample.getTimestampMicros()) : now);
+            statement.bind(index++, now);
+            statement.bind(index++, now);
+        }
+    }
+
+    private static void bindDecimal(Statement statement, int index, EngineSample sample, int flag,
+                                    long scaled, int scale) {
+        if (sample.has(flag)) {
+            statement.bind(index, BigDecimal.valueOf(scaled, scale));
+        } else {
+            statement.bindNull(index, BigDecimal.class);
+        }
+    }
+}
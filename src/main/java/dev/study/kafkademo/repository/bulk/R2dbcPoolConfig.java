@@ -0,0 +1,55 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * engine.persistence.writer=r2dbc 커넥션 풀
+ * HikariCP(JPA/JdbcTemplate, 롤업)와 별개 풀이므로 DB max_connections 는 두 풀의 max-size 합 이상으로 유지
+ * 드레인 워커는 배치 완료까지 대기하므로 동시 적재 배치 수 = engine.drain.workers (max-size 이하로 유지),
+ * 초과 요청은 max-acquire-time 동안 풀에서 대기 후 실패 -> 배치 nack
+ */
+@Configuration
+@Slf4j
+@ConditionalOnProperty(name = "engine.persistence.writer", havingValue = "r2dbc")
+@ConditionalOnPersistModule
+public class R2dbcPoolConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool engineConnectionPool(
+            @Value("${engine.persistence.r2dbc.url}") String url,
+            @Value("${engine.persistence.r2dbc.username:}") String username,
+            @Value("${engine.persistence.r2dbc.password:}") String password,
+            @Value("${engine.persistence.r2dbc.pool.initial-size:2}") int initialSize,
+            @Value("${engine.persistence.r2dbc.pool.max-size:8}") int maxSize,
+            @Value("${engine.persistence.r2dbc.pool.max-acquire-time-ms:5000}") long maxAcquireTimeMillis,
+            @Value("${engine.persistence.r2dbc.pool.max-idle-time-ms:60000}") long maxIdleTimeMillis) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(url).mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        ConnectionPoolConfiguration configuration =
+                ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                        .name("engine-r2dbc")
+                        .initialSize(initialSize)
+                        .maxSize(maxSize)
+                        .maxAcquireTime(Duration.ofMillis(maxAcquireTimeMillis))
+                        .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                        .build();
+        log.info("R2DBC 적재 커넥션 풀: 초기 = {}, 최대 = {}", initialSize, maxSize);
+        return new ConnectionPool(configuration);
+    }
+}
@@ -0,0 +1,27 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * 논블로킹 일괄 적재 전략 (engine.persistence.writer=r2dbc)
+ * EngineDataSaveBatchService 는 이 타입이면 persistenceScheduler 를 거치지 않고 writeReactive 를 그대로 연결
+ */
+public interface ReactiveEngineBulkWriter extends EngineBulkWriter {
+
+    /**
+     * 샘플 목록을 한 트랜잭션으로 적재하고 적재된 행 수를 발행
+     */
+    Mono<Integer> writeReactive(List<EngineSample> samples);
+
+    /**
+     * 블로킹 호출자(벤치마크, 부하 하니스)용 - 파이프라인 경로에서는 사용하지 않음
+     */
+    @Override
+    default int write(List<EngineSample> samples) {
+        Integer written = writeReactive(samples).block();
+        return written == null ? 0 : written;
+    }
+}
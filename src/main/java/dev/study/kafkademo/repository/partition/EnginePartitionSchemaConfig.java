@@ -0,0 +1,39 @@
+package dev.study.kafkademo.repository.partition;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * engine.schema.mode=partitioned 스키마 설정
+ * engines 테이블은 EnginePartitionManager 가 관리하므로 EntityManagerFactory 보다 먼저 초기화하고,
+ * Hibernate ddl-auto 는 none 으로 덮어써 B-tree 인덱스(idx_engine_timestamp) 생성/테이블 변경을 막음
+ */
+@Configuration
+@ConditionalOnProperty(name = "engine.schema.mode", havingValue = "partitioned")
+@ConditionalOnPersistModule
+public class EnginePartitionSchemaConfig {
+
+    @Bean
+    public EnginePartitionManager enginePartitionManager(
+            JdbcTemplate jdbcTemplate,
+            @Value("${engine.schema.partition.retention-days:30}") int retentionDays,
+            @Value("${engine.schema.partition.premake-days:3}") int premakeDays) {
+        return new EnginePartitionManager(jdbcTemplate, retentionDays, premakeDays);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer partitionedSchemaHibernateCustomizer() {
+        return properties -> properties.put("hibernate.hbm2ddl.auto", "none");
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor enginePartitionManagerDependsOnPostProcessor() {
+        return new EntityManagerFactoryDependsOnPostProcessor("enginePartitionManager");
+    }
+}
@@ -0,0 +1,50 @@
+package dev.study.kafkademo.repository.rollup;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 롤업 테이블 조회 - PK (engine_id, bucket_start) 범위 스캔
+ */
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnPersistModule
+public class EngineRollupRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * [from, to) 구간에 시작하는 버킷 (시간 순)
+     */
+    public List<RollupPoint> findPoints(RollupResolution resolution, String engineId,
+                                        LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query("SELECT * FROM " + resolution.table()
+                        + " WHERE engine_id = ? AND bucket_start >= ? AND bucket_start < ? ORDER BY bucket_start",
+                (rs, rowNum) -> toPoint(rs), engineId, resolution.bucketStart(from), to);
+    }
+
+    private static RollupPoint toPoint(ResultSet rs) throws SQLException {
+        return new RollupPoint(rs.getTimestamp("bucket_start").toLocalDateTime(),
+                rs.getLong("sample_count"),
+                metric(rs, RollupBucket.METRICS[0]),
+                metric(rs, RollupBucket.METRICS[1]),
+                metric(rs, RollupBucket.METRICS[2]),
+                metric(rs, RollupBucket.METRICS[3]));
+    }
+
+    private static RollupPoint.MetricValue metric(ResultSet rs, String metric) throws SQLException {
+        long count = rs.getLong(metric + "_count");
+        if (count == 0) {
+            return null;
+        }
+        return new RollupPoint.MetricValue(count, rs.getDouble(metric + "_min"), rs.getDouble(metric + "_max"),
+                rs.getDouble(metric + "_sum") / count);
+    }
+}
@@ -0,0 +1,146 @@
+package dev.study.kafkademo.repository.rollup;
+
+import dev.study.kafkademo.config.ConditionalOnPersistModule;
+import dev.study.kafkademo.dto.EngineSample;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 1분/1시간/1일 롤업 증분 갱신 (PostgreSQL)
+ * 적재 중인 배치만 (엔진, 버킷) 단위로 메모리에서 부분 집계한 뒤 ON CONFLICT DO UPDATE 로 기존 행과 합산 - 원본 재조회 없음
+ * 합/제곱합/최소/최대/개수를 보관하므로 병합 가능하고 평균은 조회 시 계산
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "engine.rollup.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnPersistModule
+public class EngineRollupWriter {
+
+    private static final Comparator<BucketKey> BUCKET_ORDER =
+            Comparator.comparing(BucketKey::engineId).thenComparing(BucketKey::bucketStart);
+    private static final Map<RollupResolution, String> UPSERT_SQL = new EnumMap<>(RollupResolution.class);
+
+    static {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            UPSERT_SQL.put(resolution, upsertSql(resolution));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void createTables() {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            StringBuilder ddl = new StringBuilder("CREATE TABLE IF NOT EXISTS ").append(resolution.table())
+                    .append(" (engine_id VARCHAR(64) NOT NULL, bucket_start TIMESTAMP NOT NULL,")
+                    .append(" sample_count BIGINT NOT NULL");
+            for (String metric : RollupBucket.METRICS) {
+                ddl.append(", ").append(metric).append("_count BIGINT NOT NULL")
+                        .append(", ").append(metric).append("_sum DOUBLE PRECISION NOT NULL")
+                        .append(", ").append(metric).append("_sum_sq DOUBLE PRECISION NOT NULL")
+                        .append(", ").append(metric).append("_min DOUBLE PRECISION")
+                        .append(", ").append(metric).append("_max DOUBLE PRECISION");
+            }
+            ddl.append(", PRIMARY KEY (engine_id, bucket_start))");
+            jdbcTemplate.execute(ddl.toString());
+        }
+    }
+
+    /**
+     * 배치를 모든 해상도 롤업에 반영 - 원본 적재와 같은 트랜잭션에서 호출
+     *
+     * @return 업서트한 롤업 행 수
+     */
+    public int apply(List<EngineSample> samples) {
+        int upserted = 0;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            Map<BucketKey, RollupBucket> buckets = aggregate(samples, resolution);
+            upserted += buckets.size();
+            jdbcTemplate.batchUpdate(UPSERT_SQL.get(resolution), toArgs(buckets));
+        }
+        log.debug("롤업 갱신: 샘플 = {}, 행 = {}", samples.size(), upserted);
+        return upserted;
+    }
+
+    static Map<BucketKey, RollupBucket> aggregate(List<EngineSample> samples, RollupResolution resolution) {
+        // 키 순서로 업서트해 여러 드레인 워커가 같은 행을 잠글 때 교착 방지
+        Map<BucketKey, RollupBucket> buckets = new TreeMap<>(BUCKET_ORDER);
+        for (EngineSample sample : samples) {
+            if (sample.getEngineId() == null || !sample.has(EngineSample.HAS_TIMESTAMP)) {
+                continue;
+            }
+            LocalDateTime bucketStart =
+                    resolution.bucketStart(EngineSample.toLocalDateTime(sample.getTimestampMicros()));
+            buckets.computeIfAbsent(new BucketKey(sample.getEngineId(), bucketStart), key -> new RollupBucket())
+                    .add(sample);
+        }
+        return buckets;
+    }
+
+    private static List<Object[]> toArgs(Map<BucketKey, RollupBucket> buckets) {
+        List<Object[]> args = new ArrayList<>(buckets.size());
+        for (Map.Entry<BucketKey, RollupBucket> entry : buckets.entrySet()) {
+            RollupBucket bucket = entry.getValue();
+            Object[] row = new Object[3 + RollupBucket.METRICS.length * 5];
+            int i = 0;
+            row[i++] = entry.getKey().engineId();
+            row[i++] = Timestamp.valueOf(entry.getKey().bucketStart());
+            row[i++] = bucket.samples;
+            for (int metric = 0; metric < RollupBucket.METRICS.length; metric++) {
+                boolean present = bucket.count[metric] > 0;
+                row[i++] = bucket.count[metric];
+                row[i++] = bucket.sum[metric];
+                row[i++] = bucket.sumSquares[metric];
+                row[i++] = new SqlParameterValue(Types.DOUBLE, present ? bucket.min[metric] : null);
+                row[i++] = new SqlParameterValue(Types.DOUBLE, present ? bucket.max[metric] : null);
+            }
+            args.add(row);
+        }
+        return args;
+    }
+
+    static String upsertSql(RollupResolution resolution) {
+        String table = resolution.table();
+        StringBuilder columns = new StringBuilder("engine_id, bucket_start, sample_count");
+        StringBuilder updates = new StringBuilder("sample_count = ")
+                .append(table).append(".sample_count + EXCLUDED.sample_count");
+        for (String metric : RollupBucket.METRICS) {
+            columns.append(", ").append(metric).append("_count, ").append(metric).append("_sum, ")
+                    .append(metric).append("_sum_sq, ").append(metric).append("_min, ").append(metric).append("_max");
+            for (String sum : new String[]{"_count", "_sum", "_sum_sq"}) {
+                updates.append(", ").append(metric).append(sum).append(" = ")
+                        .append(table).append('.').append(metric).append(sum)
+                        .append(" + EXCLUDED.").append(metric).append(sum);
+            }
+            // LEAST/GREATEST 는 NULL 인자를 무시하므로 측정값이 없던 쪽은 자연스럽게 제외
+            updates.append(", ").append(metric).append("_min = LEAST(")
+                    .append(table).append('.').append(metric).append("_min, EXCLUDED.").append(metric).append("_min)")
+                    .append(", ").append(metric).append("_max = GREATEST(")
+                    .append(table).append('.').append(metric).append("_max, EXCLUDED.").append(metric).append("_max)");
+        }
+        int placeholders = 3 + RollupBucket.METRICS.length * 5;
+        return "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                + String.join(", ", Collections.nCopies(placeholders, "?")) + ")"
+                + " ON CONFLICT (engine_id, bucket_start) DO UPDATE SET " + updates;
+    }
+
+    record BucketKey(String engineId, LocalDateTime bucketStart) {
+    }
+}
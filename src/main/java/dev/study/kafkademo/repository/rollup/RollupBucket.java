@@ -0,0 +1,33 @@
+package dev.study.kafkademo.repository.rollup;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.dto.MetricAccumulator;
+
+/**
+ * 배치 안에서 (엔진, 버킷) 단위로 누적한 부분 집계 - 업서트 시 기존 행과 합산
+ * 기존 행과 더할 수 있도록 Welford 대신 합/제곱합으로 누적, 측정값 인덱스는 MetricAccumulator 와 동일
+ */
+final class RollupBucket {
+
+    static final String[] METRICS = {"temperature", "rpm", "pressure", "fuel_flow"};
+
+    long samples;
+    final long[] count = new long[METRICS.length];
+    final double[] sum = new double[METRICS.length];
+    final double[] sumSquares = new double[METRICS.length];
+    final double[] min = new double[METRICS.length];
+    final double[] max = new double[METRICS.length];
+
+    void add(EngineSample sample) {
+        samples++;
+        MetricAccumulator.forEachMetric(sample, this::accumulate);
+    }
+
+    private void accumulate(int metric, double value) {
+        long n = ++count[metric];
+        sum[metric] += value;
+        sumSquares[metric] += value * value;
+        min[metric] = n == 1 ? value : Math.min(min[metric], value);
+        max[metric] = n == 1 ? value : Math.max(max[metric], value);
+    }
+}
@@ -0,0 +1,18 @@
+package dev.study.kafkademo.repository.rollup;
+
+import java.time.LocalDateTime;
+
+/**
+ * 이력 조회 포인트 - 원본 행이면 count 1, 롤업이면 버킷 집계
+ * 측정값이 버킷 안에 한 번도 없으면 해당 값은 null
+ */
+public record RollupPoint(LocalDateTime time,
+                          long count,
+                          MetricValue temperature,
+                          MetricValue rpm,
+                          MetricValue pressure,
+                          MetricValue fuelFlow) {
+
+    public record MetricValue(long count, double min, double max, double mean) {
+    }
+}
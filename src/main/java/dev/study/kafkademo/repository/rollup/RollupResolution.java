@@ -0,0 +1,35 @@
+package dev.study.kafkademo.repository.rollup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 롤업 해상도 - 버킷 크기와 테이블
+ * 버킷 경계는 engines."timestamp" 와 같은 로컬 시각 기준으로 절삭
+ */
+public enum RollupResolution {
+    MINUTE(ChronoUnit.MINUTES, "engine_rollup_1m"),
+    HOUR(ChronoUnit.HOURS, "engine_rollup_1h"),
+    DAY(ChronoUnit.DAYS, "engine_rollup_1d");
+
+    private final ChronoUnit unit;
+    private final String table;
+
+    RollupResolution(ChronoUnit unit, String table) {
+        this.unit = unit;
+        this.table = table;
+    }
+
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(unit);
+    }
+
+    public Duration bucketSize() {
+        return unit.getDuration();
+    }
+
+    public String table() {
+        return table;
+    }
+}
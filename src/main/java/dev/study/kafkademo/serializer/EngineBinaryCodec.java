@@ -0,0 +1,104 @@
+package dev.study.kafkademo.serializer;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * EngineSample 고정 레이아웃 바이너리 코덱
+ *
+ * <pre>
+ * offset  size  field
+ * 0       1     magic (0x45 'E')
+ * 1       1     version (2)
+ * 2       1     presence bitmap (bit0 engineId, bit1 temperature, bit2 rpm, bit3 pressure, bit4 fuelFlow, bit5 timestamp)
+ * 3       8     temperature  x 10^2 (long)
+ * 11      8     rpm          x 10^2 (long)
+ * 19      8     pressure     x 10^4 (long)
+ * 27      8     fuelFlow     x 10^4 (long)
+ * 35      8     timestamp    UTC epoch micros
+ * 43      2     engineId 길이 (UTF-8 bytes)
+ * 45      n     engineId
+ * </pre>
+ * 스케일은 Engine 엔티티 컬럼 정의(precision/scale)와 동일하며 EngineSample 의 정수 값을 그대로 기록
+ * version 1 은 timestamp 를 로컬 시각(LocalDateTime)을 UTC 로 해석한 값으로 기록했으므로 디코딩 시 실제 UTC 로 보정
+ */
+public final class EngineBinaryCodec {
+
+    public static final byte MAGIC = 0x45;
+    public static final byte VERSION = 2;
+    public static final byte VERSION_LOCAL_TIMESTAMP = 1;
+    public static final int FIXED_SIZE = 45;
+
+    private static final int HAS_ENGINE_ID = 1;
+
+    private EngineBinaryCodec() {
+    }
+
+    public static byte[] encode(EngineSample sample) {
+        byte[] engineId = sample.getEngineId() == null
+                ? new byte[0]
+                : sample.getEngineId().getBytes(StandardCharsets.UTF_8);
+        if (engineId.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("engineId 길이 초과: " + engineId.length);
+        }
+
+        // bit0 은 engineId, 나머지는 EngineSample.HAS_* 를 한 칸 시프트
+        int presence = (sample.getEngineId() != null ? HAS_ENGINE_ID : 0) | (sample.getPresence() << 1);
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + engineId.length);
+        buffer.put(MAGIC)
+                .put(VERSION)
+                .put((byte) presence)
+                .putLong(sample.getTemperatureScaled())
+                .putLong(sample.getRpmScaled())
+                .putLong(sample.getPressureScaled())
+                .putLong(sample.getFuelFlowScaled())
+                .putLong(sample.getTimestampMicros())
+                .putShort((short) engineId.length)
+                .put(engineId);
+        return buffer.array();
+    }
+
+    public static EngineSample decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length < FIXED_SIZE || buffer.get() != MAGIC) {
+            throw new IllegalArgumentException("EngineSample 바이너리 포맷이 아님: " + bytes.length + " bytes");
+        }
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_LOCAL_TIMESTAMP) {
+            throw new IllegalArgumentException("지원하지 않는 EngineSample 바이너리 버전: " + version);
+        }
+
+        int presence = buffer.get();
+        long temperature = buffer.getLong();
+        long rpm = buffer.getLong();
+        long pressure = buffer.getLong();
+        long fuelFlow = buffer.getLong();
+        long timestamp = buffer.getLong();
+        if (version == VERSION_LOCAL_TIMESTAMP && ((presence >> 1) & EngineSample.HAS_TIMESTAMP) != 0) {
+            timestamp = fromLocalTimestampMicros(timestamp);
+        }
+        int engineIdLength = buffer.getShort();
+        String engineId = (presence & HAS_ENGINE_ID) != 0
+                ? new String(bytes, FIXED_SIZE, engineIdLength, StandardCharsets.UTF_8)
+                : null;
+
+        return new EngineSample(engineId, temperature, rpm, pressure, fuelFlow, timestamp,
+                (presence >> 1) & EngineSample.HAS_ALL);
+    }
+
+    /**
+     * version 1 timestamp (로컬 시각을 UTC 로 해석한 epoch micros) -> UTC epoch micros
+     */
+    private static long fromLocalTimestampMicros(long localMicros) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(localMicros, 1_000_000L),
+                (int) (Math.floorMod(localMicros, 1_000_000L) * 1_000L),
+                ZoneOffset.UTC);
+        return EngineSample.toEpochMicros(localDateTime);
+    }
+}
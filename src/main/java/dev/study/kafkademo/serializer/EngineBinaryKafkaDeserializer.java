@@ -0,0 +1,23 @@
+package dev.study.kafkademo.serializer;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka 값 역직렬화 - EngineBinaryCodec 포맷
+ */
+public class EngineBinaryKafkaDeserializer implements Deserializer<EngineSample> {
+
+    @Override
+    public EngineSample deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return EngineBinaryCodec.decode(data);
+        } catch (RuntimeException e) {
+            throw new SerializationException("EngineSample 바이너리 역직렬화 실패: topic = " + topic, e);
+        }
+    }
+}
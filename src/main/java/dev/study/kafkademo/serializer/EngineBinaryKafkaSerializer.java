@@ -0,0 +1,23 @@
+package dev.study.kafkademo.serializer;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka 값 직렬화 - EngineBinaryCodec 포맷
+ */
+public class EngineBinaryKafkaSerializer implements Serializer<EngineSample> {
+
+    @Override
+    public byte[] serialize(String topic, EngineSample sample) {
+        if (sample == null) {
+            return null;
+        }
+        try {
+            return EngineBinaryCodec.encode(sample);
+        } catch (RuntimeException e) {
+            throw new SerializationException("EngineSample 바이너리 직렬화 실패: topic = " + topic, e);
+        }
+    }
+}
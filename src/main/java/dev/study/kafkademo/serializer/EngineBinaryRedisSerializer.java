@@ -0,0 +1,40 @@
+package dev.study.kafkademo.serializer;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Redis 값 직렬화 - EngineBinaryCodec 포맷
+ */
+public class EngineBinaryRedisSerializer implements RedisSerializer<EngineSample> {
+
+    @Override
+    public byte[] serialize(EngineSample sample) throws SerializationException {
+        if (sample == null) {
+            return null;
+        }
+        try {
+            return EngineBinaryCodec.encode(sample);
+        } catch (RuntimeException e) {
+            throw new SerializationException("EngineSample 바이너리 직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public EngineSample deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try {
+            return EngineBinaryCodec.decode(bytes);
+        } catch (RuntimeException e) {
+            throw new SerializationException("EngineSample 바이너리 역직렬화 실패", e);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return EngineSample.class;
+    }
+}
@@ -0,0 +1,19 @@
+package dev.study.kafkademo.streams;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+
+/**
+ * 이벤트 시각 추출 - 샘플 타임스탬프(epoch micros)를 윈도우 기준 시각으로 사용하고, 없으면 레코드 타임스탬프 사용
+ */
+public class EngineSampleTimestampExtractor implements TimestampExtractor {
+
+    @Override
+    public long extract(ConsumerRecord<Object, Object> record, long partitionTime) {
+        if (record.value() instanceof EngineSample sample && sample.has(EngineSample.HAS_TIMESTAMP)) {
+            return sample.getTimestampMicros() / 1_000L;
+        }
+        return record.timestamp() >= 0 ? record.timestamp() : partitionTime;
+    }
+}
@@ -0,0 +1,86 @@
+package dev.study.kafkademo.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.config.ConditionalOnStreamModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.serializer.EngineBinaryKafkaDeserializer;
+import dev.study.kafkademo.serializer.EngineBinaryKafkaSerializer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+
+/**
+ * Kafka Streams 윈도우 집계 설정
+ * engine.streams.enabled=true 일 때만 활성화 (spring.kafka.streams.* 로 application-id, state-dir 지정)
+ */
+@Configuration
+@EnableKafkaStreams
+@Slf4j
+@ConditionalOnProperty(name = "engine.streams.enabled", havingValue = "true")
+@ConditionalOnStreamModule
+public class EngineStreamsConfig {
+
+    @Value("${engine.streams.tumbling-topic:engine-stats-1m}")
+    private String tumblingTopic;
+
+    @Value("${engine.streams.hopping-topic:engine-stats-5m}")
+    private String hoppingTopic;
+
+    @Value("${engine.streams.output-partitions:3}")
+    private int outputPartitions;
+
+    @Bean
+    public KStream<String, EngineSample> engineWindowStream(
+            StreamsBuilder streamsBuilder,
+            ObjectMapper objectMapper,
+            @Value("${engine.serialization.format:json}") String serializationFormat,
+            @Value("${engine.streams.input-topic:engine}") String inputTopic,
+            @Value("${engine.streams.keyed-by-engine:true}") boolean keyedByEngine,
+            @Value("${engine.streams.grace-ms:10000}") long graceMillis) {
+        log.info("엔진 윈도우 집계 토폴로지 구성: 입력 = {}, 포맷 = {}, 출력 = {}, {}",
+                inputTopic, serializationFormat, tumblingTopic, hoppingTopic);
+        EngineWindowTopology topology = new EngineWindowTopology(
+                sampleSerde(serializationFormat, objectMapper),
+                aggregateSerde(objectMapper),
+                new EngineWindowTopology.Settings(inputTopic, keyedByEngine, Duration.ofMillis(graceMillis),
+                        tumblingTopic, hoppingTopic));
+        return topology.build(streamsBuilder);
+    }
+
+    @Bean
+    public NewTopic engineStatsTumblingTopic() {
+        return TopicBuilder.name(tumblingTopic).partitions(outputPartitions).compact().build();
+    }
+
+    @Bean
+    public NewTopic engineStatsHoppingTopic() {
+        return TopicBuilder.name(hoppingTopic).partitions(outputPartitions).compact().build();
+    }
+
+    /**
+     * engine 토픽 값 포맷(engine.serialization.format)에 맞춘 Serde
+     */
+    public static Serde<EngineSample> sampleSerde(String serializationFormat, ObjectMapper objectMapper) {
+        if ("binary".equalsIgnoreCase(serializationFormat)) {
+            return Serdes.serdeFrom(new EngineBinaryKafkaSerializer(), new EngineBinaryKafkaDeserializer());
+        }
+        // 프로듀서 JsonSerializer 의 타입 헤더는 무시하고 항상 EngineSample(EngineDto JSON)로 역직렬화
+        return new JsonSerde<>(EngineSample.class, objectMapper).noTypeInfo().ignoreTypeHeaders();
+    }
+
+    public static Serde<EngineWindowAggregate> aggregateSerde(ObjectMapper objectMapper) {
+        return new JsonSerde<>(EngineWindowAggregate.class, objectMapper).noTypeInfo().ignoreTypeHeaders();
+    }
+}
@@ -0,0 +1,21 @@
+package dev.study.kafkademo.streams;
+
+import dev.study.kafkademo.dto.MetricSummary;
+
+/**
+ * 엔진별 윈도우 집계 결과 (출력 토픽 값, JSON)
+ * 측정값이 윈도우 안에 한 번도 없으면 해당 요약은 null
+ *
+ * @param windowStart 윈도우 시작 (epoch millis, 포함)
+ * @param windowEnd   윈도우 끝 (epoch millis, 미포함)
+ * @param count       윈도우 내 샘플 수
+ */
+public record EngineWindowAggregate(String engineId,
+                                    long windowStart,
+                                    long windowEnd,
+                                    long count,
+                                    MetricSummary temperature,
+                                    MetricSummary rpm,
+                                    MetricSummary pressure,
+                                    MetricSummary fuelFlow) {
+}
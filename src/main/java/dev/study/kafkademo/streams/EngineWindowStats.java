@@ -0,0 +1,61 @@
+package dev.study.kafkademo.streams;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.dto.MetricAccumulator;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 윈도우 집계 상태 (RocksDB 윈도우 스토어 값) - 측정값별 Welford 누적은 MetricAccumulator
+ */
+public final class EngineWindowStats {
+
+    private final MetricAccumulator metrics;
+
+    public EngineWindowStats() {
+        this(new MetricAccumulator());
+    }
+
+    private EngineWindowStats(MetricAccumulator metrics) {
+        this.metrics = metrics;
+    }
+
+    public EngineWindowStats add(EngineSample sample) {
+        metrics.add(sample);
+        return this;
+    }
+
+    /**
+     * 출력 토픽용 요약 변환
+     */
+    public EngineWindowAggregate toAggregate(String engineId, long windowStartMillis, long windowEndMillis) {
+        long samples = 0;
+        for (int i = 0; i < MetricAccumulator.METRICS; i++) {
+            samples = Math.max(samples, metrics.count(i));
+        }
+        return new EngineWindowAggregate(engineId, windowStartMillis, windowEndMillis, samples,
+                metrics.summary(0), metrics.summary(1), metrics.summary(2), metrics.summary(3));
+    }
+
+    /**
+     * 고정 크기(160 bytes) 바이너리 Serde - 스토어/체인지로그 기록량을 JSON 대비 줄이기 위함
+     */
+    public static Serde<EngineWindowStats> serde() {
+        Serializer<EngineWindowStats> serializer = (topic, stats) -> {
+            if (stats == null) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(MetricAccumulator.SERIALIZED_SIZE);
+            stats.metrics.writeTo(buffer);
+            return buffer.array();
+        };
+        Deserializer<EngineWindowStats> deserializer = (topic, data) -> data == null
+                ? null
+                : new EngineWindowStats(MetricAccumulator.readFrom(ByteBuffer.wrap(data)));
+        return Serdes.serdeFrom(serializer, deserializer);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.study.kafkademo.streams;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.Produced;
+import org.apache.kafka.streams.kstream.Suppressed;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.WindowStore;
+
+import java.time.Duration;
+
+/**
+ * 엔진 윈도우 집계 토폴로지
+ * engine 토픽 → 엔진 ID 그룹 → 1분 tumbling / 5분(1분 간격) hopping 윈도우 집계 → 윈도우가 닫힐 때 한 번만 출력
+ * 출력 키는 엔진 ID, 윈도우 구간은 값(windowStart, windowEnd)에 포함 - compacted 토픽에는 엔진별 가장 최근에 닫힌 윈도우만 남음
+ * (윈도우마다 고유한 키를 쓰면 compaction 으로 지워지는 레코드가 없어 토픽이 계속 커짐)
+ */
+public class EngineWindowTopology {
+
+    public static final Duration TUMBLING_SIZE = Duration.ofMinutes(1);
+    public static final Duration HOPPING_SIZE = Duration.ofMinutes(5);
+    public static final Duration HOPPING_ADVANCE = Duration.ofMinutes(1);
+
+    private final Serde<EngineSample> sampleSerde;
+    private final Serde<EngineWindowAggregate> aggregateSerde;
+    private final Settings settings;
+
+    /**
+     * @param inputTopic    원본 샘플 토픽
+     * @param keyedByEngine 입력 키가 이미 엔진 ID 인지 여부 (true 면 재파티션 없이 groupByKey)
+     * @param grace         늦게 도착한 샘플 허용 시간 - 윈도우 종료 후 이 시간이 지나야 결과 출력
+     */
+    public record Settings(String inputTopic,
+                           boolean keyedByEngine,
+                           Duration grace,
+                           String tumblingTopic,
+                           String hoppingTopic) {
+    }
+
+    public EngineWindowTopology(Serde<EngineSample> sampleSerde,
+                                Serde<EngineWindowAggregate> aggregateSerde,
+                                Settings settings) {
+        this.sampleSerde = sampleSerde;
+        this.aggregateSerde = aggregateSerde;
+        this.settings = settings;
+    }
+
+    public KStream<String, EngineSample> build(StreamsBuilder builder) {
+        KStream<String, EngineSample> samples = builder.stream(settings.inputTopic(),
+                Consumed.with(Serdes.String(), sampleSerde)
+                        .withTimestampExtractor(new EngineSampleTimestampExtractor()));
+
+        KStream<String, EngineSample> valid = samples.filter((key, sample) -> sample != null
+                && sample.getEngineId() != null);
+        KGroupedStream<String, EngineSample> byEngine = settings.keyedByEngine()
+                ? valid.groupByKey(Grouped.with(Serdes.String(), sampleSerde))
+                : valid.groupBy((key, sample) -> sample.getEngineId(),
+                        Grouped.with("engine-by-id", Serdes.String(), sampleSerde));
+
+        aggregate(byEngine, TimeWindows.ofSizeAndGrace(TUMBLING_SIZE, settings.grace()),
+                "engine-stats-1m-store", settings.tumblingTopic());
+        aggregate(byEngine, TimeWindows.ofSizeAndGrace(HOPPING_SIZE, settings.grace()).advanceBy(HOPPING_ADVANCE),
+                "engine-stats-5m-store", settings.hoppingTopic());
+        return samples;
+    }
+
+    private void aggregate(KGroupedStream<String, EngineSample> byEngine, TimeWindows windows,
+                           String storeName, String outputTopic) {
+        byEngine.windowedBy(windows)
+                .aggregate(EngineWindowStats::new,
+                        (engineId, sample, stats) -> stats.add(sample),
+                        Materialized.<String, EngineWindowStats, WindowStore<Bytes, byte[]>>as(storeName)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(EngineWindowStats.serde())
+                                .withRetention(Duration.ofMillis(windows.size() + windows.gracePeriodMs())))
+                .suppress(Suppressed.untilWindowCloses(Suppressed.BufferConfig.unbounded())
+                        .withName(storeName + "-final"))
+                .toStream()
+                .map(EngineWindowTopology::toOutput)
+                .to(outputTopic, Produced.with(Serdes.String(), aggregateSerde));
+    }
+
+    private static KeyValue<String, EngineWindowAggregate> toOutput(Windowed<String> window, EngineWindowStats stats) {
+        String engineId = window.key();
+        long start = window.window().start();
+        return KeyValue.pair(engineId, stats.toAggregate(engineId, start, window.window().end()));
+    }
+}
@@ -0,0 +1,68 @@
+package dev.study.kafkademo.telemetry;
+
+import dev.study.kafkademo.dto.EngineSample;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 엔진 하나의 최근 샘플 링 버퍼
+ * 쓰기는 telemetry 레인 드레인 스레드, 읽기는 HTTP 스레드에서 일어나므로 버퍼 단위로 동기화 (엔진 간 경합 없음)
+ */
+public class EngineTelemetryBuffer {
+
+    private final EngineSample[] ring;
+    private int next;
+    private int size;
+    private volatile long lastUpdatedNanos;
+
+    public EngineTelemetryBuffer(int capacity) {
+        this.ring = new EngineSample[capacity];
+        this.lastUpdatedNanos = System.nanoTime();
+    }
+
+    public synchronized void add(EngineSample sample) {
+        ring[next] = sample;
+        next = (next + 1) % ring.length;
+        if (size < ring.length) {
+            size++;
+        }
+        lastUpdatedNanos = System.nanoTime();
+    }
+
+    public synchronized EngineSample latest() {
+        return size == 0 ? null : ring[(next - 1 + ring.length) % ring.length];
+    }
+
+    /**
+     * 최근 limit 개 샘플 (오래된 순)
+     */
+    public synchronized List<EngineSample> last(int limit) {
+        int count = Math.min(Math.max(limit, 0), size);
+        List<EngineSample> samples = new ArrayList<>(count);
+        int start = next - count + ring.length;
+        for (int i = 0; i < count; i++) {
+            samples.add(ring[(start + i) % ring.length]);
+        }
+        return samples;
+    }
+
+    /**
+     * sinceMicros 이후 샘플의 집계 (최신 샘플부터 거슬러 올라가며 누적)
+     */
+    public synchronized TelemetryStats stats(String engineId, long sinceMicros) {
+        TelemetryStats.Accumulator accumulator = new TelemetryStats.Accumulator();
+        for (int i = 1; i <= size; i++) {
+            EngineSample sample = ring[(next - i + ring.length) % ring.length];
+            if (sample.getTimestampMicros() < sinceMicros) {
+                break;
+            }
+            accumulator.add(sample);
+        }
+        return accumulator.toStats(engineId);
+    }
+
+    public long lastUpdatedNanos() {
+        return lastUpdatedNanos;
+    }
+}
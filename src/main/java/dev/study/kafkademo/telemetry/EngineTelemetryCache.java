@@ -0,0 +1,150 @@
+package dev.study.kafkademo.telemetry;
+
+import dev.study.kafkademo.config.ConditionalOnIngestModule;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최근 엔진 텔레메트리 읽기 캐시
+ * 수집 파이프라인의 telemetry 레인에서 직접 채우므로 Redis 스테이징/DB 적재 지연과 무관하고, 대시보드 조회는 DB 를 거치지 않음
+ * 메모리 상한: 엔진 수(max-engines) x 엔진당 샘플 수(samples-per-engine), idle-ttl 동안 갱신 없는 엔진은 제거
+ * 조회는 ConcurrentHashMap, 갱신 순서는 access-order LinkedHashMap 으로 관리해 상한/유휴 제거가 가장 오래된 엔진부터 O(1)
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "engine.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+@ConditionalOnIngestModule
+public class EngineTelemetryCache implements EngineDataSink {
+
+    private final Map<String, EngineTelemetryBuffer> buffers = new ConcurrentHashMap<>();
+    // 갱신 순서 (가장 오래 갱신되지 않은 엔진이 맨 앞) - 자체 모니터로 동기화
+    private final LinkedHashMap<String, EngineTelemetryBuffer> updateOrder = new LinkedHashMap<>(16, 0.75f, true);
+    private final int samplesPerEngine;
+    private final int maxEngines;
+    private final long idleTtlNanos;
+    private final Counter evicted;
+
+    public EngineTelemetryCache(MeterRegistry meterRegistry,
+                                @Value("${engine.telemetry.samples-per-engine:300}") int samplesPerEngine,
+                                @Value("${engine.telemetry.max-engines:10000}") int maxEngines,
+                                @Value("${engine.telemetry.idle-ttl-ms:600000}") long idleTtlMillis) {
+        this.samplesPerEngine = samplesPerEngine;
+        this.maxEngines = maxEngines;
+        this.idleTtlNanos = TimeUnit.MILLISECONDS.toNanos(idleTtlMillis);
+        this.evicted = Counter.builder("engine.telemetry.evicted").register(meterRegistry);
+        Gauge.builder("engine.telemetry.engines", buffers, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "telemetry";
+    }
+
+    @Override
+    public void handleBatch(List<EngineDataReceivedEvent> batch) {
+        for (EngineDataReceivedEvent event : batch) {
+            add(event.getSample());
+        }
+    }
+
+    public void add(EngineSample sample) {
+        if (sample.getEngineId() == null) {
+            return;
+        }
+        EngineTelemetryBuffer buffer;
+        synchronized (updateOrder) {
+            buffer = updateOrder.get(sample.getEngineId());
+            if (buffer == null) {
+                if (updateOrder.size() >= maxEngines) {
+                    evictLeastRecentlyUpdated();
+                }
+                buffer = new EngineTelemetryBuffer(samplesPerEngine);
+                updateOrder.put(sample.getEngineId(), buffer);
+                buffers.put(sample.getEngineId(), buffer);
+            }
+        }
+        buffer.add(sample);
+    }
+
+    public Set<String> engineIds() {
+        return buffers.keySet();
+    }
+
+    public Optional<EngineSample> latest(String engineId) {
+        return Optional.ofNullable(buffers.get(engineId)).map(EngineTelemetryBuffer::latest);
+    }
+
+    public Optional<List<EngineSample>> last(String engineId, int limit) {
+        return Optional.ofNullable(buffers.get(engineId)).map(buffer -> buffer.last(limit));
+    }
+
+    /**
+     * 최근 windowSeconds 초 구간 집계 - 기준 시각은 해당 엔진의 최신 샘플 시각
+     */
+    public Optional<TelemetryStats> stats(String engineId, long windowSeconds) {
+        EngineTelemetryBuffer buffer = buffers.get(engineId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        EngineSample latest = buffer.latest();
+        long sinceMicros = latest == null ? Long.MIN_VALUE
+                : latest.getTimestampMicros() - TimeUnit.SECONDS.toMicros(windowSeconds);
+        return Optional.of(buffer.stats(engineId, sinceMicros));
+    }
+
+    /**
+     * idle-ttl 동안 갱신이 없는 엔진 제거 - 갱신 순서 앞쪽부터 보고 유휴가 아닌 엔진을 만나면 중단
+     */
+    @Scheduled(fixedDelayString = "${engine.telemetry.eviction-interval-ms:60000}")
+    public void evictIdleEngines() {
+        long now = System.nanoTime();
+        int removed = 0;
+        synchronized (updateOrder) {
+            Iterator<Map.Entry<String, EngineTelemetryBuffer>> iterator = updateOrder.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, EngineTelemetryBuffer> entry = iterator.next();
+                if (now - entry.getValue().lastUpdatedNanos() <= idleTtlNanos) {
+                    break;
+                }
+                iterator.remove();
+                buffers.remove(entry.getKey());
+                removed++;
+            }
+        }
+        if (removed > 0) {
+            evicted.increment(removed);
+            log.info("유휴 엔진 텔레메트리 제거: {}건, 남은 엔진 = {}", removed, buffers.size());
+        }
+    }
+
+    /**
+     * 엔진 수 상한 도달 시 가장 오래 갱신되지 않은 엔진 제거 (새 엔진 등록 시에만 발생, updateOrder 락 보유 상태)
+     */
+    private void evictLeastRecentlyUpdated() {
+        Iterator<Map.Entry<String, EngineTelemetryBuffer>> iterator = updateOrder.entrySet().iterator();
+        if (iterator.hasNext()) {
+            String oldest = iterator.next().getKey();
+            iterator.remove();
+            buffers.remove(oldest);
+            evicted.increment();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.study.kafkademo.telemetry;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.dto.MetricAccumulator;
+import dev.study.kafkademo.dto.MetricSummary;
+
+/**
+ * 캐시 구간 집계 (최소/최대/평균/모표준편차)
+ * 측정값이 구간 안에 한 번도 없으면 해당 요약은 null
+ */
+public record TelemetryStats(String engineId,
+                             long count,
+                             long fromMicros,
+                             long toMicros,
+                             MetricSummary temperature,
+                             MetricSummary rpm,
+                             MetricSummary pressure,
+                             MetricSummary fuelFlow) {
+
+    /**
+     * 샘플 수/시각 범위 + 측정값별 MetricAccumulator
+     */
+    static final class Accumulator {
+        private long samples;
+        private long fromMicros = Long.MAX_VALUE;
+        private long toMicros = Long.MIN_VALUE;
+        private final MetricAccumulator metrics = new MetricAccumulator();
+
+        void add(EngineSample sample) {
+            samples++;
+            fromMicros = Math.min(fromMicros, sample.getTimestampMicros());
+            toMicros = Math.max(toMicros, sample.getTimestampMicros());
+            metrics.add(sample);
+        }
+
+        TelemetryStats toStats(String engineId) {
+            return new TelemetryStats(engineId, samples,
+                    samples == 0 ? 0 : fromMicros, samples == 0 ? 0 : toMicros,
+                    metrics.summary(0), metrics.summary(1), metrics.summary(2), metrics.summary(3));
+        }
+    }
+}
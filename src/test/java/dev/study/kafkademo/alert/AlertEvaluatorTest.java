@@ -0,0 +1,93 @@
+package dev.study.kafkademo.alert;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertEvaluatorTest {
+
+    private final List<EngineAlert> alerts = new ArrayList<>();
+
+    @Test
+    void raisesOnceAndClearsOnlyBelowHysteresisBand() {
+        AlertEvaluator evaluator = evaluator(1);
+
+        evaluate(evaluator, "engine-1", 351, 7000);
+        evaluate(evaluator, "engine-1", 360, 7000);
+        evaluate(evaluator, "engine-1", 348, 7000);
+        assertThat(alerts).extracting(EngineAlert::state).containsExactly(AlertState.RAISED);
+
+        evaluate(evaluator, "engine-1", 344, 7000);
+        assertThat(alerts).extracting(EngineAlert::state).containsExactly(AlertState.RAISED, AlertState.CLEARED);
+        assertThat(alerts.get(1).threshold()).isEqualTo(345);
+        assertThat(evaluator.activeAlerts()).isZero();
+    }
+
+    @Test
+    void debounceRequiresConsecutiveBreaches() {
+        AlertEvaluator evaluator = evaluator(3);
+
+        evaluate(evaluator, "engine-1", 300, 8100);
+        evaluate(evaluator, "engine-1", 300, 8100);
+        evaluate(evaluator, "engine-1", 300, 7000);
+        evaluate(evaluator, "engine-1", 300, 8100);
+        evaluate(evaluator, "engine-1", 300, 8100);
+        assertThat(alerts).isEmpty();
+
+        evaluate(evaluator, "engine-1", 300, 8100);
+        assertThat(alerts).extracting(EngineAlert::metric).containsExactly(AlertMetric.RPM);
+        assertThat(alerts.get(0).value()).isEqualTo(8100);
+    }
+
+    @Test
+    void tracksEachEngineIndependentlyAndSkipsMissingValues() {
+        AlertEvaluator evaluator = evaluator(1);
+
+        evaluate(evaluator, "engine-1", 400, 7000);
+        evaluate(evaluator, "engine-2", 400, 7000);
+        evaluator.evaluate(new EngineSample("engine-1", 0, 0, 0, 0, 0, EngineSample.HAS_TIMESTAMP), 0,
+                alerts::add);
+
+        assertThat(alerts).extracting(EngineAlert::engineId).containsExactly("engine-1", "engine-2");
+        assertThat(evaluator.activeAlerts()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsIdleEnginesAndReleasesTheirActiveAlerts() {
+        AlertEvaluator evaluator = evaluator(1);
+
+        evaluate(evaluator, "engine-1", 400, 8100, 100);
+        evaluate(evaluator, "engine-2", 400, 7000, 200);
+        assertThat(evaluator.activeAlerts()).isEqualTo(3);
+
+        assertThat(evaluator.evictIdle(150)).isEqualTo(1);
+        assertThat(evaluator.engines()).isEqualTo(1);
+        assertThat(evaluator.activeAlerts()).isEqualTo(1);
+
+        // 제거된 엔진이 다시 들어오면 새 상태에서 다시 발생
+        evaluate(evaluator, "engine-1", 400, 7000, 300);
+        assertThat(alerts).extracting(EngineAlert::engineId).containsExactly("engine-1", "engine-1", "engine-2",
+                "engine-1");
+        assertThat(evaluator.activeAlerts()).isEqualTo(2);
+    }
+
+    private static AlertEvaluator evaluator(int debounceSamples) {
+        return new AlertEvaluator(List.of(
+                new AlertRule(AlertMetric.TEMPERATURE, 350, 345, debounceSamples),
+                new AlertRule(AlertMetric.RPM, 8000, 7900, debounceSamples)));
+    }
+
+    private void evaluate(AlertEvaluator evaluator, String engineId, double temperature, double rpm) {
+        evaluate(evaluator, engineId, temperature, rpm, 0);
+    }
+
+    private void evaluate(AlertEvaluator evaluator, String engineId, double temperature, double rpm,
+                          long nowNanos) {
+        evaluator.evaluate(EngineSample.of(engineId, temperature, rpm, 14.7, 1.2, EngineSample.nowMicros()),
+                nowNanos, alerts::add);
+    }
+}
@@ -0,0 +1,84 @@
+package dev.study.kafkademo.alert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.overload.PriorityEngineRegistry;
+import dev.study.kafkademo.pipeline.LaneSettings;
+import dev.study.kafkademo.pipeline.OverflowPolicy;
+import dev.study.kafkademo.pipeline.PipelineLane;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 지속 부하에서 샘플 수신 ~ 알림 발행(Redis PUBLISH 완료) p99 측정
+ * 실행: ./gradlew benchmarkTest --tests '*AlertLatencyBenchmarkTest'
+ */
+@Tag("benchmark")
+class AlertLatencyBenchmarkTest {
+
+    private static final int ENGINES = 500;
+    private static final int SAMPLES_PER_SECOND = 50_000;
+    private static final int SECONDS = 10;
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void sampleToAlertP99StaysUnderOneSecond() {
+        try (EmbeddedRedis redis = new EmbeddedRedis("binary")) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            ObjectMapper objectMapper = new ObjectMapper();
+            AlertSink sink = new AlertSink(
+                    new RedisAlertPublisher(redis.stringTemplate(), objectMapper, "engine:alerts"),
+                    new PriorityEngineRegistry(meterRegistry, 30_000), meterRegistry, 350, 345, 8000, 7900, 1,
+                    600_000, 60_000);
+            PipelineLane lane = new PipelineLane(sink,
+                    new LaneSettings(10_000, 100, 0, OverflowPolicy.DROP_OLDEST, 10, spillDirectory),
+                    meterRegistry, objectMapper);
+            lane.start();
+
+            int total = SAMPLES_PER_SECOND * SECONDS;
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / SAMPLES_PER_SECOND;
+            long start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                long due = start + i * intervalNanos;
+                while (System.nanoTime() < due) {
+                    LockSupport.parkNanos(1_000);
+                }
+                // 엔진마다 매 라운드 임계치 위/아래를 번갈아 오가도록 해 샘플의 절반이 알림 전이를 일으킴
+                int round = i / ENGINES;
+                double temperature = round % 2 == 0 ? 360 : 300;
+                lane.offer(new EngineDataReceivedEvent(EngineSample.of("engine-" + (i % ENGINES),
+                        temperature, 7000, 14.7, 1.2, EngineSample.nowMicros())));
+            }
+
+            await().atMost(Duration.ofSeconds(10))
+                    .until(() -> lane.deliveredCount() + lane.droppedCount() == total);
+            lane.stop(1_000);
+
+            long alerts = sink.latency().count();
+            List<ValueAtPercentile> percentiles = List.of(sink.latency().takeSnapshot().percentileValues());
+            double p50 = percentiles.get(0).value(TimeUnit.MILLISECONDS);
+            double p99 = percentiles.get(1).value(TimeUnit.MILLISECONDS);
+            System.out.printf("alerts %,d  dropped %,d  p50 %.2f ms  p99 %.2f ms  max %.2f ms%n",
+                    alerts, lane.droppedCount(), p50, p99, sink.latency().max(TimeUnit.MILLISECONDS));
+
+            assertThat(alerts).isPositive();
+            assertThat(p99).isLessThan(1_000);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package dev.study.kafkademo.anomaly;
+
+import dev.study.kafkademo.dto.EngineSample;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AnomalyDetectorTest {
+
+    private static final long BASE_MICROS = 1_700_000_000_000_000L;
+    private static final long SECOND_MICROS = 1_000_000L;
+
+    private final List<EngineAnomaly> anomalies = new ArrayList<>();
+
+    @Test
+    void flagsLevelSpikeAfterWarmupOnly() {
+        AnomalyDetector detector = new AnomalyDetector(0.1, 10, 4.0, 1_000, 100);
+
+        // 300 ± 1 진동 - 표준편차 약 1
+        for (int i = 0; i < 20; i++) {
+            evaluate(detector, "engine-1", 300 + (i % 2 == 0 ? 1 : -1), 7000, i);
+        }
+        assertThat(anomalies).isEmpty();
+
+        evaluate(detector, "engine-1", 320, 7000, 20);
+
+        assertThat(anomalies).singleElement().satisfies(anomaly -> {
+            assertThat(anomaly.metric()).isEqualTo(AnomalyMetric.TEMPERATURE);
+            assertThat(anomaly.kind()).isEqualTo(EngineAnomaly.Kind.LEVEL);
+            assertThat(anomaly.value()).isEqualTo(320);
+            assertThat(anomaly.zScore()).isGreaterThan(4.0);
+            // 직전 샘플 299 에서 1초 만에 +21
+            assertThat(anomaly.ratePerSecond()).isCloseTo(21.0, within(1e-9));
+        });
+    }
+
+    @Test
+    void flagsFastRateOfChangeBelowLevelThreshold() {
+        AnomalyDetector detector = new AnomalyDetector(0.1, 10, 100, 2.5, 100);
+
+        for (int i = 0; i < 20; i++) {
+            evaluate(detector, "engine-1", 300 + (i % 2 == 0 ? 1 : -1), 7000, i);
+        }
+        // 평소 변화량은 초당 2 (표준편차의 약 1.9배) - 1초 안에 +3 (약 2.9배)은 수준은 정상이지만 변화율 이상
+        evaluate(detector, "engine-1", 302, 7000, 20);
+
+        assertThat(anomalies).extracting(EngineAnomaly::kind).containsExactly(EngineAnomaly.Kind.RATE);
+    }
+
+    @Test
+    void keepsIndependentStatePerEngineUpToLimit() {
+        AnomalyDetector detector = new AnomalyDetector(0.1, 5, 4.0, 1_000, 2);
+
+        for (int i = 0; i < 10; i++) {
+            evaluate(detector, "engine-1", 300 + (i % 2), 7000, i);
+            evaluate(detector, "engine-2", 500 + (i % 2), 7000, i);
+        }
+        // engine-2 기준으로는 정상이지만 engine-1 기준으로는 이상
+        evaluate(detector, "engine-1", 500, 7000, 10);
+        evaluate(detector, "engine-2", 500, 7000, 10);
+
+        assertThat(anomalies).extracting(EngineAnomaly::engineId).containsExactly("engine-1");
+        assertThat(detector.evaluate(sample("engine-3", 300, 7000, 0), anomalies::add)).isFalse();
+        assertThat(detector.engines()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsIdleEnginesAndReusesTheirSlotsWithFreshState() {
+        AnomalyDetector detector = new AnomalyDetector(0.1, 5, 4.0, 1_000, 2);
+
+        for (int i = 0; i < 10; i++) {
+            detector.evaluate(sample("engine-1", 300 + (i % 2), 7000, i), 100, anomalies::add);
+            detector.evaluate(sample("engine-2", 500 + (i % 2), 7000, i), 200, anomalies::add);
+        }
+        assertThat(detector.evaluate(sample("engine-3", 300, 7000, 0), 200, anomalies::add)).isFalse();
+
+        assertThat(detector.evictIdle(150)).isEqualTo(1);
+        assertThat(detector.engines()).isEqualTo(1);
+
+        // engine-1 의 슬롯을 재사용 - engine-1 통계가 남아 있었다면 500 은 이상으로 판정됨
+        for (int i = 0; i < 5; i++) {
+            assertThat(detector.evaluate(sample("engine-3", 500 + (i % 2), 7000, i), 300, anomalies::add)).isTrue();
+        }
+        assertThat(detector.evaluate(sample("engine-4", 300, 7000, 0), 300, anomalies::add)).isFalse();
+        assertThat(anomalies).isEmpty();
+        assertThat(detector.engines()).isEqualTo(2);
+    }
+
+    private void evaluate(AnomalyDetector detector, String engineId, double temperature, double rpm, int second) {
+        detector.evaluate(sample(engineId, temperature, rpm, second), anomalies::add);
+    }
+
+    private static EngineSample sample(String engineId, double temperature, double rpm, int second) {
+        return EngineSample.of(engineId, temperature, rpm, 14.7, 1.2, BASE_MICROS + second * SECOND_MICROS);
+    }
+}
@@ -0,0 +1,160 @@
+package dev.study.kafkademo.archive;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.repository.bulk.JdbcEngineBulkWriter;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * engines 테이블(PostgreSQL) vs 열 단위 압축 아카이브 비교 (임베디드 PostgreSQL, 엔진 300대 x 1시간 = 108만 행)
+ * 저장 크기(테이블 + 인덱스 vs 파일), 전체 10분 구간 스캔, 엔진 1대 1시간 스캔 시간 출력
+ * 측정값은 엔진별 random walk (실제 텔레메트리처럼 인접 샘플 간 변화가 작음)
+ * 실행: ./gradlew benchmarkTest --tests '*EngineArchiveBenchmarkTest'
+ */
+@Tag("benchmark")
+class EngineArchiveBenchmarkTest {
+
+    private static final int ENGINES = 300;
+    private static final int SECONDS = 3_600;
+    private static final int BATCH_SIZE = 5_000;
+    private static final int QUERIES = 20;
+    // 2026-01-01T00:00:00Z
+    private static final long START_MICROS = 1_767_225_600_000_000L;
+    private static final long SECOND_MICROS = 1_000_000L;
+
+    private static final String RANGE_SQL = "SELECT engine_id, temperature, rpm, pressure, fuel_flow, \"timestamp\""
+            + " FROM engines WHERE \"timestamp\" >= ? AND \"timestamp\" < ?";
+    private static final String ENGINE_RANGE_SQL = RANGE_SQL + " AND engine_id = ? ORDER BY \"timestamp\"";
+
+    @TempDir
+    Path archiveRoot;
+
+    @Test
+    void comparePostgresTableAndColumnarArchive() throws Exception {
+        List<List<EngineSample>> batches = generate();
+        long rows = (long) ENGINES * SECONDS;
+
+        try (EmbeddedPostgresEngines postgres = new EmbeddedPostgresEngines()) {
+            JdbcTemplate jdbcTemplate = postgres.jdbcTemplate();
+            postgres.recreateEnginesTable();
+            jdbcTemplate.execute("CREATE INDEX idx_engine_timestamp ON engines (\"timestamp\")");
+            JdbcEngineBulkWriter bulkWriter = new JdbcEngineBulkWriter(jdbcTemplate);
+
+            long loadStart = System.nanoTime();
+            batches.forEach(bulkWriter::write);
+            jdbcTemplate.execute("VACUUM ANALYZE engines");
+            double loadSeconds = seconds(loadStart);
+            Long tableBytes = jdbcTemplate.queryForObject("SELECT pg_total_relation_size('engines')", Long.class);
+
+            long scanStart = System.nanoTime();
+            long scanned = 0;
+            for (int i = 0; i < QUERIES; i++) {
+                long from = START_MICROS + (i % 6) * 600 * SECOND_MICROS;
+                AtomicLong count = new AtomicLong();
+                jdbcTemplate.query(RANGE_SQL, row -> {
+                    count.incrementAndGet();
+                }, EngineSample.toLocalDateTime(from), EngineSample.toLocalDateTime(from + 600 * SECOND_MICROS));
+                scanned += count.get();
+            }
+            double rangeMillis = seconds(scanStart) * 1_000 / QUERIES;
+
+            long engineStart = System.nanoTime();
+            for (int i = 0; i < QUERIES; i++) {
+                jdbcTemplate.queryForList(ENGINE_RANGE_SQL, EngineSample.toLocalDateTime(START_MICROS),
+                        EngineSample.toLocalDateTime(START_MICROS + SECONDS * SECOND_MICROS), "engine-" + i);
+            }
+            double engineMillis = seconds(engineStart) * 1_000 / QUERIES;
+
+            assertThat(scanned).isEqualTo(rows / 6 * QUERIES);
+            print("postgres", loadSeconds, tableBytes, rows, rangeMillis, engineMillis);
+        }
+
+        EngineArchiveWriter writer = new EngineArchiveWriter(new SimpleMeterRegistry(), archiveRoot,
+                64 * 1024 * 1024, 600_000, 6);
+        long loadStart = System.nanoTime();
+        batches.forEach(writer::append);
+        writer.close();
+        double loadSeconds = seconds(loadStart);
+        long archiveBytes;
+        try (Stream<Path> files = Files.walk(archiveRoot)) {
+            archiveBytes = files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+
+        EngineArchiveReader reader = new EngineArchiveReader(archiveRoot);
+        long scanStart = System.nanoTime();
+        long scanned = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            long from = START_MICROS + (i % 6) * 600 * SECOND_MICROS;
+            scanned += reader.scan(null, from, from + 600 * SECOND_MICROS).count().block();
+        }
+        double rangeMillis = seconds(scanStart) * 1_000 / QUERIES;
+
+        long engineStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            reader.scan("engine-" + i, START_MICROS, START_MICROS + SECONDS * SECOND_MICROS).collectList().block();
+        }
+        double engineMillis = seconds(engineStart) * 1_000 / QUERIES;
+
+        assertThat(scanned).isEqualTo(rows / 6 * QUERIES);
+        print("archive", loadSeconds, archiveBytes, rows, rangeMillis, engineMillis);
+    }
+
+    /**
+     * 수집 순서대로(초마다 모든 엔진) 만든 샘플을 적재 배치 크기로 분할
+     */
+    private static List<List<EngineSample>> generate() {
+        SplittableRandom random = new SplittableRandom(7);
+        long[][] walk = new long[ENGINES][];
+        for (int e = 0; e < ENGINES; e++) {
+            walk[e] = new long[]{30_000 + random.nextInt(2_000), 700_000 + random.nextInt(50_000),
+                    147_000 + random.nextInt(1_000), 12_000 + random.nextInt(500)};
+        }
+
+        List<List<EngineSample>> batches = new ArrayList<>();
+        List<EngineSample> batch = new ArrayList<>(BATCH_SIZE);
+        for (int s = 0; s < SECONDS; s++) {
+            for (int e = 0; e < ENGINES; e++) {
+                long[] values = walk[e];
+                values[0] += random.nextInt(-20, 21);
+                values[1] += random.nextInt(-500, 501);
+                values[2] += random.nextInt(-10, 11);
+                values[3] += random.nextInt(-5, 6);
+                batch.add(new EngineSample("engine-" + e, values[0], values[1], values[2], values[3],
+                        START_MICROS + s * SECOND_MICROS, EngineSample.HAS_ALL));
+                if (batch.size() == BATCH_SIZE) {
+                    batches.add(batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void print(String label, double loadSeconds, long bytes, long rows, double rangeMillis,
+                              double engineMillis) {
+        System.out.printf("%-9s load %6.1f s  size %,8.1f MB (%5.1f bytes/row)  10 min all engines %8.1f ms  "
+                        + "1 engine 1 h %7.1f ms%n",
+                label, loadSeconds, bytes / 1024.0 / 1024.0, (double) bytes / rows, rangeMillis, engineMillis);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,108 @@
+package dev.study.kafkademo.archive;
+
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineArchiveTest {
+
+    // 2026-01-01T10:00:00Z
+    private static final long BASE_MICROS = 1_767_261_600_000_000L;
+    private static final long SECOND_MICROS = 1_000_000L;
+    private static final long HOUR_MICROS = 3_600 * SECOND_MICROS;
+
+    @TempDir
+    Path root;
+
+    @Test
+    void roundTripsSamplesAcrossHourPartitions() {
+        EngineArchiveWriter writer = writer(64 * 1024 * 1024);
+        // 10:59:00 ~ 11:00:59 - 두 시간 파티션에 걸친 배치
+        List<EngineSample> samples = samples(3, BASE_MICROS + 59 * 60 * SECOND_MICROS, 120);
+        writer.append(samples.subList(0, 200));
+        writer.append(samples.subList(200, samples.size()));
+        writer.close();
+
+        EngineArchiveReader reader = new EngineArchiveReader(root);
+        List<EngineSample> all = reader.scan(null, BASE_MICROS, BASE_MICROS + 2 * HOUR_MICROS).collectList().block();
+
+        assertThat(all).hasSize(samples.size());
+        assertThat(all).extracting(EngineArchiveTest::key)
+                .containsExactlyInAnyOrderElementsOf(samples.stream().map(EngineArchiveTest::key).toList());
+        assertThat(Files.exists(root.resolve("2026-01-01").resolve("10"))).isTrue();
+        assertThat(Files.exists(root.resolve("2026-01-01").resolve("11"))).isTrue();
+    }
+
+    @Test
+    void scansOnlyRequestedEngineAndRange() {
+        EngineArchiveWriter writer = writer(64 * 1024 * 1024);
+        writer.append(samples(3, BASE_MICROS, 600));
+        writer.close();
+
+        long from = BASE_MICROS + 100 * SECOND_MICROS;
+        long to = BASE_MICROS + 200 * SECOND_MICROS;
+        List<EngineSample> scanned = new EngineArchiveReader(root).scan("engine-1", from, to).collectList().block();
+
+        assertThat(scanned).hasSize(100);
+        assertThat(scanned).allSatisfy(sample -> {
+            assertThat(sample.getEngineId()).isEqualTo("engine-1");
+            assertThat(sample.getTimestampMicros()).isBetween(from, to - 1);
+        });
+        assertThat(scanned.get(0).getTemperatureScaled()).isEqualTo(30_000 + 1 * 7 + 100 % 50);
+    }
+
+    @Test
+    void rollsFilesBySizeAndToleratesTruncatedTail() throws IOException {
+        EngineArchiveWriter writer = writer(1024);
+        for (int batch = 0; batch < 10; batch++) {
+            writer.append(samples(5, BASE_MICROS + batch * 60 * SECOND_MICROS, 60));
+        }
+        writer.close();
+
+        EngineArchiveReader reader = new EngineArchiveReader(root);
+        List<Path> files = reader.files(BASE_MICROS, BASE_MICROS + HOUR_MICROS);
+        assertThat(files).hasSizeGreaterThan(1);
+
+        // 마지막 파일의 마지막 블록을 잘라 프로세스 중단 상황 재현
+        Path last = files.get(files.size() - 1);
+        long size = Files.size(last);
+        try (SeekableByteChannel channel = Files.newByteChannel(last, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 10);
+        }
+
+        Long count = reader.scan(null, BASE_MICROS, BASE_MICROS + HOUR_MICROS).count().block();
+        assertThat(count).isLessThan(3_000L).isGreaterThan(0L);
+    }
+
+    private EngineArchiveWriter writer(long maxFileBytes) {
+        return new EngineArchiveWriter(new SimpleMeterRegistry(), root, maxFileBytes, 600_000, 6);
+    }
+
+    private static List<EngineSample> samples(int engines, long startMicros, int seconds) {
+        List<EngineSample> samples = new ArrayList<>(engines * seconds);
+        for (int s = 0; s < seconds; s++) {
+            long relative = (startMicros - BASE_MICROS) / SECOND_MICROS + s;
+            for (int e = 0; e < engines; e++) {
+                samples.add(new EngineSample("engine-" + e, 30_000 + e * 7 + relative % 50, 700_000 - s,
+                        147_000, 12_000 + e, startMicros + s * SECOND_MICROS, EngineSample.HAS_ALL));
+            }
+        }
+        return samples;
+    }
+
+    private static String key(EngineSample sample) {
+        return sample.getEngineId() + "@" + sample.getTimestampMicros() + ":" + sample.getTemperatureScaled()
+                + "/" + sample.getRpmScaled() + "/" + sample.getPressureScaled() + "/" + sample.getFuelFlowScaled();
+    }
+}
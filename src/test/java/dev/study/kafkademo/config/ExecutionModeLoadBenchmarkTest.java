@@ -0,0 +1,104 @@
+package dev.study.kafkademo.config;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 버스트 부하에서 PLATFORM / VIRTUAL 실행 모드 비교
+ * 블로킹 작업은 연결 풀(Semaphore 10, HikariCP 기본 크기)을 잡고 5ms 대기하는 DB 호출을 흉내냄
+ * 제출 ~ 완료 지연 p50/p99, 최대 플랫폼 스레드 수, 거부된 작업 수 출력
+ * 실행: ./gradlew benchmarkTest --tests '*ExecutionModeLoadBenchmarkTest'
+ */
+@Tag("benchmark")
+class ExecutionModeLoadBenchmarkTest {
+
+    private static final int BURST = 5_000;
+    private static final int POOL_SIZE = 10;
+    private static final long CALL_MILLIS = 5;
+
+    @Test
+    void persistenceSchedulerUnderBurst() throws InterruptedException {
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            Scheduler scheduler = AsyncConfig.persistenceScheduler(mode, 8);
+            Result result = burst(task -> Mono.fromRunnable(task).subscribeOn(scheduler).subscribe());
+            result.print("persistence " + mode);
+            assertThat(result.completed).isEqualTo(BURST);
+        }
+    }
+
+    private static Result burst(Executor submit) throws InterruptedException {
+        Semaphore connections = new Semaphore(POOL_SIZE);
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        int baselineThreads = threads.getThreadCount();
+
+        long[] latencies = new long[BURST];
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger connectionTimeouts = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(BURST);
+        long start = System.nanoTime();
+        for (int i = 0; i < BURST; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            submit.execute(() -> {
+                try {
+                    // HikariCP connection-timeout 처럼 30초 안에 연결을 못 얻으면 실패
+                    if (!connections.tryAcquire(30, TimeUnit.SECONDS)) {
+                        connectionTimeouts.incrementAndGet();
+                        return;
+                    }
+                    try {
+                        Thread.sleep(CALL_MILLIS);
+                    } finally {
+                        connections.release();
+                    }
+                    latencies[index] = System.nanoTime() - submitted;
+                    completed.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        // 거부된 작업은 countDown 되지 않으므로 제한 시간 후 집계
+        done.await(60, TimeUnit.SECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        long[] finished = Arrays.stream(latencies).filter(latency -> latency > 0).sorted().toArray();
+        return new Result(completed.get(), (int) done.getCount(), connectionTimeouts.get(),
+                percentile(finished, 0.50), percentile(finished, 0.99), elapsedSeconds,
+                threads.getPeakThreadCount() - baselineThreads);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1_000_000.0;
+    }
+
+    private record Result(int completed, int rejected, int connectionTimeouts, double p50Millis, double p99Millis,
+                          double elapsedSeconds, int extraPlatformThreads) {
+
+        void print(String label) {
+            System.out.printf("%-22s completed %,5d  rejected %,5d  conn-timeouts %,3d  p50 %8.1f ms  "
+                            + "p99 %8.1f ms  wall %5.1f s  extra platform threads %d%n",
+                    label, completed, rejected, connectionTimeouts, p50Millis, p99Millis, elapsedSeconds,
+                    extraPlatformThreads);
+        }
+    }
+}
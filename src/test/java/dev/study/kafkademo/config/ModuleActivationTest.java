@@ -0,0 +1,110 @@
+package dev.study.kafkademo.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ModuleActivationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(IngestBeans.class, PersistBeans.class, StagingBeans.class, StreamBeans.class);
+
+    @Test
+    void activatesEveryModuleWithoutProfile() {
+        runner.run(context -> assertThat(context)
+                .hasBean("ingest")
+                .hasBean("persist")
+                .hasBean("staging")
+                .hasBean("stream"));
+    }
+
+    @Test
+    void ingestProfileKeepsStagingButSkipsPersistAndStream() {
+        runner.withInitializer(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(profile("ingest")))
+                .run(context -> assertThat(context)
+                        .hasBean("ingest")
+                        .hasBean("staging")
+                        .doesNotHaveBean("persist")
+                        .doesNotHaveBean("stream"));
+    }
+
+    @Test
+    void persistProfileKeepsStagingButSkipsIngestAndStream() {
+        runner.withInitializer(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(profile("persist")))
+                .run(context -> assertThat(context)
+                        .hasBean("persist")
+                        .hasBean("staging")
+                        .doesNotHaveBean("ingest")
+                        .doesNotHaveBean("stream"));
+    }
+
+    @Test
+    void streamProfileSkipsStaging() {
+        runner.withInitializer(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(profile("stream")))
+                .run(context -> {
+                    assertThat(context)
+                            .hasBean("stream")
+                            .doesNotHaveBean("ingest")
+                            .doesNotHaveBean("persist")
+                            .doesNotHaveBean("staging");
+                    assertThat(context.getEnvironment().getProperty("engine.streams.enabled")).isEqualTo("true");
+                });
+    }
+
+    private static PropertySource<?> profile(String name) {
+        try {
+            return new YamlPropertySourceLoader()
+                    .load(name, new ClassPathResource("application-" + name + ".yml")).get(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnIngestModule
+    static class IngestBeans {
+        @Bean
+        String ingest() {
+            return "ingest";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnPersistModule
+    static class PersistBeans {
+        @Bean
+        String persist() {
+            return "persist";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnStagingModule
+    static class StagingBeans {
+        @Bean
+        String staging() {
+            return "staging";
+        }
+    }
+
+    @Configuration
+    @ConditionalOnStreamModule
+    static class StreamBeans {
+        @Bean
+        String stream() {
+            return "stream";
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package dev.study.kafkademo.config;
+
+import dev.study.kafkademo.KafkaDemoApplication;
+import dev.study.kafkademo.pipeline.EngineDataPipeline;
+import dev.study.kafkademo.producer.service.batch.AdaptiveBatchDrainer;
+import dev.study.kafkademo.streams.EngineStreamsConfig;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import dev.study.kafkademo.support.StubSimulatorServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 프로파일(ingest / persist / stream)별 실제 애플리케이션 컨텍스트 기동 검증
+ * 임베디드 Kafka/Redis/PostgreSQL 과 스텁 시뮬레이터에 연결해 KafkaDemoApplication 을 그대로 실행하고,
+ * 제외한 자동 구성(DataSource, Redis)에 의존하는 빈이 남아 있지 않은지와 모듈별 빈 활성화를 확인
+ */
+class ModuleProfileContextTest {
+
+    private static EmbeddedKafkaKraftBroker broker;
+    private static EmbeddedRedis redis;
+    private static EmbeddedPostgresEngines postgres;
+    private static StubSimulatorServer simulator;
+
+    @TempDir
+    static Path workDir;
+
+    @BeforeAll
+    static void startInfrastructure() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, "engine");
+        broker.afterPropertiesSet();
+        redis = new EmbeddedRedis("json");
+        postgres = new EmbeddedPostgresEngines();
+        simulator = new StubSimulatorServer(Duration.ZERO, 3);
+    }
+
+    @AfterAll
+    static void stopInfrastructure() {
+        simulator.close();
+        postgres.close();
+        redis.close();
+        broker.destroy();
+    }
+
+    @Test
+    void ingestProfileStartsWithoutDatabase() {
+        try (ConfigurableApplicationContext context = start("ingest")) {
+            assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(EngineDataPipeline.class)).hasSize(1);
+            assertThat(context.getBeanNamesForType(AdaptiveBatchDrainer.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(EngineStreamsConfig.class)).isEmpty();
+        }
+    }
+
+    @Test
+    void persistProfileStartsWithoutIngestion() {
+        try (ConfigurableApplicationContext context = start("persist")) {
+            assertThat(context.getBeanNamesForType(DataSource.class)).hasSize(1);
+            assertThat(context.getBeanNamesForType(AdaptiveBatchDrainer.class)).hasSize(1);
+            assertThat(context.getBeanNamesForType(EngineDataPipeline.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(EngineStreamsConfig.class)).isEmpty();
+        }
+    }
+
+    @Test
+    void streamProfileStartsWithoutDatabaseAndRedis() {
+        try (ConfigurableApplicationContext context = start("stream")) {
+            assertThat(context.getBeanNamesForType(DataSource.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(ReactiveRedisConnectionFactory.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(EngineStreamsConfig.class)).hasSize(1);
+            assertThat(context.getBeanNamesForType(EngineDataPipeline.class)).isEmpty();
+            assertThat(context.getBeanNamesForType(AdaptiveBatchDrainer.class)).isEmpty();
+        }
+    }
+
+    /**
+     * 명령행 인자는 application.yml / 프로파일 yml 보다 우선하므로 접속 정보만 임베디드 인프라로 교체
+     */
+    private static ConfigurableApplicationContext start(String profile) {
+        String engineUrl = simulator.engineUrlTemplate();
+        return new SpringApplicationBuilder(KafkaDemoApplication.class)
+                .profiles(profile)
+                .run("--server.port=0",
+                        "--spring.kafka.bootstrap-servers=" + broker.getBrokersAsString(),
+                        "--spring.kafka.streams.state-dir=" + workDir.resolve(profile + "-streams"),
+                        "--spring.data.redis.host=localhost",
+                        "--spring.data.redis.port=" + redis.port(),
+                        "--spring.datasource.hikari.jdbc-url=jdbc:postgresql://localhost:" + postgres.port()
+                                + "/postgres",
+                        "--spring.datasource.hikari.username=postgres",
+                        "--spring.datasource.hikari.password=postgres",
+                        "--spring.api.url=" + engineUrl.replace("{engineId}", "engine-0"),
+                        "--spring.api.ingest.engine-url=" + engineUrl,
+                        "--spring.api.ingest.bulk-url=" + simulator.bulkUrl(),
+                        "--engine.pipeline.spill-dir=" + workDir.resolve(profile + "-pipeline-spill"),
+                        "--engine.staging.spill.dir=" + workDir.resolve(profile + "-staging-spill"),
+                        "--engine.staging.instance-id=" + profile);
+    }
+}
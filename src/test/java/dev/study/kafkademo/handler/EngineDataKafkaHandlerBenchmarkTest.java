@@ -0,0 +1,113 @@
+package dev.study.kafkademo.handler;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.handler.EngineDataKafkaHandler.SendMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 임베디드 브로커 대상 Kafka 전송 처리량 비교 (기존 레코드별 전송 vs 엔진 키 배치 전송)
+ * 실행: ./gradlew benchmarkTest --tests '*EngineDataKafkaHandlerBenchmarkTest'
+ */
+@Tag("benchmark")
+class EngineDataKafkaHandlerBenchmarkTest {
+
+    private static final int RECORDS = 200_000;
+    private static final int ENGINES = 500;
+    private static final int BATCH_SIZE = 500;
+
+    private static EmbeddedKafkaKraftBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 6, "engine");
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void compareCurrentPathWithBatchedPath() {
+        List<List<EngineDataReceivedEvent>> batches = batches();
+
+        Map<String, Object> legacyConfig = new HashMap<>();
+        legacyConfig.put(ProducerConfig.ACKS_CONFIG, "all");
+        double legacy = run("per-record (UUID key, no compression)", SendMode.PER_RECORD, legacyConfig, batches);
+
+        Map<String, Object> batchedConfig = new HashMap<>();
+        batchedConfig.put(ProducerConfig.ACKS_CONFIG, "all");
+        batchedConfig.put(ProducerConfig.LINGER_MS_CONFIG, 10);
+        batchedConfig.put(ProducerConfig.BATCH_SIZE_CONFIG, 65_536);
+        batchedConfig.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        batchedConfig.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        double batched = run("batch (engine key, lz4, linger 10ms)", SendMode.BATCH, batchedConfig, batches);
+
+        batchedConfig.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd");
+        double zstd = run("batch (engine key, zstd, linger 10ms)", SendMode.BATCH, batchedConfig, batches);
+
+        System.out.printf("speedup lz4 = %.2fx, zstd = %.2fx%n", batched / legacy, zstd / legacy);
+    }
+
+    private double run(String label, SendMode mode, Map<String, Object> overrides,
+                       List<List<EngineDataReceivedEvent>> batches) {
+        Map<String, Object> config = new HashMap<>(overrides);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+
+        DefaultKafkaProducerFactory<String, EngineSample> producerFactory = new DefaultKafkaProducerFactory<>(
+                config, new StringSerializer(), new JsonSerializer<>());
+        KafkaTemplate<String, EngineSample> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        EngineDataKafkaHandler handler = new EngineDataKafkaHandler(kafkaTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(handler, "sendMode", mode);
+
+        // 워밍업
+        handler.handleBatch(batches.get(0));
+        kafkaTemplate.flush();
+
+        long start = System.nanoTime();
+        for (List<EngineDataReceivedEvent> batch : batches) {
+            handler.handleBatch(batch);
+        }
+        kafkaTemplate.flush();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        producerFactory.destroy();
+
+        double recordsPerSec = RECORDS / seconds;
+        System.out.printf("%-40s %,12.0f records/sec (%.2fs)%n", label, recordsPerSec, seconds);
+        return recordsPerSec;
+    }
+
+    private static List<List<EngineDataReceivedEvent>> batches() {
+        List<List<EngineDataReceivedEvent>> batches = new ArrayList<>();
+        List<EngineDataReceivedEvent> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < RECORDS; i++) {
+            EngineSample sample = new EngineSample("engine-" + (i % ENGINES),
+                    25_000 + i % 10_000, 700_000 + i % 100_000, 147_000 + i % 1_000, 12_000 + i % 500,
+                    EngineSample.nowMicros(), EngineSample.HAS_ALL);
+            batch.add(new EngineDataReceivedEvent(sample));
+            if (batch.size() == BATCH_SIZE) {
+                batches.add(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        return batches;
+    }
+}
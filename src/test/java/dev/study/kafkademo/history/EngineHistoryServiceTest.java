@@ -0,0 +1,19 @@
+package dev.study.kafkademo.history;
+
+import dev.study.kafkademo.repository.rollup.RollupResolution;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EngineHistoryServiceTest {
+
+    @Test
+    void choosesFinestResolutionWithinPointBudget() {
+        assertThat(EngineHistoryService.chooseResolution(Duration.ofHours(6), 500)).isEqualTo(RollupResolution.MINUTE);
+        assertThat(EngineHistoryService.chooseResolution(Duration.ofDays(7), 500)).isEqualTo(RollupResolution.HOUR);
+        assertThat(EngineHistoryService.chooseResolution(Duration.ofDays(90), 500)).isEqualTo(RollupResolution.DAY);
+        assertThat(EngineHistoryService.chooseResolution(Duration.ofDays(3650), 500)).isEqualTo(RollupResolution.DAY);
+    }
+}
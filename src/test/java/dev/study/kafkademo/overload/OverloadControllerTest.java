@@ -0,0 +1,150 @@
+package dev.study.kafkademo.overload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import dev.study.kafkademo.pipeline.EngineDataPipeline;
+import dev.study.kafkademo.pipeline.EngineDataSink;
+import dev.study.kafkademo.pipeline.PipelineLane;
+import dev.study.kafkademo.pipeline.SinkPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class OverloadControllerTest {
+
+    private static final long BASE_MICROS = 1_767_261_600_000_000L;
+    private static final long BACKLOG_LIMIT = 1_000;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final PriorityEngineRegistry priorityEngines =
+            new PriorityEngineRegistry(new SimpleMeterRegistry(), 30_000);
+    private final OverloadController controller = new OverloadController(priorityEngines, new SimpleMeterRegistry(),
+            backlog::get, () -> 0.0, 345, 7900,
+            new OverloadController.Limits(0.8, BACKLOG_LIMIT, 0.8, 0.2),
+            new OverloadController.ShedCurve(0.5, 0.1),
+            new OverloadController.ShedCurve(0.25, 0.02));
+
+    @Test
+    void admitsEverythingBelowShedStart() {
+        backlog.set(BACKLOG_LIMIT / 5);
+        controller.sample();
+
+        assertThat(controller.isShedding()).isFalse();
+        assertThat(controller.admit(SinkPriority.LOW, event("engine-1", 0, 300))).isTrue();
+    }
+
+    @Test
+    void samplesRoutineReadingsByPriorityAtFullPressure() {
+        backlog.set(BACKLOG_LIMIT);
+        controller.sample();
+
+        Set<String> normalKept = new HashSet<>();
+        Set<String> lowKept = new HashSet<>();
+        int critical = 0;
+        for (int second = 0; second < 1_000; second++) {
+            for (int engine = 0; engine < 20; engine++) {
+                EngineDataReceivedEvent event = event("engine-" + engine, second, 300);
+                String key = engine + "@" + second;
+                if (controller.admit(SinkPriority.NORMAL, event)) {
+                    normalKept.add(key);
+                }
+                if (controller.admit(SinkPriority.LOW, event)) {
+                    lowKept.add(key);
+                }
+                if (controller.admit(SinkPriority.CRITICAL, event)) {
+                    critical++;
+                }
+            }
+        }
+
+        assertThat(controller.isShedding()).isTrue();
+        assertThat(critical).isEqualTo(20_000);
+        assertThat(normalKept.size()).isBetween(1_700, 2_300);
+        assertThat(lowKept.size()).isBetween(250, 550);
+        // 같은 해시 버킷 기준이므로 LOW 에 남은 샘플은 NORMAL 에도 남음
+        assertThat(normalKept).containsAll(lowKept);
+        assertThat(controller.shedRatio(SinkPriority.NORMAL)).isCloseTo(0.9, within(0.001));
+    }
+
+    @Test
+    void retainsThresholdBreachesAndRecentlyFlaggedEngines() {
+        assertThat(controller.retainAll(event("engine-1", 0, 346).getSample())).isTrue();
+        assertThat(controller.retainAll(event("engine-2", 0, 300).getSample())).isFalse();
+
+        priorityEngines.mark("engine-2");
+        assertThat(controller.retainAll(event("engine-2", 1, 300).getSample())).isTrue();
+    }
+
+    @Test
+    void recoversGraduallyAfterPressureDrops() {
+        backlog.set(BACKLOG_LIMIT);
+        controller.sample();
+        backlog.set(0);
+        controller.sample();
+
+        assertThat(controller.pressure()).isCloseTo(0.8, within(1e-9));
+        assertThat(controller.isShedding()).isTrue();
+
+        for (int i = 0; i < 20; i++) {
+            controller.sample();
+        }
+        assertThat(controller.isShedding()).isFalse();
+    }
+
+    @Test
+    void pipelineShedsOnlyNonCriticalLanes() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("engine.pipeline.lanes.cache.priority", "low");
+        EngineDataPipeline pipeline = new EngineDataPipeline(List.of(sink("alert"), sink("cache")), environment,
+                new SimpleMeterRegistry(), new ObjectMapper(), controller);
+        backlog.set(BACKLOG_LIMIT);
+        controller.sample();
+
+        for (int second = 0; second < 1_000; second++) {
+            pipeline.onEngineDataReceived(event("engine-1", second, second == 500 ? 360 : 300));
+        }
+
+        PipelineLane alert = pipeline.getLanes().get(0);
+        PipelineLane cache = pipeline.getLanes().get(1);
+        assertThat(alert.depth()).isEqualTo(1_000);
+        assertThat(cache.depth() + cache.shedCount()).isEqualTo(1_000);
+        assertThat(cache.shedCount()).isGreaterThan(900);
+        assertThat(cache.depth()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void readsStagingBacklogDirectlyAndIgnoresRedisFailures() {
+        assertThat(OverloadController.redisBacklog(null, null)).isZero();
+        assertThat(OverloadController.queueBacklog(Mono.just(1_234L))).isEqualTo(1_234);
+        assertThat(OverloadController.queueBacklog(Mono.empty())).isZero();
+        assertThat(OverloadController.queueBacklog(Mono.error(new IllegalStateException("redis down")))).isZero();
+    }
+
+    private static EngineDataReceivedEvent event(String engineId, int second, double temperature) {
+        return new EngineDataReceivedEvent(EngineSample.of(engineId, temperature, 7000, 14.7, 1.2,
+                BASE_MICROS + second * 1_000_000L));
+    }
+
+    private static EngineDataSink sink(String name) {
+        return new EngineDataSink() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void handleBatch(List<EngineDataReceivedEvent> batch) {
+            }
+        };
+    }
+}
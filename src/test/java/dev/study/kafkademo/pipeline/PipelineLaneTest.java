@@ -0,0 +1,207 @@
+package dev.study.kafkademo.pipeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.study.kafkademo.config.ExecutionMode;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.event.EngineDataReceivedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class PipelineLaneTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    @Test
+    void dropOldestCountsEveryEvictedEvent() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(release);
+        PipelineLane lane = newLane(sink, OverflowPolicy.DROP_OLDEST, 10);
+        lane.start();
+
+        for (int i = 0; i < 100; i++) {
+            lane.offer(event("engine-" + i));
+        }
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> lane.deliveredCount() + lane.droppedCount() == 100);
+        lane.stop(1_000);
+
+        assertThat(lane.droppedCount()).isPositive();
+        assertThat(sink.engineIds()).last().isEqualTo("engine-99");
+    }
+
+    @Test
+    void spillKeepsEveryEventInOrder() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(release);
+        PipelineLane lane = newLane(sink, OverflowPolicy.SPILL, 10);
+        lane.start();
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(lane.offer(event("engine-" + i))).isTrue();
+        }
+        assertThat(lane.spilledCount()).isPositive();
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sink.engineIds().size() == 200);
+        lane.stop(1_000);
+
+        assertThat(lane.droppedCount()).isZero();
+        assertThat(sink.engineIds()).containsExactlyElementsOf(
+                IntStream.range(0, 200).mapToObj(i -> "engine-" + i).toList());
+    }
+
+    @Test
+    void replayedEventsKeepOriginalReceiveTime() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink sink = new RecordingSink(release);
+        PipelineLane lane = newLane(sink, OverflowPolicy.SPILL, 10);
+        lane.start();
+
+        List<EngineDataReceivedEvent> offered = IntStream.range(0, 100)
+                .mapToObj(i -> event("engine-" + i))
+                .toList();
+        offered.forEach(lane::offer);
+        Thread.sleep(200);
+        release.countDown();
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> sink.events().size() == 100);
+        lane.stop(1_000);
+
+        EngineDataReceivedEvent original = offered.get(99);
+        EngineDataReceivedEvent replayed = sink.events().get(99);
+        assertThat(replayed).isNotSameAs(original);
+        assertThat(replayed.getTimestamp()).isEqualTo(original.getTimestamp());
+        // 재생 시각이 아니라 원래 수신 시각 기준 (wall clock 역산이므로 수 ms 오차 허용)
+        assertThat(Math.abs(replayed.getReceivedNanos() - original.getReceivedNanos()))
+                .isLessThan(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void blockDropsAfterTimeoutWhenSinkStalls() {
+        RecordingSink sink = new RecordingSink(new CountDownLatch(1));
+        PipelineLane lane = newLane(sink, OverflowPolicy.BLOCK, 5);
+        lane.start();
+
+        for (int i = 0; i < 20; i++) {
+            lane.offer(event("engine-" + i));
+        }
+
+        assertThat(lane.droppedCount()).isPositive();
+        lane.stop(100);
+    }
+
+    @Test
+    void blockPolicyDoesNotWaitOnNonBlockingThread() {
+        RecordingSink sink = new RecordingSink(new CountDownLatch(1));
+        LaneSettings settings = new LaneSettings(1, 50, 0, OverflowPolicy.BLOCK, 5_000, spillDirectory);
+        PipelineLane lane = new PipelineLane(sink, settings, new SimpleMeterRegistry(),
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+        lane.start();
+
+        long start = System.nanoTime();
+        Mono.fromRunnable(() -> {
+                    for (int i = 0; i < 5; i++) {
+                        lane.offer(event("engine-" + i));
+                    }
+                })
+                .subscribeOn(Schedulers.parallel())
+                .block(Duration.ofSeconds(5));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(lane.droppedCount()).isPositive();
+        lane.stop(100);
+    }
+
+    @Test
+    void virtualModeDrainsOnVirtualThread() {
+        AtomicReference<Thread> drainThread = new AtomicReference<>();
+        EngineDataSink sink = new EngineDataSink() {
+            @Override
+            public String name() {
+                return "virtual";
+            }
+
+            @Override
+            public void handleBatch(List<EngineDataReceivedEvent> batch) {
+                drainThread.set(Thread.currentThread());
+            }
+        };
+        LaneSettings settings = new LaneSettings(10, 50, 0, OverflowPolicy.BLOCK, 10, spillDirectory);
+        PipelineLane lane = new PipelineLane(sink, settings, new SimpleMeterRegistry(),
+                new ObjectMapper().registerModule(new JavaTimeModule()), ExecutionMode.VIRTUAL);
+        lane.start();
+
+        lane.offer(event("engine-1"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> drainThread.get() != null);
+        lane.stop(1_000);
+
+        assertThat(drainThread.get().isVirtual()).isTrue();
+        assertThat(drainThread.get().getName()).isEqualTo("pipeline-virtual");
+    }
+
+    private PipelineLane newLane(EngineDataSink sink, OverflowPolicy policy, int capacity) {
+        LaneSettings settings = new LaneSettings(capacity, 50, 0, policy, 10, spillDirectory);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new PipelineLane(sink, settings, new SimpleMeterRegistry(), objectMapper);
+    }
+
+    private static EngineDataReceivedEvent event(String engineId) {
+        return new EngineDataReceivedEvent(EngineSample.of(engineId, 300, 7000, 14.7, 1.2, EngineSample.nowMicros()));
+    }
+
+    /**
+     * release 래치가 열릴 때까지 첫 배치에서 멈춰 큐를 채우는 싱크
+     */
+    private static class RecordingSink implements EngineDataSink {
+
+        private final CountDownLatch release;
+        private final List<EngineDataReceivedEvent> events = new CopyOnWriteArrayList<>();
+
+        RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void handleBatch(List<EngineDataReceivedEvent> batch) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.addAll(batch);
+        }
+
+        List<String> engineIds() {
+            return events.stream().map(event -> event.getSample().getEngineId()).toList();
+        }
+
+        List<EngineDataReceivedEvent> events() {
+            return events;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package dev.study.kafkademo.producer.service;
+
+import dev.study.kafkademo.producer.service.SimulatorProducerService.IngestMode;
+import dev.study.kafkademo.support.StubSimulatorServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SimulatorProducerServiceTest {
+
+    @Test
+    void perEngineModeFetchesEveryEngineOncePerTick() {
+        try (StubSimulatorServer simulator = new StubSimulatorServer(Duration.ZERO, 0)) {
+            AtomicLong published = new AtomicLong();
+            SimulatorProducerService service = newService(simulator, IngestMode.PER_ENGINE, 100, 50, 32,
+                    event -> published.incrementAndGet());
+
+            Long count = service.fetchEngineDataAndPublishEvent().block(Duration.ofSeconds(10));
+
+            assertThat(count).isEqualTo(100);
+            assertThat(published.get()).isEqualTo(100);
+            assertThat(service.getFailedFetches()).isZero();
+        }
+    }
+
+    @Test
+    void perEngineModeRespectsConcurrencyCap() {
+        try (StubSimulatorServer simulator = new StubSimulatorServer(Duration.ofMillis(50), 0)) {
+            SimulatorProducerService service = newService(simulator, IngestMode.PER_ENGINE, 50, 20, 8, event -> {
+            });
+
+            Long count = service.fetchEngineDataAndPublishEvent().block(Duration.ofSeconds(10));
+
+            assertThat(count).isEqualTo(50);
+            assertThat(simulator.maxInFlight()).isLessThanOrEqualTo(8);
+        }
+    }
+
+    @Test
+    void skipsTicksWhileThePreviousFetchIsStillRunning() throws Exception {
+        try (StubSimulatorServer simulator = new StubSimulatorServer(Duration.ZERO, 0)) {
+            CountDownLatch release = new CountDownLatch(1);
+            // 첫 샘플 발행에서 멈춰 첫 틱이 끝나지 않도록 함
+            SimulatorProducerService service = newService(simulator, IngestMode.PER_ENGINE, 1, 20, 1, event -> {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            service.startIngestion();
+            try {
+                await().atMost(Duration.ofSeconds(5)).until(() -> service.getSkippedTicks() > 0);
+            } finally {
+                release.countDown();
+                service.stopIngestion();
+            }
+        }
+    }
+
+    @Test
+    void bulkModePublishesEverySampleOfResponse() {
+        try (StubSimulatorServer simulator = new StubSimulatorServer(Duration.ZERO, 250)) {
+            AtomicLong published = new AtomicLong();
+            SimulatorProducerService service = newService(simulator, IngestMode.BULK, 0, 100, 1,
+                    event -> published.incrementAndGet());
+
+            Long count = service.fetchEngineDataAndPublishEvent().block(Duration.ofSeconds(5));
+
+            assertThat(count).isEqualTo(250);
+            assertThat(published.get()).isEqualTo(250);
+        }
+    }
+
+    private static SimulatorProducerService newService(StubSimulatorServer simulator, IngestMode mode,
+                                                       int engineCount, long intervalMs, int maxConcurrency,
+                                                       ApplicationEventPublisher publisher) {
+        SimulatorProducerService service = new SimulatorProducerService(WebClient.create(), publisher,
+                new SimpleMeterRegistry());
+
+        ReflectionTestUtils.setField(service, "ingestMode", mode);
+        ReflectionTestUtils.setField(service, "engineUrlTemplate", simulator.engineUrlTemplate());
+        ReflectionTestUtils.setField(service, "bulkUrl", simulator.bulkUrl());
+        ReflectionTestUtils.setField(service, "engineIds",
+                IntStream.range(0, engineCount).mapToObj(i -> "engine-" + i).toArray(String[]::new));
+        ReflectionTestUtils.setField(service, "intervalMs", intervalMs);
+        ReflectionTestUtils.setField(service, "maxConcurrency", maxConcurrency);
+        ReflectionTestUtils.setField(service, "timeoutMs", 5000L);
+        return service;
+    }
+}
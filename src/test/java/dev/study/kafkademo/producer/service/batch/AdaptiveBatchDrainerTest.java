@@ -0,0 +1,173 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.archive.EngineArchiveWriter;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.repository.bulk.IdempotentEngineWriter;
+import dev.study.kafkademo.repository.bulk.JdbcEngineBulkWriter;
+import dev.study.kafkademo.repository.rollup.EngineRollupWriter;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 임베디드 PostgreSQL 대상 커밋 후 ack 실패 배치의 재전달 처리 검증
+ */
+class AdaptiveBatchDrainerTest {
+
+    private static EmbeddedPostgresEngines postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = new EmbeddedPostgresEngines();
+        jdbcTemplate = postgres.jdbcTemplate();
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        postgres.recreateEnginesTable();
+    }
+
+    @Test
+    void committedBatchRedeliveredAfterAckFailureIsAckedWithoutRewriting() {
+        RedeliveringQueue queue = new RedeliveringQueue(batch(10), 1);
+        AdaptiveBatchDrainer drainer = drainer(queue, service(queue, null));
+
+        assertThatThrownBy(() -> drainer.drainOnce(0)).isInstanceOf(IllegalStateException.class);
+        assertThat(drainer.drainOnce(0)).isZero();
+
+        assertThat(queue.acked).isTrue();
+        assertThat(count()).isEqualTo(10);
+        assertThat(meterRegistry.counter("engine.drain.redelivered.rows").count()).isEqualTo(10);
+    }
+
+    @Test
+    void idempotentWriterSkipsRowsOfRecoveredBatch() {
+        IdempotentEngineWriter writer = new IdempotentEngineWriter(jdbcTemplate, 4000);
+        writer.createUniqueIndex();
+        StagedBatch batch = batch(10);
+        EngineDataSaveBatchService service = service(new RedeliveringQueue(batch, 0), writer);
+
+        assertThat(service.saveBatchToDataBase(batch.samples()).block()).isEqualTo(10);
+        // 다른 인스턴스가 복구 후 같은 배치를 다시 적재하는 경우
+        assertThat(service.saveBatchToDataBase(batch.samples()).block()).isZero();
+        assertThat(count()).isEqualTo(10);
+    }
+
+    private EngineDataSaveBatchService service(EngineStagingQueue queue, IdempotentEngineWriter idempotentWriter) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(
+                idempotentWriter == null ? Map.of() : Map.of("idempotentEngineWriter", idempotentWriter));
+        return new EngineDataSaveBatchService(queue, new JdbcEngineBulkWriter(jdbcTemplate),
+                beans.getBeanProvider(IdempotentEngineWriter.class), beans.getBeanProvider(EngineRollupWriter.class),
+                beans.getBeanProvider(EngineArchiveWriter.class),
+                new TransactionTemplate(new DataSourceTransactionManager(postgres.dataSource())),
+                Schedulers.immediate(), meterRegistry, 30);
+    }
+
+    private AdaptiveBatchDrainer drainer(EngineStagingQueue queue, EngineDataSaveBatchService service) {
+        return new AdaptiveBatchDrainer(service, queue, meterRegistry, 10, 100, 10, 200);
+    }
+
+    private static StagedBatch batch(int size) {
+        List<EngineSample> samples = IntStream.range(0, size)
+                .mapToObj(i -> EmbeddedPostgresEngines.sample("engine-" + i, 300, 1_767_225_600_000_000L))
+                .toList();
+        return new StagedBatch(samples, List.of());
+    }
+
+    private static long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM engines", Long.class);
+    }
+
+    /**
+     * ack 될 때까지 같은 배치를 재전달하고, 처음 failedAcks 번의 ack 는 실패시키는 큐
+     */
+    private static final class RedeliveringQueue implements EngineStagingQueue {
+        private final StagedBatch batch;
+        private int failedAcks;
+        private boolean acked;
+
+        RedeliveringQueue(StagedBatch batch, int failedAcks) {
+            this.batch = batch;
+            this.failedAcks = failedAcks;
+        }
+
+        @Override
+        public String backendName() {
+            return "redelivering";
+        }
+
+        @Override
+        public Mono<Long> enqueue(EngineSample sample) {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> enqueueAll(List<EngineSample> samples) {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<StagedBatch> claim(int worker, int maxSize) {
+            return Mono.just(acked ? StagedBatch.empty() : batch);
+        }
+
+        @Override
+        public Mono<Void> ack(int worker, StagedBatch batch) {
+            if (failedAcks > 0) {
+                failedAcks--;
+                return Mono.error(new IllegalStateException("redis unavailable"));
+            }
+            acked = true;
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> nack(int worker, StagedBatch batch) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> deadLetter(int worker, StagedBatch batch) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Long> backlog() {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> recover() {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> maintain() {
+            return Mono.just(0L);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long TARGET_MILLIS = 200;
+
+    @Test
+    void growsAdditivelyWhileFullBatchesStayUnderTarget() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 1_000, 200, TARGET_MILLIS);
+
+        sizer.onSuccess(200, millis(50));
+        sizer.onSuccess(250, millis(50));
+
+        assertThat(sizer.currentSize()).isEqualTo(300);
+    }
+
+    @Test
+    void doesNotGrowOnPartialBatches() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 1_000, 200, TARGET_MILLIS);
+
+        sizer.onSuccess(30, millis(10));
+
+        assertThat(sizer.currentSize()).isEqualTo(200);
+    }
+
+    @Test
+    void halvesOnSlowBatchOrFailureAndRespectsBounds() {
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(100, 1_000, 800, TARGET_MILLIS);
+
+        sizer.onSuccess(800, millis(500));
+        assertThat(sizer.currentSize()).isEqualTo(400);
+
+        sizer.onFailure();
+        sizer.onFailure();
+        assertThat(sizer.currentSize()).isEqualTo(100);
+
+        for (int i = 0; i < 100; i++) {
+            sizer.onSuccess(sizer.currentSize(), millis(1));
+        }
+        assertThat(sizer.currentSize()).isEqualTo(1_000);
+    }
+
+    private static long millis(long millis) {
+        return millis * 1_000_000L;
+    }
+}
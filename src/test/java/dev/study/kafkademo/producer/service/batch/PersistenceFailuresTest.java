@@ -0,0 +1,31 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import reactor.core.Exceptions;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistenceFailuresTest {
+
+    @Test
+    void databaseStateFailuresAreTransient() {
+        assertThat(PersistenceFailures.isTransient(
+                new CannotGetJdbcConnectionException("pool exhausted", new SQLException("timeout")))).isTrue();
+        assertThat(PersistenceFailures.isTransient(new CannotAcquireLockException("deadlock"))).isTrue();
+        // block() 이 checked TimeoutException 을 감싸서 던지는 경우
+        assertThat(PersistenceFailures.isTransient(Exceptions.propagate(new TimeoutException()))).isTrue();
+    }
+
+    @Test
+    void batchContentFailuresCountTowardsPoisonLimit() {
+        assertThat(PersistenceFailures.isTransient(new DataIntegrityViolationException("value too long"))).isFalse();
+        assertThat(PersistenceFailures.isTransient(new IllegalArgumentException("value must not be null")))
+                .isFalse();
+    }
+}
@@ -0,0 +1,163 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 Redis 대상 리스트 스테이징 큐 claim/ack/복구 검증
+ */
+class RedisListStagingQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new EmbeddedRedis("json");
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void flush() {
+        redis.flushAll();
+    }
+
+    @Test
+    void claimMovesBatchToProcessingListAndAckRemovesIt() {
+        RedisListStagingQueue queue = queue("a");
+        push(queue, 10);
+
+        StagedBatch claimed = queue.claim(0, 4).block(TIMEOUT);
+
+        assertThat(claimed.samples()).extracting(EngineSample::getEngineId)
+                .containsExactly("engine-0", "engine-1", "engine-2", "engine-3");
+        assertThat(queue.backlog().block(TIMEOUT)).isEqualTo(6);
+        assertThat(processingSize(queue, 0)).isEqualTo(4);
+
+        queue.ack(0, claimed).block(TIMEOUT);
+        assertThat(processingSize(queue, 0)).isZero();
+    }
+
+    @Test
+    void unackedBatchIsRedeliveredAndNackRestoresOrder() {
+        RedisListStagingQueue queue = queue("a");
+        push(queue, 5);
+
+        StagedBatch first = queue.claim(0, 3).block(TIMEOUT);
+        StagedBatch redelivered = queue.claim(0, 3).block(TIMEOUT);
+        assertThat(redelivered.samples()).extracting(EngineSample::getEngineId)
+                .containsExactlyElementsOf(first.samples().stream().map(EngineSample::getEngineId).toList());
+
+        queue.nack(0, redelivered).block(TIMEOUT);
+        assertThat(redis.engineTemplate().opsForList().range(RedisListStagingQueue.ENGINE_DATA_KEY, 0, -1)
+                .map(EngineSample::getEngineId).collectList().block(TIMEOUT))
+                .containsExactly("engine-0", "engine-1", "engine-2", "engine-3", "engine-4");
+    }
+
+    @Test
+    void deadLetterMovesBatchOutOfProcessing() {
+        RedisListStagingQueue queue = queue("a");
+        push(queue, 5);
+
+        StagedBatch poison = queue.claim(0, 2).block(TIMEOUT);
+        queue.deadLetter(0, poison).block(TIMEOUT);
+
+        assertThat(processingSize(queue, 0)).isZero();
+        assertThat(redis.engineTemplate().opsForList().range(EngineStagingQueue.DEAD_LETTER_KEY, 0, -1)
+                .map(EngineSample::getEngineId).collectList().block(TIMEOUT))
+                .containsExactly("engine-0", "engine-1");
+        assertThat(queue.claim(0, 5).block(TIMEOUT).samples()).extracting(EngineSample::getEngineId)
+                .containsExactly("engine-2", "engine-3", "engine-4");
+    }
+
+    @Test
+    void orphanedProcessingListOfDeadInstanceIsRecovered() {
+        RedisListStagingQueue crashed = queue("crashed");
+        RedisListStagingQueue alive = queue("alive");
+        RedisListStagingQueue live = queue("live");
+        push(crashed, 6);
+
+        crashed.claim(0, 3).block(TIMEOUT);
+        live.claim(0, 2).block(TIMEOUT);
+        redis.stringTemplate().opsForValue()
+                .set(RedisListStagingQueue.HEARTBEAT_KEY_PREFIX + "live", "1", Duration.ofSeconds(30))
+                .block(TIMEOUT);
+
+        // 하트비트가 없는 crashed 인스턴스의 처리 리스트만 복구
+        assertThat(alive.maintain().block(TIMEOUT)).isEqualTo(3);
+        assertThat(alive.backlog().block(TIMEOUT)).isEqualTo(4);
+        assertThat(processingSize(crashed, 0)).isZero();
+        assertThat(processingSize(live, 0)).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentWorkersNeverClaimTheSameSample() throws Exception {
+        RedisListStagingQueue first = queue("first");
+        RedisListStagingQueue second = queue("second");
+        push(first, 1_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<String>>> futures = new ArrayList<>();
+        for (int worker = 0; worker < 4; worker++) {
+            RedisListStagingQueue queue = worker % 2 == 0 ? first : second;
+            int workerIndex = worker;
+            futures.add(executor.submit(() -> drain(queue, workerIndex)));
+        }
+
+        List<String> claimed = new ArrayList<>();
+        for (Future<List<String>> future : futures) {
+            claimed.addAll(future.get());
+        }
+        executor.shutdown();
+
+        Set<String> unique = new HashSet<>(claimed);
+        assertThat(claimed).hasSize(1_000);
+        assertThat(unique).hasSize(1_000);
+    }
+
+    private static List<String> drain(RedisListStagingQueue queue, int worker) {
+        List<String> claimed = new ArrayList<>();
+        StagedBatch batch;
+        while (!(batch = queue.claim(worker, 37).block(TIMEOUT)).isEmpty()) {
+            batch.samples().forEach(sample -> claimed.add(sample.getEngineId()));
+            queue.ack(worker, batch).block(TIMEOUT);
+        }
+        return Collections.unmodifiableList(claimed);
+    }
+
+    private static RedisListStagingQueue queue(String instanceId) {
+        return new RedisListStagingQueue(redis.engineTemplate(), redis.stringTemplate(), instanceId);
+    }
+
+    private static void push(RedisListStagingQueue queue, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.enqueue(EngineSample.of("engine-" + i, 300, 7000, 14.7, 1.2, EngineSample.nowMicros()))
+                    .block(TIMEOUT);
+        }
+    }
+
+    private static long processingSize(RedisListStagingQueue queue, int worker) {
+        return redis.stringTemplate().opsForList().size(queue.processingKey(worker)).block(TIMEOUT);
+    }
+}
@@ -0,0 +1,117 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 Redis 대상 Streams 스테이징 큐 소비자 그룹 claim/ack/회수 검증
+ */
+class RedisStreamStagingQueueTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private static EmbeddedRedis redis;
+
+    @BeforeAll
+    static void startRedis() {
+        redis = new EmbeddedRedis("binary");
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redis.close();
+    }
+
+    @BeforeEach
+    void flush() {
+        redis.flushAll();
+    }
+
+    @Test
+    void consumersShareTheStreamAndAckDeletesEntries() {
+        RedisStreamStagingQueue first = queue("first");
+        RedisStreamStagingQueue second = queue("second");
+        first.recover().block(TIMEOUT);
+        push(first, 10);
+
+        StagedBatch a = first.claim(0, 6).block(TIMEOUT);
+        StagedBatch b = second.claim(0, 6).block(TIMEOUT);
+
+        assertThat(a.size()).isEqualTo(6);
+        assertThat(b.samples()).extracting(EngineSample::getEngineId)
+                .containsExactly("engine-6", "engine-7", "engine-8", "engine-9");
+
+        first.ack(0, a).block(TIMEOUT);
+        second.ack(0, b).block(TIMEOUT);
+        assertThat(first.backlog().block(TIMEOUT)).isZero();
+    }
+
+    @Test
+    void unackedEntriesAreRedeliveredToTheSameConsumer() {
+        RedisStreamStagingQueue queue = queue("a");
+        push(queue, 3);
+
+        StagedBatch first = queue.claim(0, 10).block(TIMEOUT);
+        queue.nack(0, first).block(TIMEOUT);
+        StagedBatch redelivered = queue.claim(0, 10).block(TIMEOUT);
+
+        assertThat(redelivered.ids()).containsExactlyElementsOf(first.ids());
+        assertThat(queue.claim(1, 10).block(TIMEOUT).isEmpty()).isTrue();
+    }
+
+    @Test
+    void idleEntriesOfCrashedConsumerAreReclaimed() throws InterruptedException {
+        RedisStreamStagingQueue crashed = queue("crashed");
+        RedisStreamStagingQueue survivor = queue("survivor");
+        ReflectionTestUtils.setField(survivor, "reclaimIdleMillis", 50L);
+        push(crashed, 4);
+
+        crashed.claim(0, 4).block(TIMEOUT);
+        Thread.sleep(100);
+
+        assertThat(survivor.maintain().block(TIMEOUT)).isEqualTo(4);
+        StagedBatch reclaimed = survivor.claim(0, 10).block(TIMEOUT);
+        assertThat(reclaimed.size()).isEqualTo(4);
+    }
+
+    @Test
+    void enqueueReturnsStreamLengthAndAddCapsItNearMaxLength() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RedisStreamStagingQueue queue = new RedisStreamStagingQueue(redis.engineTemplate(), "capped", meterRegistry);
+        ReflectionTestUtils.setField(queue, "maxLength", 100L);
+
+        assertThat(queue.enqueue(EngineSample.of("engine-0", 300, 7000, 14.7, 1.2, EngineSample.nowMicros()))
+                .block(TIMEOUT)).isEqualTo(1);
+        List<EngineSample> samples = IntStream.range(0, 1000)
+                .mapToObj(i -> EngineSample.of("engine-" + i, 300, 7000, 14.7, 1.2, EngineSample.nowMicros()))
+                .toList();
+        Long length = queue.enqueueAll(samples).block(TIMEOUT);
+
+        // MAXLEN ~ 는 매크로 노드 단위로 잘라내므로 상한을 약간 넘을 수 있음
+        assertThat(length).isEqualTo(queue.backlog().block(TIMEOUT)).isBetween(100L, 300L);
+        assertThat(meterRegistry.counter("engine.staging.stream.trimmed").count()).isPositive();
+    }
+
+    private static RedisStreamStagingQueue queue(String instanceId) {
+        return new RedisStreamStagingQueue(redis.engineTemplate(), instanceId, new SimpleMeterRegistry());
+    }
+
+    private static void push(RedisStreamStagingQueue queue, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.enqueue(EngineSample.of("engine-" + i, 300, 7000, 14.7, 1.2, EngineSample.nowMicros()))
+                    .block(TIMEOUT);
+        }
+    }
+}
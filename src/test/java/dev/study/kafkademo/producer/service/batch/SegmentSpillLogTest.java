@@ -0,0 +1,109 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.producer.service.batch.SegmentSpillLog.SpillBatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentSpillLogTest {
+
+    // 레코드 하나 = 길이(4) + 45 bytes 고정 필드 + engineId
+    private static final int SEGMENT_BYTES = 1024;
+    private static final long BASE_MICROS = 1_700_000_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysInAppendOrderAcrossSegments() {
+        SegmentSpillLog spillLog = new SegmentSpillLog(directory, SEGMENT_BYTES, SEGMENT_BYTES * 10L);
+        List<EngineSample> samples = samples(0, 50);
+
+        assertThat(spillLog.append(samples)).isEqualTo(50);
+        assertThat(spillLog.pendingRecords()).isEqualTo(50);
+
+        List<EngineSample> replayed = drain(spillLog, 7);
+
+        assertThat(replayed).extracting(EngineSample::getTimestampMicros)
+                .containsExactlyElementsOf(samples.stream().map(EngineSample::getTimestampMicros).toList());
+        assertThat(spillLog.hasPending()).isFalse();
+        // 다 읽은 봉인 세그먼트는 삭제되고 쓰기 중인 마지막 세그먼트만 남음
+        assertThat(spillLog.diskBytes()).isEqualTo(SEGMENT_BYTES);
+    }
+
+    @Test
+    void recoversUncommittedRecordsAfterRestart() {
+        SegmentSpillLog before = new SegmentSpillLog(directory, SEGMENT_BYTES, SEGMENT_BYTES * 10L);
+        List<EngineSample> samples = samples(0, 30);
+        before.append(samples);
+        before.commit(before.peek(10));
+        before.close();
+
+        SegmentSpillLog after = new SegmentSpillLog(directory, SEGMENT_BYTES, SEGMENT_BYTES * 10L);
+
+        assertThat(after.pendingRecords()).isEqualTo(20);
+        after.append(samples(30, 5));
+        assertThat(drain(after, 100)).extracting(EngineSample::getTimestampMicros)
+                .containsExactlyElementsOf(IntStream.range(10, 35).mapToObj(i -> BASE_MICROS + i).toList());
+    }
+
+    @Test
+    void rejectsAppendsBeyondDiskCap() {
+        SegmentSpillLog spillLog = new SegmentSpillLog(directory, SEGMENT_BYTES, SEGMENT_BYTES * 2L);
+
+        int appended = spillLog.append(samples(0, 1000));
+
+        assertThat(appended).isBetween(1, 999);
+        assertThat(spillLog.diskBytes()).isEqualTo(SEGMENT_BYTES * 2L);
+        assertThat(spillLog.pendingRecords()).isEqualTo(appended);
+    }
+
+    @Test
+    void breakerOpensAfterThresholdAndClosesOnProbeSuccess() {
+        long[] now = {0};
+        RedisCircuitBreaker breaker = new RedisCircuitBreaker(2, 100, () -> now[0]);
+
+        breaker.recordFailure();
+        assertThat(breaker.isClosed()).isTrue();
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryProbe()).isFalse();
+
+        now[0] = 100_000_000L;
+        assertThat(breaker.tryProbe()).isTrue();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+        // HALF_OPEN 에서의 실패는 임계치와 관계없이 다시 OPEN
+        breaker.recordFailure();
+        assertThat(breaker.state()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        now[0] = 200_000_000L;
+        assertThat(breaker.tryProbe()).isTrue();
+        breaker.recordSuccess();
+        assertThat(breaker.isClosed()).isTrue();
+    }
+
+    private static List<EngineSample> drain(SegmentSpillLog spillLog, int batchSize) {
+        List<EngineSample> replayed = new ArrayList<>();
+        SpillBatch batch;
+        while (!(batch = spillLog.peek(batchSize)).isEmpty()) {
+            replayed.addAll(batch.samples());
+            spillLog.commit(batch);
+        }
+        return replayed;
+    }
+
+    private static List<EngineSample> samples(int from, int count) {
+        return IntStream.range(from, from + count).mapToObj(SegmentSpillLogTest::sample).toList();
+    }
+
+    private static EngineSample sample(int i) {
+        return EngineSample.of("engine-" + (i % 4), 300 + i, 7000, 14.7, 1.2, BASE_MICROS + i);
+    }
+}
@@ -0,0 +1,27 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StagingInstanceIdTest {
+
+    @Test
+    void configuredValueWins() {
+        assertThat(StagingInstanceId.resolve("ingest-a", "engine-0")).isEqualTo("ingest-a");
+    }
+
+    @Test
+    void fallsBackToHostnameWhenNotConfigured() {
+        assertThat(StagingInstanceId.resolve(" ", "engine-0")).isEqualTo("engine-0");
+        assertThat(StagingInstanceId.resolve(null, "engine-0")).isEqualTo("engine-0");
+    }
+
+    @Test
+    void generatesRandomIdWithoutHostname() {
+        String first = StagingInstanceId.resolve("", null);
+        String second = StagingInstanceId.resolve("", "");
+
+        assertThat(first).hasSize(8).isNotEqualTo(second);
+    }
+}
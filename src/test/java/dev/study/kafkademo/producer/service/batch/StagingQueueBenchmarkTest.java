@@ -0,0 +1,66 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 스테이징 백엔드 비교 (리스트 + Lua claim vs Streams 소비자 그룹)
+ * 적재/드레인 처리량과 적재 후 Redis 메모리 사용량 출력
+ * 실행: ./gradlew benchmarkTest --tests '*StagingQueueBenchmarkTest'
+ */
+@Tag("benchmark")
+class StagingQueueBenchmarkTest {
+
+    private static final int SAMPLES = 100_000;
+    private static final int ENGINES = 500;
+    private static final int BATCH_SIZE = 500;
+    private static final int ENQUEUE_CONCURRENCY = 64;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void compareListAndStreamBackends() {
+        try (EmbeddedRedis redis = new EmbeddedRedis("binary")) {
+            run("list", redis, new RedisListStagingQueue(redis.engineTemplate(), redis.stringTemplate(), "bench"));
+            run("stream", redis, new RedisStreamStagingQueue(redis.engineTemplate(), "bench",
+                    new SimpleMeterRegistry()));
+        }
+    }
+
+    private static void run(String label, EmbeddedRedis redis, EngineStagingQueue queue) {
+        redis.flushAll();
+        queue.recover().block(TIMEOUT);
+        long baselineMemory = redis.usedMemoryBytes();
+        long timestampMicros = EngineSample.nowMicros();
+
+        long enqueueStart = System.nanoTime();
+        Flux.range(0, SAMPLES)
+                .flatMap(i -> queue.enqueue(new EngineSample("engine-" + (i % ENGINES),
+                        25_000 + i % 10_000, 700_000 + i % 100_000, 147_000 + i % 1_000, 12_000 + i % 500,
+                        timestampMicros + i, EngineSample.HAS_ALL)), ENQUEUE_CONCURRENCY)
+                .blockLast(TIMEOUT);
+        double enqueueSeconds = (System.nanoTime() - enqueueStart) / 1_000_000_000.0;
+        long stagedMemory = redis.usedMemoryBytes() - baselineMemory;
+
+        long drainStart = System.nanoTime();
+        int drained = 0;
+        StagedBatch batch;
+        while (!(batch = queue.claim(0, BATCH_SIZE).block(TIMEOUT)).isEmpty()) {
+            drained += batch.size();
+            queue.ack(0, batch).block(TIMEOUT);
+        }
+        double drainSeconds = (System.nanoTime() - drainStart) / 1_000_000_000.0;
+
+        assertThat(drained).isEqualTo(SAMPLES);
+        assertThat(queue.backlog().block(TIMEOUT)).isZero();
+        System.out.printf("%-8s enqueue %,10.0f/s  drain %,10.0f/s  memory %,6.1f bytes/sample%n",
+                label, SAMPLES / enqueueSeconds, SAMPLES / drainSeconds, (double) stagedMemory / SAMPLES);
+    }
+}
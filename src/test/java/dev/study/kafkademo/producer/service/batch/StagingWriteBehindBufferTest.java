@@ -0,0 +1,153 @@
+package dev.study.kafkademo.producer.service.batch;
+
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class StagingWriteBehindBufferTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StagingWriteBehindBuffer buffer;
+
+    @AfterEach
+    void tearDown() {
+        buffer.stop();
+    }
+
+    @Test
+    void flushesOnceBatchSizeIsReached() {
+        RecordingQueue queue = new RecordingQueue();
+        buffer = start(queue, 100, 10_000, 4);
+
+        for (int i = 0; i < 250; i++) {
+            buffer.add(sample(i));
+        }
+
+        assertThat(queue.flushes).extracting(List::size).containsExactly(100, 100);
+        assertThat(meterRegistry.summary("engine.staging.flush.size").count()).isEqualTo(2);
+    }
+
+    @Test
+    void flushesPartialBatchAfterWindow() {
+        RecordingQueue queue = new RecordingQueue();
+        buffer = start(queue, 100, 20, 4);
+
+        buffer.add(sample(1));
+        buffer.add(sample(2));
+
+        await().atMost(1, TimeUnit.SECONDS).until(() -> queue.flushes.size() == 1);
+        assertThat(queue.flushes.get(0)).hasSize(2);
+    }
+
+    @Test
+    void blocksCallerWhenInFlightLimitIsReached() throws InterruptedException {
+        Sinks.One<Long> firstWrite = Sinks.one();
+        RecordingQueue queue = new RecordingQueue(firstWrite.asMono());
+        buffer = start(queue, 1, 10_000, 1);
+
+        buffer.add(sample(1));
+        CountDownLatch secondAdded = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            buffer.add(sample(2));
+            secondAdded.countDown();
+        });
+        producer.start();
+
+        // 첫 flush 가 끝나기 전에는 두 번째 flush 가 시작되지 않음
+        assertThat(secondAdded.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        firstWrite.tryEmitValue(1L);
+        assertThat(secondAdded.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(queue.flushes).hasSize(2);
+    }
+
+    private StagingWriteBehindBuffer start(EngineStagingQueue queue, int maxBatchSize, long windowMillis,
+                                           int maxInFlight) {
+        StagingWriteBehindBuffer writeBehindBuffer =
+                new StagingWriteBehindBuffer(queue, meterRegistry, maxBatchSize, windowMillis, maxInFlight, null);
+        writeBehindBuffer.start();
+        return writeBehindBuffer;
+    }
+
+    private static EngineSample sample(int i) {
+        return EngineSample.of("engine-" + i, 300, 7000, 14.7, 1.2, EngineSample.nowMicros());
+    }
+
+    /**
+     * enqueueAll 호출을 기록하는 스테이징 큐 (첫 쓰기 응답 지연 가능)
+     */
+    private static class RecordingQueue implements EngineStagingQueue {
+
+        private final List<List<EngineSample>> flushes = new CopyOnWriteArrayList<>();
+        private final Mono<Long> firstResponse;
+
+        RecordingQueue() {
+            this(Mono.just(0L));
+        }
+
+        RecordingQueue(Mono<Long> firstResponse) {
+            this.firstResponse = firstResponse;
+        }
+
+        @Override
+        public Mono<Long> enqueueAll(List<EngineSample> samples) {
+            flushes.add(List.copyOf(samples));
+            return flushes.size() == 1 ? firstResponse : Mono.just((long) samples.size());
+        }
+
+        @Override
+        public String backendName() {
+            return "recording";
+        }
+
+        @Override
+        public Mono<Long> enqueue(EngineSample sample) {
+            return enqueueAll(List.of(sample));
+        }
+
+        @Override
+        public Mono<StagedBatch> claim(int worker, int maxSize) {
+            return Mono.just(StagedBatch.empty());
+        }
+
+        @Override
+        public Mono<Void> ack(int worker, StagedBatch batch) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> nack(int worker, StagedBatch batch) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Void> deadLetter(int worker, StagedBatch batch) {
+            return Mono.empty();
+        }
+
+        @Override
+        public Mono<Long> backlog() {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> recover() {
+            return Mono.just(0L);
+        }
+
+        @Override
+        public Mono<Long> maintain() {
+            return Mono.just(0L);
+        }
+    }
+}
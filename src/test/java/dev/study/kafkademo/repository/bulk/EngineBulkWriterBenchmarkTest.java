@@ -0,0 +1,122 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * engines 일괄 적재 전략별 처리량 비교 (Testcontainers 미사용: H2 인메모리 + zonky 임베디드 PostgreSQL)
+ * row-by-row 는 IDENTITY 엔티티 saveAll 과 동일한 행별 INSERT + 생성 키 조회 경로
+ * 실행: ./gradlew benchmarkTest --tests '*EngineBulkWriterBenchmarkTest'
+ */
+@Tag("benchmark")
+class EngineBulkWriterBenchmarkTest {
+
+    private static final int ROWS = 100_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int ENGINES = 500;
+
+    @Test
+    void compareStrategiesOnH2() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:bulk;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        System.out.println("== H2 (PostgreSQL mode) ==");
+        run("row-by-row", jdbcTemplate, rowByRow(jdbcTemplate));
+        run("jdbc multi-row", jdbcTemplate, jdbcWriter(jdbcTemplate)::write);
+    }
+
+    @Test
+    void compareStrategiesOnEmbeddedPostgres() {
+        try (EmbeddedPostgresEngines postgres = new EmbeddedPostgresEngines()) {
+            JdbcTemplate jdbcTemplate = postgres.jdbcTemplate();
+
+            System.out.println("== embedded PostgreSQL ==");
+            run("row-by-row", jdbcTemplate, rowByRow(jdbcTemplate));
+            run("jdbc multi-row", jdbcTemplate, jdbcWriter(jdbcTemplate)::write);
+            run("copy binary", jdbcTemplate, new PostgresCopyEngineBulkWriter(jdbcTemplate, 30)::write);
+
+            // COPY 로 적재된 numeric/timestamp 값이 엔티티 스케일과 일치하는지 확인
+            BigDecimal temperature = jdbcTemplate.queryForObject(
+                    "SELECT temperature FROM engines WHERE engine_id = 'engine-1' ORDER BY id LIMIT 1",
+                    BigDecimal.class);
+            assertThat(temperature).isEqualByComparingTo(BigDecimal.valueOf(25_001, 2));
+        }
+    }
+
+    private static void run(String label, JdbcTemplate jdbcTemplate, Function<List<EngineSample>, Integer> writer) {
+        EmbeddedPostgresEngines.recreateEnginesTable(jdbcTemplate);
+
+        List<List<EngineSample>> batches = batches();
+        // 워밍업
+        writer.apply(batches.get(0));
+
+        long start = System.nanoTime();
+        int written = 0;
+        for (List<EngineSample> batch : batches) {
+            written += writer.apply(batch);
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertThat(written).isEqualTo(ROWS);
+        System.out.printf("%-20s %,12.0f rows/sec (%.2fs)%n", label, ROWS / seconds, seconds);
+    }
+
+    static JdbcEngineBulkWriter jdbcWriter(JdbcTemplate jdbcTemplate) {
+        JdbcEngineBulkWriter writer = new JdbcEngineBulkWriter(jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "rowsPerStatement", 500);
+        return writer;
+    }
+
+    static Function<List<EngineSample>, Integer> rowByRow(JdbcTemplate jdbcTemplate) {
+        String sql = JdbcEngineBulkWriter.buildInsertSql(1);
+        return samples -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (EngineSample sample : samples) {
+                jdbcTemplate.update(connection -> {
+                    var ps = connection.prepareStatement(sql, new String[]{"id"});
+                    ps.setString(1, sample.getEngineId());
+                    ps.setBigDecimal(2, BigDecimal.valueOf(sample.getTemperatureScaled(), 2));
+                    ps.setBigDecimal(3, BigDecimal.valueOf(sample.getRpmScaled(), 2));
+                    ps.setBigDecimal(4, BigDecimal.valueOf(sample.getPressureScaled(), 4));
+                    ps.setBigDecimal(5, BigDecimal.valueOf(sample.getFuelFlowScaled(), 4));
+                    ps.setObject(6, EngineSample.toLocalDateTime(sample.getTimestampMicros()));
+                    ps.setObject(7, now);
+                    ps.setObject(8, now);
+                    return ps;
+                }, new GeneratedKeyHolder());
+            }
+            return samples.size();
+        };
+    }
+
+    static List<List<EngineSample>> batches() {
+        List<List<EngineSample>> batches = new ArrayList<>();
+        List<EngineSample> batch = new ArrayList<>(BATCH_SIZE);
+        long timestampMicros = EngineSample.nowMicros();
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new EngineSample("engine-" + (i % ENGINES),
+                    25_000 + i % 10_000, 700_000 + i % 100_000, 147_000 + i % 1_000, -(12_000 + i % 500),
+                    timestampMicros + i, EngineSample.HAS_ALL));
+            if (batch.size() == BATCH_SIZE) {
+                batches.add(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        return batches;
+    }
+}
@@ -0,0 +1,76 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 PostgreSQL 대상 재전달 배치 중복 적재 방지 검증
+ */
+class IdempotentEngineWriterTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    private static EmbeddedPostgresEngines postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private IdempotentEngineWriter writer;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = new EmbeddedPostgresEngines();
+        jdbcTemplate = postgres.jdbcTemplate();
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        postgres.recreateEnginesTable();
+        // 한 문장당 2행 - 청크 경계에서도 중복 판정이 유지되는지 확인
+        writer = new IdempotentEngineWriter(jdbcTemplate, 2);
+        writer.createUniqueIndex();
+    }
+
+    @Test
+    void redeliveredBatchInsertsNothing() {
+        List<EngineSample> batch = List.of(sample("engine-1", 0), sample("engine-2", 0), sample("engine-1", 1));
+
+        assertThat(writer.insert(batch)).isEqualTo(3);
+        assertThat(writer.insert(batch)).isZero();
+        assertThat(count()).isEqualTo(3);
+    }
+
+    @Test
+    void returnsOnlyNewlyInsertedSamples() {
+        EngineSample committed = sample("engine-1", 0);
+        writer.insert(List.of(committed));
+
+        EngineSample fresh = sample("engine-1", 1);
+        // 같은 배치 안의 중복 키는 한 건만 삽입
+        List<EngineSample> inserted = writer.insertReturningNew(List.of(committed, fresh, sample("engine-1", 1)));
+
+        assertThat(inserted).containsExactly(fresh);
+        assertThat(count()).isEqualTo(2);
+    }
+
+    private static long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM engines", Long.class);
+    }
+
+    private static EngineSample sample(String engineId, int second) {
+        return EmbeddedPostgresEngines.sample(engineId, 300, EngineSample.toEpochMicros(BASE.plusSeconds(second)));
+    }
+}
@@ -0,0 +1,60 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 임베디드 PostgreSQL 대상 COPY 적재와 트랜잭션 범위 statement_timeout 검증
+ */
+class PostgresCopyEngineBulkWriterTest {
+
+    private static EmbeddedPostgresEngines postgres;
+    private static JdbcTemplate jdbcTemplate;
+    private static TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = new EmbeddedPostgresEngines();
+        jdbcTemplate = postgres.jdbcTemplate();
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(postgres.dataSource()));
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        postgres.recreateEnginesTable();
+    }
+
+    @Test
+    void copyRunsUnderTransactionScopedStatementTimeout() {
+        PostgresCopyEngineBulkWriter writer = new PostgresCopyEngineBulkWriter(jdbcTemplate, 7);
+        List<EngineSample> samples = List.of(
+                EmbeddedPostgresEngines.sample("engine-1", 300, EngineSample.nowMicros()),
+                EmbeddedPostgresEngines.sample("engine-2", 310, EngineSample.nowMicros()));
+
+        String timeoutInTransaction = transactionTemplate.execute(status -> {
+            assertThat(writer.write(samples)).isEqualTo(2);
+            return jdbcTemplate.queryForObject("SHOW statement_timeout", String.class);
+        });
+
+        assertThat(timeoutInTransaction).isEqualTo("7s");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM engines", Long.class)).isEqualTo(2);
+        // 커밋 후에는 커넥션 기본값으로 복귀
+        assertThat(jdbcTemplate.queryForObject("SHOW statement_timeout", String.class)).isEqualTo("0");
+    }
+}
@@ -0,0 +1,99 @@
+package dev.study.kafkademo.repository.bulk;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 드레인 적재 경로별 처리량/스레드 사용량 비교 (zonky 임베디드 PostgreSQL, 동시 배치 8개, 연결 풀 8개)
+ * row-by-row(JPA saveAll 과 같은 행별 INSERT)와 jdbc multi-row 는 현재 경로처럼 boundedElastic 에서 블로킹 실행,
+ * r2dbc multi-row 는 같은 문장을 R2DBC 이벤트 루프에서 실행
+ * threads: 실행 중 최대 라이브 스레드 증가분 / 새로 시작된 스레드 수 (boundedElastic 재사용을 피하려 r2dbc 를 먼저 측정)
+ * 실행: ./gradlew benchmarkTest --tests '*R2dbcEngineBulkWriterBenchmarkTest'
+ */
+@Tag("benchmark")
+class R2dbcEngineBulkWriterBenchmarkTest {
+
+    private static final int CONCURRENCY = 8;
+
+    @Test
+    void compareBlockingAndReactivePathsOnEmbeddedPostgres() {
+        try (EmbeddedPostgresEngines postgres = new EmbeddedPostgresEngines()) {
+            HikariConfig hikari = new HikariConfig();
+            hikari.setDataSource(postgres.dataSource());
+            hikari.setMaximumPoolSize(CONCURRENCY);
+            ConnectionPool connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(
+                            ConnectionFactories.get("r2dbc:postgresql://postgres@localhost:" + postgres.port()
+                                    + "/postgres"))
+                    .initialSize(CONCURRENCY)
+                    .maxSize(CONCURRENCY)
+                    .build());
+
+            try (HikariDataSource dataSource = new HikariDataSource(hikari)) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                R2dbcEngineBulkWriter r2dbcWriter = new R2dbcEngineBulkWriter(connectionPool, 500);
+
+                System.out.println("== embedded PostgreSQL, concurrency " + CONCURRENCY + " ==");
+                run("r2dbc multi-row", jdbcTemplate, r2dbcWriter::writeReactive);
+                run("jdbc multi-row", jdbcTemplate,
+                        blocking(EngineBulkWriterBenchmarkTest.jdbcWriter(jdbcTemplate)::write));
+                run("row-by-row (jpa)", jdbcTemplate,
+                        blocking(EngineBulkWriterBenchmarkTest.rowByRow(jdbcTemplate)));
+            } finally {
+                connectionPool.dispose();
+            }
+        }
+    }
+
+    private static void run(String label, JdbcTemplate jdbcTemplate,
+                            Function<List<EngineSample>, Mono<Integer>> writer) {
+        EmbeddedPostgresEngines.recreateEnginesTable(jdbcTemplate);
+
+        List<List<EngineSample>> batches = EngineBulkWriterBenchmarkTest.batches();
+        // 워밍업 (드라이버 이벤트 루프/풀 커넥션 생성)
+        writer.apply(batches.get(0)).block();
+        jdbcTemplate.execute("TRUNCATE engines");
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        long startedBefore = threads.getTotalStartedThreadCount();
+
+        long start = System.nanoTime();
+        Long written = Flux.fromIterable(batches)
+                .flatMap(writer, CONCURRENCY)
+                .reduce(0L, (sum, batchRows) -> sum + batchRows)
+                .block();
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        int rows = batches.stream().mapToInt(List::size).sum();
+        assertThat(written).isEqualTo((long) rows);
+        System.out.printf("%-20s %,12.0f rows/sec (%.2fs)  threads +%d peak, %d started%n",
+                label, rows / seconds, seconds, threads.getPeakThreadCount() - baseline,
+                threads.getTotalStartedThreadCount() - startedBefore);
+    }
+
+    /**
+     * 현재 saveBatchToDataBase 와 같은 블로킹 적재 연결 (Mono.fromCallable + subscribeOn(boundedElastic))
+     */
+    private static Function<List<EngineSample>, Mono<Integer>> blocking(Function<List<EngineSample>, Integer> writer) {
+        return batch -> Mono.fromCallable(() -> writer.apply(batch)).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,112 @@
+package dev.study.kafkademo.repository.bulk;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * H2 R2DBC 드라이버 대상 다중 행 INSERT 적재 검증 (청크 분할, 결측 컬럼, 실패 시 배치 전체 롤백)
+ */
+class R2dbcEngineBulkWriterTest {
+
+    private static final long BASE_MICROS = 1_767_261_600_000_000L;
+
+    private final ConnectionFactory connectionFactory =
+            ConnectionFactories.get("r2dbc:h2:mem:///r2dbc_writer?options=DB_CLOSE_DELAY=-1");
+
+    // 한 문장당 500행 - 1,200행 배치는 3개 문장(500 + 500 + 200)
+    private final R2dbcEngineBulkWriter writer = new R2dbcEngineBulkWriter(connectionFactory, 500);
+
+    @BeforeEach
+    void setUp() {
+        execute("DROP TABLE IF EXISTS engines");
+        execute(EmbeddedPostgresEngines.ENGINES_DDL);
+    }
+
+    @Test
+    void writesBatchAcrossStatementChunks() {
+        Integer written = writer.writeReactive(samples(1_200)).block();
+
+        assertThat(written).isEqualTo(1_200);
+        assertThat(queryLong("SELECT COUNT(*) FROM engines")).isEqualTo(1_200L);
+        assertThat(queryLong("SELECT COUNT(DISTINCT engine_id) FROM engines")).isEqualTo(10L);
+    }
+
+    @Test
+    void bindsMissingMetricsAsNull() {
+        EngineSample partial = new EngineSample("engine-1", 25_001, 0, 147_000, 0, BASE_MICROS,
+                EngineSample.HAS_TEMPERATURE | EngineSample.HAS_PRESSURE | EngineSample.HAS_TIMESTAMP);
+
+        assertThat(writer.writeReactive(List.of(partial)).block()).isEqualTo(1);
+        assertThat(queryLong("SELECT COUNT(*) FROM engines WHERE rpm IS NULL AND fuel_flow IS NULL")).isEqualTo(1L);
+        BigDecimal temperature = Mono.usingWhen(connectionFactory.create(),
+                connection -> Mono.from(connection.createStatement("SELECT temperature FROM engines").execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, BigDecimal.class)))),
+                Connection::close).block();
+        assertThat(temperature).isEqualByComparingTo(BigDecimal.valueOf(25_001, 2));
+    }
+
+    @Test
+    void bindsMissingEngineIdAsNull() {
+        List<EngineSample> samples = samples(3);
+        samples.set(1, new EngineSample(null, 25_000, 700_000, 147_000, 12_000, BASE_MICROS, EngineSample.HAS_ALL));
+
+        assertThat(writer.writeReactive(samples).block()).isEqualTo(3);
+        assertThat(queryLong("SELECT COUNT(*) FROM engines WHERE engine_id IS NULL")).isEqualTo(1L);
+    }
+
+    @Test
+    void rollsBackWholeBatchWhenChunkFails() {
+        List<EngineSample> samples = samples(1_200);
+        // 마지막 청크의 engine_id 가 VARCHAR(64) 초과 - 앞 청크 2개도 함께 롤백되어야 함
+        samples.set(1_100, new EngineSample("x".repeat(100), 25_000, 700_000, 147_000, 12_000, BASE_MICROS,
+                EngineSample.HAS_ALL));
+
+        assertThatThrownBy(() -> writer.writeReactive(samples).block()).isInstanceOf(RuntimeException.class);
+        assertThat(queryLong("SELECT COUNT(*) FROM engines")).isZero();
+    }
+
+    @Test
+    void buildsPositionalBindMarkers() {
+        assertThat(R2dbcEngineBulkWriter.buildInsertSql(2))
+                .endsWith("VALUES ($1,$2,$3,$4,$5,$6,$7,$8),($9,$10,$11,$12,$13,$14,$15,$16)");
+    }
+
+    private static List<EngineSample> samples(int count) {
+        List<EngineSample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            samples.add(new EngineSample("engine-" + (i % 10), 25_000 + i, 700_000 + i, 147_000, 12_000,
+                    BASE_MICROS + i, EngineSample.HAS_ALL));
+        }
+        return samples;
+    }
+
+    private void execute(String sql) {
+        Mono.usingWhen(connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement(sql).execute())
+                        .flatMap(Result::getRowsUpdated)
+                        .then(),
+                Connection::close).block();
+    }
+
+    private Long queryLong(String sql) {
+        return Mono.usingWhen(connectionFactory.create(),
+                connection -> Mono.from(connection.createStatement(sql).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Long.class)))),
+                Connection::close).block();
+    }
+}
@@ -0,0 +1,95 @@
+package dev.study.kafkademo.repository.partition;
+
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 단일 테이블 + B-tree vs 일 단위 파티션 + BRIN 비교 (임베디드 PostgreSQL, 생성 데이터 3백만 행 / 30일)
+ * 적재 시간, 테이블+인덱스 크기, 엔진별 1시간 범위 조회, 일 단위 집계, 7일치 보존 삭제 시간 출력
+ * 실행: ./gradlew benchmarkTest --tests '*EnginePartitionBenchmarkTest'
+ */
+@Tag("benchmark")
+class EnginePartitionBenchmarkTest {
+
+    private static final int ROWS = 3_000_000;
+    private static final int ENGINES = 500;
+    private static final int DAYS = 30;
+    private static final int EXPIRED_DAYS = 7;
+    private static final int QUERIES = 200;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+
+    private static final String ENGINE_RANGE_SQL = "SELECT * FROM engines WHERE engine_id = ?"
+            + " AND \"timestamp\" >= ? AND \"timestamp\" < ? ORDER BY \"timestamp\"";
+    private static final String DAY_COUNT_SQL =
+            "SELECT count(*) FROM engines WHERE \"timestamp\" >= ? AND \"timestamp\" < ?";
+
+    @Test
+    void compareSingleTableAndDailyPartitions() {
+        try (EmbeddedPostgresEngines postgres = new EmbeddedPostgresEngines()) {
+            JdbcTemplate jdbcTemplate = postgres.jdbcTemplate();
+
+            postgres.recreateEnginesTable();
+            jdbcTemplate.execute("CREATE INDEX idx_engine_timestamp ON engines (\"timestamp\")");
+            run("single + btree", jdbcTemplate, () -> jdbcTemplate.update(
+                    "DELETE FROM engines WHERE \"timestamp\" < ?", START.plusDays(EXPIRED_DAYS).atStartOfDay()));
+
+            jdbcTemplate.execute("DROP TABLE engines CASCADE");
+            EnginePartitionManager manager = new EnginePartitionManager(jdbcTemplate, DAYS - EXPIRED_DAYS, DAYS);
+            manager.initialize();
+            manager.ensurePartitions(START);
+            run("daily + brin", jdbcTemplate, () -> manager.dropExpiredPartitions(START.plusDays(DAYS)));
+        }
+    }
+
+    private static void run(String label, JdbcTemplate jdbcTemplate, Runnable retention) {
+        long loadStart = System.nanoTime();
+        // 30일에 걸쳐 시간 순으로 균등 분포 (엔진 500대 라운드 로빈)
+        jdbcTemplate.update("""
+                INSERT INTO engines (engine_id, temperature, rpm, pressure, fuel_flow, "timestamp", created_at)
+                SELECT 'engine-' || (g % ?),
+                       250 + random() * 100, 6000 + random() * 2000, 14 + random(), 1 + random(),
+                       ? + (g::bigint * ? / ?) * interval '1 microsecond', now()
+                FROM generate_series(0, ? - 1) g""",
+                ENGINES, START.atStartOfDay(), DAYS * 86_400_000_000L, ROWS, ROWS);
+        jdbcTemplate.execute("ANALYZE engines");
+        double loadSeconds = seconds(loadStart);
+
+        Long bytes = jdbcTemplate.queryForObject("""
+                SELECT sum(pg_total_relation_size(relid))
+                FROM pg_partition_tree('engines')""", Long.class);
+
+        long queryStart = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime from = START.atStartOfDay().plusHours(i % (DAYS * 24));
+            jdbcTemplate.queryForList(ENGINE_RANGE_SQL, "engine-" + (i % ENGINES), from, from.plusHours(1));
+        }
+        double rangeMillis = seconds(queryStart) * 1_000 / QUERIES;
+
+        long countStart = System.nanoTime();
+        Long dayRows = jdbcTemplate.queryForObject(DAY_COUNT_SQL, Long.class,
+                START.plusDays(10).atStartOfDay(), START.plusDays(11).atStartOfDay());
+        double countMillis = seconds(countStart) * 1_000;
+
+        long retentionStart = System.nanoTime();
+        retention.run();
+        double retentionMillis = seconds(retentionStart) * 1_000;
+
+        assertThat(dayRows).isEqualTo(ROWS / DAYS);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM engines WHERE \"timestamp\" < ?", Long.class,
+                START.plusDays(EXPIRED_DAYS).atStartOfDay())).isZero();
+        System.out.printf("%-16s load %6.1f s  size %,8.1f MB  engine 1h range %7.2f ms  "
+                        + "1 day count %8.1f ms  retention %9.1f ms%n",
+                label, loadSeconds, bytes / 1024.0 / 1024.0, rangeMillis, countMillis, retentionMillis);
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package dev.study.kafkademo.repository.partition;
+
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 임베디드 PostgreSQL 대상 파티션 생성/보존 삭제/파티션 프루닝 검증
+ */
+class EnginePartitionManagerTest {
+
+    private static EmbeddedPostgresEngines postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = new EmbeddedPostgresEngines();
+        jdbcTemplate = postgres.jdbcTemplate();
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void dropTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS engines CASCADE");
+    }
+
+    @Test
+    void createsPartitionsAheadAndRoutesRows() {
+        EnginePartitionManager manager = new EnginePartitionManager(jdbcTemplate, 30, 2);
+        manager.initialize();
+        LocalDate today = LocalDate.now();
+
+        assertThat(manager.partitions()).containsExactly(
+                EnginePartitionManager.partitionName(today),
+                EnginePartitionManager.partitionName(today.plusDays(1)),
+                EnginePartitionManager.partitionName(today.plusDays(2)));
+
+        insert(today.atTime(12, 0));
+        insert(today.minusYears(1).atStartOfDay());
+        assertThat(count(EnginePartitionManager.partitionName(today))).isEqualTo(1);
+        assertThat(count(EnginePartitionManager.DEFAULT_PARTITION)).isEqualTo(1);
+    }
+
+    @Test
+    void dropsOnlyPartitionsOlderThanRetention() {
+        EnginePartitionManager manager = new EnginePartitionManager(jdbcTemplate, 2, 0);
+        manager.initialize();
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int day = 0; day < 5; day++) {
+            manager.ensurePartitions(start.plusDays(day));
+            insert(start.plusDays(day).atTime(1, 0));
+        }
+
+        List<String> dropped = manager.dropExpiredPartitions(start.plusDays(4));
+
+        assertThat(dropped).containsExactly(
+                EnginePartitionManager.partitionName(start),
+                EnginePartitionManager.partitionName(start.plusDays(1)));
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM engines WHERE \"timestamp\" < ?", Long.class, start.plusDays(5).atStartOfDay()))
+                .isEqualTo(3);
+    }
+
+    @Test
+    void rangeQueryScansOnlyMatchingPartition() {
+        EnginePartitionManager manager = new EnginePartitionManager(jdbcTemplate, 30, 0);
+        manager.initialize();
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int day = 0; day < 3; day++) {
+            manager.ensurePartitions(start.plusDays(day));
+        }
+
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN SELECT * FROM engines "
+                + "WHERE \"timestamp\" >= '2026-01-02 00:00' AND \"timestamp\" < '2026-01-02 06:00'", String.class));
+
+        assertThat(plan).contains("engines_p20260102").doesNotContain("engines_p20260101", "engines_p20260103");
+    }
+
+    @Test
+    void refusesToManageRegularTable() {
+        postgres.recreateEnginesTable();
+
+        assertThatThrownBy(() -> new EnginePartitionManager(jdbcTemplate, 30, 0).initialize())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static void insert(LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO engines (engine_id, temperature, \"timestamp\", created_at) "
+                + "VALUES ('engine-1', 300, ?, now())", timestamp);
+    }
+
+    private static long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
@@ -0,0 +1,91 @@
+package dev.study.kafkademo.repository.rollup;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.support.EmbeddedPostgresEngines;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 임베디드 PostgreSQL 대상 롤업 업서트 병합 검증
+ */
+class EngineRollupWriterTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    private static EmbeddedPostgresEngines postgres;
+    private static JdbcTemplate jdbcTemplate;
+
+    private EngineRollupWriter writer;
+    private EngineRollupRepository repository;
+
+    @BeforeAll
+    static void startPostgres() {
+        postgres = new EmbeddedPostgresEngines();
+        jdbcTemplate = postgres.jdbcTemplate();
+    }
+
+    @AfterAll
+    static void stopPostgres() {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        for (RollupResolution resolution : RollupResolution.values()) {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + resolution.table());
+        }
+        writer = new EngineRollupWriter(jdbcTemplate);
+        writer.createTables();
+        repository = new EngineRollupRepository(jdbcTemplate);
+    }
+
+    @Test
+    void mergesSuccessiveBatchesIntoTheSameBuckets() {
+        writer.apply(List.of(sample(BASE, 300), sample(BASE.plusSeconds(10), 320)));
+        writer.apply(List.of(sample(BASE.plusSeconds(20), 280), sample(BASE.plusMinutes(1), 400)));
+
+        List<RollupPoint> minutes = repository.findPoints(RollupResolution.MINUTE, "engine-1",
+                BASE, BASE.plusHours(1));
+        assertThat(minutes).hasSize(2);
+        RollupPoint first = minutes.get(0);
+        assertThat(first.time()).isEqualTo(BASE);
+        assertThat(first.count()).isEqualTo(3);
+        assertThat(first.temperature().min()).isEqualTo(280);
+        assertThat(first.temperature().max()).isEqualTo(320);
+        assertThat(first.temperature().mean()).isCloseTo(300, within(1e-9));
+
+        RollupPoint hour = repository.findPoints(RollupResolution.HOUR, "engine-1", BASE, BASE.plusHours(1)).get(0);
+        assertThat(hour.count()).isEqualTo(4);
+        assertThat(hour.temperature().max()).isEqualTo(400);
+        assertThat(repository.findPoints(RollupResolution.DAY, "engine-1", BASE, BASE.plusDays(1)))
+                .singleElement().extracting(RollupPoint::time).isEqualTo(BASE.toLocalDate().atStartOfDay());
+    }
+
+    @Test
+    void missingMeasurementsDoNotAffectMinMax() {
+        long micros = EngineSample.toEpochMicros(BASE);
+        writer.apply(List.of(new EngineSample("engine-1", 0, 700_000, 0, 0, micros,
+                EngineSample.HAS_RPM | EngineSample.HAS_TIMESTAMP)));
+        writer.apply(List.of(sample(BASE.plusSeconds(1), 310)));
+
+        RollupPoint point = repository.findPoints(RollupResolution.MINUTE, "engine-1", BASE, BASE.plusMinutes(1))
+                .get(0);
+        assertThat(point.count()).isEqualTo(2);
+        assertThat(point.temperature().count()).isEqualTo(1);
+        assertThat(point.temperature().min()).isEqualTo(310);
+        assertThat(point.rpm().count()).isEqualTo(2);
+    }
+
+    private static EngineSample sample(LocalDateTime timestamp, double temperature) {
+        return EmbeddedPostgresEngines.sample("engine-1", temperature, EngineSample.toEpochMicros(timestamp));
+    }
+}
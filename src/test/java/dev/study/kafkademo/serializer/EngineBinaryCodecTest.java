@@ -0,0 +1,69 @@
+package dev.study.kafkademo.serializer;
+
+import dev.study.kafkademo.dto.EngineDto;
+import dev.study.kafkademo.dto.EngineSample;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EngineBinaryCodecTest {
+
+    @Test
+    void roundTripPreservesValuesAtEntityScale() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 8, 2, 14, 0, 1, 123_456_000);
+        EngineDto engineDto = new EngineDto("engine-7", new BigDecimal("342.57"), new BigDecimal("7812.4"),
+                new BigDecimal("14.69595"), new BigDecimal("-1.2875"), timestamp);
+
+        byte[] bytes = EngineBinaryCodec.encode(EngineSample.from(engineDto));
+        EngineDto decoded = EngineBinaryCodec.decode(bytes).toDto();
+
+        assertThat(bytes).hasSize(EngineBinaryCodec.FIXED_SIZE + "engine-7".length());
+        assertThat(decoded.getEngineId()).isEqualTo("engine-7");
+        assertThat(decoded.getTemperature()).isEqualByComparingTo("342.57");
+        assertThat(decoded.getRpm()).isEqualByComparingTo("7812.40");
+        assertThat(decoded.getPressure()).isEqualByComparingTo("14.6960");
+        assertThat(decoded.getFuelFlow()).isEqualByComparingTo("-1.2875");
+        assertThat(decoded.getTimestamp()).isEqualTo(timestamp);
+    }
+
+    @Test
+    void absentFieldsStayNull() {
+        EngineDto decoded = EngineBinaryCodec.decode(EngineBinaryCodec.encode(EngineSample.from(new EngineDto())))
+                .toDto();
+
+        assertThat(decoded.getEngineId()).isNull();
+        assertThat(decoded.getTemperature()).isNull();
+        assertThat(decoded.getTimestamp()).isNull();
+    }
+
+    @Test
+    void decodesVersionOneTimestampAsLocalTime() {
+        LocalDateTime timestamp = LocalDateTime.of(2025, 8, 2, 14, 0, 1, 123_456_000);
+        byte[] bytes = EngineBinaryCodec.encode(EngineSample.from(new EngineDto("engine-7", new BigDecimal("342.57"),
+                new BigDecimal("7812.4"), new BigDecimal("14.69595"), new BigDecimal("-1.2875"), timestamp)));
+        // version 1 레이아웃: 로컬 시각을 UTC 로 해석한 epoch micros
+        long localMicros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+        ByteBuffer.wrap(bytes).put(1, EngineBinaryCodec.VERSION_LOCAL_TIMESTAMP).putLong(35, localMicros);
+
+        EngineDto decoded = EngineBinaryCodec.decode(bytes).toDto();
+
+        assertThat(decoded.getTimestamp()).isEqualTo(timestamp);
+        assertThat(decoded.getTemperature()).isEqualByComparingTo("342.57");
+    }
+
+    @Test
+    void rejectsUnknownVersion() {
+        byte[] bytes = EngineBinaryCodec.encode(EngineSample.from(new EngineDto()));
+        bytes[1] = 99;
+
+        assertThatThrownBy(() -> EngineBinaryCodec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+}
@@ -0,0 +1,76 @@
+package dev.study.kafkademo.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 윈도우 집계 토폴로지 처리량 (TopologyTestDriver + RocksDB 스토어, 브로커 왕복 제외)
+ * 엔진 500대 x 1초 간격 샘플을 처리하고 처리량과 입력 대비 출력 레코드 비율 출력
+ * 실행: ./gradlew benchmarkTest --tests '*EngineWindowTopologyBenchmarkTest'
+ */
+@Tag("benchmark")
+class EngineWindowTopologyBenchmarkTest {
+
+    private static final int ENGINES = 500;
+    private static final int SECONDS = 1_200;
+
+    @TempDir
+    Path stateDirectory;
+
+    @Test
+    void windowedAggregationThroughput() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Serde<EngineSample> sampleSerde = EngineStreamsConfig.sampleSerde("binary", objectMapper);
+        Serde<EngineWindowAggregate> aggregateSerde = EngineStreamsConfig.aggregateSerde(objectMapper);
+        StreamsBuilder builder = new StreamsBuilder();
+        new EngineWindowTopology(sampleSerde, aggregateSerde, new EngineWindowTopology.Settings(
+                "engine", true, Duration.ofSeconds(10), "engine-stats-1m", "engine-stats-5m")).build(builder);
+
+        try (TopologyTestDriver driver = new TopologyTestDriver(builder.build(),
+                EngineWindowTopologyTest.properties(stateDirectory))) {
+            TestInputTopic<String, EngineSample> input = driver.createInputTopic("engine",
+                    Serdes.String().serializer(), sampleSerde.serializer());
+            TestOutputTopic<String, EngineWindowAggregate> tumbling = driver.createOutputTopic("engine-stats-1m",
+                    Serdes.String().deserializer(), aggregateSerde.deserializer());
+            TestOutputTopic<String, EngineWindowAggregate> hopping = driver.createOutputTopic("engine-stats-5m",
+                    Serdes.String().deserializer(), aggregateSerde.deserializer());
+
+            long total = (long) ENGINES * SECONDS;
+            long start = System.nanoTime();
+            for (int second = 0; second < SECONDS; second++) {
+                long timestampMicros = second * 1_000_000L;
+                for (int engine = 0; engine < ENGINES; engine++) {
+                    String engineId = "engine-" + engine;
+                    input.pipeInput(engineId, new EngineSample(engineId,
+                            25_000 + (second + engine) % 10_000, 700_000 + second % 100_000,
+                            147_000, 12_000, timestampMicros, EngineSample.HAS_ALL));
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long tumblingRecords = tumbling.getQueueSize();
+            long hoppingRecords = hopping.getQueueSize();
+            System.out.printf("samples %,d  %,.0f samples/s  1m out %,d (%.4f of input)  5m out %,d (%.4f of input)%n",
+                    total, total / elapsedSeconds, tumblingRecords, (double) tumblingRecords / total,
+                    hoppingRecords, (double) hoppingRecords / total);
+
+            // 닫힌 1분 윈도우(마지막 윈도우 제외)마다 엔진당 1건
+            assertThat(tumblingRecords).isEqualTo((long) ENGINES * (SECONDS / 60 - 1));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package dev.study.kafkademo.streams;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dev.study.kafkademo.dto.EngineSample;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TestOutputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EngineWindowTopologyTest {
+
+    private static final long MINUTE_MICROS = 60_000_000L;
+    private static final long BASE_MICROS = 10 * MINUTE_MICROS;
+
+    @TempDir
+    Path stateDirectory;
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, EngineSample> input;
+    private TestOutputTopic<String, EngineWindowAggregate> tumbling;
+    private TestOutputTopic<String, EngineWindowAggregate> hopping;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Serde<EngineSample> sampleSerde = EngineStreamsConfig.sampleSerde("binary", objectMapper);
+        Serde<EngineWindowAggregate> aggregateSerde = EngineStreamsConfig.aggregateSerde(objectMapper);
+
+        StreamsBuilder builder = new StreamsBuilder();
+        new EngineWindowTopology(sampleSerde, aggregateSerde, new EngineWindowTopology.Settings(
+                "engine", true, Duration.ZERO, "engine-stats-1m", "engine-stats-5m")).build(builder);
+
+        driver = new TopologyTestDriver(builder.build(), properties(stateDirectory));
+        input = driver.createInputTopic("engine", Serdes.String().serializer(), sampleSerde.serializer());
+        tumbling = driver.createOutputTopic("engine-stats-1m",
+                Serdes.String().deserializer(), aggregateSerde.deserializer());
+        hopping = driver.createOutputTopic("engine-stats-5m",
+                Serdes.String().deserializer(), aggregateSerde.deserializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void tumblingWindowEmitsFinalStatsOnceWindowCloses() {
+        pipe("engine-1", 300, 7000, BASE_MICROS);
+        pipe("engine-1", 310, 7100, BASE_MICROS + 10_000_000L);
+        pipe("engine-1", 320, 7200, BASE_MICROS + 20_000_000L);
+        assertThat(tumbling.isEmpty()).isTrue();
+
+        // 다른 엔진 샘플로 스트림 시각을 진행해 윈도우를 닫음
+        pipe("engine-2", 300, 7000, BASE_MICROS + 20 * MINUTE_MICROS);
+
+        Map<String, EngineWindowAggregate> results = tumbling.readKeyValuesToMap();
+        EngineWindowAggregate aggregate = results.get("engine-1");
+        assertThat(results).hasSize(1);
+        assertThat(aggregate.windowStart()).isEqualTo(600_000L);
+        assertThat(aggregate.count()).isEqualTo(3);
+        assertThat(aggregate.windowEnd()).isEqualTo(660_000L);
+        assertThat(aggregate.temperature().min()).isEqualTo(300);
+        assertThat(aggregate.temperature().max()).isEqualTo(320);
+        assertThat(aggregate.temperature().mean()).isCloseTo(310, within(1e-9));
+        assertThat(aggregate.temperature().stddev()).isCloseTo(Math.sqrt(200.0 / 3), within(1e-9));
+        assertThat(aggregate.rpm().mean()).isCloseTo(7100, within(1e-9));
+    }
+
+    @Test
+    void hoppingWindowsCoverEachSampleFiveTimes() {
+        pipe("engine-1", 300, 7000, BASE_MICROS);
+        pipe("engine-1", 330, 7000, BASE_MICROS + 30_000_000L);
+        pipe("engine-2", 300, 7000, BASE_MICROS + 20 * MINUTE_MICROS);
+
+        List<KeyValue<String, EngineWindowAggregate>> results = hopping.readKeyValuesToList();
+        // 같은 엔진 키로 윈도우가 닫힌 순서대로 출력 - compacted 토픽에는 마지막 윈도우만 남음
+        assertThat(results).extracting(result -> result.key).containsOnly("engine-1");
+        assertThat(results).extracting(result -> result.value.windowStart())
+                .containsExactly(360_000L, 420_000L, 480_000L, 540_000L, 600_000L);
+        assertThat(results).extracting(result -> result.value).allSatisfy(aggregate -> {
+            assertThat(aggregate.count()).isEqualTo(2);
+            assertThat(aggregate.windowEnd() - aggregate.windowStart()).isEqualTo(300_000L);
+            assertThat(aggregate.temperature().mean()).isCloseTo(315, within(1e-9));
+        });
+    }
+
+    @Test
+    void tombstonesAndMissingMeasurementsAreLeftOut() {
+        input.pipeInput("engine-1", null, Instant.ofEpochMilli(BASE_MICROS / 1_000));
+        input.pipeInput("engine-1", new EngineSample("engine-1", 30_000, 0, 0, 0, BASE_MICROS,
+                EngineSample.HAS_TEMPERATURE | EngineSample.HAS_TIMESTAMP));
+        pipe("engine-2", 300, 7000, BASE_MICROS + 20 * MINUTE_MICROS);
+
+        EngineWindowAggregate aggregate = tumbling.readKeyValuesToMap().get("engine-1");
+        assertThat(aggregate.temperature().count()).isEqualTo(1);
+        assertThat(aggregate.rpm()).isNull();
+        assertThat(aggregate.fuelFlow()).isNull();
+    }
+
+    private void pipe(String engineId, double temperature, double rpm, long timestampMicros) {
+        input.pipeInput(engineId, EngineSample.of(engineId, temperature, rpm, 14.7, 1.2, timestampMicros));
+    }
+
+    static Properties properties(Path stateDirectory) {
+        Properties properties = new Properties();
+        properties.put(StreamsConfig.APPLICATION_ID_CONFIG, "engine-window-stats-test");
+        properties.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        properties.put(StreamsConfig.STATE_DIR_CONFIG, stateDirectory.toString());
+        return properties;
+    }
+}
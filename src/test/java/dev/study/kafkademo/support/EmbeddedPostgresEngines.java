@@ -0,0 +1,81 @@
+package dev.study.kafkademo.support;
+
+import dev.study.kafkademo.dto.EngineSample;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 테스트용 임베디드 PostgreSQL (zonky) 과 Engine 엔티티와 같은 engines 테이블 DDL
+ * DDL 은 H2(PostgreSQL 모드, R2DBC 포함) 에서도 그대로 사용
+ */
+public class EmbeddedPostgresEngines implements AutoCloseable {
+
+    public static final String ENGINES_DDL = """
+            CREATE TABLE engines (
+                id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                engine_id VARCHAR(64),
+                temperature NUMERIC(10, 2),
+                rpm NUMERIC(10, 2),
+                pressure NUMERIC(10, 4),
+                fuel_flow NUMERIC(10, 4),
+                "timestamp" TIMESTAMP NOT NULL,
+                created_at TIMESTAMP NOT NULL,
+                updated_at TIMESTAMP
+            )""";
+
+    private final EmbeddedPostgres postgres;
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmbeddedPostgresEngines() {
+        try {
+            postgres = EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베디드 PostgreSQL 시작 실패", e);
+        }
+        jdbcTemplate = new JdbcTemplate(postgres.getPostgresDatabase());
+    }
+
+    /**
+     * engines 테이블을 (파티션/인덱스 포함) 지우고 다시 생성
+     */
+    public static void recreateEnginesTable(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS engines CASCADE");
+        jdbcTemplate.execute(ENGINES_DDL);
+    }
+
+    /**
+     * 온도와 시각만 다르고 나머지 측정값은 고정인 샘플
+     */
+    public static EngineSample sample(String engineId, double temperature, long timestampMicros) {
+        return EngineSample.of(engineId, temperature, 7000, 14.7, 1.2, timestampMicros);
+    }
+
+    public void recreateEnginesTable() {
+        recreateEnginesTable(jdbcTemplate);
+    }
+
+    public int port() {
+        return postgres.getPort();
+    }
+
+    public DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    @Override
+    public void close() {
+        try {
+            postgres.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package dev.study.kafkademo.support;
+
+import dev.study.kafkademo.dto.EngineSample;
+import dev.study.kafkademo.producer.config.RedisConfig;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+/**
+ * 테스트용 임베디드 Redis (임의 포트) 와 애플리케이션과 동일한 직렬화 설정의 템플릿
+ */
+public class EmbeddedRedis implements AutoCloseable {
+
+    private final int port;
+    private final RedisServer redisServer;
+    private final LettuceConnectionFactory connectionFactory;
+    private final ReactiveRedisTemplate<String, EngineSample> engineTemplate;
+    private final ReactiveStringRedisTemplate stringTemplate;
+
+    public EmbeddedRedis(String serializationFormat) {
+        try {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+            redisServer = new RedisServer(port);
+            redisServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("임베디드 Redis 시작 실패", e);
+        }
+
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        engineTemplate = new RedisConfig().reactiveEngineTemplate(connectionFactory, serializationFormat);
+        stringTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public void flushAll() {
+        connectionFactory.getReactiveConnection().serverCommands().flushAll().block(Duration.ofSeconds(5));
+    }
+
+    public long usedMemoryBytes() {
+        return Long.parseLong(connectionFactory.getReactiveConnection().serverCommands()
+                .info("memory").block(Duration.ofSeconds(5)).getProperty("used_memory"));
+    }
+
+    public ReactiveRedisTemplate<String, EngineSample> engineTemplate() {
+        return engineTemplate;
+    }
+
+    public ReactiveStringRedisTemplate stringTemplate() {
+        return stringTemplate;
+    }
+
+    @Override
+    public void close() {
+        connectionFactory.destroy();
+        try {
+            redisServer.stop();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
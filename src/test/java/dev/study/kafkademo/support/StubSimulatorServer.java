@@ -0,0 +1,106 @@
+package dev.study.kafkademo.support;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 로컬 시뮬레이터
+ * 엔진별 엔드포인트와 일괄 엔드포인트를 제공하고 동시 처리 중인 요청 수를 기록
+ */
+public class StubSimulatorServer implements AutoCloseable {
+
+    public static final String ENGINE_PATH = "/api/data/{engineId}/engine";
+    public static final String BULK_PATH = "/api/data/engines";
+
+    private final Duration responseDelay;
+    private final int bulkEngineCount;
+    private final DisposableServer server;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicLong served = new AtomicLong();
+
+    public StubSimulatorServer(Duration responseDelay, int bulkEngineCount) {
+        this.responseDelay = responseDelay;
+        this.bulkEngineCount = bulkEngineCount;
+        this.server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get(ENGINE_PATH, (request, response) ->
+                                respond(response, sampleJson(request.param("engineId"))))
+                        .get(BULK_PATH, (request, response) ->
+                                respond(response, bulkJson())))
+                .bindNow();
+    }
+
+    public String engineUrlTemplate() {
+        return baseUrl() + ENGINE_PATH;
+    }
+
+    public String bulkUrl() {
+        return baseUrl() + BULK_PATH;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    public long served() {
+        return served.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> respond(HttpServerResponse response, String body) {
+        int current = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(current, Math::max);
+
+        Mono<String> payload = Mono.just(body);
+        if (!responseDelay.isZero()) {
+            payload = payload.delayElement(responseDelay);
+        }
+
+        return response.header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(payload.doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    served.incrementAndGet();
+                }));
+    }
+
+    private String bulkJson() {
+        StringJoiner joiner = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < bulkEngineCount; i++) {
+            joiner.add(sampleJson("engine-" + i));
+        }
+        return joiner.toString();
+    }
+
+    private static String sampleJson(String engineId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format(Locale.ROOT,
+                "{\"engineId\":\"%s\",\"temperature\":%.2f,\"rpm\":%.2f,\"pressure\":%.4f,\"fuelFlow\":%.4f}",
+                engineId,
+                250 + random.nextDouble() * 120,
+                6000 + random.nextDouble() * 2500,
+                14 + random.nextDouble() * 2,
+                0.8 + random.nextDouble() * 0.6);
+    }
+}
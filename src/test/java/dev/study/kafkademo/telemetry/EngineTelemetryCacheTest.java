@@ -0,0 +1,75 @@
+package dev.study.kafkademo.telemetry;
+
+import dev.study.kafkademo.dto.EngineSample;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EngineTelemetryCacheTest {
+
+    private static final long SECOND_MICROS = 1_000_000L;
+
+    @Test
+    void ringKeepsOnlyTheLastSamplesInOrder() {
+        EngineTelemetryCache cache = new EngineTelemetryCache(new SimpleMeterRegistry(), 5, 10, 60_000);
+
+        for (int i = 0; i < 12; i++) {
+            cache.add(sample("engine-1", 300 + i, i * SECOND_MICROS));
+        }
+
+        assertThat(cache.latest("engine-1")).get().extracting(EngineSample::temperature).isEqualTo(311.0);
+        assertThat(cache.last("engine-1", 100).orElseThrow()).hasSize(5);
+        assertThat(cache.last("engine-1", 3).orElseThrow())
+                .extracting(EngineSample::temperature).containsExactly(309.0, 310.0, 311.0);
+        assertThat(cache.latest("engine-2")).isEmpty();
+    }
+
+    @Test
+    void statsCoverOnlyTheRequestedWindow() {
+        EngineTelemetryCache cache = new EngineTelemetryCache(new SimpleMeterRegistry(), 100, 10, 60_000);
+        for (int i = 0; i < 10; i++) {
+            cache.add(sample("engine-1", i < 7 ? 100 : 300 + (i - 7) * 10, i * SECOND_MICROS));
+        }
+
+        TelemetryStats stats = cache.stats("engine-1", 2).orElseThrow();
+
+        assertThat(stats.count()).isEqualTo(3);
+        assertThat(stats.fromMicros()).isEqualTo(7 * SECOND_MICROS);
+        assertThat(stats.temperature().min()).isEqualTo(300);
+        assertThat(stats.temperature().max()).isEqualTo(320);
+        assertThat(stats.temperature().mean()).isCloseTo(310, within(1e-9));
+    }
+
+    @Test
+    void evictsIdleEnginesAndCapsEngineCount() throws InterruptedException {
+        EngineTelemetryCache cache = new EngineTelemetryCache(new SimpleMeterRegistry(), 10, 2, 50);
+
+        cache.add(sample("engine-1", 300, 0));
+        cache.add(sample("engine-2", 300, 0));
+        cache.add(sample("engine-3", 300, 0));
+        assertThat(cache.engineIds()).containsExactlyInAnyOrder("engine-2", "engine-3");
+
+        Thread.sleep(100);
+        cache.add(sample("engine-3", 300, SECOND_MICROS));
+        cache.evictIdleEngines();
+        assertThat(cache.engineIds()).containsExactly("engine-3");
+    }
+
+    @Test
+    void capEvictsTheLeastRecentlyUpdatedEngine() {
+        EngineTelemetryCache cache = new EngineTelemetryCache(new SimpleMeterRegistry(), 10, 2, 60_000);
+
+        cache.add(sample("engine-1", 300, 0));
+        cache.add(sample("engine-2", 300, 0));
+        cache.add(sample("engine-1", 310, SECOND_MICROS));
+        cache.add(sample("engine-3", 300, SECOND_MICROS));
+
+        assertThat(cache.engineIds()).containsExactlyInAnyOrder("engine-1", "engine-3");
+    }
+
+    private static EngineSample sample(String engineId, double temperature, long timestampMicros) {
+        return EngineSample.of(engineId, temperature, 7000, 14.7, 1.2, timestampMicros);
+    }
+}